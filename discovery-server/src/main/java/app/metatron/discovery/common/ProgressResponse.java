@@ -14,6 +14,8 @@
 
 package app.metatron.discovery.common;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.io.Serializable;
 
 public class ProgressResponse implements Serializable {
@@ -56,6 +58,14 @@ public class ProgressResponse implements Serializable {
     this.message = message;
   }
 
+  /**
+   * Last progress of the job, success(100) or fail(-1)
+   */
+  @JsonIgnore
+  public boolean isFinished() {
+    return progress != null && (progress < 0 || progress >= 100);
+  }
+
   public Object getResults() {
     return results;
   }
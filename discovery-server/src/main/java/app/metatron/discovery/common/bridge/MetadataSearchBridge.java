@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.bridge;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.hibernate.search.bridge.FieldBridge;
+import org.hibernate.search.bridge.LuceneOptions;
+
+import java.util.Objects;
+
+import app.metatron.discovery.domain.mdm.Metadata;
+import app.metatron.discovery.domain.mdm.MetadataPopularity;
+import app.metatron.discovery.domain.tag.Tag;
+import app.metatron.discovery.domain.tag.TagDomain;
+
+/**
+ * Index tags and popularity of metadata, which are not mapped to metadata entity. <br/>
+ * Tags are indexed as analyzed (for keyword) and as raw value (for filter),
+ * popularity is indexed as doc values to boost score of search. <br/>
+ * Both are read from read-only associations of metadata, which are batch fetched while indexing.
+ */
+public class MetadataSearchBridge implements FieldBridge {
+
+  public static final String FIELD_TAGS = "tags";
+
+  public static final String FIELD_TAGS_RAW = "tags.raw";
+
+  public static final String FIELD_POPULARITY = "popularity";
+
+  @Override
+  public void set(String name, Object value, Document document, LuceneOptions luceneOptions) {
+    Metadata metadata = (Metadata) value;
+
+    if (metadata == null || metadata.getId() == null) {
+      return;
+    }
+
+    if (metadata.getTagDomains() != null) {
+      metadata.getTagDomains().stream()
+              .map(TagDomain::getTag)
+              .filter(Objects::nonNull)
+              .map(Tag::getName)
+              .filter(Objects::nonNull)
+              .distinct()
+              .forEach(tag -> {
+                luceneOptions.addFieldToDocument(name, tag, document);
+                document.add(new StringField(FIELD_TAGS_RAW, tag, Field.Store.NO));
+              });
+    }
+
+    double popularity = 0.0;
+    if (metadata.getPopularities() != null) {
+      popularity = metadata.getPopularities().stream()
+                           .map(MetadataPopularity::getPopularity)
+                           .filter(Objects::nonNull)
+                           .mapToDouble(Double::doubleValue)
+                           .max()
+                           .orElse(0.0);
+    }
+
+    document.add(new DoubleDocValuesField(FIELD_POPULARITY, popularity));
+  }
+}
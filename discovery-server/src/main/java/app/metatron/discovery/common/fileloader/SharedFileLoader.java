@@ -15,25 +15,63 @@
 package app.metatron.discovery.common.fileloader;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.annotation.PreDestroy;
+
+/**
+ * Put files to shared directory. <br/>
+ * A file on the same file system is hard-linked instead of copied,
+ * otherwise it is copied in chunks concurrently with other files.
+ */
 @Component
-public class SharedFileLoader implements FileLoader {
+public class SharedFileLoader implements FileLoader, PublicMetrics {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SharedFileLoader.class);
-  
+
+  private static final long CHUNK_SIZE = 64L * 1024 * 1024;
+
+  private static final int COPY_THREADS = 4;
+
+  private final ExecutorService copyExecutor = Executors.newFixedThreadPool(COPY_THREADS,
+      new ThreadFactoryBuilder().setNameFormat("SharedFileLoader-%s").setDaemon(true).build());
+
+  private final AtomicLong linkedCount = new AtomicLong();
+
+  private final AtomicLong copiedCount = new AtomicLong();
+
+  private final AtomicLong copiedBytes = new AtomicLong();
+
+  private final AtomicLong copyTime = new AtomicLong();
+
+  @PreDestroy
+  public void destroy() {
+    copyExecutor.shutdownNow();
+  }
+
   @Override
   public List<String> put(FileLoaderProperties properties, String... paths) {
     return put(properties, Lists.newArrayList(paths), null, false);
@@ -43,6 +81,7 @@ public class SharedFileLoader implements FileLoader {
   public List<String> put(FileLoaderProperties properties, List<String> sourcePaths, List<String> targetNames, boolean checkSrcPath) {
 
     List<String> loadPaths = Lists.newArrayList();
+    List<StagedFile> copyFiles = Lists.newArrayList();
     for(int i=0; i<sourcePaths.size(); i++) {
 
       Path sourcePath = getPath(sourcePaths.get(i));
@@ -65,22 +104,86 @@ public class SharedFileLoader implements FileLoader {
       Path remotePath = getPath(remotePathStr);
 
       if(sourcePath.compareTo(remotePath) != 0) {
-        try {
-          Files.copy(sourcePath, remotePath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-          LOGGER.error("Fail to copy local files to shared directory({})", remotePathStr);
-          throw new RuntimeException("Fail to copy local files to shared directory : " + remotePathStr);
+        if(!link(sourcePath, remotePath)) {
+          copyFiles.add(new StagedFile(sourcePath, remotePath));
         }
       } else {
         LOGGER.debug("The source and remote files have the same path.");
       }
-      LOGGER.debug("Successfully copy local files({}) to shared directory({})", sourcePath, remotePathStr);
       loadPaths.add(remotePathStr);
     }
 
+    copy(copyFiles);
+
     return loadPaths;
   }
 
+  /**
+   * Hard link the source, if the remote directory is on the same file system
+   *
+   * @return false, if the file should be copied
+   */
+  private boolean link(Path sourcePath, Path remotePath) {
+    try {
+      if(!Files.getFileStore(sourcePath).equals(Files.getFileStore(remotePath.getParent()))) {
+        return false;
+      }
+
+      Files.deleteIfExists(remotePath);
+      Files.createLink(remotePath, sourcePath);
+    } catch (IOException | UnsupportedOperationException | SecurityException e) {
+      LOGGER.debug("Fail to link {} to {}, copy the file : {}", sourcePath, remotePath, e.getMessage());
+      return false;
+    }
+
+    linkedCount.incrementAndGet();
+    LOGGER.debug("Successfully link local files({}) to shared directory({})", sourcePath, remotePath);
+    return true;
+  }
+
+  private void copy(List<StagedFile> stagedFiles) {
+    if(stagedFiles.isEmpty()) {
+      return;
+    }
+
+    // chunks of all files are copied concurrently
+    List<Future<?>> futures = Lists.newArrayList();
+    for(StagedFile stagedFile : stagedFiles) {
+      try {
+        stagedFile.prepare();
+      } catch (IOException e) {
+        LOGGER.error("Fail to copy local files to shared directory({})", stagedFile.remotePath);
+        throw new RuntimeException("Fail to copy local files to shared directory : " + stagedFile.remotePath);
+      }
+
+      for(long position = 0; position < stagedFile.size; position += CHUNK_SIZE) {
+        final long chunkPosition = position;
+        futures.add(copyExecutor.submit(() -> {
+          stagedFile.copyChunk(chunkPosition, Math.min(CHUNK_SIZE, stagedFile.size - chunkPosition));
+          return null;
+        }));
+      }
+    }
+
+    try {
+      for(Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(future -> future.cancel(true));
+      throw new RuntimeException("Interrupted while copying local files to shared directory");
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      LOGGER.error("Fail to copy local files to shared directory : {}", e.getCause().getMessage());
+      throw new RuntimeException("Fail to copy local files to shared directory : " + e.getCause().getMessage());
+    }
+
+    for(StagedFile stagedFile : stagedFiles) {
+      stagedFile.finish();
+    }
+  }
+
   @Override
   public List<String> get(FileLoaderProperties properties, String... file) {
     return null;
@@ -93,4 +196,66 @@ public class SharedFileLoader implements FileLoader {
     }
     return Paths.get(uri);
   }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("fileloader.shared.linked", linkedCount.get()));
+    metrics.add(new Metric<>("fileloader.shared.copied", copiedCount.get()));
+    metrics.add(new Metric<>("fileloader.shared.copied.bytes", copiedBytes.get()));
+    metrics.add(new Metric<>("fileloader.shared.copied.time", copyTime.get()));
+    return metrics;
+  }
+
+  private class StagedFile {
+
+    final Path sourcePath;
+
+    final Path remotePath;
+
+    long size;
+
+    long startTime;
+
+    StagedFile(Path sourcePath, Path remotePath) {
+      this.sourcePath = sourcePath;
+      this.remotePath = remotePath;
+    }
+
+    void prepare() throws IOException {
+      size = Files.size(sourcePath);
+      startTime = System.currentTimeMillis();
+
+      // replace existing file
+      try (FileChannel target = FileChannel.open(remotePath, StandardOpenOption.CREATE,
+                                                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        LOGGER.debug("Copy {} bytes of {} to {}", size, sourcePath, remotePath);
+      }
+    }
+
+    void copyChunk(long position, long count) throws IOException {
+      try (FileChannel source = FileChannel.open(sourcePath, StandardOpenOption.READ);
+           FileChannel target = FileChannel.open(remotePath, StandardOpenOption.WRITE)) {
+        target.position(position);
+        long transferred = 0;
+        while (transferred < count) {
+          long bytes = source.transferTo(position + transferred, count - transferred, target);
+          if (bytes <= 0) {
+            throw new IOException("Unexpected end of file : " + sourcePath);
+          }
+          transferred += bytes;
+        }
+      }
+    }
+
+    void finish() {
+      long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+      copiedCount.incrementAndGet();
+      copiedBytes.addAndGet(size);
+      copyTime.addAndGet(elapsed);
+
+      LOGGER.info("Successfully copy local files({}) to shared directory({}), {} bytes in {} ms ({} MB/s)",
+                  sourcePath, remotePath, size, elapsed, String.format("%.2f", size / 1024.0 / 1024.0 / (elapsed / 1000.0)));
+    }
+  }
 }
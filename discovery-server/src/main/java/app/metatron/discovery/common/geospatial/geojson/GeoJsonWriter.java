@@ -31,6 +31,7 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,12 +57,22 @@ public class GeoJsonWriter {
 
   Map<String, List<Double>> valueRanges = Maps.newLinkedHashMap();
 
+  /**
+   * Tolerance to simplify lines and polygons
+   */
+  Double simplifyTolerance;
+
   public GeoJsonWriter() {
     geoJson = new FeatureCollection();
     wktReader = new WKTReader();
     idPrefix = "f_" + RandomStringUtils.randomAlphanumeric(8) + "_";
   }
 
+  public GeoJsonWriter(Double simplifyTolerance) {
+    this();
+    this.simplifyTolerance = simplifyTolerance;
+  }
+
   public GeoJson write(JsonNode jsonNode) {
     if (jsonNode.isArray()) {
       FeatureCollection collection = new FeatureCollection();
@@ -96,7 +107,7 @@ public class GeoJsonWriter {
           LOGGER.warn("Fail to parse WKT : {}", wkt);
           continue;
         }
-        feature.setGeometry(write(geometry));
+        feature.setGeometry(write(simplify(geometry)));
       } else {
         String key = entry.getKey();
         JsonNode valueNode = entry.getValue();
@@ -138,6 +149,21 @@ public class GeoJsonWriter {
     }
   }
 
+  /**
+   * Simplify lines and polygons by tolerance, points are not changed
+   */
+  Geometry simplify(Geometry geometry) {
+    if (simplifyTolerance == null || simplifyTolerance <= 0 || geometry.getDimension() == 0) {
+      return geometry;
+    }
+
+    Geometry simplified = TopologyPreservingSimplifier.simplify(geometry, simplifyTolerance);
+    if (simplified.isEmpty() || !simplified.getClass().equals(geometry.getClass())) {
+      return geometry;
+    }
+    return simplified;
+  }
+
   private FeatureCollection.MinMaxRange calculateMinMax(List<Double> values) {
 
     Double minLimit = Double.NEGATIVE_INFINITY;
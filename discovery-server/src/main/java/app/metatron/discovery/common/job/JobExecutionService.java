@@ -0,0 +1,272 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.job;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import app.metatron.discovery.util.PolarisUtils;
+
+/**
+ * Runs background jobs (ex. ingestion, bulk load) on named, bounded pools. <br/>
+ * Each pool has its own threads, queue limit and reject policy (polaris.job.pools),
+ * and submitted jobs can be looked up or canceled by job id.
+ */
+@Component
+public class JobExecutionService implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JobExecutionService.class);
+
+  public static final String POOL_INGESTION = "ingestion";
+
+  public static final String POOL_BULK_LOAD = "bulkload";
+
+  public static final String POOL_PREP = "prep";
+
+  private static final long MAX_FINISHED_JOBS = 10000L;
+
+  @Autowired
+  JobProperties jobProperties;
+
+  private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+  private final Map<String, AtomicLong> rejectedCounts = new ConcurrentHashMap<>();
+
+  private final Map<String, JobInfo> activeJobs = new ConcurrentHashMap<>();
+
+  private Cache<String, JobInfo> finishedJobs;
+
+  public JobExecutionService() {
+  }
+
+  @PostConstruct
+  public void init() {
+    finishedJobs = CacheBuilder.newBuilder()
+                               .maximumSize(MAX_FINISHED_JOBS)
+                               .expireAfterWrite(jobProperties.getKeepFinishedSeconds(), TimeUnit.SECONDS)
+                               .build();
+  }
+
+  @PreDestroy
+  public void destroy() {
+    executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+  }
+
+  /**
+   * Submit the job to the pool
+   *
+   * @param pool name of pool
+   * @param name name of job, for logging and status API
+   * @param task job, if it returns CompletableFuture the job is finished when the future is completed.
+   *             It runs with the security context of the caller, but without transaction.
+   * @return status of the job
+   * @throws JobRejectedException the queue of pool is full and reject policy is ABORT
+   */
+  public JobInfo submit(String pool, String name, Callable<?> task) {
+    return submit(pool, name, task, null);
+  }
+
+  /**
+   * Submit the job to the pool
+   *
+   * @param onRejected called when the job is rejected (ABORT or DISCARD policy), to clean up the state
+   *                   prepared for the job (ex. status of datasource), nullable
+   * @see #submit(String, String, Callable)
+   */
+  public JobInfo submit(String pool, String name, Callable<?> task, Runnable onRejected) {
+    ThreadPoolExecutor executor = executors.computeIfAbsent(pool, this::createExecutor);
+
+    JobInfo job = new JobInfo(PolarisUtils.randomUUID("job-", false), pool, name);
+    activeJobs.put(job.getId(), job);
+
+    Callable<?> securedTask = DelegatingSecurityContextCallable.create(task, SecurityContextHolder.getContext());
+    try {
+      job.future = executor.submit(() -> run(job, securedTask));
+    } catch (RejectedExecutionException e) {
+      if (onRejected != null) {
+        try {
+          onRejected.run();
+        } catch (Exception ex) {
+          LOGGER.warn("Fail to handle rejected job({}) : {}", name, ex.getMessage());
+        }
+      }
+
+      if (jobProperties.getPool(pool).getReject() == JobProperties.RejectPolicy.DISCARD) {
+        LOGGER.warn("Job({}) is discarded, the queue of pool({}) is full.", name, pool);
+        finish(job, JobInfo.JobStatus.REJECTED, "Queue of pool is full");
+        return job;
+      }
+
+      activeJobs.remove(job.getId());
+      throw new JobRejectedException("Too many jobs in " + pool + " pool. Try again later.");
+    }
+
+    LOGGER.debug("Job({}) is submitted to pool({}) : {}", name, pool, job.getId());
+    return job;
+  }
+
+  public JobInfo getJob(String id) {
+    JobInfo job = activeJobs.get(id);
+    return job != null ? job : finishedJobs.getIfPresent(id);
+  }
+
+  /**
+   * Active and finished jobs, newest first
+   *
+   * @param pool name of pool, all pools if empty
+   */
+  public List<JobInfo> getJobs(String pool) {
+    return Stream.concat(activeJobs.values().stream(), finishedJobs.asMap().values().stream())
+                 .filter(job -> StringUtils.isEmpty(pool) || pool.equals(job.getPool()))
+                 .sorted(Comparator.comparing((JobInfo job) -> job.getCreatedTime().getMillis()).reversed())
+                 .collect(Collectors.toList());
+  }
+
+  /**
+   * Cancel the job, a running job is interrupted.
+   * If the job returned CompletableFuture, the future is canceled, the job should stop its remaining work
+   * (ex. engine task of ingestion) when the future is canceled.
+   *
+   * @return false, if the job is not active
+   */
+  public boolean cancel(String id) {
+    JobInfo job = activeJobs.get(id);
+    if (job == null) {
+      return false;
+    }
+
+    finish(job, JobInfo.JobStatus.CANCELED, null);
+    if (job.future != null) {
+      job.future.cancel(true);
+    }
+    if (job.completion != null) {
+      job.completion.cancel(true);
+    }
+
+    LOGGER.info("Job({}) of pool({}) is canceled : {}", job.getName(), job.getPool(), id);
+    return true;
+  }
+
+  private Object run(JobInfo job, Callable<?> task) throws Exception {
+    if (job.isFinished()) {
+      return null;
+    }
+
+    job.started();
+    try {
+      Object result = task.call();
+      if (result instanceof CompletableFuture) {
+        job.completion = (CompletableFuture<?>) result;
+        job.completion.whenComplete((r, t) -> finish(job, t));
+      } else {
+        finish(job, null);
+      }
+      return result;
+    } catch (Exception e) {
+      LOGGER.warn("Job({}) of pool({}) is failed : {}", job.getName(), job.getPool(), e.getMessage());
+      finish(job, e);
+      throw e;
+    }
+  }
+
+  private void finish(JobInfo job, Throwable t) {
+    if (t == null) {
+      finish(job, JobInfo.JobStatus.SUCCESS, null);
+    } else {
+      Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+      finish(job, JobInfo.JobStatus.FAILED, cause.getMessage());
+    }
+  }
+
+  private synchronized void finish(JobInfo job, JobInfo.JobStatus status, String errorMessage) {
+    if (job.isFinished()) {
+      return;
+    }
+
+    job.finished(status, errorMessage);
+    activeJobs.remove(job.getId());
+    finishedJobs.put(job.getId(), job);
+  }
+
+  private ThreadPoolExecutor createExecutor(String pool) {
+    JobProperties.PoolInfo poolInfo = jobProperties.getPool(pool);
+    AtomicLong rejectedCount = rejectedCounts.computeIfAbsent(pool, name -> new AtomicLong());
+
+    RejectedExecutionHandler rejectHandler = (runnable, executor) -> {
+      rejectedCount.incrementAndGet();
+      if (poolInfo.getReject() == JobProperties.RejectPolicy.CALLER_RUNS && !executor.isShutdown()) {
+        runnable.run();
+      } else {
+        throw new RejectedExecutionException("Queue of pool(" + pool + ") is full");
+      }
+    };
+
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        poolInfo.getThreads(), poolInfo.getThreads(), 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(poolInfo.getQueueSize()),
+        new ThreadFactoryBuilder().setNameFormat("job-" + pool + "-%s").setDaemon(true).build(),
+        rejectHandler);
+    executor.allowCoreThreadTimeOut(true);
+
+    LOGGER.info("Job pool({}) is created : {} threads, {} queue size, {} policy",
+                pool, poolInfo.getThreads(), poolInfo.getQueueSize(), poolInfo.getReject());
+    return executor;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("job.active", activeJobs.size()));
+    executors.forEach((pool, executor) -> {
+      metrics.add(new Metric<>("job." + pool + ".running", executor.getActiveCount()));
+      metrics.add(new Metric<>("job." + pool + ".queued", executor.getQueue().size()));
+      metrics.add(new Metric<>("job." + pool + ".completed", executor.getCompletedTaskCount()));
+      metrics.add(new Metric<>("job." + pool + ".rejected", rejectedCounts.get(pool).get()));
+    });
+    return metrics;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.job;
+
+import org.joda.time.DateTime;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Status of background job submitted to {@link JobExecutionService}
+ */
+public class JobInfo {
+
+  String id;
+
+  String pool;
+
+  String name;
+
+  volatile JobStatus status;
+
+  DateTime createdTime;
+
+  volatile DateTime startedTime;
+
+  volatile DateTime finishedTime;
+
+  volatile String errorMessage;
+
+  transient volatile Future<?> future;
+
+  /**
+   * Result of the job, if the job returned CompletableFuture
+   */
+  transient volatile CompletableFuture<?> completion;
+
+  public JobInfo() {
+  }
+
+  public JobInfo(String id, String pool, String name) {
+    this.id = id;
+    this.pool = pool;
+    this.name = name;
+    this.status = JobStatus.QUEUED;
+    this.createdTime = DateTime.now();
+  }
+
+  void started() {
+    this.status = JobStatus.RUNNING;
+    this.startedTime = DateTime.now();
+  }
+
+  void finished(JobStatus status, String errorMessage) {
+    this.status = status;
+    this.errorMessage = errorMessage;
+    this.finishedTime = DateTime.now();
+  }
+
+  public boolean isFinished() {
+    return status != JobStatus.QUEUED && status != JobStatus.RUNNING;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getPool() {
+    return pool;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public JobStatus getStatus() {
+    return status;
+  }
+
+  public DateTime getCreatedTime() {
+    return createdTime;
+  }
+
+  public DateTime getStartedTime() {
+    return startedTime;
+  }
+
+  public DateTime getFinishedTime() {
+    return finishedTime;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  @Override
+  public String toString() {
+    return "JobInfo{" +
+        "id='" + id + '\'' +
+        ", pool='" + pool + '\'' +
+        ", name='" + name + '\'' +
+        ", status=" + status +
+        '}';
+  }
+
+  public enum JobStatus {
+    QUEUED, RUNNING, SUCCESS, FAILED, CANCELED, REJECTED
+  }
+}
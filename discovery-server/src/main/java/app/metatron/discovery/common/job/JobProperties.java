@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.job;
+
+import com.google.common.collect.Maps;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_BULK_LOAD;
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_INGESTION;
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_PREP;
+
+/**
+ * Properties of background job pools (polaris.job)
+ */
+@Component
+@ConfigurationProperties(prefix = "polaris.job")
+public class JobProperties {
+
+  /**
+   * Pool settings by pool name
+   */
+  Map<String, PoolInfo> pools = Maps.newHashMap();
+
+  /**
+   * Seconds to keep finished jobs for status API
+   */
+  Integer keepFinishedSeconds = 3600;
+
+  public JobProperties() {
+    pools.put(POOL_INGESTION, new PoolInfo(8, 200, RejectPolicy.ABORT));
+    pools.put(POOL_BULK_LOAD, new PoolInfo(4, 50, RejectPolicy.ABORT));
+    pools.put(POOL_PREP, new PoolInfo(4, 100, RejectPolicy.CALLER_RUNS));
+  }
+
+  public PoolInfo getPool(String name) {
+    return pools.containsKey(name) ? pools.get(name) : new PoolInfo();
+  }
+
+  public Map<String, PoolInfo> getPools() {
+    return pools;
+  }
+
+  public void setPools(Map<String, PoolInfo> pools) {
+    this.pools = pools;
+  }
+
+  public Integer getKeepFinishedSeconds() {
+    return keepFinishedSeconds;
+  }
+
+  public void setKeepFinishedSeconds(Integer keepFinishedSeconds) {
+    this.keepFinishedSeconds = keepFinishedSeconds;
+  }
+
+  public static class PoolInfo {
+
+    /**
+     * Max. number of jobs running concurrently
+     */
+    Integer threads = 4;
+
+    /**
+     * Max. number of jobs waiting in the queue
+     */
+    Integer queueSize = 100;
+
+    /**
+     * Policy when the queue is full
+     */
+    RejectPolicy reject = RejectPolicy.ABORT;
+
+    public PoolInfo() {
+    }
+
+    public PoolInfo(Integer threads, Integer queueSize, RejectPolicy reject) {
+      this.threads = threads;
+      this.queueSize = queueSize;
+      this.reject = reject;
+    }
+
+    public Integer getThreads() {
+      return threads;
+    }
+
+    public void setThreads(Integer threads) {
+      this.threads = threads;
+    }
+
+    public Integer getQueueSize() {
+      return queueSize;
+    }
+
+    public void setQueueSize(Integer queueSize) {
+      this.queueSize = queueSize;
+    }
+
+    public RejectPolicy getReject() {
+      return reject;
+    }
+
+    public void setReject(RejectPolicy reject) {
+      this.reject = reject;
+    }
+  }
+
+  public enum RejectPolicy {
+    /**
+     * Reject the job with error (503)
+     */
+    ABORT,
+    /**
+     * Run the job on the thread of caller
+     */
+    CALLER_RUNS,
+    /**
+     * Drop the job, it is marked as REJECTED. The work of the job is not done,
+     * so use it only for jobs whose state is cleaned up by the caller (onRejected of submit)
+     */
+    DISCARD
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.job;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import app.metatron.discovery.common.exception.MetatronException;
+
+import static app.metatron.discovery.common.job.JobErrorCodes.JOB_REJECTED_CODE;
+
+/**
+ * Thrown when the job is not accepted, because the queue of pool is full.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many jobs")
+public class JobRejectedException extends MetatronException {
+
+  public JobRejectedException(String message) {
+    super(JOB_REJECTED_CODE, message);
+  }
+}
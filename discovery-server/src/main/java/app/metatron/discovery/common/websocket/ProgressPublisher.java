@@ -0,0 +1,259 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.websocket;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import app.metatron.discovery.util.WebSocketUtils;
+
+/**
+ * Publishes progress and log messages of long running jobs to websocket clients. <br/>
+ * Progress of a topic is coalesced, only the latest one is sent per interval (polaris.websocket.progress.interval ms).
+ * Batched messages (ex. query logs) are merged and sent per interval. <br/>
+ * A message sent immediately to the destination sends pending batches and drops pending progress first,
+ * so clients do not receive stale messages after it.
+ */
+@Component
+public class ProgressPublisher implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProgressPublisher.class);
+
+  private SimpMessageSendingOperations messagingTemplate;
+
+  @Value("${polaris.websocket.progress.interval:500}")
+  long interval = 500;
+
+  private final Map<PendingKey, Pending> pendings = new ConcurrentHashMap<>();
+
+  private final AtomicLong publishedCount = new AtomicLong();
+
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  private final AtomicLong batchedCount = new AtomicLong();
+
+  private ScheduledExecutorService scheduler;
+
+  public ProgressPublisher() {
+  }
+
+  @Autowired
+  public void setMessagingTemplate(SimpMessageSendingOperations messagingTemplate) {
+    this.messagingTemplate = messagingTemplate;
+  }
+
+  @PostConstruct
+  public void init() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("ProgressPublisher-%s").setDaemon(true).build());
+
+    scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        flush();
+      } catch (Exception e) {
+        LOGGER.warn("Fail to publish pending messages : {}", e.getMessage());
+      }
+    }, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    scheduler.shutdownNow();
+    flush();
+  }
+
+  /**
+   * Send the message to the topic immediately
+   */
+  public void send(String destination, Object payload) {
+    send(null, destination, payload);
+  }
+
+  /**
+   * Send the message immediately
+   *
+   * @param user        websocket session id, null for topic
+   * @param destination destination of message
+   * @param payload     message
+   */
+  public synchronized void send(String user, String destination, Object payload) {
+    settle(user, destination);
+    doSend(user, destination, payload);
+  }
+
+  /**
+   * Send the progress to the topic on next flush, pending progress of the topic is dropped
+   */
+  public void sendProgress(String destination, Object payload) {
+    Pending previous = pendings.put(new PendingKey(null, destination, destination), new Pending(payload, null));
+    if (previous != null) {
+      droppedCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Merge the message into pending batch of the key, the batch is sent on next flush
+   *
+   * @param user        websocket session id, null for topic
+   * @param destination destination of message
+   * @param key         batch in the destination (ex. query)
+   * @param payload     message
+   * @param merger      merges pending batch and the message
+   */
+  @SuppressWarnings("unchecked")
+  public <T> void sendBatch(String user, String destination, String key, T payload, BinaryOperator<T> merger) {
+    pendings.compute(new PendingKey(user, destination, key), (pendingKey, pending) -> {
+      if (pending == null) {
+        return new Pending(payload, merger);
+      } else if (pending.merger == null) {
+        droppedCount.incrementAndGet();
+        return new Pending(payload, merger);
+      }
+      batchedCount.incrementAndGet();
+      return new Pending(((BinaryOperator<T>) pending.merger).apply((T) pending.payload, payload), merger);
+    });
+  }
+
+  /**
+   * Send all pending messages
+   */
+  synchronized void flush() {
+    for (PendingKey key : pendings.keySet()) {
+      Pending pending = pendings.remove(key);
+      if (pending != null) {
+        doSend(key.user, key.destination, pending.payload);
+      }
+    }
+  }
+
+  /**
+   * Settle pending messages of the destination before sending a message immediately
+   */
+  private void settle(String user, String destination) {
+    for (PendingKey key : pendings.keySet()) {
+      if (!key.isDestination(user, destination)) {
+        continue;
+      }
+
+      Pending pending = pendings.remove(key);
+      if (pending == null) {
+        continue;
+      }
+
+      if (pending.merger == null) {
+        // superseded progress
+        droppedCount.incrementAndGet();
+      } else {
+        doSend(key.user, key.destination, pending.payload);
+      }
+    }
+  }
+
+  private void doSend(String user, String destination, Object payload) {
+    try {
+      if (user == null) {
+        messagingTemplate.convertAndSend(destination, payload);
+      } else {
+        WebSocketUtils.sendMessage(messagingTemplate, user, destination, payload);
+      }
+      publishedCount.incrementAndGet();
+    } catch (Exception e) {
+      LOGGER.error("Fail to send message : {}, {}", destination, payload, e);
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("websocket.progress.published", publishedCount.get()));
+    metrics.add(new Metric<>("websocket.progress.dropped", droppedCount.get()));
+    metrics.add(new Metric<>("websocket.progress.batched", batchedCount.get()));
+    metrics.add(new Metric<>("websocket.progress.pending", pendings.size()));
+    return metrics;
+  }
+
+  private static class Pending {
+
+    final Object payload;
+
+    final BinaryOperator<?> merger;
+
+    Pending(Object payload, BinaryOperator<?> merger) {
+      this.payload = payload;
+      this.merger = merger;
+    }
+  }
+
+  private static class PendingKey {
+
+    final String user;
+
+    final String destination;
+
+    final String key;
+
+    PendingKey(String user, String destination, String key) {
+      this.user = user;
+      this.destination = destination;
+      this.key = key;
+    }
+
+    boolean isDestination(String user, String destination) {
+      return Objects.equals(this.user, user) && Objects.equals(this.destination, destination);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PendingKey that = (PendingKey) o;
+      return Objects.equals(user, that.user)
+          && Objects.equals(destination, that.destination)
+          && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(user, destination, key);
+    }
+  }
+}
@@ -27,10 +27,15 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import app.metatron.discovery.common.cache.CacheListener;
 import app.metatron.discovery.common.cache.InfinispanClusterListener;
+import app.metatron.discovery.domain.user.User;
+import app.metatron.discovery.domain.user.group.Group;
+import app.metatron.discovery.domain.user.role.Role;
 
 /**
  * Created by kyungtaak on 2017. 3. 13..
@@ -42,6 +47,12 @@ public class InfinispanCacheConfig {
   @Value("${polaris.cache.configFile:default-configs/default-jgroups-udp.xml}")
   String configFile;
 
+  @Value("${polaris.user.cache.maxSize:10000}")
+  long userCacheMaxSize;
+
+  @Value("${polaris.user.cache.expireSeconds:600}")
+  long userCacheExpireSeconds;
+
   @Bean
   public SpringEmbeddedCacheManager springEmbeddedCacheManager() {
     return new SpringEmbeddedCacheManager(infinispanCacheManager());
@@ -86,4 +97,39 @@ public class InfinispanCacheConfig {
     tokenCache.addListener(new CacheListener());
     return tokenCache;
   }
+
+  @Bean("userCache")
+  public Cache<String, User> userCache(SpringEmbeddedCacheManager springEmbeddedCacheManager) {
+    return directoryCache(springEmbeddedCacheManager, "user-cache");
+  }
+
+  @Bean("groupCache")
+  public Cache<String, Group> groupCache(SpringEmbeddedCacheManager springEmbeddedCacheManager) {
+    return directoryCache(springEmbeddedCacheManager, "group-cache");
+  }
+
+  @Bean("userRoleCache")
+  public Cache<String, List<Role>> userRoleCache(SpringEmbeddedCacheManager springEmbeddedCacheManager) {
+    return directoryCache(springEmbeddedCacheManager, "user-role-cache");
+  }
+
+  @Bean("roleSetPermissionCache")
+  public Cache<String, Set<String>> roleSetPermissionCache(SpringEmbeddedCacheManager springEmbeddedCacheManager) {
+    return directoryCache(springEmbeddedCacheManager, "roleset-permission-cache");
+  }
+
+  /**
+   * Entries are kept on each node (not replicated), removal of entry is invalidated on all nodes of cluster
+   */
+  private <V> Cache<String, V> directoryCache(SpringEmbeddedCacheManager springEmbeddedCacheManager, String cacheName) {
+    ConfigurationBuilder config = new ConfigurationBuilder();
+    config.memory().size(userCacheMaxSize);
+    config.expiration().lifespan(userCacheExpireSeconds, TimeUnit.SECONDS);
+    config.clustering().cacheMode(CacheMode.INVALIDATION_SYNC);
+    config.jmxStatistics().enable();
+
+    EmbeddedCacheManager cacheManager = springEmbeddedCacheManager.getNativeCacheManager();
+    cacheManager.defineConfiguration(cacheName, config.build());
+    return cacheManager.getCache(cacheName);
+  }
 }
@@ -26,11 +26,13 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.quartz.CronTriggerFactoryBean;
 import org.springframework.scheduling.quartz.JobDetailFactoryBean;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.scheduling.quartz.SimpleTriggerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 
 import app.metatron.discovery.common.scheduling.AutowiringQuartzBeanJobFactory;
+import app.metatron.discovery.domain.scheduling.audit.BuildAuditStatsJob;
 import app.metatron.discovery.domain.scheduling.common.TemporaryCSVFileCleanJob;
 import app.metatron.discovery.domain.scheduling.engine.DataSourceCheckJob;
 import app.metatron.discovery.domain.scheduling.engine.DataSourceIngestionCheckJob;
@@ -90,6 +92,7 @@ public class SchedulingConfig {
                                        incrementalJob().getObject(),
                                        tempDataSourceCleanJob().getObject(),
                                        calculatePopularityJob().getObject(),
+                                       buildAuditStatsJob().getObject(),
                                        notebookKillKernelJob().getObject(),
                                        tempCSVFileCleanJob().getObject(),
                                        timeoutWorkbenchConnectionCloseJob().getObject(),
@@ -102,6 +105,7 @@ public class SchedulingConfig {
                                      dataSourceSizeCheckTrigger().getObject(),
                                      tempDataSourceCleanTrigger().getObject(),
                                      calculatePopularityTrigger().getObject(),
+                                     buildAuditStatsTrigger().getObject(),
                                      notebookKillKernelTrigger().getObject(),
                                      tempCSVFileCleanTrigger().getObject(),
                                      timeoutWorkbenchConnectionCloseTrigger().getObject(),
@@ -264,6 +268,37 @@ public class SchedulingConfig {
     return triggerFactory;
   }
 
+  /**
+   * Build rollups of audit statistics from existing audits, if empty
+   *
+   * @return
+   */
+  @Bean
+  public JobDetailFactoryBean buildAuditStatsJob() {
+    JobDetailFactoryBean jobDetailFactory = new JobDetailFactoryBean();
+    jobDetailFactory.setName("build-audit-stats");
+    jobDetailFactory.setGroup(JOB_GROUP_DOMAIN);
+    jobDetailFactory.setJobClass(BuildAuditStatsJob.class);
+    jobDetailFactory.setDurability(true);
+    return jobDetailFactory;
+  }
+
+  /**
+   * 스케줄러 시작 1분 후 한번 수행
+   *
+   * @return
+   */
+  @Bean
+  public SimpleTriggerFactoryBean buildAuditStatsTrigger() {
+    SimpleTriggerFactoryBean triggerFactory = new SimpleTriggerFactoryBean();
+    triggerFactory.setJobDetail(buildAuditStatsJob().getObject());
+    triggerFactory.setName("build-audit-stats-trigger");
+    triggerFactory.setGroup(JOB_GROUP_DOMAIN);
+    triggerFactory.setStartDelay(60000L);
+    triggerFactory.setRepeatCount(0);
+    return triggerFactory;
+  }
+
   /**
    * Kill all of notebook kernels
    *
@@ -29,6 +29,7 @@ import java.util.Map;
 
 import app.metatron.discovery.domain.activities.spec.ActivityStreamV2;
 import app.metatron.discovery.domain.activities.spec.ActivityType;
+import app.metatron.discovery.domain.mdm.MetadataPopularityCollector;
 import app.metatron.discovery.domain.workbook.configurations.format.TimeFieldFormat;
 import app.metatron.discovery.domain.workspace.WorkspaceService;
 import app.metatron.discovery.util.AuthUtils;
@@ -43,12 +44,19 @@ public class ActivityStreamService {
   @Autowired
   ActivityStreamRepository activityStreamRepository;
 
-  @Transactional
+  @Autowired
+  MetadataPopularityCollector popularityCollector;
+
+  @Autowired
+  ActivityStreamWriter activityStreamWriter;
+
+  /**
+   * Activity is written in background, so the id of returned activity is not assigned.
+   */
   public ActivityStream addActivity(ActivityStreamV2 activity) {
     return addActivity(activity, AuthUtils.getAuthentication());
   }
 
-  @Transactional
   public ActivityStream addActivity(ActivityStreamV2 activity, Principal principal) {
     ActivityStream createActivityStream = new ActivityStream(activity, principal);
 
@@ -58,7 +66,15 @@ public class ActivityStreamService {
       workspaceService.updateLastAccessedTime(createActivityStream.getObjectId());
     }
 
-    return activityStreamRepository.save(createActivityStream);
+    // 대시보드 조회는 메타데이터 Popularity 에 반영
+    if(createActivityStream.getAction() == ActivityType.VIEW &&
+        createActivityStream.getObjectType() == ActivityStream.MetatronObjectType.DASHBOARD) {
+      popularityCollector.collectDashboardView(createActivityStream.getObjectId());
+    }
+
+    activityStreamWriter.write(createActivityStream);
+
+    return createActivityStream;
   }
 
   public Map<String, Long> getWorkspaceViewByDateTime(String workspaceId,
@@ -100,7 +116,8 @@ public class ActivityStreamService {
   }
 
   public ActivityStream addActivityStream(ActivityStream activityStream){
-    return activityStreamRepository.save(activityStream);
+    activityStreamWriter.write(activityStream);
+    return activityStream;
   }
 
 
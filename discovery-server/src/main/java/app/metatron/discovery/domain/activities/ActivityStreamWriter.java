@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.activities;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Writes activity streams in batches on background. <br/>
+ * Activities are queued after commit of the current transaction if exists,
+ * and saved by batch in a transaction. If the queue is full, the activity is saved directly.
+ */
+@Component
+public class ActivityStreamWriter implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ActivityStreamWriter.class);
+
+  private static final int BATCH_SIZE = 100;
+
+  private static final long POLL_INTERVAL_MILLIS = 1000L;
+
+  /**
+   * Max time to write queued activities on shutdown
+   */
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000L;
+
+  @Autowired
+  ActivityStreamRepository activityStreamRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Value("${polaris.activity.queueSize:10000}")
+  private Integer queueSize;
+
+  private BlockingQueue<ActivityStream> queue;
+
+  private TransactionTemplate transactionTemplate;
+
+  private ExecutorService writer;
+
+  private volatile boolean running;
+
+  private final AtomicLong writtenCount = new AtomicLong();
+
+  private final AtomicLong batchCount = new AtomicLong();
+
+  private final AtomicLong directCount = new AtomicLong();
+
+  private final AtomicLong failedCount = new AtomicLong();
+
+  public ActivityStreamWriter() {
+  }
+
+  @PostConstruct
+  public void init() {
+    queue = new LinkedBlockingQueue<>(queueSize);
+
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    running = true;
+    writer = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("ActivityStreamWriter-%s").setDaemon(true).build());
+    writer.execute(this::run);
+  }
+
+  /**
+   * Write queued activities until timeout, activities not written in time are lost.
+   */
+  @PreDestroy
+  public void destroy() {
+    running = false;
+    writer.shutdown();
+    try {
+      if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        writer.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      writer.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+
+    if (!queue.isEmpty()) {
+      LOGGER.warn("{} activities are not written on shutdown", queue.size());
+    }
+  }
+
+  /**
+   * Write the activity, after commit of the current transaction if exists
+   */
+  public void write(ActivityStream activityStream) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          enqueue(activityStream);
+        }
+      });
+    } else {
+      enqueue(activityStream);
+    }
+  }
+
+  private void enqueue(ActivityStream activityStream) {
+    if (running && queue.offer(activityStream)) {
+      return;
+    }
+
+    // write directly, if the writer is behind or stopped
+    directCount.incrementAndGet();
+    writeBatch(Lists.newArrayList(activityStream));
+  }
+
+  /**
+   * Activities queued while writing a batch are written in the next batch
+   */
+  private void run() {
+    List<ActivityStream> batch = Lists.newArrayListWithCapacity(BATCH_SIZE);
+    while (running || !queue.isEmpty()) {
+      try {
+        ActivityStream first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        queue.drainTo(batch, BATCH_SIZE - 1);
+        writeBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void writeBatch(List<ActivityStream> batch) {
+    try {
+      transactionTemplate.execute(status -> activityStreamRepository.save(batch));
+      writtenCount.addAndGet(batch.size());
+      batchCount.incrementAndGet();
+    } catch (Exception e) {
+      failedCount.addAndGet(batch.size());
+      LOGGER.warn("Fail to write {} activities : {}", batch.size(), e.getMessage());
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("activity.queue.size", queue.size()));
+    metrics.add(new Metric<>("activity.written", writtenCount.get()));
+    metrics.add(new Metric<>("activity.batch", batchCount.get()));
+    metrics.add(new Metric<>("activity.direct", directCount.get()));
+    metrics.add(new Metric<>("activity.failed", failedCount.get()));
+    return metrics;
+  }
+}
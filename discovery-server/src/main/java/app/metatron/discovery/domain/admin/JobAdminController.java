@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.admin;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import app.metatron.discovery.common.job.JobExecutionService;
+import app.metatron.discovery.common.job.JobInfo;
+
+/**
+ * Status and cancel API of background jobs
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class JobAdminController {
+
+  @Autowired
+  JobExecutionService jobExecutionService;
+
+  @PreAuthorize("hasAuthority('PERM_SYSTEM_MANAGE_DATASOURCE')")
+  @RequestMapping(value = "/jobs", method = RequestMethod.GET, produces = "application/json")
+  public ResponseEntity<?> getJobs(@RequestParam(value = "pool", required = false) String pool) {
+
+    return ResponseEntity.ok(jobExecutionService.getJobs(pool));
+  }
+
+  @PreAuthorize("hasAuthority('PERM_SYSTEM_MANAGE_DATASOURCE')")
+  @RequestMapping(value = "/jobs/{jobId}", method = RequestMethod.GET, produces = "application/json")
+  public ResponseEntity<?> getJob(@PathVariable("jobId") String jobId) {
+
+    JobInfo job = jobExecutionService.getJob(jobId);
+    if (job == null) {
+      throw new ResourceNotFoundException("Job( " + jobId + " ) not found.");
+    }
+
+    return ResponseEntity.ok(job);
+  }
+
+  @PreAuthorize("hasAuthority('PERM_SYSTEM_MANAGE_DATASOURCE')")
+  @RequestMapping(value = "/jobs/{jobId}", method = RequestMethod.DELETE)
+  public ResponseEntity<?> cancelJob(@PathVariable("jobId") String jobId) {
+
+    if (!jobExecutionService.cancel(jobId)) {
+      throw new ResourceNotFoundException("Active job( " + jobId + " ) not found.");
+    }
+
+    return ResponseEntity.noContent().build();
+  }
+}
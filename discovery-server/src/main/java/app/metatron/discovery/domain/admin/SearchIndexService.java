@@ -30,6 +30,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 
 import app.metatron.discovery.domain.datasource.DataSource;
+import app.metatron.discovery.domain.mdm.ColumnDictionary;
+import app.metatron.discovery.domain.mdm.Metadata;
 import app.metatron.discovery.domain.user.User;
 import app.metatron.discovery.domain.user.role.Role;
 
@@ -43,7 +45,8 @@ public class SearchIndexService {
 
   private final Integer DEFAULT_BATCH_INDEX_SIZE = 25;
 
-  private final List<Class<?>> INDEX_DOMAIN_CLASSES = Lists.newArrayList(DataSource.class, User.class, Role.class);
+  private final List<Class<?>> INDEX_DOMAIN_CLASSES = Lists.newArrayList(DataSource.class, User.class, Role.class,
+                                                                         Metadata.class, ColumnDictionary.class);
 
   private final EntityManager entityManager;
 
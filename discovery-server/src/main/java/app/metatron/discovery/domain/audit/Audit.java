@@ -28,6 +28,7 @@ import java.util.List;
 @Entity
 @Table(name="audit")
 @org.hibernate.annotations.Entity(dynamicUpdate = true)
+@EntityListeners(AuditStatsListener.class)
 public class Audit extends AbstractHistoryEntity implements MetatronDomain<String> {
 
   @Id
@@ -167,6 +168,12 @@ public class Audit extends AbstractHistoryEntity implements MetatronDomain<Strin
   @Parsed
   Long incrementVcoreSeconds;
 
+  /**
+   * Rollup entry of the audit when it is loaded or saved, to update rollups by difference
+   */
+  @Transient
+  AuditStatsEntry statsEntry;
+
 
   public enum AuditStatus {
     SUCCESS, FAIL, RUNNING, CANCELLED
@@ -71,6 +71,9 @@ public class AuditController {
   @Autowired
   AuditRepository auditRepository;
 
+  @Autowired
+  AuditStatsService auditStatsService;
+
   @Autowired
   PagedResourcesAssembler pagedResourcesAssembler;
 
@@ -207,10 +210,7 @@ public class AuditController {
 
     SearchParamValidator.range(null, from, to);
 
-    // Get Predicate
-    Predicate searchPredicated = AuditPredicate.searchList(null, null, auditType, from, to, user, null);
-
-    List<AuditStatsDto> auditStatsDtoList = auditRepository.countStatusByDate(searchPredicated);
+    List<AuditStatsDto> auditStatsDtoList = auditStatsService.countStatusByDate(auditType, user, from, to);
 
     Map<String, Map> mapByDate = new LinkedHashMap<>();
     for(AuditStatsDto auditStatsDto : auditStatsDtoList){
@@ -256,9 +256,7 @@ public class AuditController {
 
     SearchParamValidator.range(null, from, to);
 
-    Predicate searchPredicated = AuditPredicate.searchList(null, null, auditType, from, to, null, null);
-
-    List<AuditStatsDto> auditStatsDtoList = auditRepository.countByUser(searchPredicated);
+    List<AuditStatsDto> auditStatsDtoList = auditStatsService.countByUser(auditType, from, to);
 
     HashMap<String, Long> result = new LinkedHashMap<>();
     for(AuditStatsDto auditStatsDto : auditStatsDtoList){
@@ -294,14 +292,11 @@ public class AuditController {
     Audit.AuditStatus queryResultStatusEnum =
             SearchParamValidator.enumUpperValue(Audit.AuditStatus.class, auditStatus, "auditStatus");
 
-    // Get Predicate
-    Predicate searchPredicated = AuditPredicate.searchList(null, queryResultStatusEnum, auditType, from, to, user, null);
-
     if(pageable == null){
       pageable = new PageRequest(0, 10);
     }
 
-    Page<AuditStatsDto> audits = auditRepository.countByStatus(searchPredicated, pageable);
+    Page<AuditStatsDto> audits = auditStatsService.countByStatus(queryResultStatusEnum, auditType, user, from, to, pageable);
 
     return ResponseEntity.ok(this.pagedResourcesAssembler.toResource(audits));
   }
@@ -325,15 +320,11 @@ public class AuditController {
 
     SearchParamValidator.range(null, from, to);
 
-    // Get Predicate
-    Predicate searchPredicated
-        = AuditPredicate.searchListWithValidResource(null, null, auditType, from, to, user, null);
-
     if(pageable == null){
       pageable = new PageRequest(0, 10);
     }
 
-    Page<AuditStatsDto> audits = auditRepository.sumResourceByQueue(searchPredicated, pageable);
+    Page<AuditStatsDto> audits = auditStatsService.sumResourceByQueue(auditType, user, from, to, pageable);
 
     return ResponseEntity.ok(this.pagedResourcesAssembler.toResource(audits));
   }
@@ -72,4 +72,35 @@ public class AuditPredicate {
     builder.and(audit.incrementMemorySeconds.gt(0).or(audit.incrementVcoreSeconds.gt(0)));
     return builder;
   }
+
+  /**
+   * Predicate of rollups, range should be aligned to hours
+   *
+   * @param from inclusive
+   * @param to   exclusive
+   */
+  public static Predicate searchStats(Audit.AuditStatus auditStatus, Audit.AuditType auditType,
+                                      DateTime from, DateTime to, String user) {
+
+    BooleanBuilder builder = new BooleanBuilder();
+    QAuditStats stats = QAuditStats.auditStats;
+
+    if(auditStatus != null){
+      builder = builder.and(stats.status.eq(auditStatus));
+    }
+
+    if(auditType != null){
+      builder = builder.and(stats.type.eq(auditType));
+    }
+
+    if(from != null && to != null) {
+      builder = builder.and(stats.statsTime.goe(from)).and(stats.statsTime.lt(to));
+    }
+
+    if(StringUtils.isNotEmpty(user)){
+      builder = builder.and(stats.user.containsIgnoreCase(user));
+    }
+
+    return builder;
+  }
 }
@@ -25,5 +25,6 @@ public interface AuditRepositoryCustom {
   List<AuditStatsDto> countByUser(Predicate predicate);
   List<AuditStatsDto> countStatusByDate(Predicate predicate);
   Page<AuditStatsDto> countByStatus(Predicate predicate, Pageable pageable);
+  List<AuditStatsDto> countByQuery(Predicate predicate);
   Page<AuditStatsDto> sumResourceByQueue(Predicate predicate, Pageable pageable);
 }
@@ -111,6 +111,19 @@ public class AuditRepositoryImpl extends QueryDslRepositorySupport implements Au
     return new PageImpl<>(content, pageable, total);
   }
 
+  @Override
+  public List<AuditStatsDto> countByQuery(Predicate predicate) {
+    NumberPath<Long> aliasCount = Expressions.numberPath(Long.class, "statusCount");
+    QAudit qAudit = QAudit.audit;
+
+    return from(qAudit)
+            .select(Projections.constructor(AuditStatsDto.class, qAudit.query, qAudit.count().as(aliasCount)))
+            .where(predicate)
+            .where(qAudit.query.isNotNull())
+            .groupBy(qAudit.query)
+            .fetch();
+  }
+
   @Override
   public Page<AuditStatsDto> sumResourceByQueue(Predicate predicate, Pageable pageable) {
     NumberPath<Long> aliasMemory = Expressions.numberPath(Long.class, "incrementMemorySeconds");
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
+import org.joda.time.DateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+/**
+ * Rollup of audits per hour, type, user, status, queue and fingerprint of normalized query. <br/>
+ * Rows are updated by {@link AuditStatsService} as audits are saved, rows of the same key can be split,
+ * so the counts should be summed up.
+ */
+@Entity
+@Table(name = "audit_stats")
+public class AuditStats {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+  @GenericGenerator(name = "native", strategy = "native")
+  @Column(name = "id")
+  Long id;
+
+  /**
+   * Start of the hour (UTC) of audits
+   */
+  @Column(name = "stats_time")
+  @Type(type = "org.jadira.usertype.dateandtime.joda.PersistentDateTime")
+  DateTime statsTime;
+
+  @Column(name = "audit_type")
+  @Enumerated(EnumType.STRING)
+  Audit.AuditType type;
+
+  @Column(name = "audit_user")
+  String user;
+
+  @Column(name = "audit_status")
+  @Enumerated(EnumType.STRING)
+  Audit.AuditStatus status;
+
+  @Column(name = "audit_queue")
+  String queue;
+
+  @Column(name = "query_fingerprint")
+  String queryFingerprint;
+
+  /**
+   * Normalized query, literals are replaced with '?'
+   */
+  @Lob
+  @Column(name = "query_text")
+  String queryText;
+
+  @Column(name = "stats_count")
+  Long statsCount;
+
+  /**
+   * Count of audits with valid resource (increment of memory or vcore seconds is positive)
+   */
+  @Column(name = "resource_count")
+  Long resourceCount;
+
+  @Column(name = "memory_seconds")
+  Long memorySeconds;
+
+  @Column(name = "vcore_seconds")
+  Long vcoreSeconds;
+
+  public AuditStats() {
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public DateTime getStatsTime() {
+    return statsTime;
+  }
+
+  public Audit.AuditType getType() {
+    return type;
+  }
+
+  public String getUser() {
+    return user;
+  }
+
+  public Audit.AuditStatus getStatus() {
+    return status;
+  }
+
+  public String getQueue() {
+    return queue;
+  }
+
+  public String getQueryFingerprint() {
+    return queryFingerprint;
+  }
+
+  public String getQueryText() {
+    return queryText;
+  }
+
+  public Long getStatsCount() {
+    return statsCount;
+  }
+
+  public Long getResourceCount() {
+    return resourceCount;
+  }
+
+  public Long getMemorySeconds() {
+    return memorySeconds;
+  }
+
+  public Long getVcoreSeconds() {
+    return vcoreSeconds;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import org.hibernate.annotations.Type;
+import org.joda.time.DateTime;
+
+import java.sql.Timestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Marker of the backfill of audit rollups, one row. <br/>
+ * Audits started before the boundary are rolled up by the backfill, others by {@link AuditStatsListener}.
+ * Rows are written by {@link AuditStatsService}.
+ */
+@Entity
+@Table(name = "audit_stats_backfill")
+public class AuditStatsBackfill {
+
+  public static final Long ID = 1L;
+
+  @Id
+  @Column(name = "id")
+  Long id;
+
+  /**
+   * Recorded by the first node started after the upgrade, before the rollups are updated by audits
+   */
+  @Column(name = "backfill_boundary")
+  @Type(type = "org.jadira.usertype.dateandtime.joda.PersistentDateTime")
+  DateTime boundary;
+
+  /**
+   * Null until the backfill is committed
+   */
+  @Column(name = "backfill_done_time")
+  @Type(type = "org.jadira.usertype.dateandtime.joda.PersistentDateTime")
+  DateTime doneTime;
+
+  public AuditStatsBackfill() {
+  }
+
+  static AuditStatsBackfill of(Timestamp boundary, Timestamp doneTime) {
+    AuditStatsBackfill marker = new AuditStatsBackfill();
+    marker.id = ID;
+    marker.boundary = new DateTime(boundary.getTime());
+    marker.doneTime = doneTime == null ? null : new DateTime(doneTime.getTime());
+    return marker;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public DateTime getBoundary() {
+    return boundary;
+  }
+
+  public DateTime getDoneTime() {
+    return doneTime;
+  }
+}
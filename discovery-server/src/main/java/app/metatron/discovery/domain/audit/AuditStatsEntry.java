@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import com.google.common.hash.Hashing;
+
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Contribution of an audit to the rollups of audit statistics. <br/>
+ * Audits are rolled up per hour, type, user, status, queue and fingerprint of normalized query.
+ */
+public class AuditStatsEntry {
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+
+  private static final Pattern COMMENT = Pattern.compile("--[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+  private static final Pattern VALUE_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  final DateTime startTime;
+
+  final DateTime statsTime;
+
+  final Audit.AuditType type;
+
+  final String user;
+
+  final Audit.AuditStatus status;
+
+  final String queue;
+
+  final String query;
+
+  final long resourceCount;
+
+  final long memorySeconds;
+
+  final long vcoreSeconds;
+
+  private String queryText;
+
+  private String queryFingerprint;
+
+  private AuditStatsEntry(DateTime startTime, Audit.AuditType type, String user, Audit.AuditStatus status,
+                          String queue, String query, Long incrementMemorySeconds, Long incrementVcoreSeconds) {
+    this.startTime = startTime;
+    this.statsTime = truncateToHour(startTime);
+    this.type = type;
+    this.user = user;
+    this.status = status;
+    this.queue = queue;
+    this.query = query;
+
+    long memory = incrementMemorySeconds == null ? 0L : incrementMemorySeconds;
+    long vcore = incrementVcoreSeconds == null ? 0L : incrementVcoreSeconds;
+    boolean validResource = memory > 0 || vcore > 0;
+    this.resourceCount = validResource ? 1L : 0L;
+    this.memorySeconds = validResource ? memory : 0L;
+    this.vcoreSeconds = validResource ? vcore : 0L;
+  }
+
+  /**
+   * @return null, if the audit is not counted in statistics (no query or start time)
+   */
+  public static AuditStatsEntry of(Audit audit) {
+    if (audit.getQuery() == null || audit.getStartTime() == null) {
+      return null;
+    }
+
+    return new AuditStatsEntry(audit.getStartTime(), audit.getType(), audit.getUser(),
+                               audit.getStatus(), audit.getQueue(), audit.getQuery(),
+                               audit.getIncrementMemorySeconds(), audit.getIncrementVcoreSeconds());
+  }
+
+  public static DateTime truncateToHour(DateTime time) {
+    return time.withZone(DateTimeZone.UTC).hourOfDay().roundFloorCopy();
+  }
+
+  /**
+   * Replace literals with '?' and collapse whitespaces,
+   * so the queries differ only in values have the same fingerprint.
+   */
+  public static String normalize(String query) {
+    String normalized = STRING_LITERAL.matcher(query).replaceAll("?");
+    normalized = COMMENT.matcher(normalized).replaceAll(" ");
+    normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+    normalized = VALUE_LIST.matcher(normalized).replaceAll("(?)");
+    normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    return StringUtils.removeEnd(normalized, ";").trim();
+  }
+
+  public static String fingerprint(String normalizedQuery) {
+    return Hashing.sha256().hashString(normalizedQuery, StandardCharsets.UTF_8).toString();
+  }
+
+  /**
+   * Entries of the same key are rolled up into the same row
+   */
+  public boolean hasSameKey(AuditStatsEntry other) {
+    return Objects.equals(statsTime, other.statsTime)
+        && type == other.type
+        && Objects.equals(user, other.user)
+        && status == other.status
+        && Objects.equals(queue, other.queue)
+        && (Objects.equals(query, other.query) || getQueryFingerprint().equals(other.getQueryFingerprint()));
+  }
+
+  public String getQueryText() {
+    if (queryText == null) {
+      queryText = normalize(query);
+    }
+    return queryText;
+  }
+
+  public String getQueryFingerprint() {
+    if (queryFingerprint == null) {
+      queryFingerprint = fingerprint(getQueryText());
+    }
+    return queryFingerprint;
+  }
+
+  /**
+   * Key of the rollup row
+   */
+  public Key getKey() {
+    return new Key(this);
+  }
+
+  static class Key {
+
+    final DateTime statsTime;
+
+    final Audit.AuditType type;
+
+    final String user;
+
+    final Audit.AuditStatus status;
+
+    final String queue;
+
+    final String queryFingerprint;
+
+    Key(AuditStatsEntry entry) {
+      this.statsTime = entry.statsTime;
+      this.type = entry.type;
+      this.user = entry.user;
+      this.status = entry.status;
+      this.queue = entry.queue;
+      this.queryFingerprint = entry.getQueryFingerprint();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return Objects.equals(statsTime, that.statsTime)
+          && type == that.type
+          && Objects.equals(user, that.user)
+          && status == that.status
+          && Objects.equals(queue, that.queue)
+          && Objects.equals(queryFingerprint, that.queryFingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(statsTime, type, user, status, queue, queryFingerprint);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import org.springframework.context.ApplicationContext;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import app.metatron.discovery.util.ApplicationContextProvider;
+
+/**
+ * Keeps rollups of audit statistics up to date, whichever way the audit is saved. <br/>
+ * Entry of the loaded (or saved) audit is kept to apply the difference on update.
+ */
+public class AuditStatsListener {
+
+  @PostLoad
+  public void postLoad(Audit audit) {
+    audit.statsEntry = AuditStatsEntry.of(audit);
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void postSave(Audit audit) {
+    AuditStatsEntry current = AuditStatsEntry.of(audit);
+    AuditStatsService statsService = getStatsService();
+    if (statsService != null) {
+      statsService.apply(audit.statsEntry, current);
+    }
+    audit.statsEntry = current;
+  }
+
+  @PostRemove
+  public void postRemove(Audit audit) {
+    AuditStatsService statsService = getStatsService();
+    if (statsService != null) {
+      statsService.apply(audit.statsEntry, null);
+    }
+    audit.statsEntry = null;
+  }
+
+  private AuditStatsService getStatsService() {
+    ApplicationContext context = ApplicationContextProvider.getApplicationContext();
+    return context == null ? null : context.getBean(AuditStatsService.class);
+  }
+}
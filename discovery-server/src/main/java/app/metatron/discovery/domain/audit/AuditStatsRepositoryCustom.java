@@ -0,0 +1,33 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import com.querydsl.core.types.Predicate;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Same statistics of {@link AuditRepositoryCustom}, from the rollups
+ */
+public interface AuditStatsRepositoryCustom {
+  List<AuditStatsDto> countByUser(Predicate predicate);
+  List<AuditStatsDto> countStatusByDate(Predicate predicate);
+  Page<AuditStatsDto> countByStatus(Predicate predicate, Pageable pageable);
+  List<AuditStatsDto> countByQuery(Predicate predicate);
+  Page<AuditStatsDto> sumResourceByQueue(Predicate predicate, Pageable pageable);
+}
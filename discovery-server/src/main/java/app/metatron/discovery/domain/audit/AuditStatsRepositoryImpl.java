@@ -0,0 +1,233 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.JPQLQuery;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.QueryDslRepositorySupport;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class AuditStatsRepositoryImpl extends QueryDslRepositorySupport implements AuditStatsRepositoryCustom {
+
+  private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+  public AuditStatsRepositoryImpl() {
+    super(AuditStats.class);
+  }
+
+  @Override
+  public List<AuditStatsDto> countByUser(Predicate predicate) {
+    NumberPath<Long> aliasCount = Expressions.numberPath(Long.class, "userCount");
+    QAuditStats qStats = QAuditStats.auditStats;
+
+    return from(qStats)
+        .select(Projections.constructor(AuditStatsDto.class, qStats.user, qStats.statsCount.sum().as(aliasCount)))
+        .where(predicate)
+        .groupBy(qStats.user)
+        .orderBy(aliasCount.desc())
+        .fetch();
+  }
+
+  @Override
+  public List<AuditStatsDto> countStatusByDate(Predicate predicate) {
+    QAuditStats qStats = QAuditStats.auditStats;
+    NumberExpression<Long> sumCount = qStats.statsCount.sum();
+
+    List<Tuple> tuples = from(qStats)
+        .select(qStats.statsTime, qStats.status, sumCount)
+        .where(predicate)
+        .groupBy(qStats.statsTime, qStats.status)
+        .orderBy(qStats.statsTime.asc())
+        .fetch();
+
+    // 시간별 집계를 일별로 합산, 원본 집계와 같이 서버 시간대 기준 (year + dayOfYear)
+    Map<String, Map<Audit.AuditStatus, Long>> countByDate = new LinkedHashMap<>();
+    for (Tuple tuple : tuples) {
+      DateTime statsTime = tuple.get(qStats.statsTime).withZone(DateTimeZone.getDefault());
+      String date = String.valueOf(statsTime.getYear()) + statsTime.getDayOfYear();
+      countByDate.computeIfAbsent(date, key -> new LinkedHashMap<>())
+                 .merge(tuple.get(qStats.status), tuple.get(sumCount), Long::sum);
+    }
+
+    List<AuditStatsDto> result = Lists.newArrayList();
+    countByDate.forEach((date, counts) ->
+        counts.forEach((status, count) -> result.add(new AuditStatsDto(date, status, count))));
+    return result;
+  }
+
+  @Override
+  public Page<AuditStatsDto> countByStatus(Predicate predicate, Pageable pageable) {
+    NumberPath<Long> aliasCount = Expressions.numberPath(Long.class, "statusCount");
+    QAuditStats qStats = QAuditStats.auditStats;
+
+    JPQLQuery<String> countQuery = from(qStats)
+        .select(qStats.queryFingerprint)
+        .where(predicate)
+        .distinct();
+
+    JPQLQuery<Tuple> listQuery = from(qStats)
+        .select(qStats.queryFingerprint, qStats.statsCount.sum().as(aliasCount))
+        .where(predicate)
+        .groupBy(qStats.queryFingerprint);
+
+    //Pagination 적용
+    listQuery.offset((long) pageable.getOffset());
+    listQuery.limit((long) pageable.getPageSize());
+
+    //Sort 적용 (기본값은 count 내림차순), query 정렬은 countByQuery 결과로 처리
+    Sort sort = pageable.getSort();
+    if (sort == null) {
+      listQuery.orderBy(aliasCount.desc(), qStats.queryFingerprint.desc());
+    } else {
+      Iterator<Sort.Order> sortIterator = sort.iterator();
+      while (sortIterator.hasNext()) {
+        Sort.Order order = sortIterator.next();
+        if (order.getProperty().equals(AuditStatsDto.SORT_STATUS_COUNT)) {
+          listQuery.orderBy(order.isAscending() ? aliasCount.asc() : aliasCount.desc());
+        }
+      }
+    }
+
+    Long total = countQuery.fetchCount();
+    if (total <= pageable.getOffset()) {
+      return new PageImpl<>(Lists.newArrayList(), pageable, total);
+    }
+
+    List<Tuple> tuples = listQuery.fetch();
+    Map<String, String> queryTexts = findQueryTexts(tuples.stream()
+                                                          .map(tuple -> tuple.get(0, String.class))
+                                                          .collect(Collectors.toList()));
+
+    List<AuditStatsDto> content = tuples.stream()
+                                        .map(tuple -> new AuditStatsDto(queryTexts.get(tuple.get(0, String.class)),
+                                                                        tuple.get(1, Long.class)))
+                                        .collect(Collectors.toList());
+    return new PageImpl<>(content, pageable, total);
+  }
+
+  @Override
+  public List<AuditStatsDto> countByQuery(Predicate predicate) {
+    NumberPath<Long> aliasCount = Expressions.numberPath(Long.class, "statusCount");
+    QAuditStats qStats = QAuditStats.auditStats;
+
+    List<Tuple> tuples = from(qStats)
+        .select(qStats.queryFingerprint, qStats.statsCount.sum().as(aliasCount))
+        .where(predicate)
+        .groupBy(qStats.queryFingerprint)
+        .fetch();
+
+    Map<String, String> queryTexts = Maps.newHashMap();
+    for (List<Tuple> partition : Lists.partition(tuples, MAX_IN_CLAUSE_SIZE)) {
+      queryTexts.putAll(findQueryTexts(partition.stream()
+                                                .map(tuple -> tuple.get(0, String.class))
+                                                .collect(Collectors.toList())));
+    }
+
+    return tuples.stream()
+                 .map(tuple -> new AuditStatsDto(queryTexts.get(tuple.get(0, String.class)), tuple.get(1, Long.class)))
+                 .collect(Collectors.toList());
+  }
+
+  /**
+   * Normalized query of fingerprints, from one row of each fingerprint
+   */
+  private Map<String, String> findQueryTexts(List<String> fingerprints) {
+    if (fingerprints.isEmpty()) {
+      return Maps.newHashMap();
+    }
+
+    QAuditStats qStats = QAuditStats.auditStats;
+    List<Long> ids = from(qStats)
+        .select(qStats.id.min())
+        .where(qStats.queryFingerprint.in(fingerprints))
+        .groupBy(qStats.queryFingerprint)
+        .fetch();
+
+    Map<String, String> queryTexts = Maps.newHashMap();
+    for (Tuple tuple : from(qStats).select(qStats.queryFingerprint, qStats.queryText).where(qStats.id.in(ids)).fetch()) {
+      queryTexts.put(tuple.get(qStats.queryFingerprint), tuple.get(qStats.queryText));
+    }
+    return queryTexts;
+  }
+
+  @Override
+  public Page<AuditStatsDto> sumResourceByQueue(Predicate predicate, Pageable pageable) {
+    NumberPath<Long> aliasMemory = Expressions.numberPath(Long.class, "incrementMemorySeconds");
+    NumberPath<Long> aliasVCore = Expressions.numberPath(Long.class, "incrementVcoreSeconds");
+    NumberPath<Long> aliasCount = Expressions.numberPath(Long.class, "queueCount");
+
+    QAuditStats qStats = QAuditStats.auditStats;
+
+    JPQLQuery<String> countQuery = from(qStats)
+        .select(qStats.queue)
+        .where(predicate)
+        .where(qStats.queue.isNotNull(), qStats.resourceCount.gt(0L))
+        .distinct();
+
+    JPQLQuery<AuditStatsDto> listQuery = from(qStats)
+        .select(Projections.constructor(AuditStatsDto.class, qStats.queue, qStats.resourceCount.sum().as(aliasCount),
+                                        qStats.memorySeconds.sum().as(aliasMemory), qStats.vcoreSeconds.sum().as(aliasVCore)))
+        .where(predicate)
+        .where(qStats.queue.isNotNull(), qStats.resourceCount.gt(0L))
+        .groupBy(qStats.queue);
+
+    //Pagination 적용
+    listQuery.offset((long) pageable.getOffset());
+    listQuery.limit((long) pageable.getPageSize());
+
+    //Sort 적용 (기본값은 memory, cpu, queue 내림차순)
+    Sort sort = pageable.getSort();
+    if (sort == null) {
+      listQuery.orderBy(aliasMemory.desc(), aliasVCore.desc(), qStats.queue.desc());
+    } else {
+      Iterator<Sort.Order> sortIterator = sort.iterator();
+      while (sortIterator.hasNext()) {
+        Sort.Order order = sortIterator.next();
+        if (order.getProperty().equals(AuditStatsDto.SORT_SUM_MEMORY)) {
+          listQuery.orderBy(order.isAscending() ? aliasMemory.asc() : aliasMemory.desc());
+        } else if (order.getProperty().equals(AuditStatsDto.SORT_SUM_VCORE)) {
+          listQuery.orderBy(order.isAscending() ? aliasVCore.asc() : aliasVCore.desc());
+        } else if (order.getProperty().equals(AuditStatsDto.SORT_QUEUE)) {
+          listQuery.orderBy(order.isAscending() ? qStats.queue.asc() : qStats.queue.desc());
+        }
+      }
+    }
+
+    Long total = countQuery.fetchCount();
+    List<AuditStatsDto> content = total > pageable.getOffset() ? listQuery.fetch() : Lists.newArrayList();
+
+    return new PageImpl<>(content, pageable, total);
+  }
+}
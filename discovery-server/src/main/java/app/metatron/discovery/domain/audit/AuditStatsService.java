@@ -0,0 +1,423 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import com.querydsl.core.types.Predicate;
+
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+
+/**
+ * Statistics of audits. <br/>
+ * Rollups of audits are updated in the transaction of audits (see {@link AuditStatsListener}),
+ * and statistics are read from the rollups if the range is aligned to hours, otherwise from audits. <br/>
+ * Rollups of audits before the upgrade are built by {@link #backfill()} (see BuildAuditStatsJob).
+ */
+@Component
+public class AuditStatsService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuditStatsService.class);
+
+  private static final int BACKFILL_BATCH_SIZE = 1000;
+
+  private static final String UPDATE_SQL = "UPDATE audit_stats SET stats_count = stats_count + ?, " +
+      "resource_count = resource_count + ?, memory_seconds = memory_seconds + ?, vcore_seconds = vcore_seconds + ? " +
+      "WHERE stats_time = ? AND query_fingerprint = ?";
+
+  private static final String INSERT_SQL = "INSERT INTO audit_stats (stats_time, audit_type, audit_user, audit_status, " +
+      "audit_queue, query_fingerprint, query_text, stats_count, resource_count, memory_seconds, vcore_seconds) " +
+      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String SELECT_BACKFILL_SQL = "SELECT backfill_boundary, backfill_done_time " +
+      "FROM audit_stats_backfill WHERE id = ?";
+
+  private static final String INSERT_BACKFILL_SQL = "INSERT INTO audit_stats_backfill (id, backfill_boundary) VALUES (?, ?)";
+
+  private static final String UPDATE_BACKFILL_SQL = "UPDATE audit_stats_backfill SET backfill_done_time = ? WHERE id = ?";
+
+  @Autowired
+  AuditRepository auditRepository;
+
+  @Autowired
+  AuditStatsRepository auditStatsRepository;
+
+  @Autowired
+  javax.sql.DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  EntityManager entityManager;
+
+  private JdbcTemplate jdbcTemplate;
+
+  private TransactionTemplate transactionTemplate;
+
+  /**
+   * Audits started before the boundary are left to the backfill until it is done
+   */
+  private volatile DateTime backfillBoundary;
+
+  private volatile boolean backfilled;
+
+  public AuditStatsService() {
+  }
+
+  @PostConstruct
+  public void init() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    initBackfill();
+  }
+
+  /**
+   * Record the boundary of the backfill before the rollups are updated by audits of this node,
+   * the boundary recorded by the first node started after the upgrade is kept by other nodes.
+   */
+  void initBackfill() {
+    AuditStatsBackfill marker = findBackfill(false);
+    if (marker == null) {
+      try {
+        jdbcTemplate.update(INSERT_BACKFILL_SQL, AuditStatsBackfill.ID, new Timestamp(DateTime.now().getMillis()));
+      } catch (DuplicateKeyException e) {
+        LOGGER.debug("Boundary of audit statistics backfill is recorded by other node");
+      }
+      marker = findBackfill(false);
+    }
+
+    backfillBoundary = marker.getBoundary();
+    backfilled = marker.getDoneTime() != null;
+  }
+
+  /**
+   * @param lock lock the marker until the transaction ends, so the backfill runs once
+   * @return null, if the boundary is not recorded
+   */
+  private AuditStatsBackfill findBackfill(boolean lock) {
+    String sql = lock ? SELECT_BACKFILL_SQL + " FOR UPDATE" : SELECT_BACKFILL_SQL;
+    List<AuditStatsBackfill> markers = jdbcTemplate.query(sql, (rs, rowNum) ->
+        AuditStatsBackfill.of(rs.getTimestamp(1), rs.getTimestamp(2)), AuditStatsBackfill.ID);
+    return markers.isEmpty() ? null : markers.get(0);
+  }
+
+  /**
+   * Backfill can be done by other node, the marker is read until the backfill is done
+   */
+  boolean isBackfilled() {
+    if (!backfilled) {
+      AuditStatsBackfill marker = findBackfill(false);
+      backfilled = marker != null && marker.getDoneTime() != null;
+    }
+    return backfilled;
+  }
+
+  public List<AuditStatsDto> countByUser(Audit.AuditType auditType, DateTime from, DateTime to) {
+    if (!isRollupRange(from, to)) {
+      return auditRepository.countByUser(AuditPredicate.searchList(null, null, auditType, from, to, null, null));
+    }
+
+    return auditStatsRepository.countByUser(AuditPredicate.searchStats(null, auditType, from, getRollupEnd(from, to), null));
+  }
+
+  public List<AuditStatsDto> countStatusByDate(Audit.AuditType auditType, String user, DateTime from, DateTime to) {
+    if (!isRollupRange(from, to)) {
+      return auditRepository.countStatusByDate(AuditPredicate.searchList(null, null, auditType, from, to, user, null));
+    }
+
+    return auditStatsRepository.countStatusByDate(AuditPredicate.searchStats(null, auditType, from, getRollupEnd(from, to), user));
+  }
+
+  /**
+   * Count by normalized query, whichever the counts are read from. <br/>
+   * Counts are sorted and paged in memory if read from audits or sorted by query (query text is not sortable on the rollups)
+   */
+  public Page<AuditStatsDto> countByStatus(Audit.AuditStatus auditStatus, Audit.AuditType auditType, String user,
+                                           DateTime from, DateTime to, Pageable pageable) {
+    boolean sortByQuery = pageable.getSort() != null && pageable.getSort().getOrderFor(AuditStatsDto.SORT_QUERY) != null;
+    if (!isRollupRange(from, to)) {
+      Predicate predicate = AuditPredicate.searchList(null, auditStatus, auditType, from, to, user, null);
+      return toPage(normalizeQueries(auditRepository.countByQuery(predicate)), pageable);
+    }
+
+    Predicate predicate = AuditPredicate.searchStats(auditStatus, auditType, from, getRollupEnd(from, to), user);
+    if (sortByQuery) {
+      return toPage(auditStatsRepository.countByQuery(predicate), pageable);
+    }
+
+    return auditStatsRepository.countByStatus(predicate, pageable);
+  }
+
+  /**
+   * Merge counts of queries by normalized query, as the rollups are grouped
+   */
+  List<AuditStatsDto> normalizeQueries(List<AuditStatsDto> counts) {
+    Map<String, AuditStatsDto> merged = new LinkedHashMap<>();
+    for (AuditStatsDto count : counts) {
+      String queryText = AuditStatsEntry.normalize(count.getKeyword());
+      merged.merge(AuditStatsEntry.fingerprint(queryText), new AuditStatsDto(queryText, count.getCount()),
+                   (previous, current) -> new AuditStatsDto(previous.getKeyword(),
+                                                            previous.getCount() + current.getCount()));
+    }
+    return Lists.newArrayList(merged.values());
+  }
+
+  /**
+   * Sort (default: count, query descending) and page counts of queries
+   */
+  Page<AuditStatsDto> toPage(List<AuditStatsDto> counts, Pageable pageable) {
+    Comparator<AuditStatsDto> byCount = Comparator.comparing(AuditStatsDto::getCount,
+                                                             Comparator.nullsFirst(Comparator.naturalOrder()));
+    Comparator<AuditStatsDto> byQuery = Comparator.comparing(AuditStatsDto::getKeyword,
+                                                             Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    Comparator<AuditStatsDto> comparator = null;
+    Sort sort = pageable.getSort();
+    if (sort == null) {
+      comparator = byCount.reversed().thenComparing(byQuery.reversed());
+    } else {
+      for (Sort.Order order : sort) {
+        Comparator<AuditStatsDto> next = null;
+        if (order.getProperty().equals(AuditStatsDto.SORT_STATUS_COUNT)) {
+          next = order.isAscending() ? byCount : byCount.reversed();
+        } else if (order.getProperty().equals(AuditStatsDto.SORT_QUERY)) {
+          next = order.isAscending() ? byQuery : byQuery.reversed();
+        }
+
+        if (next != null) {
+          comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+      }
+    }
+
+    List<AuditStatsDto> sorted = comparator == null ? counts : counts.stream()
+                                                                      .sorted(comparator)
+                                                                      .collect(Collectors.toList());
+    List<AuditStatsDto> content = sorted.stream()
+                                        .skip(pageable.getOffset())
+                                        .limit(pageable.getPageSize())
+                                        .collect(Collectors.toList());
+    return new PageImpl<>(content, pageable, sorted.size());
+  }
+
+  public Page<AuditStatsDto> sumResourceByQueue(Audit.AuditType auditType, String user,
+                                                DateTime from, DateTime to, Pageable pageable) {
+    if (!isRollupRange(from, to)) {
+      Predicate predicate = AuditPredicate.searchListWithValidResource(null, null, auditType, from, to, user, null);
+      return auditRepository.sumResourceByQueue(predicate, pageable);
+    }
+
+    return auditStatsRepository.sumResourceByQueue(AuditPredicate.searchStats(null, auditType, from, getRollupEnd(from, to), user), pageable);
+  }
+
+  /**
+   * Statistics of the range can be read from the rollups, if the range is not applied or aligned to hours
+   */
+  boolean isRollupRange(DateTime from, DateTime to) {
+    return from == null || to == null || getRollupEnd(from, to) != null;
+  }
+
+  /**
+   * Exclusive end of the range on the rollups
+   *
+   * @return null, if the range is not applied or not aligned to hours
+   */
+  DateTime getRollupEnd(DateTime from, DateTime to) {
+    if (from == null || to == null || !isHourAligned(from)) {
+      return null;
+    }
+
+    // 'to' can be the start of the next hour or the end of the hour (ex. 23:59:59, 23:59:59.999)
+    for (DateTime end : Lists.newArrayList(to, to.plusMillis(1), to.plusSeconds(1))) {
+      if (isHourAligned(end)) {
+        return end;
+      }
+    }
+    return null;
+  }
+
+  private boolean isHourAligned(DateTime time) {
+    return AuditStatsEntry.truncateToHour(time).getMillis() == time.getMillis();
+  }
+
+  /**
+   * Apply the change of an audit to the rollups, in the transaction of the audit. <br/>
+   * Entries of audits started before the backfill boundary are skipped until the backfill is done,
+   * as the backfill rolls up the audits as they are when read.
+   *
+   * @param previous entry of the audit before change, null if the audit is created
+   * @param current  entry of the audit after change, null if the audit is deleted
+   */
+  public void apply(AuditStatsEntry previous, AuditStatsEntry current) {
+    previous = isApplicable(previous) ? previous : null;
+    current = isApplicable(current) ? current : null;
+
+    if (previous != null && current != null && previous.hasSameKey(current)) {
+      add(current, 0L,
+          current.resourceCount - previous.resourceCount,
+          current.memorySeconds - previous.memorySeconds,
+          current.vcoreSeconds - previous.vcoreSeconds);
+      return;
+    }
+
+    if (previous != null) {
+      add(previous, -1L, -previous.resourceCount, -previous.memorySeconds, -previous.vcoreSeconds);
+    }
+
+    if (current != null) {
+      add(current, 1L, current.resourceCount, current.memorySeconds, current.vcoreSeconds);
+    }
+  }
+
+  private boolean isApplicable(AuditStatsEntry entry) {
+    return entry != null && (!entry.startTime.isBefore(backfillBoundary) || isBackfilled());
+  }
+
+  private void add(AuditStatsEntry entry, long count, long resourceCount, long memorySeconds, long vcoreSeconds) {
+    if (count == 0L && resourceCount == 0L && memorySeconds == 0L && vcoreSeconds == 0L) {
+      return;
+    }
+
+    Timestamp statsTime = new Timestamp(entry.statsTime.getMillis());
+    String type = entry.type == null ? null : entry.type.name();
+    String status = entry.status == null ? null : entry.status.name();
+
+    // nullable columns are compared by 'IS NULL'
+    StringBuilder sql = new StringBuilder(UPDATE_SQL);
+    List<Object> params = Lists.newArrayList(count, resourceCount, memorySeconds, vcoreSeconds,
+                                             statsTime, entry.getQueryFingerprint());
+    appendCondition(sql, params, "audit_type", type);
+    appendCondition(sql, params, "audit_user", entry.user);
+    appendCondition(sql, params, "audit_status", status);
+    appendCondition(sql, params, "audit_queue", entry.queue);
+
+    if (jdbcTemplate.update(sql.toString(), params.toArray()) == 0) {
+      jdbcTemplate.update(INSERT_SQL, statsTime, type, entry.user, status, entry.queue,
+                          entry.getQueryFingerprint(), entry.getQueryText(),
+                          count, resourceCount, memorySeconds, vcoreSeconds);
+    }
+  }
+
+  private void appendCondition(StringBuilder sql, List<Object> params, String column, Object value) {
+    if (value == null) {
+      sql.append(" AND ").append(column).append(" IS NULL");
+    } else {
+      sql.append(" AND ").append(column).append(" = ?");
+      params.add(value);
+    }
+  }
+
+  /**
+   * Build the rollups from audits started before the backfill boundary, once. <br/>
+   * Audits are read in batches and added to the rollups batch by batch, in the transaction marking the backfill done,
+   * so a failed backfill leaves no partial rollups and is retried on next run.
+   * Audits started after the boundary are rolled up by {@link AuditStatsListener} from the start of nodes.
+   *
+   * @return number of audits rolled up, 0 if the backfill is already done
+   */
+  public long backfill() {
+    if (isBackfilled()) {
+      return 0L;
+    }
+
+    long startTime = System.currentTimeMillis();
+    Long rolledUp = transactionTemplate.execute(status -> {
+      // backfill of other node is waited and not repeated
+      AuditStatsBackfill marker = findBackfill(true);
+      if (marker.getDoneTime() != null) {
+        return null;
+      }
+
+      long count = 0L;
+      String lastId = "";
+      List<Audit> audits;
+      do {
+        audits = auditRepository.findAll(QAudit.audit.id.gt(lastId).and(QAudit.audit.startTime.lt(marker.getBoundary())),
+                                         new PageRequest(0, BACKFILL_BATCH_SIZE, Sort.Direction.ASC, "id")).getContent();
+        if (audits.isEmpty()) {
+          break;
+        }
+
+        count += addAll(audits);
+        lastId = audits.get(audits.size() - 1).getId();
+
+        // only the rollups of the batch are kept in memory
+        entityManager.clear();
+      } while (audits.size() == BACKFILL_BATCH_SIZE);
+
+      jdbcTemplate.update(UPDATE_BACKFILL_SQL, new Timestamp(DateTime.now().getMillis()), AuditStatsBackfill.ID);
+      return count;
+    });
+
+    backfilled = true;
+    if (rolledUp == null) {
+      return 0L;
+    }
+
+    LOGGER.info("Built rollups of {} audits before {} in {} ms", rolledUp, backfillBoundary,
+                System.currentTimeMillis() - startTime);
+    return rolledUp;
+  }
+
+  private long addAll(List<Audit> audits) {
+    Map<AuditStatsEntry.Key, long[]> rollups = Maps.newHashMap();
+    Map<AuditStatsEntry.Key, AuditStatsEntry> entries = Maps.newHashMap();
+
+    long count = 0L;
+    for (Audit audit : audits) {
+      AuditStatsEntry entry = AuditStatsEntry.of(audit);
+      if (entry == null) {
+        continue;
+      }
+
+      AuditStatsEntry.Key key = entry.getKey();
+      entries.putIfAbsent(key, entry);
+      long[] values = rollups.computeIfAbsent(key, k -> new long[4]);
+      values[0] += 1L;
+      values[1] += entry.resourceCount;
+      values[2] += entry.memorySeconds;
+      values[3] += entry.vcoreSeconds;
+      count++;
+    }
+
+    rollups.forEach((key, values) -> add(entries.get(key), values[0], values[1], values[2], values[3]));
+    return count;
+  }
+}
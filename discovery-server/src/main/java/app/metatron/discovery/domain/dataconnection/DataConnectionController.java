@@ -110,6 +110,9 @@ public class DataConnectionController {
   @Autowired
   WorkbenchDataSourceManager workbenchDataSourceManager;
 
+  @Autowired
+  JdbcTableCatalog tableCatalog;
+
   /**
    * 서비스에서 이용가능한 JDBC 종류 전달
    *
@@ -206,8 +209,13 @@ public class DataConnectionController {
 
   @RequestMapping(value = "/connections/query/tables", method = RequestMethod.POST)
   public @ResponseBody ResponseEntity<?> queryForListOfTables(@RequestBody ConnectionRequest checkRequest,
+                                                              @RequestParam(required = false, defaultValue = "false") boolean refresh,
                                                               Pageable pageable) {
 
+    if (refresh) {
+      tableCatalog.invalidate(checkRequest.getConnection(), checkRequest.getDatabase());
+    }
+
     return ResponseEntity.ok(
         connectionService.getTableNames(checkRequest.getConnection(), checkRequest.getDatabase(), checkRequest.getTable(), pageable)
     );
@@ -370,6 +378,7 @@ public class DataConnectionController {
           @PathVariable("databaseName") String databaseName,
           @RequestParam(required = false) String tableName,
           @RequestParam(required = false) String webSocketId,
+          @RequestParam(required = false, defaultValue = "false") boolean refresh,
           Pageable pageable) {
 
     DataConnection dataConnection = connectionRepository.findOne(connectionId);
@@ -377,6 +386,10 @@ public class DataConnectionController {
       throw new ResourceNotFoundException(connectionId);
     }
 
+    if (refresh) {
+      tableCatalog.invalidate(dataConnection, databaseName);
+    }
+
     //userinfo, dialog required webSocketId
     if(dataConnection.getAuthenticationType() != DataConnection.AuthenticationType.MANUAL){
       SearchParamValidator.checkNull(webSocketId, "webSocketId");
@@ -392,6 +405,22 @@ public class DataConnectionController {
     );
   }
 
+  /**
+   * Drop cached tables of the connection, tables are loaded again at next request.
+   */
+  @RequestMapping(value = "/connections/{connectionId}/catalog", method = RequestMethod.DELETE)
+  public @ResponseBody ResponseEntity<?> invalidateCatalog(@PathVariable("connectionId") String connectionId) {
+
+    DataConnection dataConnection = connectionRepository.findOne(connectionId);
+    if(dataConnection == null) {
+      throw new ResourceNotFoundException(connectionId);
+    }
+
+    tableCatalog.invalidate(connectionId);
+
+    return ResponseEntity.noContent().build();
+  }
+
   @RequestMapping(value = "/connections/{connectionId}/databases/{databaseName}/tables/{tableName}/columns",
           method = RequestMethod.GET,  produces = "application/json")
   public @ResponseBody ResponseEntity<?> queryForListOfDatabasesByConnectionid(
@@ -20,6 +20,8 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
 import org.springframework.data.rest.core.annotation.HandleBeforeCreate;
 import org.springframework.data.rest.core.annotation.HandleBeforeLinkDelete;
 import org.springframework.data.rest.core.annotation.HandleBeforeLinkSave;
@@ -32,6 +34,7 @@ import app.metatron.discovery.domain.activities.ActivityStreamService;
 import app.metatron.discovery.domain.activities.spec.ActivityGenerator;
 import app.metatron.discovery.domain.activities.spec.ActivityObject;
 import app.metatron.discovery.domain.activities.spec.ActivityStreamV2;
+import app.metatron.discovery.domain.dataconnection.connector.JdbcConnectionPools;
 import app.metatron.discovery.domain.workspace.Workspace;
 
 @RepositoryEventHandler(DataConnection.class)
@@ -45,6 +48,12 @@ public class DataConnectionEventHandler {
   @Autowired
   ActivityStreamService activityStreamService;
 
+  @Autowired
+  JdbcConnectionPools connectionPools;
+
+  @Autowired
+  JdbcTableCatalog tableCatalog;
+
   @HandleBeforeCreate
   public void handleBeforeCreate(DataConnection dataConnection) {
     if(BooleanUtils.isNotTrue(dataConnection.getPublished()) && CollectionUtils.isNotEmpty(dataConnection.getWorkspaces())) {
@@ -107,4 +116,17 @@ public class DataConnectionEventHandler {
 
   }
 
+  @HandleAfterSave
+  public void handleAfterSave(DataConnection dataConnection) {
+    // Connections made with previous information are closed.
+    connectionPools.invalidate(dataConnection.getId());
+    tableCatalog.invalidate(dataConnection.getId());
+  }
+
+  @HandleAfterDelete
+  public void handleAfterDelete(DataConnection dataConnection) {
+    connectionPools.invalidate(dataConnection.getId());
+    tableCatalog.invalidate(dataConnection.getId());
+  }
+
 }
@@ -38,7 +38,10 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Constructor;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
@@ -80,6 +83,21 @@ public class DataConnectionHelper {
   private static CachedUserJdbcConnector defaultConnector;
   private static PluginManager pluginManager;
 
+  /**
+   * Resolved dialect by implementor
+   */
+  private static final Map<String, JdbcDialect> dialectCache = new ConcurrentHashMap<>();
+
+  /**
+   * Connector bean by class name
+   */
+  private static final Map<String, JdbcConnector> connectorCache = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor of accessor extension by class name
+   */
+  private static final Map<String, Constructor<? extends JdbcAccessor>> accessorFactoryCache = new ConcurrentHashMap<>();
+
   @PostConstruct
   private void initStaticHelper () {
     applicationContext = this.applicationContext0;
@@ -87,6 +105,19 @@ public class DataConnectionHelper {
     jdbcConnectors = this.jdbcConnectors0;
     defaultConnector = this.defaultConnector0;
     pluginManager = this.pluginManager0;
+
+    // extension classes can be changed by plugins started or stopped
+    pluginManager.addPluginStateListener(event -> {
+      LOGGER.debug("Plugin({}) state changed to {}, clear cached jdbc extensions.",
+                   event.getPlugin().getPluginId(), event.getPluginState());
+      clearCache();
+    });
+  }
+
+  public static void clearCache() {
+    dialectCache.clear();
+    connectorCache.clear();
+    accessorFactoryCache.clear();
   }
 
   public static JdbcAccessor getAccessor(JdbcConnectInformation connectInformation){
@@ -105,7 +136,10 @@ public class DataConnectionHelper {
   }
 
   public static JdbcDialect lookupDialect(String implementor){
-    JdbcDialect matchedDialect = null;
+    JdbcDialect matchedDialect = implementor == null ? null : dialectCache.get(implementor);
+    if(matchedDialect != null){
+      return matchedDialect;
+    }
 
     //look up in bean list
     for(JdbcDialect dialect : jdbcDialects){
@@ -120,59 +154,76 @@ public class DataConnectionHelper {
                                             "not found suitable JdbcDialect for " + implementor);
     }
 
+    if(implementor != null){
+      dialectCache.put(implementor, matchedDialect);
+    }
+
     return matchedDialect;
   }
 
   public static JdbcConnector lookupJdbcConnector(JdbcConnectInformation jdbcConnectInformation, JdbcDialect dialect){
-    JdbcConnector matchedConnector = null;
-
     String definedConnectorClass = dialect.getConnectorClass(jdbcConnectInformation);
+    if(StringUtils.isEmpty(definedConnectorClass)){
+      return defaultConnector;
+    }
+
+    JdbcConnector matchedConnector = connectorCache.get(definedConnectorClass);
+    if(matchedConnector != null){
+      return matchedConnector;
+    }
+
     LOGGER.debug("Look up Jdbc Connector for {}, cls : {}", jdbcConnectInformation.getImplementor(), definedConnectorClass);
-    if(StringUtils.isNotEmpty(definedConnectorClass)){
-      LOGGER.debug("check class name in connector bean list.");
-      for(JdbcConnector connector : jdbcConnectors){
-        LOGGER.debug("check class name jdbcConnectors : {}", connector.getClass().getName());
-        if(connector.getClass().getName().equals(definedConnectorClass)){
-          matchedConnector = connector;
-          break;
-        }
+    for(JdbcConnector connector : jdbcConnectors){
+      if(connector.getClass().getName().equals(definedConnectorClass)){
+        matchedConnector = connector;
+        break;
       }
     }
 
     if(matchedConnector == null){
-      LOGGER.debug("matchedConnector not exist. return defaultConnector: {}", defaultConnector);
-      return defaultConnector;
+      LOGGER.debug("matchedConnector not exist. use defaultConnector: {}", defaultConnector);
+      matchedConnector = defaultConnector;
     }
 
-    LOGGER.debug("matchedConnector : {}", matchedConnector);
+    connectorCache.put(definedConnectorClass, matchedConnector);
     return matchedConnector;
   }
 
   private static JdbcAccessor lookupJdbcDataAccessor(JdbcConnectInformation connectInformation, JdbcDialect dialect){
 
-    JdbcAccessor matchedDataAccessor = null;
-
     String definedDataAccessorClass = dialect.getDataAccessorClass(connectInformation);
 
-    List<Class<JdbcAccessor>> extensionClass = pluginManager.getExtensionClasses(JdbcAccessor.class);
+    Constructor<? extends JdbcAccessor> accessorFactory = definedDataAccessorClass == null
+        ? null : accessorFactoryCache.computeIfAbsent(definedDataAccessorClass, DataConnectionHelper::findAccessorFactory);
 
-    try{
-      for(Class<JdbcAccessor> cls : extensionClass){
-        if(cls.getTypeName().equals(definedDataAccessorClass)){
-          matchedDataAccessor = cls.newInstance();
-          break;
-        }
-      }
-    } catch (InstantiationException | IllegalAccessException e){
-      e.printStackTrace();
+    if(accessorFactory == null){
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.NOT_FOUND_SUITABLE_DATA_ACCESSOR,
+                                            "not found suitable Accessor for " + connectInformation.getImplementor());
     }
 
-    if(matchedDataAccessor == null){
+    // accessor keeps its own connection, so new instance is created for each call
+    try{
+      return accessorFactory.newInstance();
+    } catch (ReflectiveOperationException e){
+      LOGGER.error("Fail to create accessor({}) : {}", definedDataAccessorClass, e.getMessage());
       throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.NOT_FOUND_SUITABLE_DATA_ACCESSOR,
                                             "not found suitable Accessor for " + connectInformation.getImplementor());
     }
+  }
 
-    return matchedDataAccessor;
+  private static Constructor<? extends JdbcAccessor> findAccessorFactory(String accessorClassName){
+    List<Class<JdbcAccessor>> extensionClass = pluginManager.getExtensionClasses(JdbcAccessor.class);
+    for(Class<JdbcAccessor> cls : extensionClass){
+      if(cls.getTypeName().equals(accessorClassName)){
+        try{
+          return cls.getConstructor();
+        } catch (NoSuchMethodException e){
+          LOGGER.error("No default constructor of accessor({})", accessorClassName);
+          return null;
+        }
+      }
+    }
+    return null;
   }
 
   public static String getConnectionUrl(JdbcConnectInformation connectInformation){
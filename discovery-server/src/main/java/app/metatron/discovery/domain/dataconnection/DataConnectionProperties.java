@@ -28,6 +28,10 @@ public class DataConnectionProperties {
 
   List<DefaultFilter> defaultFilters;
 
+  ConnectionPool pool = new ConnectionPool();
+
+  TableCatalog catalog = new TableCatalog();
+
   public List<DefaultFilter> getDefaultFilters() {
     return defaultFilters;
   }
@@ -36,6 +40,147 @@ public class DataConnectionProperties {
     this.defaultFilters = defaultFilters;
   }
 
+  public ConnectionPool getPool() {
+    return pool;
+  }
+
+  public void setPool(ConnectionPool pool) {
+    this.pool = pool;
+  }
+
+  public TableCatalog getCatalog() {
+    return catalog;
+  }
+
+  public void setCatalog(TableCatalog catalog) {
+    this.catalog = catalog;
+  }
+
+  /**
+   * Connection pool per data connection
+   */
+  public static class ConnectionPool {
+    /**
+     * Use connection pool
+     */
+    Boolean enabled = true;
+
+    /**
+     * Maximum number of connections per pool
+     */
+    Integer maxActive = 10;
+
+    /**
+     * Minimum number of idle connections per pool
+     */
+    Integer minIdle = 0;
+
+    /**
+     * Maximum waiting time for available connection (ms)
+     */
+    Integer maxWait = 30000;
+
+    /**
+     * Idle connections are closed after this time (ms)
+     */
+    Integer minEvictableIdleTime = 300000;
+
+    /**
+     * Interval of checking idle connections (ms)
+     */
+    Integer timeBetweenEvictionRuns = 30000;
+
+    /**
+     * Connections are closed after this time from creation (ms)
+     */
+    Long maxLifetime = 1800000L;
+
+    /**
+     * Connections are not validated again within this interval (ms)
+     */
+    Long validationInterval = 30000L;
+
+    /**
+     * Pools not used for this time are closed (ms)
+     */
+    Long poolIdleTimeout = 3600000L;
+
+    public ConnectionPool() {
+    }
+
+    public Boolean getEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Integer getMaxActive() {
+      return maxActive;
+    }
+
+    public void setMaxActive(Integer maxActive) {
+      this.maxActive = maxActive;
+    }
+
+    public Integer getMinIdle() {
+      return minIdle;
+    }
+
+    public void setMinIdle(Integer minIdle) {
+      this.minIdle = minIdle;
+    }
+
+    public Integer getMaxWait() {
+      return maxWait;
+    }
+
+    public void setMaxWait(Integer maxWait) {
+      this.maxWait = maxWait;
+    }
+
+    public Integer getMinEvictableIdleTime() {
+      return minEvictableIdleTime;
+    }
+
+    public void setMinEvictableIdleTime(Integer minEvictableIdleTime) {
+      this.minEvictableIdleTime = minEvictableIdleTime;
+    }
+
+    public Integer getTimeBetweenEvictionRuns() {
+      return timeBetweenEvictionRuns;
+    }
+
+    public void setTimeBetweenEvictionRuns(Integer timeBetweenEvictionRuns) {
+      this.timeBetweenEvictionRuns = timeBetweenEvictionRuns;
+    }
+
+    public Long getMaxLifetime() {
+      return maxLifetime;
+    }
+
+    public void setMaxLifetime(Long maxLifetime) {
+      this.maxLifetime = maxLifetime;
+    }
+
+    public Long getValidationInterval() {
+      return validationInterval;
+    }
+
+    public void setValidationInterval(Long validationInterval) {
+      this.validationInterval = validationInterval;
+    }
+
+    public Long getPoolIdleTimeout() {
+      return poolIdleTimeout;
+    }
+
+    public void setPoolIdleTimeout(Long poolIdleTimeout) {
+      this.poolIdleTimeout = poolIdleTimeout;
+    }
+  }
+
   public static class DefaultFilter {
     String criterionKey;
     String filterKey;
@@ -78,4 +223,77 @@ public class DataConnectionProperties {
       this.filterName = filterName;
     }
   }
+
+  /**
+   * Cache of table list per data connection and database
+   */
+  public static class TableCatalog {
+    /**
+     * Use table catalog cache
+     */
+    Boolean enabled = true;
+
+    /**
+     * Maximum number of databases cached
+     */
+    Integer maxEntries = 500;
+
+    /**
+     * Maximum number of tables cached per database, larger database is not cached
+     */
+    Integer maxTables = 100000;
+
+    /**
+     * Tables are reloaded in background after this time (ms)
+     */
+    Long refreshInterval = 300000L;
+
+    /**
+     * Tables are removed after this time (ms)
+     */
+    Long expireTime = 3600000L;
+
+    public TableCatalog() {
+    }
+
+    public Boolean getEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Integer getMaxEntries() {
+      return maxEntries;
+    }
+
+    public void setMaxEntries(Integer maxEntries) {
+      this.maxEntries = maxEntries;
+    }
+
+    public Integer getMaxTables() {
+      return maxTables;
+    }
+
+    public void setMaxTables(Integer maxTables) {
+      this.maxTables = maxTables;
+    }
+
+    public Long getRefreshInterval() {
+      return refreshInterval;
+    }
+
+    public void setRefreshInterval(Long refreshInterval) {
+      this.refreshInterval = refreshInterval;
+    }
+
+    public Long getExpireTime() {
+      return expireTime;
+    }
+
+    public void setExpireTime(Long expireTime) {
+      this.expireTime = expireTime;
+    }
+  }
 }
@@ -0,0 +1,385 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.dataconnection;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import app.metatron.discovery.extension.dataconnection.jdbc.JdbcConnectInformation;
+import app.metatron.discovery.extension.dataconnection.jdbc.accessor.JdbcAccessor;
+import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionErrorCodes;
+import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionException;
+
+/**
+ * Caches table list per data connection and database. <br/>
+ * Searching and paging of tables are done on the cached list, and stale list is reloaded in background.
+ */
+@Component
+public class JdbcTableCatalog implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcTableCatalog.class);
+
+  private static final String TABLE_NAME_KEY = "name";
+
+  @Autowired
+  DataConnectionProperties dataConnectionProperties;
+
+  private DataConnectionProperties.TableCatalog catalogInfo;
+
+  private Cache<CatalogKey, TableIndex> catalogs;
+
+  private ExecutorService refreshService;
+
+  private final Set<CatalogKey> refreshing = ConcurrentHashMap.newKeySet();
+
+  private final AtomicLong refreshCount = new AtomicLong();
+
+  private final AtomicLong refreshFailCount = new AtomicLong();
+
+  private final AtomicLong uncachedCount = new AtomicLong();
+
+  public JdbcTableCatalog() {
+  }
+
+  @PostConstruct
+  public void init() {
+    catalogInfo = dataConnectionProperties.getCatalog();
+    if (catalogInfo == null) {
+      catalogInfo = new DataConnectionProperties.TableCatalog();
+    }
+
+    catalogs = CacheBuilder.newBuilder()
+                           .maximumSize(catalogInfo.getMaxEntries())
+                           .expireAfterWrite(catalogInfo.getExpireTime(), TimeUnit.MILLISECONDS)
+                           .recordStats()
+                           .build();
+
+    refreshService = new ThreadPoolExecutor(1, 2, 60L, TimeUnit.SECONDS,
+                                            new LinkedBlockingQueue<>(catalogInfo.getMaxEntries()),
+                                            new ThreadFactoryBuilder()
+                                                .setNameFormat("JdbcTableCatalog-%s")
+                                                .setDaemon(true)
+                                                .build());
+  }
+
+  /**
+   * Only connections with its own credential are cached,
+   * tables of user based connection or session connection (workbench) can be different by user.
+   *
+   * @param connectInformation connection information
+   * @param connection         connection given by caller
+   */
+  public boolean supports(JdbcConnectInformation connectInformation, Connection connection) {
+    if (!catalogInfo.getEnabled() || connection != null) {
+      return false;
+    }
+
+    return connectInformation.getAuthenticationType() == null
+        || connectInformation.getAuthenticationType() == JdbcConnectInformation.AuthenticationType.MANUAL;
+  }
+
+  /**
+   * Find tables from the catalog, the catalog of database is loaded on demand.
+   *
+   * @param connectInformation connection information
+   * @param databaseName       database(schema) name
+   * @param tableNamePattern   part of table name, tables starting with it come first
+   * @param pageable           page of result, all tables when it's null
+   * @return null, if tables of the database exceed max tables
+   */
+  public Map<String, Object> getTables(JdbcConnectInformation connectInformation, String databaseName,
+                                       String tableNamePattern, Pageable pageable) {
+
+    CatalogKey key = CatalogKey.of(connectInformation, databaseName);
+
+    TableIndex index;
+    try {
+      index = catalogs.get(key, () -> load(connectInformation, databaseName));
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.INVALID_QUERY_ERROR_CODE,
+                                            "Fail to get list of table : " + e.getCause().getMessage());
+    }
+
+    // Large database is marked, not to load it again until expired.
+    if (!index.isComplete()) {
+      uncachedCount.incrementAndGet();
+      return null;
+    }
+
+    if (System.currentTimeMillis() - index.loadedTime > catalogInfo.getRefreshInterval()) {
+      refresh(key, connectInformation, databaseName);
+    }
+
+    return index.search(tableNamePattern, pageable);
+  }
+
+  private void refresh(CatalogKey key, JdbcConnectInformation connectInformation, String databaseName) {
+    if (!refreshing.add(key)) {
+      return;
+    }
+
+    try {
+      refreshService.execute(() -> {
+        try {
+          catalogs.put(key, load(connectInformation, databaseName));
+          refreshCount.incrementAndGet();
+        } catch (Exception e) {
+          // Keep stale tables, try again at next request.
+          refreshFailCount.incrementAndGet();
+          LOGGER.warn("Fail to refresh tables of {} : {}", databaseName, e.getMessage());
+        } finally {
+          refreshing.remove(key);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      refreshing.remove(key);
+    }
+  }
+
+  private TableIndex load(JdbcConnectInformation connectInformation, String databaseName) {
+    JdbcAccessor jdbcDataAccessor = DataConnectionHelper.getAccessor(connectInformation);
+
+    // Some accessors page tables by itself, so all tables are requested in a page.
+    Map<String, Object> tableMap = jdbcDataAccessor.getTables(connectInformation.getCatalog(), databaseName, null,
+                                                              catalogInfo.getMaxTables(), 0);
+
+    List<Map<String, Object>> tables = (List<Map<String, Object>>) tableMap.get("tables");
+    if (tables == null) {
+      tables = Lists.newArrayList();
+    }
+
+    Map<String, Integer> page = (Map<String, Integer>) tableMap.get("page");
+    boolean complete = tables.size() < catalogInfo.getMaxTables()
+        && (page == null || page.get("totalElements") == null || page.get("totalElements") <= tables.size());
+
+    LOGGER.debug("Loaded {} tables of {} (complete : {})", tables.size(), databaseName, complete);
+
+    return complete ? new TableIndex(tables, true) : new TableIndex(Lists.newArrayList(), false);
+  }
+
+  /**
+   * Call it when tables of data connection are changed.
+   *
+   * @param connectionId id of data connection
+   */
+  public void invalidate(String connectionId) {
+    if (StringUtils.isEmpty(connectionId)) {
+      return;
+    }
+
+    catalogs.asMap().keySet().removeIf(key -> connectionId.equals(key.connectionId));
+  }
+
+  /**
+   * Call it when tables of the database are changed.
+   */
+  public void invalidate(JdbcConnectInformation connectInformation, String databaseName) {
+    catalogs.invalidate(CatalogKey.of(connectInformation, databaseName));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (refreshService != null) {
+      refreshService.shutdownNow();
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    CacheStats stats = catalogs.stats();
+
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("dataconnection.catalog.size", catalogs.size()));
+    metrics.add(new Metric<>("dataconnection.catalog.hit", stats.hitCount()));
+    metrics.add(new Metric<>("dataconnection.catalog.miss", stats.missCount()));
+    metrics.add(new Metric<>("dataconnection.catalog.load.time", stats.totalLoadTime() / 1000000L));
+    metrics.add(new Metric<>("dataconnection.catalog.refresh", refreshCount.get()));
+    metrics.add(new Metric<>("dataconnection.catalog.refresh.fail", refreshFailCount.get()));
+    metrics.add(new Metric<>("dataconnection.catalog.uncached", uncachedCount.get()));
+    return metrics;
+  }
+
+  /**
+   * Cache key, the same connection information shares the catalog even if it's not saved.
+   */
+  static class CatalogKey {
+
+    final String connectionId;
+
+    final String connection;
+
+    final String database;
+
+    CatalogKey(String connectionId, String connection, String database) {
+      this.connectionId = connectionId;
+      this.connection = connection;
+      this.database = database;
+    }
+
+    static CatalogKey of(JdbcConnectInformation connectInformation, String databaseName) {
+      String connectionId = connectInformation instanceof DataConnection
+          ? ((DataConnection) connectInformation).getId() : null;
+
+      StringBuilder connection = new StringBuilder();
+      connection.append(connectInformation.getImplementor()).append('|')
+                .append(connectInformation.getUrl()).append('|')
+                .append(connectInformation.getHostname()).append('|')
+                .append(connectInformation.getPort()).append('|')
+                .append(connectInformation.getDatabase()).append('|')
+                .append(connectInformation.getSid()).append('|')
+                .append(connectInformation.getCatalog()).append('|')
+                .append(connectInformation.getUsername()).append('|')
+                .append(connectInformation.getProperties()).append('|');
+
+      // Password is not kept in the key
+      connection.append(Hashing.sha256()
+                               .hashString(StringUtils.defaultString(connectInformation.getPassword()), StandardCharsets.UTF_8)
+                               .toString());
+
+      return new CatalogKey(connectionId, connection.toString(), databaseName);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      CatalogKey that = (CatalogKey) o;
+      return Objects.equals(connectionId, that.connectionId) &&
+          Objects.equals(connection, that.connection) &&
+          Objects.equals(database, that.database);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(connectionId, connection, database);
+    }
+  }
+
+  /**
+   * Tables of a database with lower-cased names for searching
+   */
+  static class TableIndex {
+
+    final List<Map<String, Object>> tables;
+
+    final String[] lowerNames;
+
+    final boolean complete;
+
+    final long loadedTime;
+
+    TableIndex(List<Map<String, Object>> tables, boolean complete) {
+      this.tables = tables;
+      this.complete = complete;
+      this.loadedTime = System.currentTimeMillis();
+
+      this.lowerNames = new String[tables.size()];
+      for (int i = 0; i < tables.size(); i++) {
+        Object name = tables.get(i).get(TABLE_NAME_KEY);
+        lowerNames[i] = name == null ? "" : name.toString().toLowerCase();
+      }
+    }
+
+    boolean isComplete() {
+      return complete;
+    }
+
+    /**
+     * Tables with name starting with the pattern come first, then tables containing the pattern.
+     */
+    Map<String, Object> search(String tableNamePattern, Pageable pageable) {
+
+      List<Map<String, Object>> matched;
+      if (StringUtils.isEmpty(tableNamePattern)) {
+        matched = tables;
+      } else {
+        String word = tableNamePattern.toLowerCase();
+        List<Map<String, Object>> prefixMatched = Lists.newArrayList();
+        List<Map<String, Object>> containMatched = Lists.newArrayList();
+        for (int i = 0; i < lowerNames.length; i++) {
+          if (lowerNames[i].startsWith(word)) {
+            prefixMatched.add(tables.get(i));
+          } else if (lowerNames[i].contains(word)) {
+            containMatched.add(tables.get(i));
+          }
+        }
+        prefixMatched.addAll(containMatched);
+        matched = prefixMatched;
+      }
+
+      int total = matched.size();
+      int size = pageable == null ? total : pageable.getPageSize();
+      int page = pageable == null ? 0 : pageable.getPageNumber();
+
+      int from = Math.min(size * page, total);
+      int to = Math.min(from + size, total);
+
+      Map<String, Object> tableMap = new LinkedHashMap<>();
+      tableMap.put("tables", Lists.newArrayList(matched.subList(from, to)));
+      tableMap.put("page", createPageInfoMap(size, total, page));
+      return tableMap;
+    }
+
+    private Map<String, Integer> createPageInfoMap(int size, int totalElements, int page) {
+      Map<String, Integer> pageInfoMap = new HashMap<>();
+      pageInfoMap.put("size", size);
+      pageInfoMap.put("totalElements", totalElements);
+      pageInfoMap.put("totalPages", size == 0 ? 0 : (int) Math.ceil((double) totalElements / (double) size));
+      pageInfoMap.put("number", page);
+      return pageInfoMap;
+    }
+  }
+}
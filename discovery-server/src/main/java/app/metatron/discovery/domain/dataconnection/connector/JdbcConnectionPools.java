@@ -0,0 +1,280 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.dataconnection.connector;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import app.metatron.discovery.domain.dataconnection.DataConnection;
+import app.metatron.discovery.domain.dataconnection.DataConnectionProperties;
+import app.metatron.discovery.extension.dataconnection.jdbc.JdbcConnectInformation;
+import app.metatron.discovery.extension.dataconnection.jdbc.dialect.JdbcDialect;
+import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionErrorCodes;
+import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionException;
+
+/**
+ * Keeps a connection pool per data connection (and credential). <br/>
+ * Physical connections are still made by the connector, so that driver lookup and authentication of each connector are kept.
+ */
+@Component
+public class JdbcConnectionPools implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcConnectionPools.class);
+
+  @Autowired
+  DataConnectionProperties dataConnectionProperties;
+
+  private DataConnectionProperties.ConnectionPool poolInfo;
+
+  private Cache<PoolKey, DataSource> pools;
+
+  public JdbcConnectionPools() {
+  }
+
+  @PostConstruct
+  public void init() {
+    poolInfo = dataConnectionProperties.getPool();
+    if (poolInfo == null) {
+      poolInfo = new DataConnectionProperties.ConnectionPool();
+    }
+
+    pools = CacheBuilder.newBuilder()
+                        .expireAfterAccess(poolInfo.getPoolIdleTimeout(), TimeUnit.MILLISECONDS)
+                        .removalListener((RemovalListener<PoolKey, DataSource>) notification -> {
+                          LOGGER.debug("Close connection pool of {} ({})", notification.getKey().url, notification.getCause());
+                          // Connections in use are closed when returned
+                          notification.getValue().close(false);
+                        })
+                        .build();
+  }
+
+  public boolean isEnabled() {
+    return poolInfo.getEnabled();
+  }
+
+  /**
+   * Borrow a connection from the pool of the connection information.
+   *
+   * @param connectionInfo connection information
+   * @param dialect        dialect of the connection
+   * @param url            connection url
+   * @param username       username to connect
+   * @param password       password to connect
+   * @param properties     driver properties except credentials
+   * @param connector      makes physical connection, when the pool needs it
+   * @return pooled connection, it's returned to the pool when closed
+   */
+  public Connection getConnection(JdbcConnectInformation connectionInfo, JdbcDialect dialect,
+                                  String url, String username, String password, Properties properties,
+                                  Supplier<Connection> connector) {
+
+    PoolKey key = PoolKey.of(connectionInfo, url, username, password, properties);
+
+    DataSource dataSource;
+    try {
+      dataSource = pools.get(key, () -> createPool(connectionInfo, dialect, url, connector));
+    } catch (ExecutionException e) {
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.DATASOURCE_CONNECTION_ERROR,
+                                            e.getCause().getMessage());
+    }
+
+    try {
+      return dataSource.getConnection();
+    } catch (SQLException e) {
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.DATASOURCE_CONNECTION_ERROR,
+                                            e.getMessage());
+    }
+  }
+
+  private DataSource createPool(JdbcConnectInformation connectionInfo, JdbcDialect dialect,
+                                String url, Supplier<Connection> connector) {
+
+    PoolProperties properties = new PoolProperties();
+    properties.setName("pool-" + url);
+    properties.setDataSource(new ConnectorDataSource(connector));
+    properties.setMaxActive(poolInfo.getMaxActive());
+    properties.setMaxIdle(poolInfo.getMaxActive());
+    properties.setMinIdle(poolInfo.getMinIdle());
+    properties.setInitialSize(0);
+    properties.setMaxWait(poolInfo.getMaxWait());
+    properties.setMinEvictableIdleTimeMillis(poolInfo.getMinEvictableIdleTime());
+    properties.setTimeBetweenEvictionRunsMillis(poolInfo.getTimeBetweenEvictionRuns());
+    properties.setMaxAge(poolInfo.getMaxLifetime());
+    properties.setValidationInterval(poolInfo.getValidationInterval());
+    properties.setRollbackOnReturn(true);
+    // Metadata browsing may change the database of a borrowed connection (ex. USE statement)
+    properties.setJdbcInterceptors(SessionResetInterceptor.class.getName());
+    properties.setJmxEnabled(false);
+
+    String testQuery = dialect.getTestQuery(connectionInfo);
+    if (StringUtils.isNotEmpty(testQuery)) {
+      properties.setValidationQuery(testQuery);
+      properties.setTestOnBorrow(true);
+      properties.setTestWhileIdle(true);
+    }
+
+    LOGGER.info("Create connection pool of {} (max : {})", url, poolInfo.getMaxActive());
+
+    return new DataSource(properties);
+  }
+
+  /**
+   * Close pools of the data connection, call it when the connection is updated or deleted.
+   *
+   * @param connectionId id of data connection
+   */
+  public void invalidate(String connectionId) {
+    if (StringUtils.isEmpty(connectionId)) {
+      return;
+    }
+
+    pools.asMap().keySet().removeIf(key -> connectionId.equals(key.connectionId));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    pools.invalidateAll();
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    int active = 0, idle = 0, waiting = 0;
+    for (DataSource dataSource : pools.asMap().values()) {
+      active += dataSource.getActive();
+      idle += dataSource.getIdle();
+      waiting += dataSource.getWaitCount();
+    }
+
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("dataconnection.pool.count", pools.size()));
+    metrics.add(new Metric<>("dataconnection.pool.active", active));
+    metrics.add(new Metric<>("dataconnection.pool.idle", idle));
+    metrics.add(new Metric<>("dataconnection.pool.waiting", waiting));
+    return metrics;
+  }
+
+  /**
+   * Key of pool, the same connection with other credential or properties uses another pool.
+   */
+  static class PoolKey {
+
+    final String connectionId;
+
+    final String url;
+
+    final String username;
+
+    final String digest;
+
+    PoolKey(String connectionId, String url, String username, String digest) {
+      this.connectionId = connectionId;
+      this.url = url;
+      this.username = username;
+      this.digest = digest;
+    }
+
+    static PoolKey of(JdbcConnectInformation connectionInfo, String url, String username,
+                      String password, Properties properties) {
+
+      String connectionId = connectionInfo instanceof DataConnection ? ((DataConnection) connectionInfo).getId() : null;
+
+      // Password is not kept in the key
+      StringBuilder secret = new StringBuilder(StringUtils.defaultString(password));
+      if (properties != null) {
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+          secret.append('\n').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+      }
+      String digest = Hashing.sha256().hashString(secret.toString(), StandardCharsets.UTF_8).toString();
+
+      return new PoolKey(connectionId, url, username, digest);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PoolKey poolKey = (PoolKey) o;
+      return Objects.equals(connectionId, poolKey.connectionId) &&
+          Objects.equals(url, poolKey.url) &&
+          Objects.equals(username, poolKey.username) &&
+          Objects.equals(digest, poolKey.digest);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(connectionId, url, username, digest);
+    }
+  }
+
+  /**
+   * Makes physical connections through the connector
+   */
+  static class ConnectorDataSource extends AbstractDataSource {
+
+    private final Supplier<Connection> connector;
+
+    ConnectorDataSource(Supplier<Connection> connector) {
+      this.connector = connector;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      try {
+        return connector.get();
+      } catch (JdbcDataConnectionException e) {
+        throw new SQLException(e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return getConnection();
+    }
+  }
+}
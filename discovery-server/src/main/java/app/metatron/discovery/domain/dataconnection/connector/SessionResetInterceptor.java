@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.dataconnection.connector;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.JdbcInterceptor;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.Objects;
+
+/**
+ * Restores the catalog and schema of a pooled connection when it's returned. <br/>
+ * Session changes like "USE database" are not seen by the pool, so the current values are read from the connection
+ * and compared with the values at creation. If they can not be restored, the connection is discarded.
+ */
+public class SessionResetInterceptor extends JdbcInterceptor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SessionResetInterceptor.class);
+
+  private PooledConnection pooledConnection;
+
+  private boolean initialized;
+
+  private String catalog;
+
+  private String schema;
+
+  private boolean schemaSupported = true;
+
+  public SessionResetInterceptor() {
+  }
+
+  /**
+   * Called when the connection is borrowed, the interceptor is kept with the physical connection.
+   */
+  @Override
+  public void reset(ConnectionPool parent, PooledConnection con) {
+    this.pooledConnection = con;
+    if (con == null || initialized) {
+      return;
+    }
+
+    Connection connection = con.getConnection();
+    try {
+      catalog = connection.getCatalog();
+    } catch (Exception e) {
+      LOGGER.debug("Fail to get catalog of connection : {}", e.getMessage());
+    }
+    schema = getSchema(connection);
+    initialized = true;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (compare(CLOSE_VAL, method) && pooledConnection != null && !pooledConnection.isDiscarded()) {
+      restore(pooledConnection);
+    }
+    return super.invoke(proxy, method, args);
+  }
+
+  private void restore(PooledConnection con) {
+    Connection connection = con.getConnection();
+    try {
+      if (StringUtils.isNotEmpty(catalog) && !catalog.equals(connection.getCatalog())) {
+        LOGGER.debug("Restore catalog of pooled connection to {}", catalog);
+        connection.setCatalog(catalog);
+      }
+
+      if (schemaSupported && schema != null && !Objects.equals(schema, getSchema(connection))) {
+        LOGGER.debug("Restore schema of pooled connection to {}", schema);
+        connection.setSchema(schema);
+      }
+    } catch (Exception | AbstractMethodError e) {
+      LOGGER.warn("Fail to restore session of pooled connection, discard it : {}", e.getMessage());
+      con.setDiscarded(true);
+    }
+  }
+
+  /**
+   * JDBC 4.0 drivers do not implement getSchema
+   */
+  private String getSchema(Connection connection) {
+    if (!schemaSupported) {
+      return null;
+    }
+
+    try {
+      return connection.getSchema();
+    } catch (Exception | AbstractMethodError e) {
+      LOGGER.debug("Schema of connection is not supported : {}", e.getMessage());
+      schemaSupported = false;
+      return null;
+    }
+  }
+}
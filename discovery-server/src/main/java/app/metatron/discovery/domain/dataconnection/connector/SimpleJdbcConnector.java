@@ -27,8 +27,11 @@ import java.sql.Driver;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Properties;
 
+import app.metatron.discovery.extension.dataconnection.jdbc.JdbcConnectInformation;
 import app.metatron.discovery.extension.dataconnection.jdbc.connector.AbstractJdbcConnector;
+import app.metatron.discovery.extension.dataconnection.jdbc.dialect.JdbcDialect;
 import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionErrorCodes;
 import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionException;
 
@@ -43,6 +46,28 @@ public class SimpleJdbcConnector extends AbstractJdbcConnector {
   @Autowired
   PluginManager pluginManager;
 
+  @Autowired(required = false)
+  JdbcConnectionPools connectionPools;
+
+  /**
+   * Connections with credential of data connection are borrowed from the pool of the data connection. <br/>
+   * Connections with given credential (ex. workbench session) are not pooled, because they keep the state of session.
+   */
+  @Override
+  public Connection getConnection(JdbcConnectInformation connectionInfo, JdbcDialect dialect, String database, boolean includeDatabase) {
+    if (connectionPools == null || !connectionPools.isEnabled()) {
+      return super.getConnection(connectionInfo, dialect, database, includeDatabase);
+    }
+
+    String username = getUsername(connectionInfo, dialect);
+    String password = getPassword(connectionInfo, dialect);
+    String connectionUrl = getConnectionUrl(connectionInfo, dialect, database, includeDatabase);
+    Properties properties = getProperties(connectionInfo, dialect);
+
+    return connectionPools.getConnection(connectionInfo, dialect, connectionUrl, username, password, properties,
+                                         () -> getConnection(connectionInfo, dialect, database, includeDatabase, username, password));
+  }
+
   @Override
   public Driver getDriver(String connectionUrl, String driverClassName) throws SQLException {
     LOGGER.debug("get suitable driver for {}", connectionUrl);
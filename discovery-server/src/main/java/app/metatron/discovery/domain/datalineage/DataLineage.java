@@ -20,6 +20,7 @@ import org.joda.time.DateTime;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -31,6 +32,7 @@ import app.metatron.discovery.domain.MetatronDomain;
 
 @Entity
 @Table(name="data_lineage")
+@EntityListeners(DataLineageIndexListener.class)
 public class DataLineage implements MetatronDomain<Long> {
 
   @Id
@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datalineage;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static app.metatron.discovery.domain.datalineage.DataLineageLink.Direction.FORWARD;
+
+/**
+ * In-memory adjacency index of table lineage. <br/>
+ * Only keys of lineage (id, tables, time) are kept, multi-depth traversal is done in memory
+ * and the lineage of each depth is fetched at once.
+ */
+@Component
+public class DataLineageIndex implements ApplicationListener<ApplicationReadyEvent>, PublicMetrics {
+
+  private static Logger LOGGER = LoggerFactory.getLogger(DataLineageIndex.class);
+
+  /**
+   * 최대 탐색 Depth
+   */
+  public static final int MAX_DEPTH = 999;
+
+  private static final long RELOAD_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+  private static final Set<String> WRITE_SQL_TYPES = Sets.newHashSet(
+      DataLineage.SqlType.CREATETABLE_AS_SELECT.toString(),
+      DataLineage.SqlType.INSERT.toString(),
+      DataLineage.SqlType.PATH_WRITE.toString(),
+      DataLineage.SqlType.INSERT_OVERWRITE.toString());
+
+  @Autowired
+  DataLineageRepository dataLineageRepository;
+
+  private final Map<Long, Edge> edges = new ConcurrentHashMap<>();
+
+  private final Map<String, Set<Edge>> forwardEdges = new ConcurrentHashMap<>();
+
+  private final Map<String, Set<Edge>> backwardEdges = new ConcurrentHashMap<>();
+
+  /**
+   * Max id of lineage loaded, lineage collected directly into database after it is loaded on traversal
+   */
+  private long maxLoadedId;
+
+  private long loadedTime;
+
+  private volatile boolean loaded;
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    try {
+      load();
+    } catch (Exception e) {
+      LOGGER.warn("Fail to load lineage index, it will be loaded on demand : {}", e.getMessage());
+    }
+  }
+
+  /**
+   * (Re)load all lineage from database
+   */
+  public synchronized void load() {
+    long startTime = System.currentTimeMillis();
+
+    edges.clear();
+    forwardEdges.clear();
+    backwardEdges.clear();
+    maxLoadedId = 0L;
+    dataLineageRepository.getDataLineageEdges(maxLoadedId).forEach(this::addEdge);
+    loadedTime = System.currentTimeMillis();
+    loaded = true;
+
+    LOGGER.info("Lineage index is loaded : {} lineages, {} ms", edges.size(), loadedTime - startTime);
+  }
+
+  /**
+   * Load lineage added after last load, lineage deleted out of the application is cleared by reloading periodically
+   */
+  synchronized void refresh() {
+    if (!loaded || System.currentTimeMillis() - loadedTime > RELOAD_INTERVAL) {
+      load();
+      return;
+    }
+
+    dataLineageRepository.getDataLineageEdges(maxLoadedId).forEach(this::addEdge);
+  }
+
+  public synchronized void add(DataLineage dataLineage) {
+    if (!loaded || dataLineage.getId() == null || !WRITE_SQL_TYPES.contains(dataLineage.getSqlType())) {
+      return;
+    }
+
+    remove(dataLineage.getId());
+    addEdge(dataLineage);
+  }
+
+  public synchronized void remove(Long id) {
+    Edge edge = edges.remove(id);
+    if (edge == null) {
+      return;
+    }
+
+    removeFrom(forwardEdges, edge.source, edge);
+    removeFrom(backwardEdges, edge.target, edge);
+  }
+
+  /**
+   * Traverse lineage from the table, level by level. <br/>
+   * Tables already reached are not visited again, so cycles end the traversal.
+   *
+   * @param direction FORWARD or BACKWARD
+   * @param from      lineage time from, nullable
+   * @param to        lineage time to, nullable
+   * @param depth     max depth, up to MAX_DEPTH
+   * @return ids of lineage found at each depth
+   */
+  public List<List<Long>> traverse(String dbName, String tableName, DataLineageLink.Direction direction,
+                                   DateTime from, DateTime to, int depth) {
+    refresh();
+
+    Map<String, Set<Edge>> adjacency = direction == FORWARD ? forwardEdges : backwardEdges;
+    long fromMillis = from == null ? Long.MIN_VALUE : from.getMillis();
+    long toMillis = to == null ? Long.MAX_VALUE : to.getMillis();
+
+    List<List<Long>> levels = Lists.newArrayList();
+
+    String startTable = getTableKey(dbName, tableName);
+    Set<String> visited = Sets.newHashSet(startTable);
+    Set<String> currentTables = Sets.newHashSet(startTable);
+
+    for (int level = 0; level < Math.min(depth, MAX_DEPTH) && !currentTables.isEmpty(); level++) {
+      List<Long> ids = Lists.newArrayList();
+      Set<String> nextTables = Sets.newLinkedHashSet();
+
+      for (String table : currentTables) {
+        for (Edge edge : adjacency.getOrDefault(table, Collections.emptySet())) {
+          if (edge.timestamp != null && (edge.timestamp < fromMillis || edge.timestamp > toMillis)) {
+            continue;
+          }
+
+          ids.add(edge.id);
+
+          String nextTable = direction == FORWARD ? edge.target : edge.source;
+          if (visited.add(nextTable)) {
+            nextTables.add(nextTable);
+          }
+        }
+      }
+
+      if (ids.isEmpty()) {
+        break;
+      }
+
+      levels.add(ids);
+      currentTables = nextTables;
+    }
+
+    return levels;
+  }
+
+  private void addEdge(DataLineage dataLineage) {
+    Edge edge = new Edge(dataLineage.getId(),
+                         getTableKey(dataLineage.getSourceDataBaseName(), dataLineage.getSourceTableName()),
+                         getTableKey(dataLineage.getTargetDataBaseName(), dataLineage.getTargetTableName()),
+                         dataLineage.getTimestamp() == null ? null : dataLineage.getTimestamp().getMillis());
+
+    edges.put(edge.id, edge);
+    maxLoadedId = Math.max(maxLoadedId, edge.id);
+    forwardEdges.computeIfAbsent(edge.source, key -> ConcurrentHashMap.newKeySet()).add(edge);
+    backwardEdges.computeIfAbsent(edge.target, key -> ConcurrentHashMap.newKeySet()).add(edge);
+  }
+
+  private void removeFrom(Map<String, Set<Edge>> adjacency, String table, Edge edge) {
+    Set<Edge> tableEdges = adjacency.get(table);
+    if (tableEdges != null) {
+      tableEdges.remove(edge);
+      if (tableEdges.isEmpty()) {
+        adjacency.remove(table);
+      }
+    }
+  }
+
+  private String getTableKey(String databaseName, String tableName) {
+    return StringUtils.defaultString(databaseName) + "." + StringUtils.defaultString(tableName);
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("lineage.index.edges", edges.size()));
+    metrics.add(new Metric<>("lineage.index.tables", Sets.union(forwardEdges.keySet(), backwardEdges.keySet()).size()));
+    return metrics;
+  }
+
+  private static class Edge {
+
+    final Long id;
+
+    final String source;
+
+    final String target;
+
+    final Long timestamp;
+
+    Edge(Long id, String source, String target, Long timestamp) {
+      this.id = id;
+      this.source = source;
+      this.target = target;
+      this.timestamp = timestamp;
+    }
+  }
+}
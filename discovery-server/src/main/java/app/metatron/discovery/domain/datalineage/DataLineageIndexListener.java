@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datalineage;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import app.metatron.discovery.util.ApplicationContextProvider;
+
+/**
+ * Keeps {@link DataLineageIndex} up to date, whichever way the lineage is saved or deleted. <br/>
+ * Changes are applied after commit, so rolled back lineage never reaches the index.
+ */
+public class DataLineageIndexListener {
+
+  @PostPersist
+  @PostUpdate
+  public void postSave(DataLineage dataLineage) {
+    DataLineageIndex index = getIndex();
+    if (index != null) {
+      afterCommit(() -> index.add(dataLineage));
+    }
+  }
+
+  @PostRemove
+  public void postRemove(DataLineage dataLineage) {
+    DataLineageIndex index = getIndex();
+    if (index != null) {
+      Long id = dataLineage.getId();
+      afterCommit(() -> index.remove(id));
+    }
+  }
+
+  private void afterCommit(Runnable update) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          update.run();
+        }
+      });
+    } else {
+      update.run();
+    }
+  }
+
+  private DataLineageIndex getIndex() {
+    ApplicationContext context = ApplicationContextProvider.getApplicationContext();
+    return context == null ? null : context.getBean(DataLineageIndex.class);
+  }
+}
@@ -27,4 +27,6 @@ public interface DataLineageRepositoryCustom {
   List<DataLineage> getDataLineageWithWorkflow(String sqlId);
   List<DataLineage> getDataLineageWithWorkflowForward(String dbName, String tbName);
   List<DataLineage> getDataLineageWithWorkflowBackward(String dbName, String tbName);
+  List<DataLineage> getDataLineageWithWorkflow(List<Long> ids);
+  List<DataLineage> getDataLineageEdges(Long afterId);
 }
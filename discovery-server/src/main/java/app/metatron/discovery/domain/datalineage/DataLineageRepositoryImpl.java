@@ -40,6 +40,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigInteger;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.persistence.Query;
@@ -48,6 +49,60 @@ import javax.sql.DataSource;
 @Transactional
 public class DataLineageRepositoryImpl extends QueryDslRepositorySupport implements DataLineageRepositoryCustom{
 
+  private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+  /**
+   * Write lineage joined with workflow task of the sql file
+   */
+  private static final String WITH_WORKFLOW_SQL = "select datalineag0_.id AS id1_19_0_,\n" +
+            "   datalineag1_.id AS id1_21_1_,\n" +
+            "   datalineag0_.cluster AS cluster2_19_0_,\n" +
+            "   datalineag0_.current_db AS current_3_19_0_,\n" +
+            "   datalineag0_.job_id AS job_id4_19_0_,\n" +
+            "   datalineag0_.ms AS ms5_19_0_,\n" +
+            "   datalineag0_.owner AS owner6_19_0_,\n" +
+            "   datalineag0_.predicate AS predicat7_19_0_,\n" +
+            "   datalineag0_.predicate_str AS predicat8_19_0_,\n" +
+            "   datalineag0_.pruning AS pruning9_19_0_,\n" +
+            "   datalineag0_.source_db_name AS source_10_19_0_,\n" +
+            "   datalineag0_.source_field_comment AS source_11_19_0_,\n" +
+            "   datalineag0_.source_field_name AS source_12_19_0_,\n" +
+            "   datalineag0_.source_field_type AS source_13_19_0_,\n" +
+            "   datalineag0_.source_tb_name AS source_14_19_0_,\n" +
+            "   datalineag0_.sql_expr AS sql_exp15_19_0_,\n" +
+            "   datalineag0_.sql_file AS sql_fil16_19_0_,\n" +
+            "   datalineag0_.sql_hash AS sql_has17_19_0_,\n" +
+            "   datalineag0_.sql_id AS sql_id18_19_0_,\n" +
+            "   datalineag0_.sql_query AS sql_que19_19_0_,\n" +
+            "   datalineag0_.sql_type AS sql_typ20_19_0_,\n" +
+            "   datalineag0_.target_db_name AS target_21_19_0_,\n" +
+            "   datalineag0_.target_field_comment AS target_22_19_0_,\n" +
+            "   datalineag0_.target_field_name AS target_23_19_0_,\n" +
+            "   datalineag0_.target_field_type AS target_24_19_0_,\n" +
+            "   datalineag0_.target_tb_name AS target_25_19_0_,\n" +
+            "   datalineag0_.target_table_temporary AS target_26_19_0_,\n" +
+            "   datalineag0_.target_table_type AS target_27_19_0_,\n" +
+            "   datalineag0_.event_time AS event_t28_19_0_,\n" +
+            "   datalineag0_.user_ip_addr AS user_ip29_19_0_,\n" +
+            "   datalineag1_.name AS name2_21_1_,\n" +
+            "   datalineag1_.shape_id AS shape_id3_21_1_,\n" +
+            "   datalineag1_.task_content AS task_con4_21_1_,\n" +
+            "   datalineag1_.task_description AS task_des5_21_1_,\n" +
+            "   datalineag1_.task_file AS task_fil6_21_1_,\n" +
+            "   datalineag1_.task_hadoop AS task_had7_21_1_,\n" +
+            "   datalineag1_.task_id AS task_id8_21_1_,\n" +
+            "   datalineag1_.task_name AS task_nam9_21_1_,\n" +
+            "   datalineag1_.task_type AS task_ty10_21_1_,\n" +
+            "   datalineag1_.workflow_id AS workflo11_21_1_ \n" +
+            "from data_lineage datalineag0_\n" +
+            "  left join data_lineage_workflow datalineag1_\n" +
+            "    on (datalineag0_.sql_file <> '' and datalineag1_.task_content like concat(concat('%', datalineag0_.sql_file), '%') escape '!')\n" +
+            "where (datalineag0_.sql_type in ('" +
+                  DataLineage.SqlType.CREATETABLE_AS_SELECT.toString() + "' , '" +
+                  DataLineage.SqlType.INSERT.toString() + "' , '" +
+                  DataLineage.SqlType.PATH_WRITE.toString() + "' , '" +
+                  DataLineage.SqlType.INSERT_OVERWRITE.toString() + "'))\n";
+
   public DataLineageRepositoryImpl() {
     super(DataLineage.class);
   }
@@ -366,200 +421,64 @@ public class DataLineageRepositoryImpl extends QueryDslRepositorySupport impleme
 
   @Override
   public List<DataLineage> getDataLineageWithWorkflow(String sqlId){
-    String nativeSqlString = "select datalineag0_.id AS id1_19_0_,\n" +
-            "   datalineag1_.id AS id1_21_1_,\n" +
-            "   datalineag0_.cluster AS cluster2_19_0_,\n" +
-            "   datalineag0_.current_db AS current_3_19_0_,\n" +
-            "   datalineag0_.job_id AS job_id4_19_0_,\n" +
-            "   datalineag0_.ms AS ms5_19_0_,\n" +
-            "   datalineag0_.owner AS owner6_19_0_,\n" +
-            "   datalineag0_.predicate AS predicat7_19_0_,\n" +
-            "   datalineag0_.predicate_str AS predicat8_19_0_,\n" +
-            "   datalineag0_.pruning AS pruning9_19_0_,\n" +
-            "   datalineag0_.source_db_name AS source_10_19_0_,\n" +
-            "   datalineag0_.source_field_comment AS source_11_19_0_,\n" +
-            "   datalineag0_.source_field_name AS source_12_19_0_,\n" +
-            "   datalineag0_.source_field_type AS source_13_19_0_,\n" +
-            "   datalineag0_.source_tb_name AS source_14_19_0_,\n" +
-            "   datalineag0_.sql_expr AS sql_exp15_19_0_,\n" +
-            "   datalineag0_.sql_file AS sql_fil16_19_0_,\n" +
-            "   datalineag0_.sql_hash AS sql_has17_19_0_,\n" +
-            "   datalineag0_.sql_id AS sql_id18_19_0_,\n" +
-            "   datalineag0_.sql_query AS sql_que19_19_0_,\n" +
-            "   datalineag0_.sql_type AS sql_typ20_19_0_,\n" +
-            "   datalineag0_.target_db_name AS target_21_19_0_,\n" +
-            "   datalineag0_.target_field_comment AS target_22_19_0_,\n" +
-            "   datalineag0_.target_field_name AS target_23_19_0_,\n" +
-            "   datalineag0_.target_field_type AS target_24_19_0_,\n" +
-            "   datalineag0_.target_tb_name AS target_25_19_0_,\n" +
-            "   datalineag0_.target_table_temporary AS target_26_19_0_,\n" +
-            "   datalineag0_.target_table_type AS target_27_19_0_,\n" +
-            "   datalineag0_.event_time AS event_t28_19_0_,\n" +
-            "   datalineag0_.user_ip_addr AS user_ip29_19_0_,\n" +
-            "   datalineag1_.name AS name2_21_1_,\n" +
-            "   datalineag1_.shape_id AS shape_id3_21_1_,\n" +
-            "   datalineag1_.task_content AS task_con4_21_1_,\n" +
-            "   datalineag1_.task_description AS task_des5_21_1_,\n" +
-            "   datalineag1_.task_file AS task_fil6_21_1_,\n" +
-            "   datalineag1_.task_hadoop AS task_had7_21_1_,\n" +
-            "   datalineag1_.task_id AS task_id8_21_1_,\n" +
-            "   datalineag1_.task_name AS task_nam9_21_1_,\n" +
-            "   datalineag1_.task_type AS task_ty10_21_1_,\n" +
-            "   datalineag1_.workflow_id AS workflo11_21_1_ \n" +
-            "from data_lineage datalineag0_\n" +
-            "  left join data_lineage_workflow datalineag1_\n" +
-            "    on (datalineag0_.sql_file <> '' and datalineag1_.task_content like concat(concat('%', datalineag0_.sql_file), '%') escape '!')\n" +
-            "where (datalineag0_.sql_type in ('" +
-                  DataLineage.SqlType.CREATETABLE_AS_SELECT.toString() + "' , '" +
-                  DataLineage.SqlType.INSERT.toString() + "' , '" +
-                  DataLineage.SqlType.PATH_WRITE.toString() + "' , '" +
-                  DataLineage.SqlType.INSERT_OVERWRITE.toString() + "'))\n" +
-            "      and datalineag0_.sql_id=:sqlId\n";
-
-    Query nativeQuery = getEntityManager().createNativeQuery(nativeSqlString).setParameter("sqlId", sqlId);
-
-    List<DataLineage> dataLineageList = Lists.newArrayList();
-
-    List<Object[]> tupleList = nativeQuery.getResultList();
-    if(tupleList != null){
-      dataLineageList.addAll(
-              tupleList.stream()
-                      .map(tuple -> objectToDataLineage(tuple))
-                      .collect(Collectors.toList())
-      );
-    }
-    return dataLineageList;
+    return getDataLineageWithWorkflow("      and datalineag0_.sql_id=:sqlId\n",
+            query -> query.setParameter("sqlId", sqlId));
   }
 
   @Override
   public List<DataLineage> getDataLineageWithWorkflowForward(String dbName, String tbName){
+    return getDataLineageWithWorkflow("      and datalineag0_.source_db_name=:dbName\n" +
+                    "      and datalineag0_.source_tb_name=:tbName\n",
+            query -> query.setParameter("dbName", dbName).setParameter("tbName", tbName));
+  }
 
-    String nativeSqlString = "select datalineag0_.id AS id1_19_0_,\n" +
-            "   datalineag1_.id AS id1_21_1_,\n" +
-            "   datalineag0_.cluster AS cluster2_19_0_,\n" +
-            "   datalineag0_.current_db AS current_3_19_0_,\n" +
-            "   datalineag0_.job_id AS job_id4_19_0_,\n" +
-            "   datalineag0_.ms AS ms5_19_0_,\n" +
-            "   datalineag0_.owner AS owner6_19_0_,\n" +
-            "   datalineag0_.predicate AS predicat7_19_0_,\n" +
-            "   datalineag0_.predicate_str AS predicat8_19_0_,\n" +
-            "   datalineag0_.pruning AS pruning9_19_0_,\n" +
-            "   datalineag0_.source_db_name AS source_10_19_0_,\n" +
-            "   datalineag0_.source_field_comment AS source_11_19_0_,\n" +
-            "   datalineag0_.source_field_name AS source_12_19_0_,\n" +
-            "   datalineag0_.source_field_type AS source_13_19_0_,\n" +
-            "   datalineag0_.source_tb_name AS source_14_19_0_,\n" +
-            "   datalineag0_.sql_expr AS sql_exp15_19_0_,\n" +
-            "   datalineag0_.sql_file AS sql_fil16_19_0_,\n" +
-            "   datalineag0_.sql_hash AS sql_has17_19_0_,\n" +
-            "   datalineag0_.sql_id AS sql_id18_19_0_,\n" +
-            "   datalineag0_.sql_query AS sql_que19_19_0_,\n" +
-            "   datalineag0_.sql_type AS sql_typ20_19_0_,\n" +
-            "   datalineag0_.target_db_name AS target_21_19_0_,\n" +
-            "   datalineag0_.target_field_comment AS target_22_19_0_,\n" +
-            "   datalineag0_.target_field_name AS target_23_19_0_,\n" +
-            "   datalineag0_.target_field_type AS target_24_19_0_,\n" +
-            "   datalineag0_.target_tb_name AS target_25_19_0_,\n" +
-            "   datalineag0_.target_table_temporary AS target_26_19_0_,\n" +
-            "   datalineag0_.target_table_type AS target_27_19_0_,\n" +
-            "   datalineag0_.event_time AS event_t28_19_0_,\n" +
-            "   datalineag0_.user_ip_addr AS user_ip29_19_0_,\n" +
-            "   datalineag1_.name AS name2_21_1_,\n" +
-            "   datalineag1_.shape_id AS shape_id3_21_1_,\n" +
-            "   datalineag1_.task_content AS task_con4_21_1_,\n" +
-            "   datalineag1_.task_description AS task_des5_21_1_,\n" +
-            "   datalineag1_.task_file AS task_fil6_21_1_,\n" +
-            "   datalineag1_.task_hadoop AS task_had7_21_1_,\n" +
-            "   datalineag1_.task_id AS task_id8_21_1_,\n" +
-            "   datalineag1_.task_name AS task_nam9_21_1_,\n" +
-            "   datalineag1_.task_type AS task_ty10_21_1_,\n" +
-            "   datalineag1_.workflow_id AS workflo11_21_1_ \n" +
-            "from data_lineage datalineag0_\n" +
-            "  left join data_lineage_workflow datalineag1_\n" +
-            "    on (datalineag0_.sql_file <> '' and datalineag1_.task_content like concat(concat('%', datalineag0_.sql_file), '%') escape '!')\n" +
-            "where (datalineag0_.sql_type in ('" +
-                  DataLineage.SqlType.CREATETABLE_AS_SELECT.toString() + "' , '" +
-                  DataLineage.SqlType.INSERT.toString() + "' , '" +
-                  DataLineage.SqlType.PATH_WRITE.toString() + "' , '" +
-                  DataLineage.SqlType.INSERT_OVERWRITE.toString() + "'))\n" +
-            "      and datalineag0_.source_db_name=:dbName\n" +
-            "      and datalineag0_.source_tb_name=:tbName\n";
-
-    Query nativeQuery = getEntityManager().createNativeQuery(nativeSqlString).setParameter("dbName", dbName).setParameter("tbName", tbName);
-
+  @Override
+  public List<DataLineage> getDataLineageWithWorkflow(List<Long> ids){
     List<DataLineage> dataLineageList = Lists.newArrayList();
 
-    List<Object[]> tupleList = nativeQuery.getResultList();
-    if(tupleList != null){
-      dataLineageList.addAll(
-              tupleList.stream()
-                      .map(tuple -> objectToDataLineage(tuple))
-                      .collect(Collectors.toList())
-      );
+    //IN 절 크기 제한을 위해 나누어 조회
+    for(List<Long> partition : Lists.partition(ids, MAX_IN_CLAUSE_SIZE)){
+      dataLineageList.addAll(getDataLineageWithWorkflow("      and datalineag0_.id in (:ids)\n",
+              query -> query.setParameter("ids", partition)));
     }
     return dataLineageList;
   }
 
   @Override
-  public List<DataLineage> getDataLineageWithWorkflowBackward(String dbName, String tbName){
+  public List<DataLineage> getDataLineageEdges(Long afterId){
+    QDataLineage qDataLineage = QDataLineage.dataLineage;
+
+    return from(qDataLineage)
+            .select(Projections.fields(DataLineage.class,
+                    qDataLineage.id,
+                    qDataLineage.sourceDataBaseName,
+                    qDataLineage.sourceTableName,
+                    qDataLineage.targetDataBaseName,
+                    qDataLineage.targetTableName,
+                    qDataLineage.timestamp))
+            .where(qDataLineage.sqlType.in(
+                    DataLineage.SqlType.CREATETABLE_AS_SELECT.toString()
+                    , DataLineage.SqlType.INSERT.toString()
+                    , DataLineage.SqlType.PATH_WRITE.toString()
+                    , DataLineage.SqlType.INSERT_OVERWRITE.toString())
+                    .and(qDataLineage.id.gt(afterId)))
+            .fetch();
+  }
 
-    String nativeSqlString = "select datalineag0_.id AS id1_19_0_,\n" +
-            "   datalineag1_.id AS id1_21_1_,\n" +
-            "   datalineag0_.cluster AS cluster2_19_0_,\n" +
-            "   datalineag0_.current_db AS current_3_19_0_,\n" +
-            "   datalineag0_.job_id AS job_id4_19_0_,\n" +
-            "   datalineag0_.ms AS ms5_19_0_,\n" +
-            "   datalineag0_.owner AS owner6_19_0_,\n" +
-            "   datalineag0_.predicate AS predicat7_19_0_,\n" +
-            "   datalineag0_.predicate_str AS predicat8_19_0_,\n" +
-            "   datalineag0_.pruning AS pruning9_19_0_,\n" +
-            "   datalineag0_.source_db_name AS source_10_19_0_,\n" +
-            "   datalineag0_.source_field_comment AS source_11_19_0_,\n" +
-            "   datalineag0_.source_field_name AS source_12_19_0_,\n" +
-            "   datalineag0_.source_field_type AS source_13_19_0_,\n" +
-            "   datalineag0_.source_tb_name AS source_14_19_0_,\n" +
-            "   datalineag0_.sql_expr AS sql_exp15_19_0_,\n" +
-            "   datalineag0_.sql_file AS sql_fil16_19_0_,\n" +
-            "   datalineag0_.sql_hash AS sql_has17_19_0_,\n" +
-            "   datalineag0_.sql_id AS sql_id18_19_0_,\n" +
-            "   datalineag0_.sql_query AS sql_que19_19_0_,\n" +
-            "   datalineag0_.sql_type AS sql_typ20_19_0_,\n" +
-            "   datalineag0_.target_db_name AS target_21_19_0_,\n" +
-            "   datalineag0_.target_field_comment AS target_22_19_0_,\n" +
-            "   datalineag0_.target_field_name AS target_23_19_0_,\n" +
-            "   datalineag0_.target_field_type AS target_24_19_0_,\n" +
-            "   datalineag0_.target_tb_name AS target_25_19_0_,\n" +
-            "   datalineag0_.target_table_temporary AS target_26_19_0_,\n" +
-            "   datalineag0_.target_table_type AS target_27_19_0_,\n" +
-            "   datalineag0_.event_time AS event_t28_19_0_,\n" +
-            "   datalineag0_.user_ip_addr AS user_ip29_19_0_,\n" +
-            "   datalineag1_.name AS name2_21_1_,\n" +
-            "   datalineag1_.shape_id AS shape_id3_21_1_,\n" +
-            "   datalineag1_.task_content AS task_con4_21_1_,\n" +
-            "   datalineag1_.task_description AS task_des5_21_1_,\n" +
-            "   datalineag1_.task_file AS task_fil6_21_1_,\n" +
-            "   datalineag1_.task_hadoop AS task_had7_21_1_,\n" +
-            "   datalineag1_.task_id AS task_id8_21_1_,\n" +
-            "   datalineag1_.task_name AS task_nam9_21_1_,\n" +
-            "   datalineag1_.task_type AS task_ty10_21_1_,\n" +
-            "   datalineag1_.workflow_id AS workflo11_21_1_ \n" +
-            "from data_lineage datalineag0_\n" +
-            "  left join data_lineage_workflow datalineag1_\n" +
-            "    on (datalineag0_.sql_file <> '' and datalineag1_.task_content like concat(concat('%', datalineag0_.sql_file), '%') escape '!')\n" +
-            "where (datalineag0_.sql_type in ('" +
-                  DataLineage.SqlType.CREATETABLE_AS_SELECT.toString() + "' , '" +
-                  DataLineage.SqlType.INSERT.toString() + "' , '" +
-                  DataLineage.SqlType.PATH_WRITE.toString() + "' , '" +
-                  DataLineage.SqlType.INSERT_OVERWRITE.toString() + "'))\n" +
-            "      and datalineag0_.target_db_name=:dbName\n" +
-            "      and datalineag0_.target_tb_name=:tbName\n";
+  @Override
+  public List<DataLineage> getDataLineageWithWorkflowBackward(String dbName, String tbName){
+    return getDataLineageWithWorkflow("      and datalineag0_.target_db_name=:dbName\n" +
+                    "      and datalineag0_.target_tb_name=:tbName\n",
+            query -> query.setParameter("dbName", dbName).setParameter("tbName", tbName));
+  }
 
-    Query nativeQuery = getEntityManager().createNativeQuery(nativeSqlString).setParameter("dbName", dbName).setParameter("tbName", tbName);
+  private List<DataLineage> getDataLineageWithWorkflow(String condition, Consumer<Query> parameters){
+    Query nativeQuery = getEntityManager().createNativeQuery(WITH_WORKFLOW_SQL + condition);
+    parameters.accept(nativeQuery);
 
     List<DataLineage> dataLineageList = Lists.newArrayList();
 
     List<Object[]> tupleList = nativeQuery.getResultList();
-
     if(tupleList != null){
       dataLineageList.addAll(
               tupleList.stream()
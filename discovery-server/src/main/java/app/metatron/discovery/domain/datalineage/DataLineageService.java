@@ -45,6 +45,9 @@ public class DataLineageService {
   @Autowired
   DataLineageTableRepository dataLineageTableRepository;
 
+  @Autowired
+  DataLineageIndex dataLineageIndex;
+
   public List<?> getTableList(List<DataLineage> dataLineageList, String keyword){
 
     HashMap<String, DataLineageDto> tableMap = new HashMap<>();
@@ -649,125 +652,20 @@ public class DataLineageService {
 
     List<DataLineageLink> dataLineageLinks = new ArrayList<>();
 
-    //최대 Loop Cnt
-    final int limitLoopCnt = 999;
-
-    //조사대상 Table 정보
-    List<DataLineageLinkedTable> forwardTargetTableList = new ArrayList<>();
-    forwardTargetTableList.add(new DataLineageLinkedTable(dbName, tableName));
-
-    LOGGER.debug("Search Start(Forward)");
-    //Depth가 1보다 클 경우
-    if(depth > 0){
-      int recursiveLoopCnt = 0;
-      while(depth > recursiveLoopCnt && recursiveLoopCnt < limitLoopCnt){
-        LOGGER.debug("Recursive Search Started...Depth Count(Forward) = " + recursiveLoopCnt);
-        LOGGER.debug("Search Table List Size(Forward) = " + forwardTargetTableList.size());
-
-        final List<DataLineage> foundDataLineageList = new ArrayList<>();
-
-        //조사 대상 DataBase, Table 배열
-        for (DataLineageLinkedTable dataLineageLinkedTable : forwardTargetTableList) {
-          String targetDatabaseName = dataLineageLinkedTable.getDatabaseName();
-          String targetTableName = dataLineageLinkedTable.getTableName();
-
-          //Forward 목록 가져오기 Recursive
-          LOGGER.debug("Recursive Method Call(Forward) = " + getTableName(targetDatabaseName, targetTableName));
-          List<DataLineage> forwardList = getDataLineageListByTableAndDirection(targetDatabaseName, targetTableName,
-                  from, to, DataLineageLink.Direction.FORWARD);
-
-          if(forwardList != null && forwardList.size() > 0) {
-            foundDataLineageList.addAll(forwardList);
-          }
-        }
-
-        //모든 테이블 대상 조사 후 더이상 Lineage 연결이 없을 경우 Break.
-        if(foundDataLineageList == null || foundDataLineageList.size() == 0){
-          LOGGER.debug("Not found Linked Lineage (Forward)...");
-          break;
-        }
-        LOGGER.debug("Found List size(Forward) = " + foundDataLineageList.size());
-        //DataLineageLink 목록에 추가함
-        dataLineageLinks.add(generateDataLineageLink(foundDataLineageList, DataLineageLink.Direction.FORWARD));
-
-        //다음 Search를 위해 테이블 목록 추출
-        List<DataLineage> distinctDataLineageList = ListUtils.distinctList(foundDataLineageList, DataLineage::getTargetDataBaseName,
-                DataLineage::getTargetTableName, DataLineage::getSqlQuery);
-
-        LOGGER.debug("Distinct List(Forward) = " + distinctDataLineageList.size());
-
-        final List<DataLineageLinkedTable> nextTableList = new ArrayList<>();
-        distinctDataLineageList.stream().forEach(dataLineage -> {
-          String targetDatabaseName = dataLineage.getTargetDataBaseName();
-          String targetTableName = dataLineage.getTargetTableName();
-          LOGGER.debug("Next Search Table = " + getTableName(targetDatabaseName, targetTableName));
-          nextTableList.add(new DataLineageLinkedTable(targetDatabaseName, targetTableName));
-        });
-
-        forwardTargetTableList = nextTableList;
-        recursiveLoopCnt++;
-      }
+    //Index 에서 Depth 별 Lineage 를 찾고, Depth 별로 한번에 조회함
+    List<List<Long>> forwardLevels = dataLineageIndex.traverse(dbName, tableName, FORWARD, from, to, depth);
+    LOGGER.debug("Found Depth(Forward) = " + forwardLevels.size());
+    for(List<Long> lineageIds : forwardLevels){
+      List<DataLineage> foundDataLineageList = dataLineageRepository.getDataLineageWithWorkflow(lineageIds);
+      dataLineageLinks.add(generateDataLineageLink(foundDataLineageList, FORWARD));
     }
-    LOGGER.debug("Search End(Forward)");
 
-
-    LOGGER.debug("Search Start(Backward)");
-    //조사대상 Table 정보
-    List<DataLineageLinkedTable> backwardTargetTableList = new ArrayList<>();
-    backwardTargetTableList.add(new DataLineageLinkedTable(dbName, tableName));
-
-    //Depth가 1보다 클 경우
-    if(depth > 0){
-      int recursiveLoopCnt = 0;
-      while(depth > recursiveLoopCnt && recursiveLoopCnt < limitLoopCnt){
-        LOGGER.debug("Recursive Search Started...Depth Count(Backward) = " + recursiveLoopCnt);
-        LOGGER.debug("Search Table List Size(Backward) = " + backwardTargetTableList.size());
-
-        final List<DataLineage> foundDataLineageList = new ArrayList<>();
-
-        //조사 대상 DataBase, Table 배열
-        for (DataLineageLinkedTable dataLineageLinkedTable : backwardTargetTableList) {
-          String sourceDatabaseName = dataLineageLinkedTable.getDatabaseName();
-          String sourceTableName = dataLineageLinkedTable.getTableName();
-
-          //Forward 목록 가져오기 Recursive
-          LOGGER.debug("Recursive Method Call(Backward) = " + getTableName(sourceDatabaseName, sourceTableName));
-          List<DataLineage> backwardList = getDataLineageListByTableAndDirection(sourceDatabaseName, sourceTableName,
-                  from, to, DataLineageLink.Direction.BACKWARD);
-
-          if(backwardList != null && backwardList.size() > 0) {
-            foundDataLineageList.addAll(backwardList);
-          }
-        }
-
-        //모든 테이블 대상 조사 후 더이상 Lineage 연결이 없을 경우 Break.
-        if(foundDataLineageList == null || foundDataLineageList.size() == 0){
-          LOGGER.debug("Not found Linked Lineage (Backward)...");
-          break;
-        }
-        LOGGER.debug("Found List size(Backward) = " + foundDataLineageList.size());
-        //DataLineageLink 목록에 추가함
-        dataLineageLinks.add(0, generateDataLineageLink(foundDataLineageList, DataLineageLink.Direction.BACKWARD));
-
-        //다음 Search를 위해 테이블 목록 추출
-        List<DataLineage> distinctDataLineageList = ListUtils.distinctList(foundDataLineageList, DataLineage::getSourceDataBaseName,
-                DataLineage::getSourceTableName, DataLineage::getSqlQuery);
-
-        LOGGER.debug("Distinct List(Backward) = " + distinctDataLineageList.size());
-
-        final List<DataLineageLinkedTable> nextTableList = new ArrayList<>();
-        distinctDataLineageList.stream().forEach(dataLineage -> {
-          String sourceDatabaseName = dataLineage.getSourceDataBaseName();
-          String sourceTableName = dataLineage.getSourceTableName();
-          LOGGER.debug("Next Search Table = " + getTableName(sourceDatabaseName, sourceTableName));
-          nextTableList.add(new DataLineageLinkedTable(sourceDatabaseName, sourceTableName));
-        });
-
-        backwardTargetTableList = nextTableList;
-        recursiveLoopCnt++;
-      }
+    List<List<Long>> backwardLevels = dataLineageIndex.traverse(dbName, tableName, BACKWARD, from, to, depth);
+    LOGGER.debug("Found Depth(Backward) = " + backwardLevels.size());
+    for(List<Long> lineageIds : backwardLevels){
+      List<DataLineage> foundDataLineageList = dataLineageRepository.getDataLineageWithWorkflow(lineageIds);
+      dataLineageLinks.add(0, generateDataLineageLink(foundDataLineageList, BACKWARD));
     }
-    LOGGER.debug("Search End(Backward)");
 
     for(DataLineageLink dataLineageLink : dataLineageLinks){
       arrangePositionByTable(dataLineageLink, dbName, tableName);
@@ -775,16 +673,6 @@ public class DataLineageService {
     return dataLineageLinks;
   }
 
-  private List<DataLineage> getDataLineageListByTableAndDirection(String dbName, String tableName, DateTime from, DateTime to, DataLineageLink.Direction direction){
-    List<DataLineage> dataLineages;
-    if(direction == FORWARD){
-      dataLineages = dataLineageRepository.getDataLineageWithWorkflowForward(dbName, tableName);
-    } else {
-      dataLineages = dataLineageRepository.getDataLineageWithWorkflowBackward(dbName, tableName);
-    }
-    return dataLineages;
-  }
-  
   private String getTableName(String databaseName, String tableName){
     return StringUtils.isNotEmpty(databaseName)
             ? databaseName + "." + tableName
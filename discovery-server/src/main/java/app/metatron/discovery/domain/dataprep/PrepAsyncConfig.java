@@ -16,6 +16,8 @@ package app.metatron.discovery.domain.dataprep;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +45,20 @@ public class PrepAsyncConfig {
     return new HandlingExecutor(taskExecutor); // HandlingExecutor로 wrapping 합니다.
   }
 
+  /**
+   * Work-stealing pool for partitions of a rule and histograms of columns, sized to cores.
+   * Jobs (ex. snapshot) run on prepThreadPoolTaskExecutor and only wait for this pool,
+   * so partitions never wait behind the jobs that issued them.
+   */
+  @Bean(name = "prepPartitionPool", destroyMethod = "shutdown")
+  public ForkJoinPool prepPartitionPool() {
+    return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("PrepPartition-" + thread.getPoolIndex());
+      return thread;
+    }, (thread, ex) -> errorLogger.error("Failed to execute partition. ", ex), false);
+  }
+
   public class HandlingExecutor implements AsyncTaskExecutor {
 
     private AsyncTaskExecutor executor;
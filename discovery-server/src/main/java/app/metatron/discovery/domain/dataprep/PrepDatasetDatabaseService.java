@@ -14,6 +14,9 @@
 
 package app.metatron.discovery.domain.dataprep;
 
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_PREP;
+
+import app.metatron.discovery.common.job.JobExecutionService;
 import app.metatron.discovery.domain.dataconnection.DataConnection;
 import app.metatron.discovery.domain.dataconnection.DataConnectionHelper;
 import app.metatron.discovery.domain.dataconnection.DataConnectionRepository;
@@ -26,16 +29,11 @@ import app.metatron.discovery.domain.dataprep.teddy.DataFrame;
 import app.metatron.discovery.domain.dataprep.transform.TeddyImpl;
 import app.metatron.discovery.extension.dataconnection.jdbc.accessor.JdbcAccessor;
 import app.metatron.discovery.extension.dataconnection.jdbc.dialect.JdbcDialect;
-import com.google.common.collect.Sets;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,15 +49,15 @@ public class PrepDatasetDatabaseService {
   @Autowired
   PrDatasetRepository datasetRepository;
 
+  @Autowired
+  JobExecutionService jobExecutionService;
+
   @Autowired
   PrDatasetService datasetService;
 
   @Autowired
   TeddyImpl teddyImpl;
 
-  ExecutorService poolExecutorService = null;
-  Set<Future<Integer>> futures = null;
-
   public class PrepDatasetTotalLinesCallable implements Callable {
 
     PrDatasetRepository datasetRepository;
@@ -119,11 +117,6 @@ public class PrepDatasetDatabaseService {
     }
   }
 
-  public PrepDatasetDatabaseService() {
-    this.poolExecutorService = Executors.newCachedThreadPool();
-    this.futures = Sets.newHashSet();
-  }
-
   @Autowired(required = false)
   DataConnectionRepository connectionRepository;
 
@@ -144,7 +137,7 @@ public class PrepDatasetDatabaseService {
 
     Callable<Integer> callable = new PrepDatasetTotalLinesCallable(datasetRepository, dataset,
             queryStmt, connectUrl, username, password, dbName);
-    this.futures.add(poolExecutorService.submit(callable));
+    jobExecutionService.submit(POOL_PREP, "count-lines-" + dataset.getDsId(), callable);
   }
 
   public DataFrame getPreviewLinesFromJdbcForDataFrame(PrDataset dataset, String size) {
@@ -15,6 +15,7 @@
 package app.metatron.discovery.domain.dataprep;
 
 
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_PREP;
 import static app.metatron.discovery.domain.dataprep.PrepProperties.HADOOP_CONF_DIR;
 import static app.metatron.discovery.domain.dataprep.exceptions.PrepMessageKey.MSG_DP_ALERT_CANNOT_GET_HDFS_FILE_SYSTEM;
 import static app.metatron.discovery.domain.dataprep.exceptions.PrepMessageKey.MSG_DP_ALERT_CANNOT_READ_FROM_HDFS_PATH;
@@ -30,6 +31,7 @@ import static app.metatron.discovery.domain.dataprep.util.PrepUtil.configError;
 import static app.metatron.discovery.domain.dataprep.util.PrepUtil.dataflowError;
 import static app.metatron.discovery.domain.dataprep.util.PrepUtil.datasetError;
 
+import app.metatron.discovery.common.job.JobExecutionService;
 import app.metatron.discovery.domain.dataprep.entity.PrDataset;
 import app.metatron.discovery.domain.dataprep.entity.PrUploadFile;
 import app.metatron.discovery.domain.dataprep.exceptions.PrepErrorCodes;
@@ -47,7 +49,6 @@ import app.metatron.discovery.domain.storage.StorageProperties;
 import app.metatron.discovery.util.ExcelProcessor;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.monitorjbl.xlsx.StreamingReader;
 import java.io.BufferedInputStream;
 import java.io.File;
@@ -67,12 +68,8 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -99,6 +96,9 @@ public class PrepDatasetFileService {
   @Autowired
   PrDatasetRepository datasetRepository;
 
+  @Autowired
+  JobExecutionService jobExecutionService;
+
   @Autowired(required = false)
   PrepProperties prepProperties;
 
@@ -111,9 +111,6 @@ public class PrepDatasetFileService {
   @Autowired
   DataFrameService dataFrameService;
 
-  ExecutorService poolExecutorService = null;
-  Set<Future<Map<String, Long>>> futures = null;
-
   public class PrepDatasetTotalLinesCallable implements Callable {
 
     PrDatasetRepository datasetRepository;
@@ -177,11 +174,6 @@ public class PrepDatasetFileService {
     }
   }
 
-  public PrepDatasetFileService() {
-    this.poolExecutorService = Executors.newCachedThreadPool();
-    this.futures = Sets.newHashSet();
-  }
-
   private String fileDatasetUploadLocalPath = null;
   private String fileDatasetUploadStagingPath = null;
   private String fileDatasetUploadS3Path = null;
@@ -556,7 +548,7 @@ public class PrepDatasetFileService {
       datasetRepository.saveAndFlush(dataset);
 
       Callable<Map<String, Long>> callable = new PrepDatasetTotalLinesCallable(datasetRepository, dataset);
-      this.futures.add(poolExecutorService.submit(callable));
+      jobExecutionService.submit(POOL_PREP, "count-lines-" + dataset.getDsId(), callable);
     } catch (Exception e) {
       LOGGER.error("Failed to read file : {}", e.getMessage());
       throw e;
@@ -14,9 +14,11 @@
 
 package app.metatron.discovery.domain.dataprep;
 
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_PREP;
 import static app.metatron.discovery.domain.dataprep.entity.PrDataset.RS_TYPE.QUERY;
 
 import app.metatron.discovery.common.exception.ResourceNotFoundException;
+import app.metatron.discovery.common.job.JobExecutionService;
 import app.metatron.discovery.domain.dataconnection.DataConnection;
 import app.metatron.discovery.domain.dataconnection.DataConnectionHelper;
 import app.metatron.discovery.domain.dataconnection.DataConnectionRepository;
@@ -33,7 +35,6 @@ import app.metatron.discovery.domain.storage.StorageProperties;
 import app.metatron.discovery.domain.storage.StorageProperties.StageDBConnection;
 import app.metatron.discovery.extension.dataconnection.jdbc.accessor.JdbcAccessor;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
@@ -46,11 +47,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.servlet.ServletOutputStream;
@@ -82,10 +79,10 @@ public class PrepDatasetStagingDbService {
   PrDatasetRepository datasetRepository;
 
   @Autowired
-  JdbcConnectionService connectionService;
+  JobExecutionService jobExecutionService;
 
-  ExecutorService poolExecutorService = null;
-  Set<Future<Integer>> futures = null;
+  @Autowired
+  JdbcConnectionService connectionService;
 
   public class PrepDatasetTotalLinesCallable implements Callable {
 
@@ -150,11 +147,6 @@ public class PrepDatasetStagingDbService {
     }
   }
 
-  public PrepDatasetStagingDbService() {
-    this.poolExecutorService = Executors.newCachedThreadPool();
-    this.futures = Sets.newHashSet();
-  }
-
   public String getHiveDefaultHDFSPath() {
     if (null == hiveDefaultHDFSPath && null != prepProperties.getStagingBaseDir(false)) {
       hiveDefaultHDFSPath = prepProperties.getStagingBaseDir(false) + File.separator + PrepProperties.dirSnapshot;
@@ -472,7 +464,7 @@ public class PrepDatasetStagingDbService {
 
         Callable<Integer> callable = new PrepDatasetTotalLinesCallable(datasetRepository, dataset, queryStmt,
                 connectUrl, username, password, customUrl, dbName);
-        this.futures.add(poolExecutorService.submit(callable));
+        jobExecutionService.submit(POOL_PREP, "count-lines-" + dataset.getDsId(), callable);
       }
     } catch (SQLException e) {
       e.printStackTrace();
@@ -30,14 +30,15 @@ import app.metatron.discovery.prep.parser.preparation.rule.expr.Expression;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -48,6 +49,10 @@ public class DataFrameService {
   @Autowired
   PrepProperties prepProperties;
 
+  @Autowired(required = false)
+  @Qualifier("prepPartitionPool")
+  ForkJoinPool partitionPool;
+
   static private List<String> getLiteralList(Expression expr) {
     List<String> literals = null;
     if (expr instanceof Constant.StringExpr) {
@@ -152,9 +157,30 @@ public class DataFrameService {
     return applyRuleInternal(df, ruleString, slaveDfs, cores, timeout, limitRows);
   }
 
-  @Async("prepThreadPoolTaskExecutor")
+  /**
+   * Gather a partition on the partition pool, not on the pool of jobs waiting for it.
+   * cancel(true) of the returned future interrupts the partition, so cancelCheck() of gather stops it.
+   * (ForkJoinTask and CompletableFuture do not interrupt running tasks on cancel)
+   */
   public Future<List<Row>> gatherAsync(DataFrame prevDf, DataFrame newDf, List<Object> preparedArgs,
-          int offset, int length, int limit) throws TeddyException, InterruptedException {
-    return new AsyncResult<>(newDf.gather(prevDf, preparedArgs, offset, length, limit));
+          int offset, int length, int limit) {
+    FutureTask<List<Row>> task = new FutureTask<List<Row>>(
+            () -> newDf.gather(prevDf, preparedArgs, offset, length, limit)) {
+      @Override
+      public void run() {
+        try {
+          super.run();
+        } finally {
+          // clear the interrupt of cancel, not to stop the next task of the pool thread
+          Thread.interrupted();
+        }
+      }
+    };
+    getPartitionPool().execute(task);
+    return task;
+  }
+
+  public ForkJoinPool getPartitionPool() {
+    return partitionPool == null ? ForkJoinPool.commonPool() : partitionPool;
   }
 }
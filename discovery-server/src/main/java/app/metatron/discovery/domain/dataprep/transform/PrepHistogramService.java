@@ -15,19 +15,23 @@
 package app.metatron.discovery.domain.dataprep.transform;
 
 import app.metatron.discovery.domain.dataprep.teddy.ColumnType;
+import app.metatron.discovery.domain.dataprep.teddy.DataFrameService;
 import app.metatron.discovery.domain.dataprep.teddy.Row;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class PrepHistogramService {
 
-  @Async("prepThreadPoolTaskExecutor")
+  @Autowired
+  DataFrameService dataFrameService;
+
   public Future<Histogram> updateHistWithColWidth(String colName, ColumnType colType, List<Row> rows, int colno,
           int colWidth) {
-    return new AsyncResult<>(Histogram.createHist(colName, colType, rows, colno, colWidth));
+    return CompletableFuture.supplyAsync(() -> Histogram.createHist(colName, colType, rows, colno, colWidth),
+            dataFrameService.getPartitionPool());
   }
 }
@@ -514,41 +514,21 @@ public class PrepTransformService {
     assert colnos.size() == colWidths.size() : String
             .format("colnos.size()=%d colWidths.size()=%d", colnos.size(), colWidths.size());
 
-    int dop = 16;
-    int issued = 0;
-
+    // all columns are issued at once, the partition pool limits the parallelism to cores
     for (int i = 0; i < colnos.size(); i++) {
       int colno = colnos.get(i);
       int colWidth = colWidths.get(i);
       futures.add(prepHistogramService
               .updateHistWithColWidth(df.getColName(colno), df.getColType(colno), df.rows, colno, colWidth));
-
-      if (++issued == dop) {
-        for (int j = 0; j < issued; j++) {
-          try {
-            colHists.add(futures.get(j).get());
-          } catch (InterruptedException e) {
-            LOGGER.error("createHistsWithColWidths(): interrupted", e);
-          } catch (ExecutionException e) {
-            e.getCause().printStackTrace();
-            LOGGER.error("createHistsWithColWidths(): execution error on " + df.dsName, e);
-          }
-        }
-        issued = 0;
-        futures.clear();
-      }
     }
 
-    if (issued > 0) {
-      for (int j = 0; j < issued; j++) {
-        try {
-          colHists.add(futures.get(j).get());
-        } catch (InterruptedException e) {
-          LOGGER.error("createHistsWithColWidths(): interrupted", e);
-        } catch (ExecutionException e) {
-          e.getCause().printStackTrace();
-          LOGGER.error("createHistsWithColWidths(): execution error on " + df.dsName, e);
-        }
+    for (Future<Histogram> future : futures) {
+      try {
+        colHists.add(future.get());
+      } catch (InterruptedException e) {
+        LOGGER.error("createHistsWithColWidths(): interrupted", e);
+      } catch (ExecutionException e) {
+        LOGGER.error("createHistsWithColWidths(): execution error on " + df.dsName, e);
       }
     }
 
@@ -19,7 +19,6 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import com.univocity.parsers.common.TextParsingException;
 
@@ -70,9 +69,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.stream.Collectors;
 
 import javax.ws.rs.QueryParam;
@@ -88,6 +84,8 @@ import app.metatron.discovery.common.entity.SearchParamValidator;
 import app.metatron.discovery.common.exception.BadRequestException;
 import app.metatron.discovery.common.exception.MetatronException;
 import app.metatron.discovery.common.exception.ResourceNotFoundException;
+import app.metatron.discovery.common.job.JobExecutionService;
+import app.metatron.discovery.common.job.JobInfo;
 import app.metatron.discovery.domain.CollectionPatch;
 import app.metatron.discovery.domain.dataconnection.DataConnectionRepository;
 import app.metatron.discovery.domain.datasource.connection.jdbc.JdbcConnectionService;
@@ -122,6 +120,8 @@ import app.metatron.discovery.util.JsonProcessor;
 import app.metatron.discovery.util.PolarisUtils;
 import app.metatron.discovery.util.ProjectionUtils;
 
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_BULK_LOAD;
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_INGESTION;
 import static app.metatron.discovery.domain.datasource.DataSource.ConnectionType.ENGINE;
 import static app.metatron.discovery.domain.datasource.DataSource.SourceType.FILE;
 import static app.metatron.discovery.domain.datasource.DataSource.Status.PREPARING;
@@ -149,6 +149,9 @@ public class DataSourceController {
   @Autowired
   EngineLoadService engineLoadService;
 
+  @Autowired
+  JobExecutionService jobExecutionService;
+
   @Autowired
   EngineIngestionService engineIngestionService;
 
@@ -312,19 +315,12 @@ public class DataSourceController {
 
     if (async) {
       LOGGER.debug("Start async process : {}", temporaryId);
-      ThreadFactory factory = new ThreadFactoryBuilder()
-          .setNameFormat("BulkLoad-" + temporaryId + "-%s")
-          .setDaemon(true)
-          .build();
-
-      // FIXME: 전용 Thread Pool 로 변경하는 것을 검토해보자!
-      ExecutorService service = Executors.newSingleThreadExecutor(factory);
-      service.submit(() ->
-                         engineLoadService.load(dataSource, filters, async, tempTargetId)
-      );
+      JobInfo job = jobExecutionService.submit(POOL_BULK_LOAD, "BulkLoad-" + tempTargetId,
+                                               () -> engineLoadService.load(dataSource, filters, async, tempTargetId));
 
       Map<String, Object> responseMap = Maps.newHashMap();
       responseMap.put("id", tempTargetId);
+      responseMap.put("jobId", job.getId());
       responseMap.put("progressTopic", String.format(EngineLoadService.TOPIC_LOAD_PROGRESS, tempTargetId));
 
       return ResponseEntity.created(URI.create("")).body(responseMap);
@@ -524,12 +520,9 @@ public class DataSourceController {
 
     dataSource.setAppend(false);
 
-    ThreadFactory factory = new ThreadFactoryBuilder()
-        .setNameFormat("ingestion-append-" + dataSource.getId() + "-%s")
-        .setDaemon(true)
-        .build();
-    ExecutorService service = Executors.newSingleThreadExecutor(factory);
-    service.submit(() -> jobRunner.ingestion(dataSource));
+    jobExecutionService.submit(POOL_INGESTION, "ingestion-append-" + dataSource.getId(),
+                               () -> jobRunner.ingestion(dataSource.getId(), dataSource.getAppend()),
+                               () -> jobRunner.rejectIngestion(dataSource.getId()));
 
     return ResponseEntity.noContent().build();
 
@@ -1202,12 +1195,9 @@ public class DataSourceController {
     dataSource.setAppend(true);
     LOGGER.debug("Re-Ingestion append dataSource : {} ", dataSource.toString());
 
-    ThreadFactory factory = new ThreadFactoryBuilder()
-        .setNameFormat("ingestion-append-" + dataSource.getId() + "-%s")
-        .setDaemon(true)
-        .build();
-    ExecutorService service = Executors.newSingleThreadExecutor(factory);
-    service.submit(() -> jobRunner.ingestion(dataSource));
+    jobExecutionService.submit(POOL_INGESTION, "ingestion-append-" + dataSource.getId(),
+                               () -> jobRunner.ingestion(dataSource.getId(), dataSource.getAppend()),
+                               () -> jobRunner.rejectIngestion(dataSource.getId()));
 
     return ResponseEntity.noContent().build();
   }
@@ -1247,12 +1237,9 @@ public class DataSourceController {
 
     engineIngestionService.purgeDataSource(id);
 
-    ThreadFactory factory = new ThreadFactoryBuilder()
-        .setNameFormat("ingestion-overwrite-" + dataSource.getId() + "-%s")
-        .setDaemon(true)
-        .build();
-    ExecutorService service = Executors.newSingleThreadExecutor(factory);
-    service.submit(() -> jobRunner.ingestion(dataSource));
+    jobExecutionService.submit(POOL_INGESTION, "ingestion-overwrite-" + dataSource.getId(),
+                               () -> jobRunner.ingestion(dataSource.getId(), dataSource.getAppend()),
+                               () -> jobRunner.rejectIngestion(dataSource.getId()));
 
     return ResponseEntity.noContent().build();
   }
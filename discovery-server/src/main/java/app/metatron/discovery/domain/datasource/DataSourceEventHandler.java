@@ -29,7 +29,6 @@
 package app.metatron.discovery.domain.datasource;
 
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -58,18 +57,18 @@ import org.springframework.data.rest.core.annotation.HandleBeforeSave;
 import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 
 import javax.annotation.PostConstruct;
 
+import app.metatron.discovery.common.job.JobExecutionService;
 import app.metatron.discovery.domain.activities.ActivityStreamService;
 import app.metatron.discovery.domain.activities.spec.ActivityGenerator;
 import app.metatron.discovery.domain.activities.spec.ActivityObject;
@@ -94,6 +93,7 @@ import app.metatron.discovery.domain.workspace.Workspace;
 import app.metatron.discovery.util.AuthUtils;
 import app.metatron.discovery.util.PolarisUtils;
 
+import static app.metatron.discovery.common.job.JobExecutionService.POOL_INGESTION;
 import static app.metatron.discovery.domain.datasource.DataSource.ConnectionType.ENGINE;
 import static app.metatron.discovery.domain.datasource.DataSource.ConnectionType.LINK;
 import static app.metatron.discovery.domain.datasource.DataSource.SourceType.IMPORT;
@@ -147,6 +147,9 @@ public class DataSourceEventHandler {
   @Autowired
   ActivityStreamService activityStreamService;
 
+  @Autowired
+  JobExecutionService jobExecutionService;
+
   @Autowired(required = false)
   Scheduler scheduler;
 
@@ -234,14 +237,8 @@ public class DataSourceEventHandler {
                                                  "Ingestion History not fond");
           }
           ingestionHistoryRepository.saveAndFlush(resultHistory);
-        } else {
-          ThreadFactory factory = new ThreadFactoryBuilder()
-              .setNameFormat("ingestion-" + dataSource.getId() + "-%s")
-              .setDaemon(true)
-              .build();
-          ExecutorService service = Executors.newSingleThreadExecutor(factory);
-          service.submit(() -> jobRunner.ingestion(dataSource));
         }
+        // 그 외 적재 작업은 데이터 소스 저장 후 수행 (handleDataSourceAfterCreate)
       }
 
     } else if (dataSource.getConnType() == LINK) {
@@ -283,6 +280,15 @@ public class DataSourceEventHandler {
     }
 
     IngestionInfo info = dataSource.getIngestionInfo();
+    if (dataSource.getConnType() == ENGINE && dataSource.getStatus() == PREPARING
+        && !(info instanceof RealtimeIngestionInfo)) {
+      // 요청의 저장이 커밋된 이후 적재 작업을 시작하여, 적재 작업의 상태 변경이 덮어쓰이지 않도록 함
+      String dataSourceId = dataSource.getId();
+      afterCommit(() -> jobExecutionService.submit(POOL_INGESTION, "ingestion-" + dataSourceId,
+                                                   () -> jobRunner.ingestion(dataSourceId, false),
+                                                   () -> jobRunner.rejectIngestion(dataSourceId)));
+    }
+
     if (scheduler != null && info instanceof BatchIngestionInfo) {
       // 초기 Ingestion 결과 확인
       JobKey jobKey = new JobKey("incremental-ingestion", "ingestion");
@@ -313,6 +319,22 @@ public class DataSourceEventHandler {
 
   }
 
+  /**
+   * Run after the transaction is committed, if the transaction is active
+   */
+  private void afterCommit(Runnable runnable) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          runnable.run();
+        }
+      });
+    } else {
+      runnable.run();
+    }
+  }
+
   @HandleBeforeSave
   @PreAuthorize("hasAuthority('PERM_SYSTEM_MANAGE_DATASOURCE')")
   public void handleBeforeSave(DataSource dataSource) {
@@ -14,7 +14,17 @@
 
 package app.metatron.discovery.domain.datasource;
 
+import org.apache.commons.lang3.StringUtils;
 import org.hibernate.annotations.GenericGenerator;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -36,6 +46,7 @@ import app.metatron.discovery.domain.datasource.data.QueryRequest;
 import app.metatron.discovery.domain.datasource.data.SearchQueryRequest;
 import app.metatron.discovery.domain.datasource.data.SummaryQueryRequest;
 import app.metatron.discovery.domain.datasource.data.forward.ResultForward;
+import app.metatron.discovery.domain.engine.EngineProperties.QueryHistoryInfo.EngineQueryPolicy;
 
 import static app.metatron.discovery.domain.datasource.DataSourceQueryHistory.QueryType.CANDIDATE;
 import static app.metatron.discovery.domain.datasource.DataSourceQueryHistory.QueryType.COVARIANCE;
@@ -51,6 +62,13 @@ import static app.metatron.discovery.domain.datasource.DataSourceQueryHistory.Qu
 @Table(name = "datasource_query")
 public class DataSourceQueryHistory extends AbstractHistoryEntity implements MetatronDomain<String>  {
 
+  /**
+   * Prefix of compressed(gzip + base64) engine query
+   */
+  private static final String COMPRESSED_PREFIX = "gz:";
+
+  private static final String TRUNCATED_SUFFIX = "...(truncated)";
+
   /**
    *  ID
    */
@@ -249,9 +267,53 @@ public class DataSourceQueryHistory extends AbstractHistoryEntity implements Met
   }
 
   public String getEngineQuery() {
+    if (engineQuery != null && engineQuery.startsWith(COMPRESSED_PREFIX)) {
+      return decompress(engineQuery.substring(COMPRESSED_PREFIX.length()));
+    }
     return engineQuery;
   }
 
+  /**
+   * Apply the policy to engine query, if the length exceeds max length.
+   *
+   * @param policy    storing policy
+   * @param maxLength max length of engine query to store as it is
+   */
+  public void compactEngineQuery(EngineQueryPolicy policy, int maxLength) {
+    if (StringUtils.length(engineQuery) <= maxLength || policy == null) {
+      return;
+    }
+
+    switch (policy) {
+      case TRUNCATE:
+        engineQuery = StringUtils.left(engineQuery, maxLength) + TRUNCATED_SUFFIX;
+        break;
+      case COMPRESS:
+        engineQuery = COMPRESSED_PREFIX + compress(engineQuery);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static String compress(String text) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (GZIPOutputStream gos = new GZIPOutputStream(bos)) {
+      gos.write(text.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new IllegalStateException("Fail to compress engine query : " + e.getMessage());
+    }
+    return Base64.getEncoder().encodeToString(bos.toByteArray());
+  }
+
+  private static String decompress(String text) {
+    try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(text)))) {
+      return StreamUtils.copyToString(gis, StandardCharsets.UTF_8);
+    } catch (IOException | IllegalArgumentException e) {
+      return text;
+    }
+  }
+
   public void setEngineQuery(String engineQuery) {
     this.engineQuery = engineQuery;
   }
@@ -52,8 +52,10 @@ import app.metatron.discovery.common.criteria.ListCriterion;
 import app.metatron.discovery.common.criteria.ListCriterionType;
 import app.metatron.discovery.common.criteria.ListFilter;
 import app.metatron.discovery.common.exception.ResourceNotFoundException;
+import app.metatron.discovery.domain.engine.CandidateCache;
 import app.metatron.discovery.domain.engine.DruidEngineMetaRepository;
 import app.metatron.discovery.domain.engine.EngineQueryService;
+import app.metatron.discovery.domain.engine.GeoTileCache;
 import app.metatron.discovery.domain.engine.model.SegmentMetaDataResponse;
 import app.metatron.discovery.domain.mdm.Metadata;
 import app.metatron.discovery.domain.mdm.MetadataService;
@@ -99,6 +101,12 @@ public class DataSourceService {
   @Autowired
   MetadataService metadataService;
 
+  @Autowired
+  CandidateCache candidateCache;
+
+  @Autowired
+  GeoTileCache geoTileCache;
+
   @Autowired
   DataSourceRepository dataSourceRepository;
 
@@ -755,6 +763,9 @@ public class DataSourceService {
     }
     summary.updateSummary(segmentMetaData);
 
+    candidateCache.invalidate(dataSource.getEngineName());
+    geoTileCache.invalidate(dataSource.getEngineName());
+
     if (BooleanUtils.isTrue(dataSource.getIncludeGeo())) {
       List<Field> geoFields = dataSource.getGeoFields();
 
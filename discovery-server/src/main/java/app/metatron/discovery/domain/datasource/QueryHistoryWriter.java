@@ -0,0 +1,272 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import app.metatron.discovery.domain.engine.EngineProperties;
+import app.metatron.discovery.util.AuthUtils;
+
+/**
+ * Writes query histories to metadata store. <br/>
+ * Histories are queued in a bounded lock-free queue and flushed by a background writer in JDBC batches,
+ * so that query processing does not wait for the insert.
+ */
+@Component
+public class QueryHistoryWriter implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryHistoryWriter.class);
+
+  private static final String INSERT_SQL = "INSERT INTO datasource_query (" +
+      "id, version, created_by, created_time, modified_by, modified_time, " +
+      "query, query_ds_id, query_connection_type, query_type, " +
+      "query_engine, query_engine_id, query_engine_type, query_engine_forward, " +
+      "query_succeed, query_message, query_result_count, query_result_size, " +
+      "query_elapsed_time, query_engine_elapsed_time, " +
+      "query_from_uri, query_from_dashboard_id, query_from_widget_id) " +
+      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Autowired
+  DataSourceQueryHistoryRepository repository;
+
+  @Autowired
+  EngineProperties engineProperties;
+
+  @Autowired
+  javax.sql.DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  private EngineProperties.QueryHistoryInfo historyInfo;
+
+  private JdbcTemplate jdbcTemplate;
+
+  private TransactionTemplate transactionTemplate;
+
+  private ScheduledExecutorService writerService;
+
+  private final ConcurrentLinkedQueue<DataSourceQueryHistory> queue = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger queueSize = new AtomicInteger();
+
+  private final AtomicLong enqueuedCount = new AtomicLong();
+
+  private final AtomicLong writtenCount = new AtomicLong();
+
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  private final AtomicLong failedCount = new AtomicLong();
+
+  public QueryHistoryWriter() {
+  }
+
+  @PostConstruct
+  public void init() {
+    historyInfo = engineProperties.getQuery().getHistory();
+    if (historyInfo == null) {
+      historyInfo = new EngineProperties.QueryHistoryInfo();
+    }
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+
+    ThreadFactory factory = new ThreadFactoryBuilder()
+        .setNameFormat("QueryHistoryWriter-%s")
+        .setDaemon(true)
+        .build();
+
+    writerService = Executors.newSingleThreadScheduledExecutor(factory);
+    writerService.scheduleWithFixedDelay(this::flush, historyInfo.getFlushInterval(),
+                                         historyInfo.getFlushInterval(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Writes the history. If the queue is full, the history is dropped.
+   *
+   * @param history query history to save
+   */
+  public void write(DataSourceQueryHistory history) {
+
+    history.compactEngineQuery(historyInfo.getEngineQueryPolicy(), historyInfo.getEngineQueryMaxLength());
+
+    if (!historyInfo.getAsync()) {
+      repository.save(history);
+      return;
+    }
+
+    // Auditing fields are filled here, because the background writer has no authentication.
+    String userName = AuthUtils.getAuthUserName();
+    DateTime now = DateTime.now();
+    history.setId(UUID.randomUUID().toString());
+    history.setCreatedBy(userName);
+    history.setModifiedBy(userName);
+    history.setCreatedTime(now);
+    history.setModifiedTime(now);
+
+    if (queueSize.incrementAndGet() > historyInfo.getQueueCapacity()) {
+      queueSize.decrementAndGet();
+      long dropped = droppedCount.incrementAndGet();
+      LOGGER.warn("Query history queue is full, history({}) dropped. (total dropped : {})",
+                  history.getEngineQueryId(), dropped);
+      return;
+    }
+
+    queue.offer(history);
+    enqueuedCount.incrementAndGet();
+
+    // Flush immediately, if the batch is filled.
+    if (queueSize.get() == historyInfo.getBatchSize() && !writerService.isShutdown()) {
+      writerService.execute(this::flush);
+    }
+  }
+
+  /**
+   * Drains the queue and saves histories in batches
+   */
+  void flush() {
+    try {
+      List<DataSourceQueryHistory> batch = Lists.newArrayListWithCapacity(historyInfo.getBatchSize());
+      DataSourceQueryHistory history;
+      while ((history = queue.poll()) != null) {
+        queueSize.decrementAndGet();
+        batch.add(history);
+        if (batch.size() >= historyInfo.getBatchSize()) {
+          writeBatch(batch);
+          batch.clear();
+        }
+      }
+
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+      }
+    } catch (Throwable e) {
+      // Do not stop the scheduled writer
+      LOGGER.error("Fail to flush query histories : {}", e.getMessage());
+    }
+  }
+
+  private void writeBatch(final List<DataSourceQueryHistory> histories) {
+    try {
+      // Insert in one transaction, so that the batch is committed at once.
+      transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+          setParameters(ps, histories.get(i));
+        }
+
+        @Override
+        public int getBatchSize() {
+          return histories.size();
+        }
+      }));
+      writtenCount.addAndGet(histories.size());
+      LOGGER.debug("Saved {} query histories", histories.size());
+    } catch (Exception e) {
+      failedCount.addAndGet(histories.size());
+      LOGGER.warn("Fail to save {} query histories : {}", histories.size(), e.getMessage());
+    }
+  }
+
+  private void setParameters(PreparedStatement ps, DataSourceQueryHistory history) throws SQLException {
+    int idx = 1;
+    ps.setString(idx++, history.getId());
+    ps.setLong(idx++, 0L);
+    ps.setString(idx++, history.getCreatedBy());
+    ps.setTimestamp(idx++, new Timestamp(history.getCreatedTime().getMillis()));
+    ps.setString(idx++, history.getModifiedBy());
+    ps.setTimestamp(idx++, new Timestamp(history.getModifiedTime().getMillis()));
+    ps.setString(idx++, history.getQuery());
+    ps.setString(idx++, history.getDataSourceId());
+    if (history.getConnType() == null) {
+      ps.setNull(idx++, Types.INTEGER);
+    } else {
+      // ConnectionType is mapped as ordinal
+      ps.setInt(idx++, history.getConnType().ordinal());
+    }
+    ps.setString(idx++, history.getQueryType() == null ? null : history.getQueryType().name());
+    // Keep stored(compacted) form of engine query
+    ps.setString(idx++, history.engineQuery);
+    ps.setString(idx++, history.getEngineQueryId());
+    ps.setString(idx++, history.getEngineQueryType() == null ? null : history.getEngineQueryType().name());
+    ps.setString(idx++, history.getForwardType() == null ? null : history.getForwardType().name());
+    ps.setObject(idx++, history.getSucceed(), Types.BOOLEAN);
+    ps.setString(idx++, history.getMessage());
+    ps.setObject(idx++, history.getResultCount(), Types.BIGINT);
+    ps.setObject(idx++, history.getResultSize(), Types.BIGINT);
+    ps.setObject(idx++, history.getElapsedTime(), Types.BIGINT);
+    ps.setObject(idx++, history.getEngineElapsedTime(), Types.BIGINT);
+    ps.setString(idx++, history.getFromUri());
+    ps.setString(idx++, history.getFromDashBoardId());
+    ps.setString(idx, history.getFromWidgetId());
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (writerService != null) {
+      writerService.shutdown();
+      try {
+        writerService.awaitTermination(historyInfo.getFlushInterval() * 2, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    // Save remained histories before shutdown
+    flush();
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("queryhistory.queue.size", queueSize.get()));
+    metrics.add(new Metric<>("queryhistory.enqueued", enqueuedCount.get()));
+    metrics.add(new Metric<>("queryhistory.written", writtenCount.get()));
+    metrics.add(new Metric<>("queryhistory.dropped", droppedCount.get()));
+    metrics.add(new Metric<>("queryhistory.failed", failedCount.get()));
+    return metrics;
+  }
+}
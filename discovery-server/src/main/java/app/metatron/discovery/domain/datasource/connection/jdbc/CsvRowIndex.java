@@ -0,0 +1,150 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.connection.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Byte offsets of every N-th data row of csv file, kept in a file next to the csv (csv file name + ".idx"). <br/>
+ * Reading a page of the csv seeks to the nearest indexed row, instead of parsing from the beginning.
+ */
+public class CsvRowIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CsvRowIndex.class);
+
+  public static final String EXTENSION = ".idx";
+
+  public static final int DEFAULT_INTERVAL = 1000;
+
+  private static final int VERSION = 1;
+
+  private final int interval;
+
+  private long[] offsets;
+
+  private int count;
+
+  private long fileLength;
+
+  public CsvRowIndex() {
+    this(DEFAULT_INTERVAL);
+  }
+
+  public CsvRowIndex(int interval) {
+    this.interval = interval;
+    this.offsets = new long[16];
+  }
+
+  public int getInterval() {
+    return interval;
+  }
+
+  /**
+   * @param row index of data row, except header (0-based)
+   */
+  public boolean isIndexedRow(int row) {
+    return row % interval == 0;
+  }
+
+  /**
+   * Called before writing the row of which {@link #isIndexedRow(int)} is true.
+   *
+   * @param offset byte offset of the row in the file
+   */
+  public void mark(long offset) {
+    if (count == offsets.length) {
+      offsets = Arrays.copyOf(offsets, count * 2);
+    }
+    offsets[count++] = offset;
+  }
+
+  /**
+   * Nearest indexed row before the row
+   *
+   * @param row index of data row (0-based)
+   * @return index of nearest indexed row, -1 if not exists
+   */
+  public int nearestRow(int row) {
+    int block = Math.min(row / interval, count - 1);
+    return block < 0 ? -1 : block * interval;
+  }
+
+  /**
+   * @param indexedRow row from {@link #nearestRow(int)}
+   */
+  public long offsetOf(int indexedRow) {
+    return offsets[indexedRow / interval];
+  }
+
+  public void write(String csvFilePath) throws IOException {
+    fileLength = new File(csvFilePath).length();
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(csvFilePath + EXTENSION)))) {
+      out.writeInt(VERSION);
+      out.writeInt(interval);
+      out.writeLong(fileLength);
+      out.writeInt(count);
+      for (int i = 0; i < count; i++) {
+        out.writeLong(offsets[i]);
+      }
+    }
+  }
+
+  /**
+   * @return null, if the index does not exist or does not match to the csv file
+   */
+  public static CsvRowIndex read(String csvFilePath) {
+    File indexFile = new File(csvFilePath + EXTENSION);
+    if (!indexFile.exists()) {
+      return null;
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+      if (in.readInt() != VERSION) {
+        return null;
+      }
+
+      CsvRowIndex index = new CsvRowIndex(in.readInt());
+      index.fileLength = in.readLong();
+      int count = in.readInt();
+      index.offsets = new long[Math.max(count, 1)];
+      for (int i = 0; i < count; i++) {
+        index.offsets[i] = in.readLong();
+      }
+      index.count = count;
+
+      // The csv is modified after written
+      if (index.fileLength != new File(csvFilePath).length()) {
+        LOGGER.debug("Row index of {} does not match to the file.", csvFilePath);
+        return null;
+      }
+
+      return index;
+    } catch (IOException e) {
+      LOGGER.warn("Fail to read row index of {} : {}", csvFilePath, e.getMessage());
+      return null;
+    }
+  }
+}
@@ -14,6 +14,8 @@
 
 package app.metatron.discovery.domain.datasource.connection.jdbc;
 
+import com.google.common.io.CountingOutputStream;
+
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,7 +25,9 @@ import org.supercsv.io.ICsvResultSetWriter;
 import org.supercsv.prefs.CsvPreference;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.sql.*;
 import java.util.LinkedList;
 import java.util.List;
@@ -40,6 +44,15 @@ public class JdbcCSVWriter extends CsvResultSetWriter implements ICsvResultSetWr
     super(writer, preference);
   }
 
+  /**
+   * Writes byte offsets of rows to the row index, while writing.
+   */
+  public JdbcCSVWriter(CountingOutputStream outputStream, Charset charset, CsvPreference preference, CsvRowIndex rowIndex) {
+    super(new OutputStreamWriter(outputStream, charset), preference);
+    this.outputStream = outputStream;
+    this.rowIndex = rowIndex;
+  }
+
   private static final Logger LOGGER = LoggerFactory.getLogger(JdbcCSVWriter.class);
 
   private JdbcDialect jdbcDialect;
@@ -49,6 +62,12 @@ public class JdbcCSVWriter extends CsvResultSetWriter implements ICsvResultSetWr
   private boolean withHeader = true;
   private int fetchSize = 0;
   private int maxRow = 0;
+  private CountingOutputStream outputStream;
+  private CsvRowIndex rowIndex;
+  private int previewRows = 0;
+  private Runnable previewCallback;
+  private volatile Statement statement;
+  private volatile boolean canceled;
 
   public JdbcDialect getJdbcDialect() {
     return jdbcDialect;
@@ -98,6 +117,15 @@ public class JdbcCSVWriter extends CsvResultSetWriter implements ICsvResultSetWr
     this.maxRow = maxRow;
   }
 
+  /**
+   * The callback is called once, when the rows are written to the file.
+   * Rows before it can be read from the file while writing the rest.
+   */
+  public void setPreviewCallback(int previewRows, Runnable previewCallback) {
+    this.previewRows = previewRows;
+    this.previewCallback = previewCallback;
+  }
+
   public boolean isWithHeader() {
     return withHeader;
   }
@@ -176,6 +204,7 @@ public class JdbcCSVWriter extends CsvResultSetWriter implements ICsvResultSetWr
     final int numberOfColumns = resultSet.getMetaData().getColumnCount();
     final List<Object> objects = new LinkedList<>();
     LOGGER.debug("writeContents numberOfColumns : {}", numberOfColumns);
+    int row = 0;
     while( resultSet.next() ) {
       super.incrementRowAndLineNo(); // This will allow the correct row/line numbers to be used in any exceptions
       // thrown before writing occurs
@@ -199,11 +228,37 @@ public class JdbcCSVWriter extends CsvResultSetWriter implements ICsvResultSetWr
           objects.add(resultSet.getString(columnIndex));
         }
       }
+      if(rowIndex != null && rowIndex.isIndexedRow(row)) {
+        // flush buffered rows to get the offset of this row
+        flush();
+        rowIndex.mark(outputStream.getCount());
+      }
+      row++;
       super.writeRow(objects);
+
+      if(previewCallback != null && row == previewRows) {
+        flush();
+        previewCallback.run();
+      }
     }
     LOGGER.debug("writeContents write completed");
   }
 
+  /**
+   * Cancel the running query from another thread, the query fails with SQLException
+   */
+  public void cancel() {
+    canceled = true;
+    Statement stmt = statement;
+    if (stmt != null) {
+      try {
+        stmt.cancel();
+      } catch (SQLException e) {
+        LOGGER.debug("Fail to cancel query : {}", e.getMessage());
+      }
+    }
+  }
+
   public String write() {
 
     Statement stmt = null;
@@ -211,6 +266,10 @@ public class JdbcCSVWriter extends CsvResultSetWriter implements ICsvResultSetWr
 
     try {
       stmt = connection.createStatement();
+      statement = stmt;
+      if (canceled) {
+        throw new SQLException("Query canceled.");
+      }
 
       if (fetchSize == 0) {
         fetchSize = MAX_FETCH_SIZE;
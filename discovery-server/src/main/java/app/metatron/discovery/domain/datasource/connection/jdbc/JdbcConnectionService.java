@@ -45,6 +45,8 @@ package app.metatron.discovery.domain.datasource.connection.jdbc;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -57,9 +59,12 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.stereotype.Component;
 import org.supercsv.prefs.CsvPreference;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -69,6 +74,16 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import app.metatron.discovery.common.datasource.DataType;
@@ -76,6 +91,7 @@ import app.metatron.discovery.common.datasource.LogicalType;
 import app.metatron.discovery.common.exception.FunctionWithException;
 import app.metatron.discovery.domain.dataconnection.DataConnection;
 import app.metatron.discovery.domain.dataconnection.DataConnectionHelper;
+import app.metatron.discovery.domain.dataconnection.JdbcTableCatalog;
 import app.metatron.discovery.domain.dataconnection.dialect.HiveDialect;
 import app.metatron.discovery.domain.dataconnection.query.NativeCriteria;
 import app.metatron.discovery.domain.dataconnection.query.expression.NativeBetweenExp;
@@ -85,11 +101,14 @@ import app.metatron.discovery.domain.dataconnection.query.expression.NativeDisju
 import app.metatron.discovery.domain.dataconnection.query.expression.NativeEqExp;
 import app.metatron.discovery.domain.dataconnection.query.expression.NativeOrderExp;
 import app.metatron.discovery.domain.dataconnection.query.expression.NativeProjection;
+import app.metatron.discovery.domain.dataconnection.query.expression.NativeSqlExp;
 import app.metatron.discovery.domain.dataconnection.query.utils.VarGenerator;
 import app.metatron.discovery.domain.datasource.Field;
 import app.metatron.discovery.domain.datasource.data.CandidateQueryRequest;
+import app.metatron.discovery.domain.datasource.ingestion.file.OrcFileFormat;
 import app.metatron.discovery.domain.datasource.ingestion.jdbc.BatchIngestionInfo;
 import app.metatron.discovery.domain.datasource.ingestion.jdbc.JdbcIngestionInfo;
+import app.metatron.discovery.domain.datasource.ingestion.jdbc.JdbcPartitionInfo;
 import app.metatron.discovery.domain.datasource.ingestion.jdbc.LinkIngestionInfo;
 import app.metatron.discovery.domain.datasource.ingestion.jdbc.SelectQueryBuilder;
 import app.metatron.discovery.domain.engine.EngineProperties;
@@ -113,9 +132,14 @@ public class JdbcConnectionService {
   private static final String RESULTSET_COLUMN_PREFIX = SelectQueryBuilder.TEMP_TABLE_NAME + ".";
   private static final String ANONYMOUS_COLUMN_PREFIX = "anonymous";
 
+  private static final int MAX_PARTITION_THREADS = 8;
+
   @Autowired
   EngineProperties engineProperties;
 
+  @Autowired
+  JdbcTableCatalog tableCatalog;
+
   /**
    * Check JDBC connection.
    */
@@ -172,6 +196,13 @@ public class JdbcConnectionService {
    */
   public Map<String, Object> getTables(JdbcConnectInformation connectInformation, String databaseName,
                                        String tableName, Connection connection, Pageable pageable) {
+    if (tableCatalog.supports(connectInformation, connection)) {
+      Map<String, Object> cachedTableMap = tableCatalog.getTables(connectInformation, databaseName, tableName, pageable);
+      if (cachedTableMap != null) {
+        return cachedTableMap;
+      }
+    }
+
     JdbcAccessor jdbcDataAccessor = DataConnectionHelper.getAccessor(connectInformation);
     jdbcDataAccessor.setConnection(connection);
     Map<String, Object> searchedTableMap = jdbcDataAccessor.getTables(connectInformation.getCatalog(), databaseName, tableName,
@@ -415,21 +446,10 @@ public class JdbcConnectionService {
 
     // make file name to save result of select query
     String tempFileName = getTempFileName(baseDir, EngineProperties.TEMP_CSV_PREFIX + "_"
-        + dataSourceName + "_" + System.currentTimeMillis());
+        + dataSourceName + "_" + System.currentTimeMillis(), ingestionInfo);
 
-    JdbcCSVWriter jdbcCSVWriter = null;
-    try {
-      jdbcCSVWriter = new JdbcCSVWriter(new FileWriter(tempFileName), CsvPreference.STANDARD_PREFERENCE);
-      jdbcCSVWriter.setJdbcDialect(jdbcDialect);
-      jdbcCSVWriter.setConnection(connection);
-      jdbcCSVWriter.setQuery(queryString);
-      jdbcCSVWriter.setFileName(tempFileName);
-      jdbcCSVWriter.setFetchSize(fetchSize);
-      jdbcCSVWriter.setWithHeader(false);
-    } catch (IOException e) {
-    }
-
-    String resultFileName = jdbcCSVWriter.write();
+    String resultFileName = writeQueryResult(ingestionInfo, jdbcDialect, connection, queryString, tempFileName,
+                                             fetchSize, fields);
 
     // 결과 셋이 없는 경우 처리
     File file = new File(resultFileName);
@@ -451,9 +471,22 @@ public class JdbcConnectionService {
                                 List<Field> fields,
                                 List<Filter> filters,
                                 int limit) {
+    return makeSelectQuery(jdbcDialect, connectionInfo, ingestionInfo, fields, filters, limit, null);
+  }
+
+  /**
+   * @param condition condition of a split of partitioned ingestion, nullable
+   */
+  public String makeSelectQuery(JdbcDialect jdbcDialect,
+                                JdbcConnectInformation connectionInfo,
+                                JdbcIngestionInfo ingestionInfo,
+                                List<Field> fields,
+                                List<Filter> filters,
+                                int limit,
+                                String condition) {
 
     if (ingestionInfo.getDataType() == JdbcIngestionInfo.DataType.QUERY
-        && CollectionUtils.isEmpty(filters)) {
+        && CollectionUtils.isEmpty(filters) && StringUtils.isEmpty(condition)) {
       // FixMe: How can I set fetch limitation?
       return ingestionInfo.getQuery();
     }
@@ -541,6 +574,10 @@ public class JdbcConnectionService {
 
     }
 
+    if (StringUtils.isNotEmpty(condition)) {
+      nativeCriteria.add(new NativeSqlExp("(" + condition + ")"));
+    }
+
     nativeCriteria.setLimit(limit);
 
     String queryString = nativeCriteria.toSQL();
@@ -635,6 +672,73 @@ public class JdbcConnectionService {
     return baseDir + File.separator + fileName + ".csv";
   }
 
+  private String getTempFileName(String baseDir, String fileName, JdbcIngestionInfo ingestionInfo) {
+    String tempFileName = getTempFileName(baseDir, fileName);
+    return isOrcStaging(ingestionInfo) ? StringUtils.removeEnd(tempFileName, ".csv") + ".orc" : tempFileName;
+  }
+
+  /**
+   * Result of query is staged as ORC for ingestion job if the format of ingestion is ORC.
+   * Link datasource is always loaded from csv.
+   */
+  private boolean isOrcStaging(JdbcIngestionInfo ingestionInfo) {
+    return ingestionInfo.getFormat() instanceof OrcFileFormat && !(ingestionInfo instanceof LinkIngestionInfo);
+  }
+
+  private String writeQueryResult(JdbcIngestionInfo ingestionInfo, JdbcDialect jdbcDialect, Connection connection,
+                                  String queryString, String tempFileName, int fetchSize, List<Field> fields) {
+    return writeQueryResult(ingestionInfo, jdbcDialect, connection, queryString, tempFileName, fetchSize, fields, null);
+  }
+
+  /**
+   * @param cancels cancel of the running query is added while writing, to cancel it from another thread
+   */
+  private String writeQueryResult(JdbcIngestionInfo ingestionInfo, JdbcDialect jdbcDialect, Connection connection,
+                                  String queryString, String tempFileName, int fetchSize, List<Field> fields,
+                                  Set<Runnable> cancels) {
+    if (isOrcStaging(ingestionInfo)) {
+      JdbcOrcWriter jdbcOrcWriter = new JdbcOrcWriter(fields);
+      jdbcOrcWriter.setJdbcDialect(jdbcDialect);
+      jdbcOrcWriter.setConnection(connection);
+      jdbcOrcWriter.setQuery(queryString);
+      jdbcOrcWriter.setFileName(tempFileName);
+      jdbcOrcWriter.setFetchSize(fetchSize);
+      jdbcOrcWriter.setCompression(((OrcFileFormat) ingestionInfo.getFormat()).getCompress());
+
+      return writeCancelable(jdbcOrcWriter::write, jdbcOrcWriter::cancel, cancels);
+    }
+
+    JdbcCSVWriter jdbcCSVWriter;
+    try {
+      jdbcCSVWriter = new JdbcCSVWriter(new FileWriter(tempFileName), CsvPreference.STANDARD_PREFERENCE);
+    } catch (IOException e) {
+      JdbcUtils.closeConnection(connection);
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                            "Fail to create csv file : " + e.getMessage());
+    }
+    jdbcCSVWriter.setJdbcDialect(jdbcDialect);
+    jdbcCSVWriter.setConnection(connection);
+    jdbcCSVWriter.setQuery(queryString);
+    jdbcCSVWriter.setFileName(tempFileName);
+    jdbcCSVWriter.setFetchSize(fetchSize);
+    jdbcCSVWriter.setWithHeader(false);
+
+    return writeCancelable(jdbcCSVWriter::write, jdbcCSVWriter::cancel, cancels);
+  }
+
+  private String writeCancelable(Supplier<String> writer, Runnable cancel, Set<Runnable> cancels) {
+    if (cancels == null) {
+      return writer.get();
+    }
+
+    cancels.add(cancel);
+    try {
+      return writer.get();
+    } finally {
+      cancels.remove(cancel);
+    }
+  }
+
   public List<String> selectIncrementalQueryToCsv(JdbcConnectInformation connectInformation,
                                                   JdbcIngestionInfo ingestionInfo,
                                                   String dataSourceName,
@@ -677,20 +781,9 @@ public class JdbcConnectionService {
     LOGGER.debug("Generated incremental query : {} ", queryString);
 
     // 쿼리 결과 저장
-    String tempFileName = getTempFileName(dataSourceName + "_" + incrementalTime.toString());
-    JdbcCSVWriter jdbcCSVWriter = null;
-    try {
-      jdbcCSVWriter = new JdbcCSVWriter(new FileWriter(tempFileName), CsvPreference.STANDARD_PREFERENCE);
-      jdbcCSVWriter.setJdbcDialect(jdbcDialect);
-      jdbcCSVWriter.setConnection(connection);
-      jdbcCSVWriter.setQuery(queryString);
-      jdbcCSVWriter.setFetchSize(fetchSize);
-      jdbcCSVWriter.setFileName(tempFileName);
-      jdbcCSVWriter.setWithHeader(false);
-    } catch (IOException e) {
-    }
-
-    String resultFileName = jdbcCSVWriter.write();
+    String tempFileName = getTempFileName(null, dataSourceName + "_" + incrementalTime.toString(), ingestionInfo);
+    String resultFileName = writeQueryResult(ingestionInfo, jdbcDialect, connection, queryString, tempFileName,
+                                             fetchSize, fields);
 
     // 결과 셋이 없는 경우 처리
     File file = new File(resultFileName);
@@ -705,6 +798,214 @@ public class JdbcConnectionService {
     return tempCsvFiles;
   }
 
+  /**
+   * Extract result of query into a file per split of partition, splits are extracted concurrently.
+   *
+   * @param incremental true, if only rows after maxTime are extracted
+   * @return list of result files, null if result is empty
+   */
+  public List<String> selectPartitionedQueryToCsv(JdbcConnectInformation connectInformation,
+                                                  JdbcIngestionInfo ingestionInfo,
+                                                  String dataSourceName,
+                                                  boolean incremental,
+                                                  DateTime maxTime,
+                                                  List<Field> fields) {
+
+    JdbcPartitionInfo partition = ingestionInfo.getPartition();
+    Preconditions.checkArgument(partition != null && partition.isPartitioned(), "partition info. required.");
+
+    JdbcConnectInformation realConnection = connectInformation == null ? ingestionInfo.getConnection() : connectInformation;
+    Preconditions.checkNotNull(realConnection, "connection info. required.");
+
+    JdbcAccessor jdbcDataAccessor = DataConnectionHelper.getAccessor(realConnection);
+    JdbcDialect jdbcDialect = jdbcDataAccessor.getDialect();
+    String database = incremental ? ingestionInfo.getDatabase() : null;
+
+    Field timestampField = null;
+    String incrementalTime = null;
+    if (incremental) {
+      timestampField = fields.stream()
+                             .filter(field -> field.getRole() == Field.FieldRole.TIMESTAMP)
+                             .findFirst().orElseThrow(() -> new RuntimeException("Timestamp field required."));
+      incrementalTime = (maxTime == null ? new DateTime(0L) : maxTime).toString(JdbcDialect.CURRENT_DATE_FORMAT);
+    }
+
+    // bounds of partition column
+    long lowerBound;
+    long upperBound;
+    if (partition.hasBounds()) {
+      lowerBound = partition.getLowerBound();
+      upperBound = partition.getUpperBound();
+    } else {
+      SelectQueryBuilder boundQueryBuilder = new SelectQueryBuilder(realConnection, jdbcDialect)
+          .boundProjection(partition.getColumn())
+          .query(ingestionInfo, realConnection);
+      if (incremental) {
+        boundQueryBuilder.incremental(timestampField, incrementalTime);
+      }
+
+      Connection connection = database == null
+          ? jdbcDataAccessor.getConnection()
+          : jdbcDataAccessor.getConnection(database, true);
+      long[] bounds = selectBounds(jdbcDataAccessor, connection, boundQueryBuilder.build());
+      if (bounds == null) {
+        return null;
+      }
+      lowerBound = bounds[0];
+      upperBound = bounds[1];
+    }
+
+    String quotedColumn = jdbcDialect.getQuotedFieldName(realConnection, partition.getColumn());
+    List<String> conditions = partition.getConditions(quotedColumn, lowerBound, upperBound);
+    LOGGER.debug("Extract {} splits of {} by {} ({} ~ {})", conditions.size(), dataSourceName,
+                 partition.getColumn(), lowerBound, upperBound);
+
+    String tempFilePrefix = EngineProperties.TEMP_CSV_PREFIX + "_" + dataSourceName + "_" + System.currentTimeMillis();
+
+    ThreadFactory factory = new ThreadFactoryBuilder()
+        .setNameFormat("JdbcPartitionExtract-%s")
+        .setDaemon(true)
+        .build();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(conditions.size(), MAX_PARTITION_THREADS), factory);
+
+    // output of every split is known up front, so that all of them are deleted on failure
+    List<String> splitFiles = Lists.newArrayList();
+    Set<Runnable> cancels = ConcurrentHashMap.newKeySet();
+    AtomicBoolean canceled = new AtomicBoolean();
+
+    List<String> tempCsvFiles = Lists.newArrayList();
+    try {
+      List<Future<String>> futures = Lists.newArrayList();
+      for (int i = 0; i < conditions.size(); i++) {
+        String queryString;
+        if (incremental) {
+          queryString = new SelectQueryBuilder(realConnection, jdbcDialect)
+              .projection(fields)
+              .query(ingestionInfo, realConnection)
+              .incremental(timestampField, incrementalTime)
+              .partition(conditions.get(i))
+              .limit(0, ingestionInfo.getMaxLimit())
+              .build();
+        } else {
+          queryString = makeSelectQuery(jdbcDialect, realConnection, ingestionInfo, fields, null,
+                                        ingestionInfo.getMaxLimit(), conditions.get(i));
+        }
+
+        String tempFileName = getTempFileName(null, tempFilePrefix + "_part" + i, ingestionInfo);
+        splitFiles.add(tempFileName);
+        futures.add(executor.submit(() -> extractSplit(realConnection, ingestionInfo, jdbcDialect, database, queryString,
+                                                       tempFileName, fields, partition.getMaxRetries(),
+                                                       cancels, canceled)));
+      }
+
+      for (Future<String> future : futures) {
+        String resultFileName = future.get();
+        File file = new File(resultFileName);
+        if (file.exists() && file.length() > 0) {
+          tempCsvFiles.add(resultFileName);
+        } else {
+          file.delete();
+        }
+      }
+    } catch (InterruptedException e) {
+      canceled.set(true);
+      Thread.currentThread().interrupt();
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                            "Interrupted while extracting splits.");
+    } catch (ExecutionException e) {
+      canceled.set(true);
+      if (e.getCause() instanceof JdbcDataConnectionException) {
+        throw (JdbcDataConnectionException) e.getCause();
+      }
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                            "Fail to extract split : " + e.getCause().getMessage());
+    } catch (RuntimeException e) {
+      canceled.set(true);
+      throw e;
+    } finally {
+      executor.shutdownNow();
+      if (canceled.get()) {
+        // queries of other splits are still running, interrupt does not stop jdbc calls
+        cancels.forEach(Runnable::run);
+        try {
+          executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        splitFiles.forEach(fileName -> new File(fileName).delete());
+      }
+    }
+
+    LOGGER.debug("Created result files : {} ", tempCsvFiles);
+
+    return tempCsvFiles.isEmpty() ? null : tempCsvFiles;
+  }
+
+  private long[] selectBounds(JdbcAccessor jdbcDataAccessor, Connection connection, String queryString) {
+    LOGGER.debug("Generated bound query : {} ", queryString);
+
+    try {
+      List<Object[]> rows = jdbcDataAccessor.executeQueryForList(connection, queryString,
+                                                                 (rs, rowNum) -> new Object[]{rs.getObject(1), rs.getObject(2)});
+      if (rows.isEmpty() || rows.get(0)[0] == null || rows.get(0)[1] == null) {
+        return null;
+      }
+
+      if (!(rows.get(0)[0] instanceof Number) || !(rows.get(0)[1] instanceof Number)) {
+        throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.INVALID_QUERY_ERROR_CODE,
+                                              "Partition column should be numeric.");
+      }
+
+      return new long[]{((Number) rows.get(0)[0]).longValue(), ((Number) rows.get(0)[1]).longValue()};
+    } catch (SQLException e) {
+      LOGGER.error("Fail to get bounds of partition column : {}", e.getMessage());
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.INVALID_QUERY_ERROR_CODE,
+                                            "Fail to get bounds of partition column : " + e.getMessage());
+    } finally {
+      JdbcUtils.closeConnection(connection);
+    }
+  }
+
+  private String extractSplit(JdbcConnectInformation connectInformation, JdbcIngestionInfo ingestionInfo,
+                              JdbcDialect jdbcDialect, String database, String queryString, String tempFileName,
+                              List<Field> fields, int maxRetries, Set<Runnable> cancels, AtomicBoolean canceled) {
+    for (int retry = 0; ; retry++) {
+      if (canceled.get()) {
+        throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                              "Extracting " + tempFileName + " is canceled.");
+      }
+      try {
+        // accessor keeps its connection, so each split gets its own accessor
+        JdbcAccessor jdbcDataAccessor = DataConnectionHelper.getAccessor(connectInformation);
+        Connection connection = database == null
+            ? jdbcDataAccessor.getConnection()
+            : jdbcDataAccessor.getConnection(database, true);
+
+        String resultFileName = writeQueryResult(ingestionInfo, jdbcDialect, connection, queryString, tempFileName,
+                                                 ingestionInfo.getFetchSize(), fields, cancels);
+        if (canceled.get()) {
+          // canceled while writing, the file may be created after the others are deleted
+          new File(tempFileName).delete();
+          throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                                "Extracting " + tempFileName + " is canceled.");
+        }
+        return resultFileName;
+      } catch (RuntimeException e) {
+        if (canceled.get()) {
+          new File(tempFileName).delete();
+        }
+        if (retry >= maxRetries || canceled.get()) {
+          if (e instanceof JdbcDataConnectionException) {
+            throw (JdbcDataConnectionException) e;
+          }
+          throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                                "Fail to extract split : " + e.getMessage());
+        }
+        LOGGER.warn("Fail to extract {}, retry({}/{}) : {}", tempFileName, retry + 1, maxRetries, e.getMessage());
+      }
+    }
+  }
+
   public int countOfSelectQuery(JdbcConnectInformation connectInformation, JdbcIngestionInfo jdbcInfo) {
     JdbcAccessor jdbcDataAccessor = DataConnectionHelper.getAccessor(connectInformation);
     Connection connection = jdbcDataAccessor.getConnection();
@@ -781,11 +1082,27 @@ public class JdbcConnectionService {
   }
 
   public int writeResultSetToCSV(JdbcDialect jdbcDialect, ResultSet resultSet, String tempCsvFilePath, List<String> headers) throws SQLException {
+    return writeResultSetToCSV(jdbcDialect, resultSet, tempCsvFilePath, headers, 0, null);
+  }
+
+  /**
+   * Write result set to csv file
+   *
+   * @param previewRows     number of rows to preview
+   * @param previewCallback called when preview rows are written, not called if result has less rows
+   */
+  public int writeResultSetToCSV(JdbcDialect jdbcDialect, ResultSet resultSet, String tempCsvFilePath, List<String> headers,
+                                 int previewRows, Runnable previewCallback) throws SQLException {
     JdbcCSVWriter jdbcCSVWriter = null;
+    CsvRowIndex rowIndex = new CsvRowIndex();
     int rowNumber = 0;
     try {
-      jdbcCSVWriter = new JdbcCSVWriter(new FileWriter(tempCsvFilePath), CsvPreference.STANDARD_PREFERENCE);
+      jdbcCSVWriter = new JdbcCSVWriter(new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(tempCsvFilePath))),
+                                        Charset.defaultCharset(), CsvPreference.STANDARD_PREFERENCE, rowIndex);
       jdbcCSVWriter.setJdbcDialect(jdbcDialect);
+      if (previewCallback != null) {
+        jdbcCSVWriter.setPreviewCallback(previewRows, previewCallback);
+      }
       //write header from list if exist
       if (headers != null && !headers.isEmpty()) {
         jdbcCSVWriter.setWithHeader(false);
@@ -802,6 +1119,13 @@ public class JdbcConnectionService {
       } catch (IOException e) {
       }
     }
+
+    try {
+      rowIndex.write(tempCsvFilePath);
+    } catch (IOException e) {
+      // Pages are read from the beginning without index
+      LOGGER.warn("Fail to write row index of {} : {}", tempCsvFilePath, e.getMessage());
+    }
     return rowNumber;
   }
 
@@ -0,0 +1,286 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.connection.jdbc;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.orc.CompressionKind;
+import org.apache.orc.OrcFile;
+import org.apache.orc.TypeDescription;
+import org.apache.orc.Writer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import app.metatron.discovery.domain.datasource.Field;
+import app.metatron.discovery.extension.dataconnection.jdbc.dialect.JdbcDialect;
+import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionErrorCodes;
+import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionException;
+
+/**
+ * Write result of query to ORC file for ingestion, column types are derived from fields of datasource. <br/>
+ * Numbers are kept as binary values, other types are written as string like csv.
+ */
+public class JdbcOrcWriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcOrcWriter.class);
+
+  private static final int MAX_FETCH_SIZE = 100000;
+
+  private final List<Field> fields;
+
+  private final TypeDescription schema;
+
+  private JdbcDialect jdbcDialect;
+  private Connection connection;
+  private String query;
+  private String fileName;
+  private int fetchSize = 0;
+  private CompressionKind compression = CompressionKind.ZLIB;
+  private volatile Statement statement;
+  private volatile boolean canceled;
+
+  /**
+   * @param fields fields of datasource, derived fields are excluded
+   */
+  public JdbcOrcWriter(List<Field> fields) {
+    this.fields = physicalFields(fields);
+    this.schema = createSchema(this.fields);
+  }
+
+  /**
+   * Schema of ORC file, used as type string of orc parser
+   */
+  public static TypeDescription createSchema(List<Field> fields) {
+    TypeDescription schema = TypeDescription.createStruct();
+    for (Field field : physicalFields(fields)) {
+      String name = StringUtils.isEmpty(field.getOriginalName()) ? field.getName() : field.getOriginalName();
+      switch (field.getType()) {
+        case INTEGER:
+        case LONG:
+          schema.addField(name, TypeDescription.createLong());
+          break;
+        case FLOAT:
+        case DOUBLE:
+          schema.addField(name, TypeDescription.createDouble());
+          break;
+        case BOOLEAN:
+          schema.addField(name, TypeDescription.createBoolean());
+          break;
+        default:
+          // timestamp is parsed by format of field, like csv
+          schema.addField(name, TypeDescription.createString());
+      }
+    }
+    return schema;
+  }
+
+  private static List<Field> physicalFields(List<Field> fields) {
+    return fields.stream()
+                 .filter(field -> BooleanUtils.isNotTrue(field.getDerived()))
+                 .collect(Collectors.toList());
+  }
+
+  public void setJdbcDialect(JdbcDialect jdbcDialect) {
+    this.jdbcDialect = jdbcDialect;
+  }
+
+  public void setConnection(Connection connection) {
+    this.connection = connection;
+  }
+
+  public void setQuery(String query) {
+    this.query = query;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * @param compression none, zlib, snappy, lzo, default zlib
+   */
+  public void setCompression(String compression) {
+    if (StringUtils.isNotEmpty(compression)) {
+      this.compression = CompressionKind.valueOf(compression.toUpperCase());
+    }
+  }
+
+  /**
+   * Cancel the running query from another thread, the query fails with SQLException
+   */
+  public void cancel() {
+    canceled = true;
+    Statement stmt = statement;
+    if (stmt != null) {
+      try {
+        stmt.cancel();
+      } catch (SQLException e) {
+        LOGGER.debug("Fail to cancel query : {}", e.getMessage());
+      }
+    }
+  }
+
+  public String write() {
+
+    Statement stmt = null;
+    ResultSet rs = null;
+
+    try {
+      stmt = connection.createStatement();
+      statement = stmt;
+      if (canceled) {
+        throw new SQLException("Query canceled.");
+      }
+      stmt.setFetchSize(fetchSize == 0 ? MAX_FETCH_SIZE : fetchSize);
+
+      LOGGER.debug("Execute query : {} ", query);
+
+      rs = stmt.executeQuery(query);
+      write(rs);
+      LOGGER.debug("Successfully create orc file : {}", fileName);
+
+    } catch (SQLException e) {
+      LOGGER.error("Fail to query for select :  {}", e.getMessage());
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.INVALID_QUERY_ERROR_CODE,
+                                            "Fail to query : " + e.getMessage());
+    } catch (IOException e) {
+      LOGGER.error("Fail to write orc file by result of query :  {}", e.getMessage());
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                            "Fail to write orc file by result of query : " + e.getMessage());
+    } finally {
+      JdbcUtils.closeResultSet(rs);
+      JdbcUtils.closeStatement(stmt);
+      JdbcUtils.closeConnection(connection);
+    }
+
+    return fileName;
+  }
+
+  public void write(ResultSet resultSet) throws SQLException, IOException {
+    int numberOfColumns = resultSet.getMetaData().getColumnCount();
+    if (numberOfColumns != fields.size()) {
+      throw new JdbcDataConnectionException(JdbcDataConnectionErrorCodes.CSV_IO_ERROR_CODE,
+                                            "Columns of result(" + numberOfColumns + ") do not match to fields(" + fields.size() + ")");
+    }
+
+    // the writer fails if the file exists
+    new File(fileName).delete();
+
+    Configuration conf = new Configuration();
+    FileSystem fileSystem = FileSystem.getLocal(conf);
+    fileSystem.setWriteChecksum(false);
+
+    Writer writer = OrcFile.createWriter(new Path(fileName), OrcFile.writerOptions(conf)
+                                                                    .fileSystem(fileSystem)
+                                                                    .setSchema(schema)
+                                                                    .compress(compression));
+    try {
+      VectorizedRowBatch batch = schema.createRowBatch();
+      while (resultSet.next()) {
+        int pos = batch.size++;
+        for (int i = 0; i < numberOfColumns; i++) {
+          setValue(batch.cols[i], pos, schema.getChildren().get(i), getObject(resultSet, i + 1));
+        }
+
+        if (batch.size == batch.getMaxSize()) {
+          writer.addRowBatch(batch);
+          batch.reset();
+        }
+      }
+
+      if (batch.size != 0) {
+        writer.addRowBatch(batch);
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  private Object getObject(ResultSet resultSet, int columnIndex) throws SQLException {
+    Object value = resultSet.getObject(columnIndex);
+    if (value != null && jdbcDialect != null && jdbcDialect.resultObjectConverter() != null) {
+      try {
+        value = jdbcDialect.resultObjectConverter().apply(value);
+      } catch (ClassCastException e) {
+        value = null;
+      }
+    }
+    return value;
+  }
+
+  private void setValue(ColumnVector vector, int pos, TypeDescription type, Object value) {
+    try {
+      switch (type.getCategory()) {
+        case LONG:
+          if (value != null) {
+            ((LongColumnVector) vector).vector[pos] = value instanceof Number
+                ? ((Number) value).longValue()
+                : Long.parseLong(value.toString().trim());
+            return;
+          }
+          break;
+        case DOUBLE:
+          if (value != null) {
+            ((DoubleColumnVector) vector).vector[pos] = value instanceof Number
+                ? ((Number) value).doubleValue()
+                : Double.parseDouble(value.toString().trim());
+            return;
+          }
+          break;
+        case BOOLEAN:
+          if (value != null) {
+            boolean bool = value instanceof Boolean ? (Boolean) value : BooleanUtils.toBoolean(value.toString());
+            ((LongColumnVector) vector).vector[pos] = bool ? 1 : 0;
+            return;
+          }
+          break;
+        default:
+          if (value != null) {
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            ((BytesColumnVector) vector).setVal(pos, bytes, 0, bytes.length);
+            return;
+          }
+      }
+    } catch (NumberFormatException e) {
+      // invalid number is treated as null
+    }
+
+    vector.noNulls = false;
+    vector.isNull[pos] = true;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.data.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.supercsv.io.CsvListWriter;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Exports results as CSV (UTF-8 with BOM)
+ */
+public class CsvResultExporter extends ResultExporter {
+
+  private CsvListWriter writer;
+
+  public CsvResultExporter(OutputStream outputStream) {
+    super(outputStream);
+  }
+
+  @Override
+  public void start(List<String> columns) throws IOException {
+    // 엑셀에서 인코딩을 인식하도록 BOM 추가
+    outputStream.write(0xEF);
+    outputStream.write(0xBB);
+    outputStream.write(0xBF);
+
+    writer = new CsvListWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)),
+                               CsvPreference.STANDARD_PREFERENCE);
+    writer.writeHeader(columns.toArray(new String[columns.size()]));
+  }
+
+  @Override
+  public void write(List<JsonNode> values) throws IOException {
+    writer.write(values.stream().map(this::toText).collect(Collectors.toList()));
+    rowCount++;
+  }
+
+  @Override
+  public void finish() throws IOException {
+    writer.flush();
+  }
+}
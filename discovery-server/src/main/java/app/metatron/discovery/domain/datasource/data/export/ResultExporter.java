@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.data.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes query results to the output stream row by row, without keeping whole results.
+ * Only row oriented formats (CSV) are exported this way, Excel downloads go through the file forward path.
+ */
+public abstract class ResultExporter {
+
+  protected final OutputStream outputStream;
+
+  protected long rowCount;
+
+  public ResultExporter(OutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  /**
+   * @param columns names of columns (header)
+   */
+  public abstract void start(List<String> columns) throws IOException;
+
+  /**
+   * @param values values of a row, in the order of columns
+   */
+  public abstract void write(List<JsonNode> values) throws IOException;
+
+  /**
+   * Completes the output, the output stream is not closed.
+   */
+  public abstract void finish() throws IOException;
+
+  /**
+   * Releases resources, when the export is stopped (ex. client disconnected)
+   */
+  public void abort() {
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  protected String toText(JsonNode value) {
+    if (value == null || value.isNull() || value.isMissingNode()) {
+      return null;
+    }
+    return value.asText();
+  }
+}
@@ -23,11 +23,34 @@ import app.metatron.discovery.common.geospatial.geojson.GeoJsonWriter;
  */
 public class GeoJsonResultFormat extends SearchResultFormat {
 
+  /**
+   * Tolerance (degree) to simplify lines and polygons, not simplified if null
+   */
+  Double simplifyTolerance;
+
   public GeoJsonResultFormat() {
   }
 
+  public GeoJsonResultFormat(Double simplifyTolerance) {
+    this.simplifyTolerance = simplifyTolerance;
+  }
+
+  /**
+   * Tolerance as a pixel of 256px tile at zoom level of map
+   */
+  public static GeoJsonResultFormat ofZoom(Integer zoom) {
+    if (zoom == null) {
+      return new GeoJsonResultFormat();
+    }
+    return new GeoJsonResultFormat(360.0 / 256 / Math.pow(2, zoom));
+  }
+
   @Override
   public Object makeResult(JsonNode node) {
-    return new GeoJsonWriter().write(node);
+    return new GeoJsonWriter(simplifyTolerance).write(node);
+  }
+
+  public Double getSimplifyTolerance() {
+    return simplifyTolerance;
   }
 }
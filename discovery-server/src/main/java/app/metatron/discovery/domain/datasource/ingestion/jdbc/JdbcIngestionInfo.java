@@ -86,6 +86,11 @@ public abstract class JdbcIngestionInfo implements IngestionInfo {
    */
   String connectionPassword;
 
+  /**
+   * Split of extraction by column, extracted in a single query if null
+   */
+  JdbcPartitionInfo partition;
+
 
   public JdbcIngestionInfo() {
   }
@@ -190,6 +195,14 @@ public abstract class JdbcIngestionInfo implements IngestionInfo {
     this.connectionPassword = connectionPassword;
   }
 
+  public JdbcPartitionInfo getPartition() {
+    return partition;
+  }
+
+  public void setPartition(JdbcPartitionInfo partition) {
+    this.partition = partition;
+  }
+
   public enum DataType {
     TABLE, QUERY
   }
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.ingestion.jdbc;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Split of jdbc ingestion by numeric column, each split is extracted into its own file concurrently
+ */
+public class JdbcPartitionInfo {
+
+  /**
+   * Numeric column to split by
+   */
+  String column;
+
+  /**
+   * Number of splits
+   */
+  Integer splits = 4;
+
+  /**
+   * Lower bound of column, computed by min value of column if null
+   */
+  Long lowerBound;
+
+  /**
+   * Upper bound of column, computed by max value of column if null
+   */
+  Long upperBound;
+
+  /**
+   * Retry count of failed split
+   */
+  Integer maxRetries = 2;
+
+  public JdbcPartitionInfo() {
+  }
+
+  public JdbcPartitionInfo(String column, Integer splits) {
+    this.column = column;
+    this.splits = splits;
+  }
+
+  @JsonIgnore
+  public boolean isPartitioned() {
+    return StringUtils.isNotEmpty(column) && splits != null && splits > 1;
+  }
+
+  @JsonIgnore
+  public boolean hasBounds() {
+    return lowerBound != null && upperBound != null;
+  }
+
+  /**
+   * Conditions of splits, rows out of bounds or null are included in first or last split.
+   *
+   * @param quotedColumn column name quoted by dialect
+   */
+  public List<String> getConditions(String quotedColumn, long lower, long upper) {
+    List<String> conditions = new ArrayList<>();
+
+    long stride = (upper - lower) / splits;
+    if (stride <= 0) {
+      conditions.add("1 = 1");
+      return conditions;
+    }
+
+    long bound = lower;
+    for (int i = 0; i < splits; i++) {
+      long nextBound = bound + stride;
+      if (i == 0) {
+        conditions.add(quotedColumn + " < " + nextBound + " OR " + quotedColumn + " IS NULL");
+      } else if (i == splits - 1) {
+        conditions.add(quotedColumn + " >= " + bound);
+      } else {
+        conditions.add(quotedColumn + " >= " + bound + " AND " + quotedColumn + " < " + nextBound);
+      }
+      bound = nextBound;
+    }
+
+    return conditions;
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  public void setColumn(String column) {
+    this.column = column;
+  }
+
+  public Integer getSplits() {
+    return splits;
+  }
+
+  public void setSplits(Integer splits) {
+    this.splits = splits;
+  }
+
+  public Long getLowerBound() {
+    return lowerBound;
+  }
+
+  public void setLowerBound(Long lowerBound) {
+    this.lowerBound = lowerBound;
+  }
+
+  public Long getUpperBound() {
+    return upperBound;
+  }
+
+  public void setUpperBound(Long upperBound) {
+    this.upperBound = upperBound;
+  }
+
+  public Integer getMaxRetries() {
+    return maxRetries;
+  }
+
+  public void setMaxRetries(Integer maxRetries) {
+    this.maxRetries = maxRetries;
+  }
+}
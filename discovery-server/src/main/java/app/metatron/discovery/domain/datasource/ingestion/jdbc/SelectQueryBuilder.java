@@ -50,6 +50,8 @@ public class SelectQueryBuilder {
 
   private String incremental;
 
+  private String partition;
+
   public SelectQueryBuilder(JdbcConnectInformation connectInformation, JdbcDialect jdbcDialect) {
     this.connectInformation = connectInformation;
     this.jdbcDialect = jdbcDialect;
@@ -93,6 +95,27 @@ public class SelectQueryBuilder {
     return this;
   }
 
+  /**
+   * Condition of a split of partitioned ingestion
+   *
+   * @param condition condition from {@link JdbcPartitionInfo#getConditions(String, long, long)}
+   */
+  public SelectQueryBuilder partition(String condition) {
+    this.partition = condition;
+
+    return this;
+  }
+
+  /**
+   * Min, max value of the column to compute bounds of partitioned ingestion
+   */
+  public SelectQueryBuilder boundProjection(String column) {
+    String quotedColumn = jdbcDialect.getQuotedFieldName(connectInformation, column);
+    this.projection = "MIN(" + quotedColumn + "), MAX(" + quotedColumn + ")";
+
+    return this;
+  }
+
   public SelectQueryBuilder allProjection() {
     this.projection = "*";
 
@@ -209,7 +232,7 @@ public class SelectQueryBuilder {
 
     if (connectInformation.getImplementor().equals("ORACLE")
         || connectInformation.getImplementor().equals("TIBERO")) {
-      if (StringUtils.isEmpty(incremental)) {
+      if (StringUtils.isEmpty(incremental) && StringUtils.isEmpty(partition)) {
         limitClause.append("WHERE ");
       } else {
         limitClause.append("AND ");
@@ -255,6 +278,11 @@ public class SelectQueryBuilder {
       selectQuery.append(incremental).append(" ");
     }
 
+    if (StringUtils.isNotEmpty(partition)) {
+      selectQuery.append(StringUtils.isEmpty(incremental) ? "WHERE " : "AND ");
+      selectQuery.append("(").append(partition).append(") ");
+    }
+
     if (StringUtils.isNotEmpty(limit) && !connectInformation.getImplementor().equals("MSSQL")) {
       selectQuery.append(limit);
     }
@@ -16,35 +16,31 @@ package app.metatron.discovery.domain.datasource.ingestion.job;
 
 import com.google.common.collect.Maps;
 
-import net.jodah.failsafe.Failsafe;
-import net.jodah.failsafe.RetryPolicy;
-
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.support.TransactionTemplate;
-import org.springframework.web.client.ResourceAccessException;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.annotation.PostConstruct;
 
 import app.metatron.discovery.common.GlobalObjectMapper;
 import app.metatron.discovery.common.ProgressResponse;
 import app.metatron.discovery.common.fileloader.FileLoaderFactory;
+import app.metatron.discovery.common.websocket.ProgressPublisher;
 import app.metatron.discovery.domain.datasource.DataSource;
 import app.metatron.discovery.domain.datasource.DataSourceErrorCodes;
 import app.metatron.discovery.domain.datasource.DataSourceIngestionException;
+import app.metatron.discovery.domain.datasource.DataSourceRepository;
 import app.metatron.discovery.domain.datasource.DataSourceService;
 import app.metatron.discovery.domain.datasource.DataSourceSummary;
 import app.metatron.discovery.domain.datasource.Field;
@@ -57,12 +53,14 @@ import app.metatron.discovery.domain.datasource.ingestion.IngestionInfo;
 import app.metatron.discovery.domain.datasource.ingestion.IngestionOptionService;
 import app.metatron.discovery.domain.datasource.ingestion.LocalFileIngestionInfo;
 import app.metatron.discovery.domain.datasource.ingestion.jdbc.JdbcIngestionInfo;
+import app.metatron.discovery.domain.engine.CandidateCache;
 import app.metatron.discovery.domain.engine.DruidEngineMetaRepository;
 import app.metatron.discovery.domain.engine.DruidEngineRepository;
+import app.metatron.discovery.domain.engine.DruidTaskTracker;
 import app.metatron.discovery.domain.engine.EngineIngestionService;
 import app.metatron.discovery.domain.engine.EngineProperties;
 import app.metatron.discovery.domain.engine.EngineQueryService;
-import app.metatron.discovery.domain.engine.model.IngestionStatusResponse;
+import app.metatron.discovery.domain.engine.GeoTileCache;
 import app.metatron.discovery.domain.engine.model.SegmentMetaDataResponse;
 import app.metatron.discovery.domain.mdm.MetadataService;
 import app.metatron.discovery.domain.storage.StorageProperties;
@@ -104,6 +102,9 @@ public class IngestionJobRunner {
   @Autowired
   private DataSourceService dataSourceService;
 
+  @Autowired
+  private DataSourceRepository dataSourceRepository;
+
   @Autowired
   private JdbcConnectionService jdbcConnectionService;
 
@@ -128,36 +129,51 @@ public class IngestionJobRunner {
   @Autowired
   private MetadataService metadataService;
 
-  private SimpMessageSendingOperations messagingTemplate;
+  @Autowired
+  private CandidateCache candidateCache;
 
-  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private GeoTileCache geoTileCache;
 
-  @Value("${polaris.datasource.ingestion.retries.delay:3}")
-  private Long delay;
+  @Autowired
+  private DruidTaskTracker taskTracker;
 
-  @Value("${polaris.datasource.ingestion.retries.maxDelay:60}")
-  private Long maxDelay;
+  @Autowired
+  private ProgressPublisher progressPublisher;
 
-  @Value("${polaris.datasource.ingestion.retries.maxDuration:3600}")
-  private Long maxDuration;
+  private TransactionTemplate transactionTemplate;
 
   public IngestionJobRunner() {
     // Empty Constructor
   }
 
-  @Autowired
-  public void setMessagingTemplate(SimpMessageSendingOperations messagingTemplate) {
-    this.messagingTemplate = messagingTemplate;
-  }
-
   @PostConstruct
   public void init() {
     transactionTemplate = new TransactionTemplate(platformTransactionManager);
   }
 
-  public void ingestion(DataSource dataSource) {
+  /**
+   * Run ingestion of the datasource. <br/>
+   * After the engine task is submitted, the task is tracked by {@link DruidTaskTracker}
+   * and the rest of ingestion is continued when the task is completed, without blocking the caller.
+   *
+   * The datasource is loaded by id, so the job does not share the entity with the caller.
+   *
+   * @param dataSourceId id of the datasource saved with ingestion information
+   * @param append       whether to append segments to the datasource
+   * @return completed with the history when the ingestion is finished (success or fail),
+   * or with null if the datasource is not found
+   */
+  public CompletableFuture<IngestionHistory> ingestion(String dataSourceId, boolean append) {
+
+    DataSource dataSource = findDataSource(dataSourceId);
+    if (dataSource == null) {
+      LOGGER.warn("Ingestion of datasource({}) is skipped, the datasource is not found.", dataSourceId);
+      return CompletableFuture.completedFuture(null);
+    }
+    dataSource.setAppend(append);
 
-    String sendTopicUri = String.format(TOPIC_INGESTION_PROGRESS, dataSource.getId());
+    String sendTopicUri = String.format(TOPIC_INGESTION_PROGRESS, dataSourceId);
 
     IngestionHistory history = null;
     Map<String, Object> results = Maps.newLinkedHashMap();
@@ -165,8 +181,6 @@ public class IngestionJobRunner {
 
     try {
 
-      // Temporary Process
-      Thread.sleep(3000L);
       history = createNewHistory(dataSource.getId(), dataSource.getIngestionInfo());
 
       sendTopic(sendTopicUri, new ProgressResponse(0, START_INGESTION_JOB));
@@ -198,6 +212,11 @@ public class IngestionJobRunner {
 
         ingestionJob.buildSpec();
 
+        // the job is canceled while preparing
+        if (Thread.currentThread().isInterrupted()) {
+          throw new DataSourceIngestionException(INGESTION_COMMON_ERROR, "Ingestion is canceled.");
+        }
+
         // Call engine api.
         String taskId = ingestionJob.process();
 
@@ -207,65 +226,137 @@ public class IngestionJobRunner {
         sendTopic(sendTopicUri, new ProgressResponse(70, ENGINE_RUNNING_TASK, results));
 
         // Check ingestion Task.
-        IngestionStatusResponse statusResponse = checkIngestion(taskId);
-        if (statusResponse.getStatus() == FAILED) {
-          throw new DataSourceIngestionException(INGESTION_ENGINE_TASK_ERROR, "An error occurred while loading the data source : " + statusResponse.getCause());
-        }
-
-        // Check registering datasource
-        sendTopic(sendTopicUri, new ProgressResponse(90, ENGINE_REGISTER_DATASOURCE));
-        history = updateHistoryProgress(history.getId(), ENGINE_REGISTER_DATASOURCE, taskId);
+        final IngestionHistory runningHistory = history;
+        CompletableFuture<IngestionHistory> future = taskTracker.track(taskId)
+                          .thenCompose(statusResponse -> {
+                            if (statusResponse.getStatus() == FAILED) {
+                              throw new DataSourceIngestionException(INGESTION_ENGINE_TASK_ERROR, "An error occurred while loading the data source : " + statusResponse.getCause());
+                            }
+
+                            // Check registering datasource
+                            sendTopic(sendTopicUri, new ProgressResponse(90, ENGINE_REGISTER_DATASOURCE));
+                            IngestionHistory registeringHistory = updateHistoryProgress(runningHistory.getId(), ENGINE_REGISTER_DATASOURCE, taskId);
+
+                            return completeIngestion(dataSourceId, dataSource.getEngineName(), registeringHistory, results, sendTopicUri);
+                          })
+                          .exceptionally(throwable -> failIngestion(runningHistory, throwable, results, sendTopicUri));
+
+        // the job is canceled (ex. job admin API), the engine task is shut down
+        future.whenComplete((completed, throwable) -> {
+          if (future.isCancelled()) {
+            taskTracker.cancel(taskId);
+            failIngestion(runningHistory, new DataSourceIngestionException(INGESTION_COMMON_ERROR, "Ingestion is canceled."),
+                          results, sendTopicUri);
+          }
+        });
+        return future;
       }
 
-      SegmentMetaDataResponse segmentMetaData = checkDataSource(dataSource.getEngineName());
-      if (segmentMetaData == null) {
-        throw new DataSourceIngestionException(INGESTION_ENGINE_REGISTRATION_ERROR, "An error occurred while registering the data source");
-      }
+      final IngestionHistory emptyHistory = history;
+      return completeIngestion(dataSourceId, dataSource.getEngineName(), history, results, sendTopicUri)
+          .exceptionally(throwable -> failIngestion(emptyHistory, throwable, results, sendTopicUri));
 
-      // FIXME: fix deprecated code with DataSourceCheckJob
-      DataSourceSummary summary = new DataSourceSummary(segmentMetaData);
-      summary.updateSummary(segmentMetaData);
+    } catch (Exception e) {
+      return CompletableFuture.completedFuture(failIngestion(history, e, results, sendTopicUri));
+    }
 
-      if (BooleanUtils.isTrue(dataSource.getIncludeGeo())) {
-        List<Field> geoFields = dataSource.getGeoFields();
+  }
 
-        Map<String, Object> result = queryService.geoBoundary(dataSource.getEngineName(), geoFields);
-        summary.updateGeoCorner(result);
-      }
+  /**
+   * Complete ingestion when the datasource is registered to engine,
+   * registration is checked by {@link DruidTaskTracker} without blocking a thread.
+   * The datasource is loaded again when registered, since it can be changed while the task is running.
+   */
+  private CompletableFuture<IngestionHistory> completeIngestion(String dataSourceId, String engineName,
+                                                                IngestionHistory history,
+                                                                Map<String, Object> results, String sendTopicUri) {
+    return taskTracker.await("datasource(" + engineName + ")",
+                             () -> queryService.segmentMetadata(engineName))
+                      .thenApply(segmentMetaData -> {
+                        DataSource dataSource = findDataSource(dataSourceId);
+                        if (dataSource == null) {
+                          throw new DataSourceIngestionException(INGESTION_COMMON_ERROR, "Datasource(" + dataSourceId + ") is deleted while ingestion.");
+                        }
+                        return completeIngestion(dataSource, history, segmentMetaData, results, sendTopicUri);
+                      });
+  }
 
-      results.put("summary", summary);
-      results.put("history", history);
+  private IngestionHistory completeIngestion(DataSource dataSource, IngestionHistory history,
+                                             SegmentMetaDataResponse segmentMetaData,
+                                             Map<String, Object> results, String sendTopicUri) {
 
-      // create metadata
-      createMetadata(dataSource);
+    if (segmentMetaData == null) {
+      throw new DataSourceIngestionException(INGESTION_ENGINE_REGISTRATION_ERROR, "An error occurred while registering the data source");
+    }
 
-      ProgressResponse successResponse = new ProgressResponse(100, END_INGESTION_JOB);
-      successResponse.setResults(results);
+    // FIXME: fix deprecated code with DataSourceCheckJob
+    DataSourceSummary summary = new DataSourceSummary(segmentMetaData);
+    summary.updateSummary(segmentMetaData);
 
-      sendTopic(sendTopicUri, successResponse);
-      setSuccessProgress(history.getId(), summary);
+    if (BooleanUtils.isTrue(dataSource.getIncludeGeo())) {
+      List<Field> geoFields = dataSource.getGeoFields();
 
-    } catch (Exception e) {
+      Map<String, Object> result = queryService.geoBoundary(dataSource.getEngineName(), geoFields);
+      summary.updateGeoCorner(result);
+    }
 
-      DataSourceIngestionException ie;
-      if (!(e instanceof DataSourceIngestionException)) {
-        ie = new DataSourceIngestionException(INGESTION_COMMON_ERROR, e);
-      } else {
-        ie = (DataSourceIngestionException) e;
-      }
+    results.put("summary", summary);
+    results.put("history", history);
 
-      try {
-        history = setFailProgress(history.getId(), ie);
-      } catch (TransactionException ex) {
-        LOGGER.warn("Fail to save fail process : {}", ex.getMessage());
-      }
+    candidateCache.invalidate(dataSource.getEngineName());
+    geoTileCache.invalidate(dataSource.getEngineName());
+
+    // create metadata
+    createMetadata(dataSource);
+
+    ProgressResponse successResponse = new ProgressResponse(100, END_INGESTION_JOB);
+    successResponse.setResults(results);
+
+    sendTopic(sendTopicUri, successResponse);
+    return setSuccessProgress(history.getId(), summary);
+  }
+
+  private DataSource findDataSource(String dataSourceId) {
+    return transactionTemplate.execute(transactionStatus -> dataSourceRepository.findByIdIncludeConnection(dataSourceId));
+  }
+
+  /**
+   * Mark the datasource as failed, when the ingestion job is rejected by the job pool
+   */
+  public void rejectIngestion(String dataSourceId) {
+    transactionTemplate.execute(transactionStatus -> {
+      dataSourceService.setDataSourceStatus(dataSourceId, DataSource.Status.FAILED, null, null);
+      return null;
+    });
+    LOGGER.warn("Ingestion of datasource({}) is rejected, the job pool is full.", dataSourceId);
+  }
 
-      results.put("history", history);
-      sendTopic(sendTopicUri, new ProgressResponse(-1, FAIL_INGESTION_JOB, results));
+  private IngestionHistory failIngestion(IngestionHistory history, Throwable e,
+                                         Map<String, Object> results, String sendTopicUri) {
 
-      LOGGER.error("Fail to ingestion : {}", history, ie);
+    if (e instanceof CompletionException && e.getCause() != null) {
+      e = e.getCause();
+    }
+
+    DataSourceIngestionException ie;
+    if (!(e instanceof DataSourceIngestionException)) {
+      ie = new DataSourceIngestionException(INGESTION_COMMON_ERROR, e);
+    } else {
+      ie = (DataSourceIngestionException) e;
     }
 
+    try {
+      history = setFailProgress(history.getId(), ie);
+    } catch (TransactionException ex) {
+      LOGGER.warn("Fail to save fail process : {}", ex.getMessage());
+    }
+
+    results.put("history", history);
+    sendTopic(sendTopicUri, new ProgressResponse(-1, FAIL_INGESTION_JOB, results));
+
+    LOGGER.error("Fail to ingestion : {}", history, ie);
+
+    return history;
   }
 
   public IngestionHistory createNewHistory(final String datasourceId, final IngestionInfo ingestionInfo) {
@@ -377,82 +468,15 @@ public class IngestionJobRunner {
 
   public void sendTopic(String topicUri, ProgressResponse progressResponse) {
     LOGGER.debug("Send Progress Topic : {}, {}", topicUri, progressResponse);
-    try {
-      messagingTemplate.convertAndSend(topicUri,
-                                       GlobalObjectMapper.writeValueAsString(progressResponse));
-    } catch (Exception e) {
-      LOGGER.error("Fail to send message : {}, {}", topicUri, progressResponse, e);
+    String payload = GlobalObjectMapper.writeValueAsString(progressResponse);
+    if (progressResponse.isFinished()) {
+      progressPublisher.send(topicUri, payload);
+    } else {
+      progressPublisher.sendProgress(topicUri, payload);
     }
 
   }
 
-  public SegmentMetaDataResponse checkDataSource(String engineName) {
-
-    // @formatter:off
-    RetryPolicy retryPolicy = new RetryPolicy()
-        .retryOn(ResourceAccessException.class)
-        .retryOn(Exception.class)
-        .retryIf(result -> result == null)
-        .withBackoff(delay, maxDelay, TimeUnit.SECONDS)
-        .withMaxDuration(maxDuration, TimeUnit.SECONDS);
-		// @formatter:on
-
-    Callable<SegmentMetaDataResponse> callable = () -> queryService.segmentMetadata(engineName);
-
-    // @formatter:off
-    SegmentMetaDataResponse response = Failsafe.with(retryPolicy)
-            .onRetriesExceeded((o, throwable) -> {
-              throw new DataSourceIngestionException("Retries exceed for checking datasource : " + engineName);
-            })
-            .onComplete((o, throwable, ctx) -> {
-              if(ctx != null) {
-                LOGGER.debug("Completed checking datasource({}). {} tries. Take time {} seconds.", engineName, ctx.getExecutions(), ctx.getElapsedTime().toSeconds());
-              }
-            })
-            .get(callable);
-    // @formatter:on
-
-    return response;
-  }
-
-  public IngestionStatusResponse checkIngestion(String taskId) {
-
-    // @formatter:off
-    RetryPolicy retryPolicy = new RetryPolicy()
-        .retryOn(ResourceAccessException.class)
-        .retryOn(Exception.class)
-        .retryIf(result -> {
-          if(result instanceof IngestionStatusResponse) {
-            IngestionStatusResponse response = (IngestionStatusResponse) result;
-            if(response.getStatus() == SUCCESS || response.getStatus() == FAILED) {
-              return false;
-            }
-          }
-          return true;
-        })
-        .withBackoff(delay, maxDelay, TimeUnit.SECONDS)
-        .withMaxDuration(maxDuration, TimeUnit.SECONDS);
-		// @formatter:on
-
-
-    Callable<IngestionStatusResponse> callable = () -> ingestionService.doCheckResult(taskId);
-
-    // @formatter:off
-    IngestionStatusResponse statusResponse = Failsafe.with(retryPolicy)
-            .onRetriesExceeded((o, throwable) -> {
-              throw new DataSourceIngestionException("Retries exceed for ingestion task : " + taskId);
-            })
-            .onComplete((o, throwable, ctx) -> {
-              if(ctx != null) {
-                LOGGER.debug("Completed checking task ({}). {} tries. Take time {} seconds.", taskId, ctx.getExecutions(), ctx.getElapsedTime().toSeconds());
-              }
-            })
-            .get(callable);
-    // @formatter:on
-
-    return statusResponse;
-  }
-
   public void createMetadata(DataSource dataSource){
     try{
       // create metadata
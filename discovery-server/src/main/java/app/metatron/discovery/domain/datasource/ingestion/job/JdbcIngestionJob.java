@@ -32,28 +32,35 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import app.metatron.discovery.domain.dataconnection.DataConnection;
 import app.metatron.discovery.domain.datasource.DataSource;
 import app.metatron.discovery.domain.datasource.DataSourceIngestionException;
 import app.metatron.discovery.domain.datasource.DataSourceSummary;
 import app.metatron.discovery.domain.datasource.connection.jdbc.JdbcConnectionService;
+import app.metatron.discovery.domain.datasource.connection.jdbc.JdbcOrcWriter;
 import app.metatron.discovery.domain.datasource.ingestion.IngestionHistory;
 import app.metatron.discovery.domain.datasource.ingestion.IngestionOption;
 import app.metatron.discovery.domain.datasource.ingestion.file.CsvFileFormat;
+import app.metatron.discovery.domain.datasource.ingestion.file.OrcFileFormat;
 import app.metatron.discovery.domain.datasource.ingestion.jdbc.BatchIngestionInfo;
 import app.metatron.discovery.domain.datasource.ingestion.jdbc.JdbcIngestionInfo;
 import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionErrorCodes;
 import app.metatron.discovery.extension.dataconnection.jdbc.exception.JdbcDataConnectionException;
 import app.metatron.discovery.spec.druid.ingestion.BatchIndex;
+import app.metatron.discovery.spec.druid.ingestion.HadoopIndex;
 import app.metatron.discovery.spec.druid.ingestion.Index;
 import app.metatron.discovery.spec.druid.ingestion.IngestionSpec;
 import app.metatron.discovery.spec.druid.ingestion.IngestionSpecBuilder;
+import app.metatron.discovery.spec.druid.ingestion.parser.OrcParser;
 
 import static app.metatron.discovery.domain.datasource.DataSourceErrorCodes.INGESTION_COMMON_ERROR;
 import static app.metatron.discovery.domain.datasource.DataSourceErrorCodes.INGESTION_JDBC_EMPTY_RESULT_ERROR;
@@ -65,20 +72,27 @@ public class JdbcIngestionJob extends AbstractIngestionJob implements IngestionJ
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JdbcIngestionJob.class);
 
+  static final String ORC_INPUT_FORMAT = "org.apache.hadoop.hive.ql.io.orc.OrcNewInputFormat";
+
   private JdbcConnectionService jdbcConnectionService;
 
   private JdbcIngestionInfo ingestionInfo;
 
-  private String srcFilePath;
+  private List<String> srcFilePaths;
+
+  private List<String> loadFileNames;
 
-  private String loadFileName;
+  private String loadFileFilter;
 
   private Index indexSpec;
 
   public JdbcIngestionJob(DataSource dataSource, IngestionHistory ingestionHistory) {
     super(dataSource, ingestionHistory);
     ingestionInfo = dataSource.getIngestionInfoByType();
-    ingestionInfo.setFormat(new CsvFileFormat());
+    // result of query is staged as csv, unless orc is specified
+    if (!(ingestionInfo.getFormat() instanceof OrcFileFormat)) {
+      ingestionInfo.setFormat(new CsvFileFormat());
+    }
   }
 
   public void setJdbcConnectionService(JdbcConnectionService jdbcConnectionService) {
@@ -102,8 +116,22 @@ public class JdbcIngestionJob extends AbstractIngestionJob implements IngestionJ
     }
 
     try {
-      if (ingestionInfo instanceof BatchIngestionInfo
-          && ((BatchIngestionInfo) ingestionInfo).getRange() == INCREMENTAL) {
+      boolean incremental = ingestionInfo instanceof BatchIngestionInfo
+          && ((BatchIngestionInfo) ingestionInfo).getRange() == INCREMENTAL;
+
+      if (ingestionInfo.getPartition() != null && ingestionInfo.getPartition().isPartitioned()) {
+
+        DataSourceSummary summary = dataSource.getSummary();
+
+        csvFiles = jdbcConnectionService.selectPartitionedQueryToCsv(
+            connection,
+            ingestionInfo,
+            dataSource.getEngineName(),
+            incremental,
+            summary == null ? null : summary.getIngestionMaxTime(),
+            dataSource.getFields()
+        );
+      } else if (incremental) {
 
         DataSourceSummary summary = dataSource.getSummary();
 
@@ -139,32 +167,79 @@ public class JdbcIngestionJob extends AbstractIngestionJob implements IngestionJ
       throw new DataSourceIngestionException(INGESTION_JDBC_EMPTY_RESULT_ERROR, "Empty result of query.");
     }
 
-    File tempFile = new File(csvFiles.get(0));
-    if (!tempFile.canRead()) {
-      throw new DataSourceIngestionException(INGESTION_JDBC_FETCH_RESULT_ERROR, "Temporary file for ingestion are not available.");
+    srcFilePaths = Lists.newArrayList();
+    loadFileNames = Lists.newArrayList();
+    for (String csvFile : csvFiles) {
+      File tempFile = new File(csvFile);
+      if (!tempFile.canRead()) {
+        throw new DataSourceIngestionException(INGESTION_JDBC_FETCH_RESULT_ERROR, "Temporary file for ingestion are not available.");
+      }
+
+      srcFilePaths.add(tempFile.getAbsolutePath());
+      loadFileNames.add(tempFile.getName());
     }
 
-    srcFilePath = tempFile.getAbsolutePath();
-    loadFileName = tempFile.getName();
+    // files of splits are read together by wildcard, ex. temp_ds_xxx_part*.csv
+    loadFileFilter = loadFileNames.size() == 1
+        ? loadFileNames.get(0)
+        : StringUtils.substringBeforeLast(loadFileNames.get(0), "_part") + "_part*."
+            + StringUtils.substringAfterLast(loadFileNames.get(0), ".");
   }
 
   @Override
   public void loadToEngine() {
-    loadFileToEngine(Lists.newArrayList(srcFilePath), Lists.newArrayList(loadFileName));
+    loadFileToEngine(srcFilePaths, loadFileNames);
   }
 
   @Override
   public void buildSpec() {
+    if (ingestionInfo.getFormat() instanceof OrcFileFormat) {
+      // local firehose 는 텍스트 라인만 읽으므로, ORC 파일은 hadoop index 로 적재
+      Map<String, Object> tuningOptions = ingestionOptionService.findTuningOptionMap(IngestionOption.IngestionType.HADOOP,
+                                                                                     ingestionInfo.getTuningOptions());
+      Map<String, Object> jobProperties = ingestionOptionService.findJobOptionMap(IngestionOption.IngestionType.HADOOP,
+                                                                                  null);
+      indexSpec = new HadoopIndex(orcSpec(dataSource, engineProperties.getIngestion().getBaseDir(), loadFileNames,
+                                          tuningOptions, jobProperties));
+      return;
+    }
+
     IngestionSpec spec = new IngestionSpecBuilder()
         .dataSchema(dataSource)
         .batchTuningConfig(ingestionOptionService.findTuningOptionMap(IngestionOption.IngestionType.BATCH,
                                                                       ingestionInfo.getTuningOptions()))
-        .localIoConfig(engineProperties.getIngestion().getBaseDir(), loadFileName)
+        .localIoConfig(engineProperties.getIngestion().getBaseDir(), loadFileFilter)
         .build();
 
     indexSpec = new BatchIndex(spec, dedicatedWorker);
   }
 
+  /**
+   * Hadoop ingestion spec reading staged ORC files by static input spec
+   *
+   * @param baseDir   directory of staged files in the engine
+   * @param fileNames names of staged files
+   */
+  static IngestionSpec orcSpec(DataSource dataSource, String baseDir, List<String> fileNames,
+                               Map<String, Object> tuningOptions, Map<String, Object> jobProperties) {
+    List<String> paths = fileNames.stream()
+                                  .map(fileName -> StringUtils.contains(baseDir, "://")
+                                      ? StringUtils.removeEnd(baseDir, "/") + "/" + fileName
+                                      : new File(baseDir, fileName).toURI().toString())
+                                  .collect(Collectors.toList());
+
+    IngestionSpec spec = new IngestionSpecBuilder()
+        .dataSchema(dataSource)
+        .staticIoConfig(paths, ORC_INPUT_FORMAT)
+        .hdfsTuningConfig(tuningOptions, jobProperties)
+        .build();
+
+    ((OrcParser) spec.getDataSchema().getParser())
+        .setTypeString(JdbcOrcWriter.createSchema(dataSource.getFields()).toString());
+
+    return spec;
+  }
+
   @Override
   public String process() {
     String taskId = doIngestion(indexSpec);
@@ -29,8 +29,11 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -136,6 +139,36 @@ public abstract class AbstractEngineRepository {
     return call(targetUrl.toUriString(), method, entity, clazz);
   }
 
+  /**
+   * Call engine and read the response as a stream, the response body is not buffered.
+   */
+  protected <T> T execute(String type, Map<String, Object> urlParam, String body, ResponseExtractor<T> extractor) {
+
+    EngineProperties.EngineApi engineApi = engineProperties.getApiInfoByType(type);
+    if(engineApi == null) {
+      throw new IllegalArgumentException("'type' parameter missing.");
+    }
+
+    String url = makeUri(engineApi.getTargetUrl(), urlParam).toUriString();
+    HttpMethod method = engineApi.getMethod();
+
+    RequestCallback requestCallback = request -> {
+      request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+      if(body != null) {
+        StreamUtils.copy(body, Charset.forName("UTF-8"), request.getBody());
+      }
+    };
+
+    LOGGER.debug("Request to engine (stream) : {}, {} > {}", method, url, body);
+
+    try {
+      return restTemplate.execute(url, method, requestCallback, extractor);
+    } catch (ResourceAccessException e) {
+      LOGGER.error("Fail to access Engine : {}", e.getMessage());
+      throw new EngineException("Fail to access Engine : " + e.getMessage(), e);
+    }
+  }
+
   private <T> Optional<T> call(String url, HttpMethod method, HttpEntity<?> entity, Class<T> clazz) {
 
     LOGGER.debug("Request to engine : {}, {} > {}", method, url, entity == null ? "{}" : entity.getBody());
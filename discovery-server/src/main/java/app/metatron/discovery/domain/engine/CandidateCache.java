@@ -0,0 +1,352 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.engine;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import app.metatron.discovery.common.GlobalObjectMapper;
+import app.metatron.discovery.domain.datasource.data.CandidateQueryRequest;
+import app.metatron.discovery.domain.datasource.data.QueryTimeExcetpion;
+
+import static app.metatron.discovery.domain.datasource.data.CandidateQueryRequest.RESULT_KEY_NAME;
+
+/**
+ * Caches the candidates (value list) of filter per datasource. <br/>
+ * For dimension, all values with counts are kept as a sorted dictionary and
+ * search words are answered from memory.
+ */
+@Component
+public class CandidateCache implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CandidateCache.class);
+
+  private static final String COUNT_KEY_NAME = "count";
+
+  @Autowired
+  EngineProperties engineProperties;
+
+  private EngineProperties.CandidateCacheInfo cacheInfo;
+
+  private Cache<CandidateKey, ValueDictionary> dictionaries;
+
+  private Cache<CandidateKey, Object> partitionCandidates;
+
+  public CandidateCache() {
+  }
+
+  @PostConstruct
+  public void init() {
+    cacheInfo = engineProperties.getQuery().getCandidate();
+    if (cacheInfo == null) {
+      cacheInfo = new EngineProperties.CandidateCacheInfo();
+    }
+
+    // dictionaries and partition candidates share the max size
+    long maxWeight = cacheInfo.getMaxSize() * 1024L * 1024L / 2;
+
+    dictionaries = CacheBuilder.newBuilder()
+                               .maximumWeight(maxWeight)
+                               .weigher((CandidateKey key, ValueDictionary value) -> weigh(key, value.estimateSize()))
+                               .expireAfterWrite(cacheInfo.getExpireSeconds(), TimeUnit.SECONDS)
+                               .recordStats()
+                               .build();
+
+    partitionCandidates = CacheBuilder.newBuilder()
+                                      .maximumWeight(maxWeight)
+                                      .weigher((CandidateKey key, Object value) ->
+                                                   weigh(key, 2L * GlobalObjectMapper.writeValueAsString(value).length()))
+                                      .expireAfterWrite(cacheInfo.getExpireSeconds(), TimeUnit.SECONDS)
+                                      .recordStats()
+                                      .build();
+  }
+
+  /**
+   * Weight of entry in bytes (approximately), key and value
+   */
+  private static int weigh(CandidateKey key, long valueSize) {
+    long size = 2L * (key.engineName.length() + key.spec.length()) + valueSize;
+    return (int) Math.min(Integer.MAX_VALUE, size);
+  }
+
+  public boolean isEnabled() {
+    return cacheInfo.getEnabled();
+  }
+
+  /**
+   * Maximum number of values kept in a dictionary
+   */
+  public int getMaxValues() {
+    return cacheInfo.getMaxValues();
+  }
+
+  /**
+   * Search dimension values from the dictionary, the dictionary is loaded on demand.
+   *
+   * @param request candidate request
+   * @param loader  loads all values of target field as the result of candidate search query ("field", "count")
+   * @return null, if values of the field can not be cached (exceeds max values)
+   */
+  public JsonNode searchDimensionValues(CandidateQueryRequest request, Callable<JsonNode> loader) {
+
+    ValueDictionary dictionary;
+    try {
+      dictionary = dictionaries.get(CandidateKey.of(request), () -> ValueDictionary.of(loader.call(), getMaxValues()));
+    } catch (ExecutionException e) {
+      throw propagate(e);
+    }
+
+    if (!dictionary.isComplete()) {
+      LOGGER.debug("Values of field({}) exceed {}, not cached.", request.getTargetField().getName(), getMaxValues());
+      return null;
+    }
+
+    return dictionary.search(request.getSearchWord(), request.getSortBy(), request.getLimit());
+  }
+
+  /**
+   * Candidates of partitioned field, from coordinator.
+   */
+  public Object getPartitionCandidates(CandidateQueryRequest request, Callable<Object> loader) {
+    try {
+      return partitionCandidates.get(CandidateKey.of(request), loader);
+    } catch (ExecutionException e) {
+      throw propagate(e);
+    }
+  }
+
+  private RuntimeException propagate(ExecutionException e) {
+    if (e.getCause() instanceof RuntimeException) {
+      return (RuntimeException) e.getCause();
+    }
+    return new QueryTimeExcetpion("Fail to load candidates : " + e.getCause().getMessage(), e.getCause());
+  }
+
+  /**
+   * Call it when the data of the datasource is changed (ex. ingestion)
+   *
+   * @param engineName engine datasource name
+   */
+  public void invalidate(String engineName) {
+    if (StringUtils.isEmpty(engineName)) {
+      return;
+    }
+
+    dictionaries.asMap().keySet().removeIf(key -> engineName.equals(key.engineName));
+    partitionCandidates.asMap().keySet().removeIf(key -> engineName.equals(key.engineName));
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    addMetrics(metrics, "candidate.dictionary", dictionaries.size(), dictionaries.stats());
+    addMetrics(metrics, "candidate.partition", partitionCandidates.size(), partitionCandidates.stats());
+    return metrics;
+  }
+
+  private void addMetrics(List<Metric<?>> metrics, String prefix, long size, CacheStats stats) {
+    metrics.add(new Metric<>(prefix + ".size", size));
+    metrics.add(new Metric<>(prefix + ".hit", stats.hitCount()));
+    metrics.add(new Metric<>(prefix + ".miss", stats.missCount()));
+    metrics.add(new Metric<>(prefix + ".eviction", stats.evictionCount()));
+    metrics.add(new Metric<>(prefix + ".load.time", stats.totalLoadTime() / 1000000L));
+  }
+
+  /**
+   * Cache key, datasource and the spec of candidate except search word, sort and limit.
+   */
+  static class CandidateKey {
+
+    final String engineName;
+
+    final String spec;
+
+    CandidateKey(String engineName, String spec) {
+      this.engineName = engineName;
+      this.spec = spec;
+    }
+
+    static CandidateKey of(CandidateQueryRequest request) {
+      StringBuilder spec = new StringBuilder();
+      spec.append(GlobalObjectMapper.writeValueAsString(request.getTargetField()));
+      spec.append(GlobalObjectMapper.writeValueAsString(request.getFilters()));
+      spec.append(GlobalObjectMapper.writeValueAsString(request.getUserFields()));
+
+      return new CandidateKey(request.getDataSource().getName(), spec.toString());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      CandidateKey that = (CandidateKey) o;
+      return Objects.equals(engineName, that.engineName) && Objects.equals(spec, that.spec);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(engineName, spec);
+    }
+  }
+
+  /**
+   * Dimension values sorted by value, with counts
+   */
+  static class ValueDictionary {
+
+    final String[] values;
+
+    final String[] lowerValues;
+
+    final long[] counts;
+
+    /**
+     * Positions of values ordered by count desc, value asc
+     */
+    final int[] countOrder;
+
+    final boolean complete;
+
+    ValueDictionary(String[] values, long[] counts, boolean complete) {
+      this.values = values;
+      this.counts = counts;
+      this.complete = complete;
+
+      this.lowerValues = new String[values.length];
+      for (int i = 0; i < values.length; i++) {
+        lowerValues[i] = values[i].toLowerCase();
+      }
+
+      Integer[] order = new Integer[values.length];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, Comparator.<Integer>comparingLong(i -> counts[i]).reversed());
+
+      this.countOrder = new int[order.length];
+      for (int i = 0; i < order.length; i++) {
+        countOrder[i] = order[i];
+      }
+    }
+
+    /**
+     * @param result    result of candidate search query
+     * @param maxValues max number of values to keep
+     */
+    static ValueDictionary of(JsonNode result, int maxValues) {
+
+      if (result == null || !result.isArray() || result.size() > maxValues) {
+        return new ValueDictionary(new String[0], new long[0], false);
+      }
+
+      List<Map.Entry<String, Long>> entries = Lists.newArrayListWithCapacity(result.size());
+      for (JsonNode node : result) {
+        JsonNode valueNode = node.get(RESULT_KEY_NAME);
+        if (valueNode == null || valueNode.isNull()) {
+          continue;
+        }
+        entries.add(new AbstractMap.SimpleEntry<>(valueNode.asText(), node.path(COUNT_KEY_NAME).asLong()));
+      }
+      entries.sort(Map.Entry.comparingByKey());
+
+      String[] values = new String[entries.size()];
+      long[] counts = new long[entries.size()];
+      for (int i = 0; i < entries.size(); i++) {
+        values[i] = entries.get(i).getKey();
+        counts[i] = entries.get(i).getValue();
+      }
+
+      return new ValueDictionary(values, counts, true);
+    }
+
+    boolean isComplete() {
+      return complete;
+    }
+
+    /**
+     * Estimated heap size in bytes, two strings (value and lower case value), count and order per value
+     */
+    long estimateSize() {
+      long size = 64;
+      for (String value : values) {
+        size += 2 * (40 + 2L * value.length()) + 8 + 4 + 16;
+      }
+      return size;
+    }
+
+    /**
+     * Search values in the same way as engine search query, <br/>
+     * one word matches values containing it and several words match values containing all of them (case-insensitive).
+     */
+    ArrayNode search(String searchWord, CandidateQueryRequest.SortCreteria sortBy, Integer limit) {
+
+      String[] words = StringUtils.split(StringUtils.defaultString(searchWord).toLowerCase(), " ");
+      int maxSize = limit == null ? 1000 : limit;
+
+      ArrayNode resultNode = JsonNodeFactory.instance.arrayNode();
+      for (int i = 0; i < values.length && resultNode.size() < maxSize; i++) {
+        int pos = sortBy == CandidateQueryRequest.SortCreteria.VALUE ? i : countOrder[i];
+        if (matches(lowerValues[pos], words)) {
+          ObjectNode node = resultNode.addObject();
+          node.put(COUNT_KEY_NAME, counts[pos]);
+          node.put(RESULT_KEY_NAME, values[pos]);
+        }
+      }
+
+      return resultNode;
+    }
+
+    private boolean matches(String lowerValue, String[] words) {
+      for (String word : words) {
+        if (!lowerValue.contains(word)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -26,6 +26,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.ResponseExtractor;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
@@ -77,6 +78,13 @@ public class DruidEngineRepository extends AbstractEngineRepository {
     return call(SEARCH_QUERY, Maps.newHashMap(), spec, clazz);
   }
 
+  /**
+   * Query and process the results as a stream (ex. exporting large results)
+   */
+  public <T> T query(String spec, ResponseExtractor<T> extractor) {
+    return execute(SEARCH_QUERY, Maps.newHashMap(), spec, extractor);
+  }
+
   public <T> Optional<T> sql(String spec, Class<T> clazz) {
     return call(SQL_QUERY, Maps.newHashMap(), spec, clazz);
   }
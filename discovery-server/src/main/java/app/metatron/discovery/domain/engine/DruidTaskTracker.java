@@ -0,0 +1,352 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.engine;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import app.metatron.discovery.domain.datasource.DataSourceIngestionException;
+import app.metatron.discovery.domain.datasource.ingestion.IngestionHistory;
+import app.metatron.discovery.domain.engine.model.IngestionStatusResponse;
+
+/**
+ * Tracks ingestion tasks of engine. <br/>
+ * Running and complete tasks of overlord are polled once per tick for all tracked tasks,
+ * instead of polling each task on its own thread. <br/>
+ * Callbacks run on a callback thread with the security context of the caller who started tracking,
+ * but without transaction. Callbacks should use their own transaction (ex. TransactionTemplate, transactional services)
+ * to access repositories, and should not touch lazy associations of entities loaded by the caller.
+ */
+@Component
+public class DruidTaskTracker implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DruidTaskTracker.class);
+
+  /**
+   * Ticks a task can be missing from the task lists (ex. pending, pruned), before checking its status directly
+   */
+  private static final int MAX_MISSING_TICKS = 5;
+
+  @Autowired
+  DruidEngineRepository engineRepository;
+
+  @Autowired
+  EngineIngestionService ingestionService;
+
+  @Autowired
+  DruidEngineMetaRepository engineMetaRepository;
+
+  @Value("${polaris.datasource.ingestion.retries.delay:3}")
+  private Long delay;
+
+  @Value("${polaris.datasource.ingestion.retries.maxDelay:60}")
+  private Long maxDelay;
+
+  @Value("${polaris.datasource.ingestion.retries.maxDuration:3600}")
+  private Long maxDuration;
+
+  private final Map<String, TrackedTask> trackedTasks = new ConcurrentHashMap<>();
+
+  private final AtomicLong pollCount = new AtomicLong();
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Completes futures, so callbacks of tasks do not block polling
+   */
+  private ExecutorService callbackExecutor;
+
+  public DruidTaskTracker() {
+  }
+
+  @PostConstruct
+  public void init() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("DruidTaskTracker-%s").setDaemon(true).build());
+    callbackExecutor = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat("DruidTaskCallback-%s").setDaemon(true).build());
+
+    scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        tick();
+      } catch (Exception e) {
+        LOGGER.warn("Fail to track ingestion tasks : {}", e.getMessage());
+      }
+    }, delay, delay, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    scheduler.shutdownNow();
+    callbackExecutor.shutdownNow();
+  }
+
+  public CompletableFuture<IngestionStatusResponse> track(String taskId) {
+    return track(taskId, null);
+  }
+
+  /**
+   * Track the task until it is completed
+   *
+   * @param taskId   id of ingestion task
+   * @param listener called when the task is running, nullable
+   * @return completed with the status of task (SUCCESS or FAILED),
+   * or exceptionally if the task is not completed in max duration
+   */
+  public CompletableFuture<IngestionStatusResponse> track(String taskId, Consumer<IngestionStatusResponse> listener) {
+    TrackedTask task = trackedTasks.computeIfAbsent(taskId, id -> new TrackedTask(id, listener));
+    LOGGER.debug("Track ingestion task({}), {} tasks are tracked.", taskId, trackedTasks.size());
+    return task.future;
+  }
+
+  /**
+   * Stop tracking the task and shut down the task of engine (ex. the ingestion job is canceled)
+   *
+   * @param taskId id of ingestion task
+   */
+  public void cancel(String taskId) {
+    TrackedTask task = trackedTasks.remove(taskId);
+
+    try {
+      engineMetaRepository.shutDownIngestionTask(taskId);
+      LOGGER.info("Shutdown canceled ingestion task({})", taskId);
+    } catch (Exception e) {
+      LOGGER.warn("Fail to shutdown canceled ingestion task({}) : {}", taskId, e.getMessage());
+    }
+
+    if (task != null) {
+      task.future.cancel(false);
+    }
+  }
+
+  /**
+   * Check the result on the tracker with backoff, until it's ready (ex. datasource is registered after the task)
+   *
+   * @param name  name of the check, for logging
+   * @param check returns null or throws exception if the result is not ready yet
+   * @return completed with the result, or exceptionally if the result is not ready in max duration
+   */
+  public <T> CompletableFuture<T> await(String name, Callable<T> check) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+    scheduleCheck(name, check, future, securityContext, System.currentTimeMillis(), 0L);
+    return future;
+  }
+
+  private <T> void scheduleCheck(String name, Callable<T> check, CompletableFuture<T> future,
+                                 SecurityContext securityContext, long startTime, long backoff) {
+    Runnable checkTask = () -> {
+      T result = null;
+      try {
+        result = check.call();
+      } catch (Exception e) {
+        LOGGER.debug("Fail to check {}, retry later : {}", name, e.getMessage());
+      }
+
+      long elapsed = System.currentTimeMillis() - startTime;
+      if (result != null) {
+        LOGGER.debug("Completed checking {}. Take time {} seconds.", name, elapsed / 1000);
+        future.complete(result);
+      } else if (elapsed > TimeUnit.SECONDS.toMillis(maxDuration)) {
+        future.completeExceptionally(new DataSourceIngestionException("Retries exceed for checking " + name));
+      } else {
+        long nextBackoff = backoff == 0L ? delay : Math.min(backoff * 2, maxDelay);
+        scheduleCheck(name, check, future, securityContext, startTime, nextBackoff);
+      }
+    };
+
+    try {
+      // the check runs on a callback thread, so that polling of tasks is not blocked
+      scheduler.schedule(() -> callbackExecutor.execute(new DelegatingSecurityContextRunnable(checkTask, securityContext)),
+                         backoff, TimeUnit.SECONDS);
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(new DataSourceIngestionException("Tracker is stopped while checking " + name));
+    }
+  }
+
+  void tick() {
+    if (trackedTasks.isEmpty()) {
+      return;
+    }
+
+    pollCount.incrementAndGet();
+
+    Set<String> runningIds;
+    Map<String, Map> completeTasks;
+    try {
+      runningIds = toTaskMap(engineRepository.getRunningTasks().orElse(null)).keySet();
+      completeTasks = toTaskMap(engineRepository.getCompleteTasks().orElse(null));
+    } catch (Exception e) {
+      LOGGER.warn("Fail to get tasks of engine, retry next time : {}", e.getMessage());
+      expireTasks();
+      return;
+    }
+
+    for (TrackedTask task : trackedTasks.values()) {
+      if (completeTasks.containsKey(task.taskId)) {
+        IngestionStatusResponse response = toStatusResponse(task.taskId, completeTasks.get(task.taskId));
+        if (isCompleted(response)) {
+          complete(task, response);
+        } else {
+          checkTask(task);
+        }
+      } else if (runningIds.contains(task.taskId)) {
+        task.missingTicks = 0;
+        task.running();
+      } else if (++task.missingTicks > MAX_MISSING_TICKS) {
+        task.missingTicks = 0;
+        checkTask(task);
+      }
+    }
+
+    expireTasks();
+  }
+
+  /**
+   * Check the status of the task directly, if it is not in the task lists
+   */
+  private void checkTask(TrackedTask task) {
+    try {
+      IngestionStatusResponse response = ingestionService.doCheckResult(task.taskId);
+      if (isCompleted(response)) {
+        complete(task, response);
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Fail to check ingestion task({}) : {}", task.taskId, e.getMessage());
+    }
+  }
+
+  private boolean isCompleted(IngestionStatusResponse response) {
+    return response.getStatus() == IngestionHistory.IngestionStatus.SUCCESS
+        || response.getStatus() == IngestionHistory.IngestionStatus.FAILED;
+  }
+
+  private void expireTasks() {
+    long now = System.currentTimeMillis();
+    for (TrackedTask task : trackedTasks.values()) {
+      if (now - task.startTime > TimeUnit.SECONDS.toMillis(maxDuration)) {
+        trackedTasks.remove(task.taskId);
+        task.callback(() -> task.future.completeExceptionally(
+            new DataSourceIngestionException("Retries exceed for ingestion task : " + task.taskId)));
+      }
+    }
+  }
+
+  private void complete(TrackedTask task, IngestionStatusResponse response) {
+    trackedTasks.remove(task.taskId);
+    LOGGER.debug("Completed checking task ({}). Take time {} seconds.",
+                 task.taskId, (System.currentTimeMillis() - task.startTime) / 1000);
+    task.callback(() -> task.future.complete(response));
+  }
+
+  private IngestionStatusResponse toStatusResponse(String taskId, Map completeTask) {
+    Object statusCode = completeTask.containsKey("statusCode") ? completeTask.get("statusCode") : completeTask.get("status");
+    Object duration = completeTask.get("duration");
+
+    return new IngestionStatusResponse(taskId,
+                                       IngestionHistory.IngestionStatus.convertFromEngineStatus(String.valueOf(statusCode)),
+                                       duration instanceof Number ? ((Number) duration).longValue() : 0L,
+                                       (String) completeTask.get("errorMsg"));
+  }
+
+  private Map<String, Map> toTaskMap(List tasks) {
+    if (tasks == null) {
+      return Maps.newHashMap();
+    }
+
+    return ((List<Object>) tasks).stream()
+                                 .filter(task -> task instanceof Map && ((Map) task).containsKey("id"))
+                                 .map(task -> (Map) task)
+                                 .collect(Collectors.toMap(task -> String.valueOf(task.get("id")),
+                                                           task -> task,
+                                                           (task1, task2) -> task1));
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("engine.task.tracked", trackedTasks.size()));
+    metrics.add(new Metric<>("engine.task.poll", pollCount.get()));
+    return metrics;
+  }
+
+  private class TrackedTask {
+
+    final String taskId;
+
+    final Consumer<IngestionStatusResponse> listener;
+
+    final CompletableFuture<IngestionStatusResponse> future = new CompletableFuture<>();
+
+    final long startTime = System.currentTimeMillis();
+
+    final SecurityContext securityContext = SecurityContextHolder.getContext();
+
+    int missingTicks;
+
+    boolean notified;
+
+    TrackedTask(String taskId, Consumer<IngestionStatusResponse> listener) {
+      this.taskId = taskId;
+      this.listener = listener;
+    }
+
+    void running() {
+      if (notified || listener == null) {
+        return;
+      }
+
+      notified = true;
+      IngestionStatusResponse response = new IngestionStatusResponse(taskId, IngestionHistory.IngestionStatus.RUNNING,
+                                                                     System.currentTimeMillis() - startTime, null);
+      callback(() -> listener.accept(response));
+    }
+
+    void callback(Runnable runnable) {
+      callbackExecutor.execute(new DelegatingSecurityContextRunnable(runnable, securityContext));
+    }
+  }
+}
@@ -18,7 +18,8 @@ import app.metatron.discovery.common.exception.ErrorCodes;
 
 public enum EngineErrorCodes implements ErrorCodes {
 
-  ENGINE_ACCESS_ERROR_CODE("EG0001");
+  ENGINE_ACCESS_ERROR_CODE("EG0001"),
+  ENGINE_QUERY_REJECTED_CODE("EG0002");
 
   String errorCode;
 
@@ -27,7 +27,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.ResourceAccessException;
@@ -46,6 +45,7 @@ import app.metatron.discovery.common.datasource.DataType;
 import app.metatron.discovery.common.datasource.LogicalType;
 import app.metatron.discovery.common.fileloader.FileLoaderFactory;
 import app.metatron.discovery.common.fileloader.FileLoaderProperties;
+import app.metatron.discovery.common.websocket.ProgressPublisher;
 import app.metatron.discovery.domain.dataconnection.DataConnection;
 import app.metatron.discovery.domain.datasource.DataSource;
 import app.metatron.discovery.domain.datasource.DataSourceIngestionException;
@@ -95,7 +95,7 @@ public class EngineLoadService {
   JdbcConnectionService jdbcConnectionService;
 
   @Autowired
-  SimpMessageSendingOperations messagingTemplate;
+  ProgressPublisher progressPublisher;
 
   @Autowired
   EngineProperties engineProperties;
@@ -126,8 +126,12 @@ public class EngineLoadService {
 
   public void sendTopic(String topicUri, ProgressResponse progressResponse) {
     LOGGER.debug("Send Progress Topic : {}, {}", topicUri, progressResponse);
-    messagingTemplate.convertAndSend(topicUri,
-                                     GlobalObjectMapper.writeValueAsString(progressResponse));
+    String payload = GlobalObjectMapper.writeValueAsString(progressResponse);
+    if (progressResponse.isFinished()) {
+      progressPublisher.send(topicUri, payload);
+    } else {
+      progressPublisher.sendProgress(topicUri, payload);
+    }
 
   }
 
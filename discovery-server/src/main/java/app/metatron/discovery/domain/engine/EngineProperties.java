@@ -322,6 +322,26 @@ public class EngineProperties {
      */
     FileLoaderProperties loader;
 
+    /**
+     * 질의 이력 저장 관련 정보
+     */
+    QueryHistoryInfo history = new QueryHistoryInfo();
+
+    /**
+     * 필터 후보값(Candidate) 캐시 관련 정보
+     */
+    CandidateCacheInfo candidate = new CandidateCacheInfo();
+
+    /**
+     * 지도 레이어 질의 결과 캐시 관련 정보
+     */
+    GeoTileCacheInfo geoTile = new GeoTileCacheInfo();
+
+    /**
+     * 엔진 질의 수행 제어(Admission Control) 관련 정보
+     */
+    AdmissionInfo admission = new AdmissionInfo();
+
     public QueryInfo() {
     }
 
@@ -395,12 +415,410 @@ public class EngineProperties {
       this.loader = loader;
     }
 
+    public QueryHistoryInfo getHistory() {
+      return history;
+    }
+
+    public void setHistory(QueryHistoryInfo history) {
+      this.history = history;
+    }
+
+    public CandidateCacheInfo getCandidate() {
+      return candidate;
+    }
+
+    public void setCandidate(CandidateCacheInfo candidate) {
+      this.candidate = candidate;
+    }
+
+    public GeoTileCacheInfo getGeoTile() {
+      return geoTile;
+    }
+
+    public void setGeoTile(GeoTileCacheInfo geoTile) {
+      this.geoTile = geoTile;
+    }
+
+    public AdmissionInfo getAdmission() {
+      return admission;
+    }
+
+    public void setAdmission(AdmissionInfo admission) {
+      this.admission = admission;
+    }
+
     @Override
     public String toString() {
       return "QueryInfo{" +
           ", defaultTimezone='" + defaultTimezone + '\'' +
           ", defaultLocale='" + defaultLocale + '\'' +
           ", loader=" + getLoader() +
+          ", history=" + history +
+          ", candidate=" + candidate +
+          ", geoTile=" + geoTile +
+          ", admission=" + admission +
+          '}';
+    }
+  }
+
+  /**
+   * 질의 이력(Query History) 저장을 위한 정보
+   */
+  public static class QueryHistoryInfo {
+
+    /**
+     * 비동기(Batch) 저장 여부, false 인 경우 질의 처리 중 바로 저장
+     */
+    Boolean async = true;
+
+    /**
+     * 저장 대기 큐의 최대 크기, 초과시 이력은 버려짐
+     */
+    Integer queueCapacity = 10000;
+
+    /**
+     * 한번에 저장하는 최대 이력 수
+     */
+    Integer batchSize = 500;
+
+    /**
+     * 저장 주기 (ms)
+     */
+    Long flushInterval = 1000L;
+
+    /**
+     * 엔진 질의 저장 정책
+     */
+    EngineQueryPolicy engineQueryPolicy = EngineQueryPolicy.COMPRESS;
+
+    /**
+     * 정책을 적용할 엔진 질의 최대 길이
+     */
+    Integer engineQueryMaxLength = 32768;
+
+    public QueryHistoryInfo() {
+    }
+
+    public Boolean getAsync() {
+      return async;
+    }
+
+    public void setAsync(Boolean async) {
+      this.async = async;
+    }
+
+    public Integer getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    public Integer getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    public Long getFlushInterval() {
+      return flushInterval;
+    }
+
+    public void setFlushInterval(Long flushInterval) {
+      this.flushInterval = flushInterval;
+    }
+
+    public EngineQueryPolicy getEngineQueryPolicy() {
+      return engineQueryPolicy;
+    }
+
+    public void setEngineQueryPolicy(EngineQueryPolicy engineQueryPolicy) {
+      this.engineQueryPolicy = engineQueryPolicy;
+    }
+
+    public Integer getEngineQueryMaxLength() {
+      return engineQueryMaxLength;
+    }
+
+    public void setEngineQueryMaxLength(Integer engineQueryMaxLength) {
+      this.engineQueryMaxLength = engineQueryMaxLength;
+    }
+
+    @Override
+    public String toString() {
+      return "QueryHistoryInfo{" +
+          "async=" + async +
+          ", queueCapacity=" + queueCapacity +
+          ", batchSize=" + batchSize +
+          ", flushInterval=" + flushInterval +
+          ", engineQueryPolicy=" + engineQueryPolicy +
+          ", engineQueryMaxLength=" + engineQueryMaxLength +
+          '}';
+    }
+
+    /**
+     * 최대 길이를 넘는 엔진 질의 저장 방식
+     */
+    public enum EngineQueryPolicy {
+      FULL, TRUNCATE, COMPRESS
+    }
+  }
+
+  /**
+   * 필터 후보값(Candidate) 캐시를 위한 정보
+   */
+  public static class CandidateCacheInfo {
+
+    /**
+     * 캐시 사용 여부
+     */
+    Boolean enabled = true;
+
+    /**
+     * 캐시할 차원값 최대 개수, 초과하는 경우 엔진에 직접 질의
+     */
+    Integer maxValues = 100000;
+
+    /**
+     * 캐시 유지 시간(초), 기본값 600
+     */
+    Integer expireSeconds = 600;
+
+    /**
+     * 캐시 최대 크기(MB), 기본값 128
+     */
+    Integer maxSize = 128;
+
+    public CandidateCacheInfo() {
+    }
+
+    public Boolean getEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Integer getMaxValues() {
+      return maxValues;
+    }
+
+    public void setMaxValues(Integer maxValues) {
+      this.maxValues = maxValues;
+    }
+
+    public Integer getExpireSeconds() {
+      return expireSeconds;
+    }
+
+    public void setExpireSeconds(Integer expireSeconds) {
+      this.expireSeconds = expireSeconds;
+    }
+
+    public Integer getMaxSize() {
+      return maxSize;
+    }
+
+    public void setMaxSize(Integer maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public String toString() {
+      return "CandidateCacheInfo{" +
+          "enabled=" + enabled +
+          ", maxValues=" + maxValues +
+          ", expireSeconds=" + expireSeconds +
+          ", maxSize=" + maxSize +
+          '}';
+    }
+  }
+
+  /**
+   * 지도 레이어 질의 결과 캐시를 위한 정보
+   */
+  public static class GeoTileCacheInfo {
+
+    /**
+     * 캐시 사용 여부, 기본값 false
+     * 캐시 무효화는 적재를 수행한 노드에서만 이루어지므로, 다중 노드 구성에서는 유지 시간 동안 이전 결과가 조회될 수 있음
+     */
+    Boolean enabled = false;
+
+    /**
+     * 캐시 유지 시간(초), 기본값 300
+     */
+    Integer expireSeconds = 300;
+
+    /**
+     * 캐시 최대 크기(MB), 기본값 256
+     */
+    Integer maxSize = 256;
+
+    public GeoTileCacheInfo() {
+    }
+
+    public Boolean getEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Integer getExpireSeconds() {
+      return expireSeconds;
+    }
+
+    public void setExpireSeconds(Integer expireSeconds) {
+      this.expireSeconds = expireSeconds;
+    }
+
+    public Integer getMaxSize() {
+      return maxSize;
+    }
+
+    public void setMaxSize(Integer maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public String toString() {
+      return "GeoTileCacheInfo{" +
+          "enabled=" + enabled +
+          ", expireSeconds=" + expireSeconds +
+          ", maxSize=" + maxSize +
+          '}';
+    }
+  }
+
+  /**
+   * 엔진 질의 동시 수행 제어를 위한 정보
+   */
+  public static class AdmissionInfo {
+
+    /**
+     * 사용 여부
+     */
+    Boolean enabled = true;
+
+    /**
+     * 동시 수행 가능한 최대 질의 수
+     */
+    Integer maxConcurrency = 32;
+
+    /**
+     * 사용자별 동시 수행 가능한 최대 질의 수
+     */
+    Integer maxConcurrencyPerUser = 8;
+
+    /**
+     * 대시보드별 동시 수행 가능한 최대 질의 수
+     */
+    Integer maxConcurrencyPerDashboard = 8;
+
+    /**
+     * 데이터소스별 동시 수행 가능한 최대 질의 수
+     */
+    Integer maxConcurrencyPerDataSource = 16;
+
+    /**
+     * 동시 수행 가능한 최대 내보내기(Export) 질의 수
+     */
+    Integer maxExportConcurrency = 4;
+
+    /**
+     * 대기 가능한 최대 질의 수, 초과시 바로 거절
+     */
+    Integer maxQueueSize = 1000;
+
+    /**
+     * 최대 대기 시간 (ms)
+     */
+    Long queueTimeout = 30000L;
+
+    public AdmissionInfo() {
+    }
+
+    public Boolean getEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Integer getMaxConcurrency() {
+      return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(Integer maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+    }
+
+    public Integer getMaxConcurrencyPerUser() {
+      return maxConcurrencyPerUser;
+    }
+
+    public void setMaxConcurrencyPerUser(Integer maxConcurrencyPerUser) {
+      this.maxConcurrencyPerUser = maxConcurrencyPerUser;
+    }
+
+    public Integer getMaxConcurrencyPerDashboard() {
+      return maxConcurrencyPerDashboard;
+    }
+
+    public void setMaxConcurrencyPerDashboard(Integer maxConcurrencyPerDashboard) {
+      this.maxConcurrencyPerDashboard = maxConcurrencyPerDashboard;
+    }
+
+    public Integer getMaxConcurrencyPerDataSource() {
+      return maxConcurrencyPerDataSource;
+    }
+
+    public void setMaxConcurrencyPerDataSource(Integer maxConcurrencyPerDataSource) {
+      this.maxConcurrencyPerDataSource = maxConcurrencyPerDataSource;
+    }
+
+    public Integer getMaxExportConcurrency() {
+      return maxExportConcurrency;
+    }
+
+    public void setMaxExportConcurrency(Integer maxExportConcurrency) {
+      this.maxExportConcurrency = maxExportConcurrency;
+    }
+
+    public Integer getMaxQueueSize() {
+      return maxQueueSize;
+    }
+
+    public void setMaxQueueSize(Integer maxQueueSize) {
+      this.maxQueueSize = maxQueueSize;
+    }
+
+    public Long getQueueTimeout() {
+      return queueTimeout;
+    }
+
+    public void setQueueTimeout(Long queueTimeout) {
+      this.queueTimeout = queueTimeout;
+    }
+
+    @Override
+    public String toString() {
+      return "AdmissionInfo{" +
+          "enabled=" + enabled +
+          ", maxConcurrency=" + maxConcurrency +
+          ", maxConcurrencyPerUser=" + maxConcurrencyPerUser +
+          ", maxConcurrencyPerDashboard=" + maxConcurrencyPerDashboard +
+          ", maxConcurrencyPerDataSource=" + maxConcurrencyPerDataSource +
+          ", maxExportConcurrency=" + maxExportConcurrency +
+          ", maxQueueSize=" + maxQueueSize +
+          ", queueTimeout=" + queueTimeout +
           '}';
     }
   }
@@ -36,6 +36,7 @@ import app.metatron.discovery.common.datasource.LogicalType;
 import app.metatron.discovery.common.exception.ResourceNotFoundException;
 import app.metatron.discovery.domain.datasource.*;
 import app.metatron.discovery.domain.datasource.data.*;
+import app.metatron.discovery.domain.datasource.data.export.ResultExporter;
 import app.metatron.discovery.domain.datasource.data.result.ChartResultFormat;
 import app.metatron.discovery.domain.datasource.data.result.GeoJsonResultFormat;
 import app.metatron.discovery.domain.datasource.data.result.GraphResultFormat;
@@ -51,14 +52,18 @@ import app.metatron.discovery.domain.workbook.configurations.field.MeasureField;
 import app.metatron.discovery.domain.workbook.configurations.field.UserDefinedField;
 import app.metatron.discovery.domain.workbook.configurations.filter.AdvancedFilter;
 import app.metatron.discovery.domain.workbook.configurations.filter.Filter;
+import app.metatron.discovery.domain.workbook.configurations.filter.SpatialBboxFilter;
 import app.metatron.discovery.domain.workbook.configurations.format.TimeFieldFormat;
 import app.metatron.discovery.domain.workbook.configurations.widget.shelf.GeoShelf;
+import app.metatron.discovery.domain.workbook.configurations.widget.shelf.LayerView;
 import app.metatron.discovery.domain.workbook.configurations.widget.shelf.MapViewLayer;
 import app.metatron.discovery.query.druid.Query;
 import app.metatron.discovery.query.druid.meta.AnalysisType;
 import app.metatron.discovery.query.druid.queries.*;
 import com.facebook.presto.jdbc.internal.guava.collect.Maps;
 import com.facebook.presto.jdbc.internal.guava.collect.Sets;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -76,6 +81,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StopWatch;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -100,6 +107,15 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
   @Autowired
   DruidEngineRepository engineRepository;
 
+  @Autowired
+  DruidEngineMetaRepository engineMetaRepository;
+
+  @Autowired
+  CandidateCache candidateCache;
+
+  @Autowired
+  GeoTileCache geoTileCache;
+
   @Override
   public Object preview(SearchQueryRequest request) {
 
@@ -178,6 +194,169 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
     }
 
     stopWatch.start("Query Generation Time");
+    Query query = makeSearchQuery(request, filters);
+    String queryString = GlobalObjectMapper.writeValueAsString(query);
+    stopWatch.stop();
+    LOGGER.debug("[{}] Query Generation Time : {}", CommonLocalVariable.getQueryId(),
+            stopWatch.getLastTaskTimeMillis());
+
+    QueryHistoryTeller.setEngineQuery(queryString); // for history
+    LOGGER.info("[{}] Generated Druid Query : {}", CommonLocalVariable.getQueryId(), queryString);
+
+    Optional<JsonNode> engineResult = engineRepository.query(queryString, JsonNode.class);
+
+    // 결과 셋 추가 정의
+    if (request.getResultFormat() == null) {
+      request.setResultFormat(new ObjectResultFormat(ENGINE));
+    } else {
+      request.getResultFormat().setConnType(ENGINE);
+    }
+
+    stopWatch.start("Result Processing Time");
+    // 결과 정의
+    Object result = request.getResultFormat()
+            .makeResult(
+                    engineResult.orElseGet(
+                            () -> GlobalObjectMapper.getDefaultMapper().createArrayNode())
+            );
+    stopWatch.stop();
+    LOGGER.debug("[{}] Result Processing Time : {}", CommonLocalVariable.getQueryId(),
+            stopWatch.getLastTaskTimeMillis());
+
+    return result;
+
+  }
+
+  /**
+   * Export results of search request without forwarding to file. <br/>
+   * Results of engine are read as a stream and written by the exporter row by row.
+   *
+   * @param request  search request
+   * @param exporter writes results to the output (ex. servlet output stream)
+   * @return number of exported rows
+   * @throws IOException if the output is not available (ex. client disconnected), the query is canceled
+   */
+  public long export(SearchQueryRequest request, ResultExporter exporter) throws IOException {
+
+    StopWatch stopWatch = new StopWatch();
+
+    DataSource metaDataSource = request.getDataSource().getMetaDataSource();
+    List<Filter> filters = request.getFilters();
+
+    if (metaDataSource != null) {
+      checkRequriedFilter(metaDataSource, filters, request.getProjections());
+    }
+
+    stopWatch.start("Query Generation Time");
+    request.setResultForward(null);
+    Query query = makeSearchQuery(request, filters);
+    String queryString = GlobalObjectMapper.writeValueAsString(query);
+    stopWatch.stop();
+    LOGGER.debug("[{}] Query Generation Time : {}", CommonLocalVariable.getQueryId(),
+            stopWatch.getLastTaskTimeMillis());
+
+    QueryHistoryTeller.setEngineQuery(queryString); // for history
+    LOGGER.info("[{}] Generated Druid Query : {}", CommonLocalVariable.getQueryId(), queryString);
+
+    boolean selectStream = query instanceof SelectStreamQuery;
+    List<String> columns;
+    if (selectStream) {
+      columns = Lists.newArrayList(request.getResultFieldMapper().values());
+    } else {
+      columns = request.getProjections().stream()
+              .map(field -> field.getAlias())
+              .collect(Collectors.toList());
+    }
+
+    stopWatch.start("Export Time");
+    try {
+      engineRepository.query(queryString, response -> {
+        exportRows(response.getBody(), selectStream, columns, exporter);
+        return null;
+      });
+    } catch (UncheckedIOException e) {
+      // 클라이언트 연결이 끊긴 경우, 진행중인 엔진 질의 취소
+      exporter.abort();
+      LOGGER.info("[{}] Export stopped after {} rows : {}", CommonLocalVariable.getQueryId(),
+              exporter.getRowCount(), e.getMessage());
+      cancelQuery(CommonLocalVariable.getQueryId());
+      throw e.getCause();
+    } catch (RuntimeException e) {
+      exporter.abort();
+      throw e;
+    }
+    stopWatch.stop();
+    LOGGER.debug("[{}] Export Time : {}, {} rows", CommonLocalVariable.getQueryId(),
+            stopWatch.getLastTaskTimeMillis(), exporter.getRowCount());
+
+    QueryHistoryTeller.setResultCount(exporter.getRowCount()); // for history
+
+    return exporter.getRowCount();
+  }
+
+  /**
+   * Reads results(JSON array) of engine one by one, output errors are thrown as UncheckedIOException
+   */
+  private void exportRows(InputStream in, boolean selectStream, List<String> columns,
+                          ResultExporter exporter) throws IOException {
+
+    try {
+      exporter.start(columns);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    JsonParser parser = GlobalObjectMapper.getDefaultMapper().getFactory().createParser(in);
+    if (parser.nextToken() == JsonToken.START_ARRAY) {
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        JsonNode node = parser.readValueAsTree();
+
+        List<JsonNode> values = Lists.newArrayListWithCapacity(columns.size());
+        if (selectStream) {
+          // Case "select.stream", values of row are in the order of columns
+          for (int i = 0; i < columns.size(); i++) {
+            values.add(node.get(i));
+          }
+        } else {
+          // Case "groupBy"
+          JsonNode eventNode = node.has("event") ? node.get("event") : node;
+          for (String column : columns) {
+            values.add(eventNode.get(column));
+          }
+        }
+
+        try {
+          exporter.write(values);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+
+    try {
+      exporter.finish();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void cancelQuery(String queryId) {
+    if (StringUtils.isEmpty(queryId)) {
+      return;
+    }
+
+    try {
+      engineMetaRepository.cancelQuery(queryId);
+    } catch (Exception e) {
+      LOGGER.warn("[{}] Fail to cancel query : {}", queryId, e.getMessage());
+    }
+  }
+
+  /**
+   * Make select(select stream, select meta) or groupBy query of search request
+   */
+  private Query makeSearchQuery(SearchQueryRequest request, List<Filter> filters) {
+
     Query query;
     if (checkSelectQuery(request.getProjections(), request.getUserFields())) {
       if (request.getMetaQuery()) {
@@ -226,36 +405,8 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
         request.setResultFormat(new ObjectResultFormat(ENGINE));
       }
     }
-    String queryString = GlobalObjectMapper.writeValueAsString(query);
-    stopWatch.stop();
-    LOGGER.debug("[{}] Query Generation Time : {}", CommonLocalVariable.getQueryId(),
-            stopWatch.getLastTaskTimeMillis());
-
-    QueryHistoryTeller.setEngineQuery(queryString); // for history
-    LOGGER.info("[{}] Generated Druid Query : {}", CommonLocalVariable.getQueryId(), queryString);
-
-    Optional<JsonNode> engineResult = engineRepository.query(queryString, JsonNode.class);
-
-    // 결과 셋 추가 정의
-    if (request.getResultFormat() == null) {
-      request.setResultFormat(new ObjectResultFormat(ENGINE));
-    } else {
-      request.getResultFormat().setConnType(ENGINE);
-    }
-
-    stopWatch.start("Result Processing Time");
-    // 결과 정의
-    Object result = request.getResultFormat()
-            .makeResult(
-                    engineResult.orElseGet(
-                            () -> GlobalObjectMapper.getDefaultMapper().createArrayNode())
-            );
-    stopWatch.stop();
-    LOGGER.debug("[{}] Result Processing Time : {}", CommonLocalVariable.getQueryId(),
-            stopWatch.getLastTaskTimeMillis());
-
-    return result;
 
+    return query;
   }
 
   @Override
@@ -331,7 +482,8 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
   private Object searchGeoQuery(SearchQueryRequest request) {
 
     GeoShelf geoShelf = (GeoShelf) request.getShelf();
-    request.setResultFormat(new GeoJsonResultFormat());
+    alignToZoom(request, geoShelf);
+    request.setResultFormat(GeoJsonResultFormat.ofZoom(geoShelf.getZoom()));
 
     StringJoiner resultJoiner = new StringJoiner(",", "[", "]");
     String queryString = null;
@@ -430,42 +582,77 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
           continue;
         }
 
-        CommonLocalVariable.generateQueryId();
+        if (geoTileCache.isEnabled()) {
+          resultJoiner.add(geoTileCache.getLayer(request, layer, geoShelf.getZoom(),
+                                                 () -> searchGeoLayer(request, layer)));
+        } else {
+          resultJoiner.add(searchGeoLayer(request, layer));
+        }
+      }
+    }
+
+    return new RawJsonString(resultJoiner.toString());
+  }
 
-        if (layer.getView().needAggregation()) {
-          GroupByQuery groupByQuery = GroupByQuery.builder(request.getDataSource())
-                  .layer(layer)
-                  .initVirtualColumns(request.getUserFields())
-                  .fields(layer.getFields())
-                  .filters(request.getFilters())
-                  .limit(request.getLimits())
-                  .build();
+  /**
+   * Align the request to zoom level of map, viewport is expanded to tiles and
+   * precision of hash view is derived from the level.
+   */
+  private void alignToZoom(SearchQueryRequest request, GeoShelf geoShelf) {
+    Integer zoom = geoShelf.getZoom();
+    if (zoom == null) {
+      return;
+    }
 
-          queryString = GlobalObjectMapper.writeValueAsString(groupByQuery);
+    if (CollectionUtils.isNotEmpty(request.getFilters())) {
+      request.setFilters(request.getFilters().stream()
+                                .map(filter -> filter instanceof SpatialBboxFilter
+                                    ? ((SpatialBboxFilter) filter).alignToTile(zoom) : filter)
+                                .collect(Collectors.toList()));
+    }
 
-        } else {
-          SelectStreamQuery streamQuery = SelectStreamQuery.builder(request.getDataSource())
-                  .layer(layer)
-                  .initVirtualColumns(request.getUserFields())
-                  .fields(layer.getFields())
-                  .filters(request.getFilters())
-                  .limit(request.getLimits())
-                  .build();
+    for (MapViewLayer layer : geoShelf.getLayers()) {
+      if (layer.getView() instanceof LayerView.HashLayerView) {
+        ((LayerView.HashLayerView) layer.getView()).adjustPrecision(zoom);
+      }
+    }
+  }
 
-          request.setResultFieldMapper(streamQuery.getFieldMapper());
+  private String searchGeoLayer(SearchQueryRequest request, MapViewLayer layer) {
 
-          queryString = GlobalObjectMapper.writeValueAsString(streamQuery);
-        }
+    CommonLocalVariable.generateQueryId();
 
-        LOGGER.info("[{}] Generated Druid Query : {}", CommonLocalVariable.getQueryId(), queryString);
+    String queryString;
+    if (layer.getView().needAggregation()) {
+      GroupByQuery groupByQuery = GroupByQuery.builder(request.getDataSource())
+              .layer(layer)
+              .initVirtualColumns(request.getUserFields())
+              .fields(layer.getFields())
+              .filters(request.getFilters())
+              .limit(request.getLimits())
+              .build();
 
-        Optional<JsonNode> engineResult = engineRepository.query(queryString, JsonNode.class);
-        Object geoJsonResult = request.getResultFormat().makeResult(request.makeResult(engineResult.get()));
-        resultJoiner.add(GlobalObjectMapper.writeValueAsString(geoJsonResult));
-      }
+      queryString = GlobalObjectMapper.writeValueAsString(groupByQuery);
+
+    } else {
+      SelectStreamQuery streamQuery = SelectStreamQuery.builder(request.getDataSource())
+              .layer(layer)
+              .initVirtualColumns(request.getUserFields())
+              .fields(layer.getFields())
+              .filters(request.getFilters())
+              .limit(request.getLimits())
+              .build();
+
+      request.setResultFieldMapper(streamQuery.getFieldMapper());
+
+      queryString = GlobalObjectMapper.writeValueAsString(streamQuery);
     }
 
-    return new RawJsonString(resultJoiner.toString());
+    LOGGER.info("[{}] Generated Druid Query : {}", CommonLocalVariable.getQueryId(), queryString);
+
+    Optional<JsonNode> engineResult = engineRepository.query(queryString, JsonNode.class);
+    Object geoJsonResult = request.getResultFormat().makeResult(request.makeResult(engineResult.get()));
+    return GlobalObjectMapper.writeValueAsString(geoJsonResult);
   }
 
   private Object searchGraphQuery(SearchQueryRequest request) {
@@ -561,47 +748,12 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
     if (idx > 0) {
       QueryHistoryTeller.setEngineQueryType(TOPN); // for history
 
-      // 조회할 Regex 작성
-      PartitionRegexQuery regexQuery = PartitionRegexQuery.builder(request.getDataSource())
-              .filters(request.getFilters())
-              .build();
-
-      // 코디네이터 호출
-      Map<String, Object> paramMap = Maps.newHashMap();
-      paramMap.put("nameRegex", regexQuery.toCommaExprs());
-      Optional<List> metaResult = engineRepository.meta(paramMap);
-
-      LOGGER.debug("[{}] Successfully call candidation for partition field. Request: {}, Response: {}",
-              CommonLocalVariable.getQueryId(), regexQuery.toCommaExprs(), metaResult);
-
-      // 결과값 처리
-      stopWatch.start("Result Processing Time");
-      List<Map<String, Object>> result = Lists.newArrayList();
-
-      List<String> sources = metaResult.orElse(Lists.newArrayList());
-      // TODO: 여러개를 가정할 경우, 루프 추가
-      Pattern p = Pattern.compile(regexQuery.getRegExprs().get(0));
-      String tagetFieldName = request.getTargetField().getColunm();
-      Set<String> dupSet = Sets.newHashSet();
-      Matcher matcher;
-      for (String source : sources) {
-        matcher = p.matcher(source);
-        if (matcher.find()) {
-          String itemName = matcher.group(idx);
-          if (StringUtils.isNotEmpty(itemName) && !dupSet.contains(itemName)) {
-            Map<String, Object> item = Maps.newHashMap();
-            item.put("count", 0);
-            item.put(tagetFieldName, matcher.group(idx));
-            result.add(item);
-            dupSet.add(itemName);
-          }
-        }
+      if (candidateCache.isEnabled()) {
+        final int partitionIdx = idx;
+        return candidateCache.getPartitionCandidates(request, () -> partitionCandidates(request, partitionIdx));
       }
-      stopWatch.stop();
-      LOGGER.debug("[{}] Result Processing Time : {}", CommonLocalVariable.getQueryId(),
-              stopWatch.getLastTaskTimeMillis());
 
-      return result;
+      return partitionCandidates(request, idx);
     }
 
     stopWatch.start("Query Generation Time");
@@ -697,6 +849,14 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
       } else {
         QueryHistoryTeller.setEngineQueryType(SEARCH); // for history
 
+        // 차원값 사전(Dictionary)이 캐시된 경우 메모리에서 검색
+        if (candidateCache.isEnabled()) {
+          JsonNode cachedResult = candidateCache.searchDimensionValues(request, () -> dimensionValues(request));
+          if (cachedResult != null) {
+            return cachedResult;
+          }
+        }
+
         query = SearchQuery.builder(request.getDataSource())
                 .initVirtualColumns(request.getUserFields())
                 .fields(Lists.newArrayList(request.getTargetField()))
@@ -727,6 +887,81 @@ public class EngineQueryService extends AbstractQueryService implements QuerySer
     return result;
   }
 
+  /**
+   * 파티션된 필드의 후보값은 코디네이터의 세그먼트 목록에서 추출
+   */
+  private List<Map<String, Object>> partitionCandidates(CandidateQueryRequest request, int idx) {
+
+    StopWatch stopWatch = new StopWatch();
+
+    // 조회할 Regex 작성
+    PartitionRegexQuery regexQuery = PartitionRegexQuery.builder(request.getDataSource())
+            .filters(request.getFilters())
+            .build();
+
+    // 코디네이터 호출
+    Map<String, Object> paramMap = Maps.newHashMap();
+    paramMap.put("nameRegex", regexQuery.toCommaExprs());
+    Optional<List> metaResult = engineRepository.meta(paramMap);
+
+    LOGGER.debug("[{}] Successfully call candidation for partition field. Request: {}, Response: {}",
+            CommonLocalVariable.getQueryId(), regexQuery.toCommaExprs(), metaResult);
+
+    // 결과값 처리
+    stopWatch.start("Result Processing Time");
+    List<Map<String, Object>> result = Lists.newArrayList();
+
+    List<String> sources = metaResult.orElse(Lists.newArrayList());
+    // TODO: 여러개를 가정할 경우, 루프 추가
+    Pattern p = Pattern.compile(regexQuery.getRegExprs().get(0));
+    String tagetFieldName = request.getTargetField().getColunm();
+    Set<String> dupSet = Sets.newHashSet();
+    Matcher matcher;
+    for (String source : sources) {
+      matcher = p.matcher(source);
+      if (matcher.find()) {
+        String itemName = matcher.group(idx);
+        if (StringUtils.isNotEmpty(itemName) && !dupSet.contains(itemName)) {
+          Map<String, Object> item = Maps.newHashMap();
+          item.put("count", 0);
+          item.put(tagetFieldName, matcher.group(idx));
+          result.add(item);
+          dupSet.add(itemName);
+        }
+      }
+    }
+    stopWatch.stop();
+    LOGGER.debug("[{}] Result Processing Time : {}", CommonLocalVariable.getQueryId(),
+            stopWatch.getLastTaskTimeMillis());
+
+    return result;
+  }
+
+  /**
+   * 필터 후보값 캐시를 위해 대상 필드의 전체 차원값을 조회
+   */
+  private JsonNode dimensionValues(CandidateQueryRequest request) {
+
+    // 최대 개수 초과 여부를 알기 위해 하나 더 조회
+    Query query = SearchQuery.builder(request.getDataSource())
+            .initVirtualColumns(request.getUserFields())
+            .fields(Lists.newArrayList(request.getTargetField()))
+            .filters(request.getAvailableFilters())
+            .query(null)
+            .sort(CandidateQueryRequest.SortCreteria.COUNT)
+            .limit(candidateCache.getMaxValues() + 1)
+            .build();
+
+    String queryString = GlobalObjectMapper.writeValueAsString(query);
+
+    QueryHistoryTeller.setEngineQuery(queryString); // for history
+    LOGGER.info("[{}] Generated Druid Query : {}", CommonLocalVariable.getQueryId(), queryString);
+
+    Optional<JsonNode> engineResult = engineRepository.query(queryString, JsonNode.class);
+
+    return request.makeResult(engineResult.orElse(null));
+  }
+
   /**
    * @param request request information for summary of datasource
    * @return
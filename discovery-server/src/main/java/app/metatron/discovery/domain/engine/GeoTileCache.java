@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.engine;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import app.metatron.discovery.common.GlobalObjectMapper;
+import app.metatron.discovery.domain.datasource.data.QueryTimeExcetpion;
+import app.metatron.discovery.domain.datasource.data.SearchQueryRequest;
+import app.metatron.discovery.domain.workbook.configurations.widget.shelf.MapViewLayer;
+
+/**
+ * Caches GeoJSON results of map layer per datasource. <br/>
+ * Viewport of map is aligned to tiles of zoom level, so results are reused while panning and zooming.
+ */
+@Component
+public class GeoTileCache implements PublicMetrics {
+
+  @Autowired
+  EngineProperties engineProperties;
+
+  private EngineProperties.GeoTileCacheInfo cacheInfo;
+
+  private Cache<TileKey, String> tiles;
+
+  public GeoTileCache() {
+  }
+
+  @PostConstruct
+  public void init() {
+    cacheInfo = engineProperties.getQuery().getGeoTile();
+    if (cacheInfo == null) {
+      cacheInfo = new EngineProperties.GeoTileCacheInfo();
+    }
+
+    tiles = CacheBuilder.newBuilder()
+                        .maximumWeight(cacheInfo.getMaxSize() * 1024L * 1024L)
+                        .weigher((TileKey key, String value) -> key.spec.length() + value.length())
+                        .expireAfterWrite(cacheInfo.getExpireSeconds(), TimeUnit.SECONDS)
+                        .recordStats()
+                        .build();
+  }
+
+  public boolean isEnabled() {
+    return cacheInfo.getEnabled();
+  }
+
+  /**
+   * GeoJSON result of layer, the result is loaded on demand.
+   *
+   * @param request search request, filters of viewport should be aligned to tiles
+   * @param layer   target layer, precision of view should be adjusted to zoom level
+   * @param zoom    zoom level of map, nullable
+   * @param loader  loads GeoJSON result of layer
+   */
+  public String getLayer(SearchQueryRequest request, MapViewLayer layer, Integer zoom, Callable<String> loader) {
+    try {
+      return tiles.get(TileKey.of(request, layer, zoom), loader);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new QueryTimeExcetpion("Fail to load layer : " + e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  /**
+   * Call it when the data of the datasource is changed (ex. ingestion)
+   *
+   * @param engineName engine datasource name
+   */
+  public void invalidate(String engineName) {
+    if (StringUtils.isEmpty(engineName)) {
+      return;
+    }
+
+    tiles.asMap().keySet().removeIf(key -> engineName.equals(key.engineName));
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    CacheStats stats = tiles.stats();
+
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("geo.tile.size", tiles.size()));
+    metrics.add(new Metric<>("geo.tile.hit", stats.hitCount()));
+    metrics.add(new Metric<>("geo.tile.miss", stats.missCount()));
+    metrics.add(new Metric<>("geo.tile.eviction", stats.evictionCount()));
+    metrics.add(new Metric<>("geo.tile.load.time", stats.totalLoadTime() / 1000000L));
+    return metrics;
+  }
+
+  /**
+   * Cache key, datasource and the spec of layer including zoom level, filters and precision of view.
+   */
+  static class TileKey {
+
+    final String engineName;
+
+    final String spec;
+
+    TileKey(String engineName, String spec) {
+      this.engineName = engineName;
+      this.spec = spec;
+    }
+
+    static TileKey of(SearchQueryRequest request, MapViewLayer layer, Integer zoom) {
+      StringBuilder spec = new StringBuilder();
+      spec.append(zoom);
+      spec.append(GlobalObjectMapper.writeValueAsString(layer));
+      spec.append(GlobalObjectMapper.writeValueAsString(request.getFilters()));
+      spec.append(GlobalObjectMapper.writeValueAsString(request.getUserFields()));
+      spec.append(GlobalObjectMapper.writeValueAsString(request.getLimits()));
+
+      return new TileKey(request.getDataSource().getName(), spec.toString());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      TileKey that = (TileKey) o;
+      return Objects.equals(engineName, that.engineName) && Objects.equals(spec, that.spec);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(engineName, spec);
+    }
+  }
+}
@@ -23,7 +23,6 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.stereotype.Component;
 import org.supercsv.prefs.CsvPreference;
@@ -38,8 +37,6 @@ import java.sql.Statement;
 import java.util.Optional;
 import java.util.UUID;
 
-import javax.sql.DataSource;
-
 import app.metatron.discovery.common.GlobalObjectMapper;
 import app.metatron.discovery.domain.dataconnection.DataConnection;
 import app.metatron.discovery.domain.dataconnection.DataConnectionHelper;
@@ -47,7 +44,6 @@ import app.metatron.discovery.domain.datasource.data.QueryTimeExcetpion;
 import app.metatron.discovery.domain.datasource.data.forward.CsvResultForward;
 import app.metatron.discovery.domain.datasource.data.forward.JsonResultForward;
 import app.metatron.discovery.domain.datasource.data.forward.ResultForward;
-import app.metatron.discovery.extension.dataconnection.jdbc.dialect.JdbcDialect;
 import app.metatron.discovery.util.CustomCsvResultSetWriter;
 
 /**
@@ -62,7 +58,6 @@ public class LiveJdbcEngineRepository {
 
     Preconditions.checkNotNull(queryStr, "Query string required.");
 
-    DataSource dataSource = getDataSource(connection);
     Connection conn = null;
     Statement stmt = null;
     ResultSet rs = null;
@@ -70,7 +65,8 @@ public class LiveJdbcEngineRepository {
 
     try {
 
-      conn = dataSource.getConnection();
+      // Borrowed from the pool of the connection, returned when closed.
+      conn = DataConnectionHelper.getAccessor(connection).getConnection();
 
       stmt = conn.createStatement();
       stmt.setFetchSize(100000);
@@ -136,25 +132,4 @@ public class LiveJdbcEngineRepository {
     return mapper.createArrayNode().add(dataNode);
 
   }
-
-  private DataSource getDataSource(DataConnection connection) {
-
-    JdbcDialect dialect = DataConnectionHelper.lookupDialect(connection);
-
-    DriverManagerDataSource driverManagerDataSource =
-        new DriverManagerDataSource(dialect.getConnectUrl(connection), connection.getUsername(), connection.getPassword());
-    if (dialect.getDriverClass(connection) != null) {
-      driverManagerDataSource.setDriverClassName(dialect.getDriverClass(connection));
-    }
-//    DataSource dataSource = DataSourceBuilder.create()
-//            .url(connection.getConnectUrl())
-//            .driverClassName(connection.getDriverClass())
-//            .username(connection.getUsername())
-//            .password(connection.getPassword())
-//            .build();
-
-    LOGGER.debug("Created datasource : {}", dialect.getConnectUrl(connection));
-
-    return driverManagerDataSource;
-  }
 }
@@ -0,0 +1,307 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package app.metatron.discovery.domain.engine;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Controls the number of engine queries in progress. <br/>
+ * Queries over the limits (total, per user, per dashboard, per datasource) wait in a queue until
+ * running queries finish. Waiting queries are admitted in the order of priority (interactive first),
+ * then the number of running queries of the user (fair share among users), then the arrival.
+ */
+@Component
+public class QueryAdmissionController implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryAdmissionController.class);
+
+  @Autowired
+  EngineProperties engineProperties;
+
+  private EngineProperties.AdmissionInfo admissionInfo;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition admitted = lock.newCondition();
+
+  private final List<Ticket> waitingTickets = Lists.newLinkedList();
+
+  private final Map<String, Integer> runningByUser = Maps.newHashMap();
+
+  private final Map<String, Integer> runningByDashboard = Maps.newHashMap();
+
+  private final Map<String, Integer> runningByDataSource = Maps.newHashMap();
+
+  private int running;
+
+  private int runningExports;
+
+  private long sequence;
+
+  private final AtomicLong admittedCount = new AtomicLong();
+
+  private final AtomicLong rejectedCount = new AtomicLong();
+
+  private final AtomicLong timeoutCount = new AtomicLong();
+
+  private final AtomicLong totalWaitTime = new AtomicLong();
+
+  private final AtomicLong maxWaitTime = new AtomicLong();
+
+  public QueryAdmissionController() {
+  }
+
+  @PostConstruct
+  public void init() {
+    admissionInfo = engineProperties.getQuery().getAdmission();
+    if (admissionInfo == null) {
+      admissionInfo = new EngineProperties.AdmissionInfo();
+    }
+  }
+
+  public boolean isEnabled() {
+    return admissionInfo.getEnabled();
+  }
+
+  /**
+   * Waits until the query can be processed.
+   *
+   * @param user          user name
+   * @param dashboardId   dashboard id, nullable
+   * @param dataSource    engine datasource name, nullable
+   * @param priority      priority of query
+   * @return ticket, must be released after the query
+   * @throws QueryRejectedException if the queue is full or waiting time is over
+   */
+  public Ticket admit(String user, String dashboardId, String dataSource, Priority priority) throws InterruptedException {
+
+    long startTime = System.currentTimeMillis();
+
+    lock.lock();
+    try {
+      if (waitingTickets.size() >= admissionInfo.getMaxQueueSize()) {
+        rejectedCount.incrementAndGet();
+        throw new QueryRejectedException("Too many queries are waiting. Try again later.");
+      }
+
+      Ticket ticket = new Ticket(user, dashboardId, dataSource, priority, sequence++);
+      waitingTickets.add(ticket);
+      grant();
+
+      long remaining = TimeUnit.MILLISECONDS.toNanos(admissionInfo.getQueueTimeout());
+      try {
+        while (!ticket.granted) {
+          if (remaining <= 0L) {
+            waitingTickets.remove(ticket);
+            timeoutCount.incrementAndGet();
+            LOGGER.warn("Query of {} is not admitted in {} ms (running: {}, waiting: {})",
+                        user, admissionInfo.getQueueTimeout(), running, waitingTickets.size());
+            throw new QueryRejectedException("Timeout while waiting for running queries. Try again later.");
+          }
+          remaining = admitted.awaitNanos(remaining);
+        }
+      } catch (InterruptedException e) {
+        if (ticket.granted) {
+          releaseTicket(ticket);
+        } else {
+          waitingTickets.remove(ticket);
+        }
+        throw e;
+      }
+
+      long waitTime = System.currentTimeMillis() - startTime;
+      admittedCount.incrementAndGet();
+      totalWaitTime.addAndGet(waitTime);
+      maxWaitTime.accumulateAndGet(waitTime, Math::max);
+
+      return ticket;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the ticket, waiting queries can be admitted.
+   */
+  public void release(Ticket ticket) {
+    if (ticket == null) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      releaseTicket(ticket);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void releaseTicket(Ticket ticket) {
+    if (!ticket.granted) {
+      return;
+    }
+    ticket.granted = false;
+
+    running--;
+    if (ticket.priority == Priority.EXPORT) {
+      runningExports--;
+    }
+    decrement(runningByUser, ticket.user);
+    decrement(runningByDashboard, ticket.dashboardId);
+    decrement(runningByDataSource, ticket.dataSource);
+
+    grant();
+  }
+
+  /**
+   * Grants waiting tickets as many as possible, lock must be held.
+   */
+  private void grant() {
+    if (waitingTickets.isEmpty()) {
+      return;
+    }
+
+    List<Ticket> candidates = Lists.newArrayList(waitingTickets);
+    candidates.sort(Comparator.comparing((Ticket ticket) -> ticket.priority)
+                              .thenComparingInt(ticket -> count(runningByUser, ticket.user))
+                              .thenComparingLong(ticket -> ticket.sequence));
+
+    boolean granted = false;
+    for (Ticket ticket : candidates) {
+      if (running >= admissionInfo.getMaxConcurrency()) {
+        break;
+      }
+
+      if (!isAdmissible(ticket)) {
+        continue;
+      }
+
+      ticket.granted = true;
+      running++;
+      if (ticket.priority == Priority.EXPORT) {
+        runningExports++;
+      }
+      increment(runningByUser, ticket.user);
+      increment(runningByDashboard, ticket.dashboardId);
+      increment(runningByDataSource, ticket.dataSource);
+
+      waitingTickets.remove(ticket);
+      granted = true;
+    }
+
+    if (granted) {
+      admitted.signalAll();
+    }
+  }
+
+  private boolean isAdmissible(Ticket ticket) {
+    if (ticket.priority == Priority.EXPORT && runningExports >= admissionInfo.getMaxExportConcurrency()) {
+      return false;
+    }
+
+    return count(runningByUser, ticket.user) < admissionInfo.getMaxConcurrencyPerUser()
+        && count(runningByDashboard, ticket.dashboardId) < admissionInfo.getMaxConcurrencyPerDashboard()
+        && count(runningByDataSource, ticket.dataSource) < admissionInfo.getMaxConcurrencyPerDataSource();
+  }
+
+  private int count(Map<String, Integer> counts, String key) {
+    if (StringUtils.isEmpty(key)) {
+      return 0;
+    }
+    return counts.getOrDefault(key, 0);
+  }
+
+  private void increment(Map<String, Integer> counts, String key) {
+    if (StringUtils.isNotEmpty(key)) {
+      counts.merge(key, 1, Integer::sum);
+    }
+  }
+
+  private void decrement(Map<String, Integer> counts, String key) {
+    if (StringUtils.isNotEmpty(key)) {
+      counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    int runningCount;
+    int waitingCount;
+
+    lock.lock();
+    try {
+      runningCount = running;
+      waitingCount = waitingTickets.size();
+    } finally {
+      lock.unlock();
+    }
+
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("query.admission.running", runningCount));
+    metrics.add(new Metric<>("query.admission.waiting", waitingCount));
+    metrics.add(new Metric<>("query.admission.admitted", admittedCount.get()));
+    metrics.add(new Metric<>("query.admission.rejected", rejectedCount.get()));
+    metrics.add(new Metric<>("query.admission.timeout", timeoutCount.get()));
+    metrics.add(new Metric<>("query.admission.wait.time.total", totalWaitTime.get()));
+    metrics.add(new Metric<>("query.admission.wait.time.max", maxWaitTime.get()));
+    return metrics;
+  }
+
+  public enum Priority {
+    INTERACTIVE, EXPORT
+  }
+
+  public static class Ticket {
+
+    final String user;
+
+    final String dashboardId;
+
+    final String dataSource;
+
+    final Priority priority;
+
+    final long sequence;
+
+    boolean granted;
+
+    Ticket(String user, String dashboardId, String dataSource, Priority priority, long sequence) {
+      this.user = user;
+      this.dashboardId = dashboardId;
+      this.dataSource = dataSource;
+      this.priority = priority;
+      this.sequence = sequence;
+    }
+  }
+}
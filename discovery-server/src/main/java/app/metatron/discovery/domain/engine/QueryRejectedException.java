@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package app.metatron.discovery.domain.engine;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import app.metatron.discovery.common.exception.MetatronException;
+
+import static app.metatron.discovery.domain.engine.EngineErrorCodes.ENGINE_QUERY_REJECTED_CODE;
+
+/**
+ * Thrown when the query is not admitted, because too many queries are in progress.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many queries")
+public class QueryRejectedException extends MetatronException {
+
+  public QueryRejectedException(String message) {
+    super(ENGINE_QUERY_REJECTED_CODE, message);
+  }
+}
@@ -24,16 +24,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StopWatch;
 
 import app.metatron.discovery.common.CommonLocalVariable;
 import app.metatron.discovery.common.IdGenerator;
 import app.metatron.discovery.domain.datasource.DataSourceQueryHistory;
-import app.metatron.discovery.domain.datasource.DataSourceQueryHistoryRepository;
 import app.metatron.discovery.domain.datasource.QueryHistoryTeller;
+import app.metatron.discovery.domain.datasource.QueryHistoryWriter;
 import app.metatron.discovery.domain.datasource.data.QueryRequest;
+import app.metatron.discovery.domain.datasource.data.SearchQueryRequest;
+import app.metatron.discovery.domain.datasource.data.result.FileResultFormat;
+import app.metatron.discovery.util.AuthUtils;
 
 /**
  * Created by kyungtaak on 2016. 8. 30..
@@ -41,19 +42,26 @@ import app.metatron.discovery.domain.datasource.data.QueryRequest;
 @Aspect
 @Order(9)
 @Component
-@Transactional(propagation = Propagation.REQUIRES_NEW)
 public class QueryServiceAspect {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(QueryServiceAspect.class);
 
   @Autowired
-  DataSourceQueryHistoryRepository repository;
+  QueryHistoryWriter historyWriter;
+
+  @Autowired
+  QueryAdmissionController admissionController;
+
+  /**
+   * Ticket of the query in progress on current thread, nested queries are not controlled again.
+   */
+  private static final ThreadLocal<QueryAdmissionController.Ticket> admissionTicket = new ThreadLocal<>();
 
   @Pointcut("within(app.metatron.discovery.domain.engine.QueryService+)")
   public void service() {
   }
 
-  @Pointcut("args(queryRequest)")
+  @Pointcut("args(queryRequest, ..)")
   public void serviceArgs(QueryRequest queryRequest) {
   }
 
@@ -86,7 +94,9 @@ public class QueryServiceAspect {
     StopWatch stopWatch = new StopWatch();
     stopWatch.start("Query Time");
     Object retVal;
+    QueryAdmissionController.Ticket ticket = null;
     try {
+      ticket = admit(queryId, queryRequest, pjp.getSignature().getName());
       retVal = pjp.proceed();
       queryHistory.setSucceed(true);
     } catch (Throwable ex) {
@@ -94,11 +104,16 @@ public class QueryServiceAspect {
       queryHistory.setMessage(ex.getMessage());
       throw ex;
     } finally {
+      if (ticket != null) {
+        admissionTicket.remove();
+        admissionController.release(ticket);
+      }
+
       stopWatch.stop();
       queryHistory.setElapsedTime(stopWatch.getTotalTimeMillis());
 
-      repository.save(QueryHistoryTeller.getHistory());
-      LOGGER.info("[{}] Saved history - Succeed: {}, {}", queryId, queryHistory.getSucceed(), queryHistory.toString());
+      historyWriter.write(queryHistory);
+      LOGGER.info("[{}] Queued history - Succeed: {}, {}", queryId, queryHistory.getSucceed(), queryHistory.toString());
 
       // for MultiThread
       QueryHistoryTeller.remove();
@@ -107,6 +122,41 @@ public class QueryServiceAspect {
     return retVal;
   }
 
+  /**
+   * Waits until the query is admitted, if admission control is enabled.
+   *
+   * @return null, if not controlled
+   */
+  private QueryAdmissionController.Ticket admit(String queryId, QueryRequest queryRequest, String methodName)
+      throws InterruptedException {
+
+    if (!admissionController.isEnabled() || admissionTicket.get() != null) {
+      return null;
+    }
+
+    QueryAdmissionController.Priority priority = QueryAdmissionController.Priority.INTERACTIVE;
+    if ("export".equals(methodName)
+        || (queryRequest instanceof SearchQueryRequest
+        && ((SearchQueryRequest) queryRequest).getResultFormat() instanceof FileResultFormat)) {
+      priority = QueryAdmissionController.Priority.EXPORT;
+    }
+
+    String dataSourceName = queryRequest.getDataSource() == null ? null : queryRequest.getDataSource().getName();
+
+    StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+    QueryAdmissionController.Ticket ticket = admissionController.admit(AuthUtils.getAuthUserName(),
+                                                                       queryRequest.getContextValue(QueryRequest.CONTEXT_DASHBOARD_ID),
+                                                                       dataSourceName,
+                                                                       priority);
+    stopWatch.stop();
+    admissionTicket.set(ticket);
+
+    LOGGER.debug("[{}] Admitted {} query after {} ms", queryId, priority, stopWatch.getTotalTimeMillis());
+
+    return ticket;
+  }
+
   @Around("repository()")
   public Object engineQueryProcessing(ProceedingJoinPoint pjp) throws Throwable {
 
@@ -23,6 +23,11 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.envers.Audited;
 import org.hibernate.envers.RelationTargetAuditMode;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.Fields;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.SortableField;
+import org.hibernate.search.annotations.Store;
 import org.hibernate.validator.constraints.NotBlank;
 import org.springframework.data.rest.core.annotation.RestResource;
 
@@ -43,6 +48,7 @@ import app.metatron.discovery.domain.workbook.configurations.format.FieldFormat;
 @Entity
 @Audited(targetAuditMode = RelationTargetAuditMode.NOT_AUDITED)
 @Table(name = "mdm_column_dictionary")
+@Indexed
 public class ColumnDictionary extends AbstractHistoryEntity implements MetatronDomain<String> {
 
   /**
@@ -60,6 +66,11 @@ public class ColumnDictionary extends AbstractHistoryEntity implements MetatronD
   @Column(name = "column_name")
   @NotBlank
   @Size(max = 150)
+  @Fields({
+      @org.hibernate.search.annotations.Field(analyze = Analyze.YES, store = Store.NO),
+      @org.hibernate.search.annotations.Field(name = "sortName", analyze = Analyze.NO, store = Store.NO)
+  })
+  @SortableField(forField = "sortName")
   private String name;
 
   /**
@@ -68,6 +79,7 @@ public class ColumnDictionary extends AbstractHistoryEntity implements MetatronD
   @Column(name = "column_logical_name")
   @NotBlank
   @Size(max = 150)
+  @org.hibernate.search.annotations.Field(store = Store.NO)
   private String logicalName;
 
   /**
@@ -75,6 +87,7 @@ public class ColumnDictionary extends AbstractHistoryEntity implements MetatronD
    */
   @Column(name = "column_desc", length = 1000)
   @Size(max = 900)
+  @org.hibernate.search.annotations.Field(store = Store.NO)
   private String description;
 
   /**
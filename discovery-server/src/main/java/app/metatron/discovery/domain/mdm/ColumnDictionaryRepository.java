@@ -14,9 +14,14 @@
 
 package app.metatron.discovery.domain.mdm;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 /**
  * Created by kyungtaak on 2016. 8. 30..
@@ -24,6 +29,12 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 @RepositoryRestResource(path = "dictionaries", itemResourceRel = "dictionary", collectionResourceRel = "dictionaries",
     excerptProjection = ColumnDictionaryProjections.DefaultProjection.class)
 public interface ColumnDictionaryRepository extends JpaRepository<ColumnDictionary, String>,
-    QueryDslPredicateExecutor<ColumnDictionary> {
+    QueryDslPredicateExecutor<ColumnDictionary>, ColumnDictionaryRepositoryExtends {
 
+  /**
+   * fake!! for search, implemented in ColumnDictionaryRepositoryImpl
+   */
+  @RestResource(path = "keyword")
+  @Query("select cd from ColumnDictionary cd where cd.id= :q")
+  Page<ColumnDictionary> searchByKeyword(@Param("q") String keywords, Pageable pageable);
 }
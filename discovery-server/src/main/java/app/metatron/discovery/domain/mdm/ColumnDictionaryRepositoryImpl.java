@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.mdm;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.hibernate.search.exception.EmptyQueryException;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.FullTextQuery;
+import org.hibernate.search.jpa.Search;
+import org.hibernate.search.query.dsl.BooleanJunction;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.QueryDslRepositorySupport;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+public class ColumnDictionaryRepositoryImpl extends QueryDslRepositorySupport implements ColumnDictionaryRepositoryExtends {
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Map<String, SortField> sortFieldMap = Maps.newHashMap();
+
+  public ColumnDictionaryRepositoryImpl() {
+    super(ColumnDictionary.class);
+
+    sortFieldMap.put("name", new SortField("sortName", SortField.Type.STRING));
+    sortFieldMap.put("createdTime", new SortField("createdTime.mils", SortField.Type.STRING));
+    sortFieldMap.put("modifiedTime", new SortField("modifiedTime.mils", SortField.Type.STRING));
+  }
+
+  @Override
+  public Page<ColumnDictionary> searchByKeyword(String keywords, Pageable pageable) {
+
+    final FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
+    final QueryBuilder queryBuilder = fullTextEntityManager.getSearchFactory().buildQueryBuilder().forEntity(ColumnDictionary.class).get();
+
+    final BooleanJunction<BooleanJunction> outer = queryBuilder.bool();
+    try {
+      outer.should(
+          queryBuilder
+              .keyword()
+              .onField("name").boostedTo(2.0f)
+              .andField("logicalName").boostedTo(2.0f)
+              .andField("description")
+              .matching(keywords)
+              .createQuery()
+      );
+    } catch (EmptyQueryException e) {
+      // all terms are stop words, only part of name is matched
+    }
+
+    outer.should(
+        queryBuilder
+            .keyword()
+            .wildcard()
+            .onField("name")
+            .matching("*" + QueryParser.escape(keywords.toLowerCase()) + "*")
+            .createQuery()
+    );
+
+    FullTextQuery fullTextQuery = fullTextEntityManager.createFullTextQuery(outer.createQuery(), ColumnDictionary.class);
+    fullTextQuery.setFirstResult(pageable.getOffset());
+    fullTextQuery.setMaxResults(pageable.getPageSize());
+
+    Sort sort = getSearchSort(pageable);
+    if (sort != null) {
+      fullTextQuery.setSort(sort);
+    }
+
+    return new PageImpl<>(fullTextQuery.getResultList(), pageable, fullTextQuery.getResultSize());
+  }
+
+  private Sort getSearchSort(Pageable pageable) {
+
+    if (pageable == null || pageable.getSort() == null) {
+      return null;
+    }
+
+    List<SortField> sortFields = Lists.newArrayList();
+    for (org.springframework.data.domain.Sort.Order sortOrder : pageable.getSort()) {
+      SortField sortField = sortFieldMap.get(sortOrder.getProperty());
+      if (sortField != null) {
+        boolean reverse = sortOrder.getDirection() == org.springframework.data.domain.Sort.Direction.DESC;
+        sortFields.add(new SortField(sortField.getField(), sortField.getType(), reverse));
+      }
+    }
+
+    return sortFields.isEmpty() ? null : new Sort(sortFields.toArray(new SortField[0]));
+  }
+}
@@ -21,8 +21,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.collections4.CollectionUtils;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Where;
 import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.ClassBridge;
+import org.hibernate.search.annotations.Facet;
+import org.hibernate.search.annotations.FacetEncodingType;
+import org.hibernate.search.annotations.FieldBridge;
+import org.hibernate.search.annotations.Fields;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
+import org.hibernate.search.annotations.SortableField;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.bridge.builtin.EnumBridge;
 import org.hibernate.validator.constraints.NotBlank;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.util.List;
 import java.util.Map;
@@ -32,6 +46,7 @@ import java.util.stream.Collectors;
 import javax.persistence.*;
 import javax.validation.constraints.Size;
 
+import app.metatron.discovery.common.bridge.MetadataSearchBridge;
 import app.metatron.discovery.domain.AbstractHistoryEntity;
 import app.metatron.discovery.domain.MetatronDomain;
 import app.metatron.discovery.domain.datasource.DataSource;
@@ -39,10 +54,13 @@ import app.metatron.discovery.domain.datasource.Field;
 import app.metatron.discovery.domain.mdm.catalog.Catalog;
 import app.metatron.discovery.domain.mdm.source.MetadataSource;
 import app.metatron.discovery.domain.tag.Tag;
+import app.metatron.discovery.domain.tag.TagDomain;
 
 @Entity
 @Audited(withModifiedFlag = true)
 @Table(name="mdm_metadata")
+@Indexed
+@ClassBridge(name = MetadataSearchBridge.FIELD_TAGS, impl = MetadataSearchBridge.class)
 public class Metadata extends AbstractHistoryEntity implements MetatronDomain<String> {
 
   /**
@@ -60,6 +78,11 @@ public class Metadata extends AbstractHistoryEntity implements MetatronDomain<St
   @Column(name = "meta_name")
   @NotBlank
   @Size(max = 150)
+  @Fields({
+      @org.hibernate.search.annotations.Field(analyze = Analyze.YES, store = Store.NO),
+      @org.hibernate.search.annotations.Field(name = "sortName", analyze = Analyze.NO, store = Store.NO)
+  })
+  @SortableField(forField = "sortName")
   private String name;
 
   /**
@@ -67,10 +90,14 @@ public class Metadata extends AbstractHistoryEntity implements MetatronDomain<St
    */
   @Column(name = "meta_desc", length = 1000)
   @Size(max = 900)
+  @org.hibernate.search.annotations.Field(store = Store.NO)
   private String description;
 
   @Column(name = "meta_source_type")
   @Enumerated(EnumType.STRING)
+  @org.hibernate.search.annotations.Field(analyze = Analyze.NO, store = Store.NO)
+  @FieldBridge(impl = EnumBridge.class)
+  @Facet(encoding = FacetEncodingType.STRING)
   private SourceType sourceType;
 
   @OneToOne(fetch = FetchType.EAGER, cascade = {CascadeType.ALL})
@@ -83,6 +110,7 @@ public class Metadata extends AbstractHistoryEntity implements MetatronDomain<St
   @OneToMany(mappedBy = "metadata", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
   @OrderBy("seq ASC")
   @BatchSize(size = 50)
+  @IndexedEmbedded(includePaths = {"name", "physicalName", "description"})
   private List<MetadataColumn> columns;
 
   /**
@@ -93,8 +121,33 @@ public class Metadata extends AbstractHistoryEntity implements MetatronDomain<St
       joinColumns = @JoinColumn(name = "meta_id", referencedColumnName = "id"),
       inverseJoinColumns = @JoinColumn(name = "catalog_id", referencedColumnName = "id"))
   @BatchSize(size = 50)
+  @IndexedEmbedded(includePaths = {"id"}, includeEmbeddedObjectId = true)
   private List<Catalog> catalogs;
 
+  /**
+   * Tags attached to metadata, read only. Loaded with metadata to build search index
+   */
+  @OneToMany(fetch = FetchType.LAZY)
+  @JoinColumn(name = "domain_id", referencedColumnName = "id", insertable = false, updatable = false)
+  @Where(clause = "domain_type = 'METADATA'")
+  @BatchSize(size = 50)
+  @NotAudited
+  @JsonIgnore
+  @RestResource(exported = false)
+  private Set<TagDomain> tagDomains;
+
+  /**
+   * Popularity of metadata, read only. Loaded with metadata to build search index
+   */
+  @OneToMany(fetch = FetchType.LAZY)
+  @JoinColumn(name = "popularity_metadata_id", referencedColumnName = "id", insertable = false, updatable = false)
+  @Where(clause = "popularity_type = 'METADATA'")
+  @BatchSize(size = 50)
+  @NotAudited
+  @JsonIgnore
+  @RestResource(exported = false)
+  private Set<MetadataPopularity> popularities;
+
   @Transient
   List<Tag> tags;
 
@@ -247,6 +300,14 @@ public class Metadata extends AbstractHistoryEntity implements MetatronDomain<St
     this.catalogs = catalogs;
   }
 
+  public Set<TagDomain> getTagDomains() {
+    return tagDomains;
+  }
+
+  public Set<MetadataPopularity> getPopularities() {
+    return popularities;
+  }
+
   public List<Tag> getTags() {
     return tags;
   }
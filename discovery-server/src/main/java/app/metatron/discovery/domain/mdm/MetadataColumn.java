@@ -22,6 +22,8 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.envers.Audited;
+import org.hibernate.search.annotations.ContainedIn;
+import org.hibernate.search.annotations.Store;
 import org.hibernate.validator.constraints.NotBlank;
 import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.format.support.DefaultFormattingConversionService;
@@ -67,6 +69,7 @@ public class MetadataColumn implements MetatronDomain<Long>  {
    */
   @Column(name = "column_physical_name")
   @NotBlank
+  @org.hibernate.search.annotations.Field(store = Store.NO)
   private String physicalName;
 
 
@@ -74,6 +77,7 @@ public class MetadataColumn implements MetatronDomain<Long>  {
    * The name of column
    */
   @Column(name = "column_name")
+  @org.hibernate.search.annotations.Field(store = Store.NO)
   private String name;
 
 
@@ -88,6 +92,7 @@ public class MetadataColumn implements MetatronDomain<Long>  {
    * The description of column
    */
   @Column(name = "column_desc", length = 1000)
+  @org.hibernate.search.annotations.Field(store = Store.NO)
   private String description;
 
   /**
@@ -130,6 +135,7 @@ public class MetadataColumn implements MetatronDomain<Long>  {
   @ManyToOne(fetch = FetchType.LAZY, cascade = { CascadeType.MERGE })
   @JoinColumn(name = "meta_id")
   @JsonBackReference("column_metadata")
+  @ContainedIn
   private Metadata metadata;
 
   /**
@@ -152,12 +152,6 @@ public class MetadataController {
       }
     }
 
-    // 기본 정렬 조건 셋팅
-    if (pageable.getSort() == null || !pageable.getSort().iterator().hasNext()) {
-      pageable = new PageRequest(pageable.getPageNumber(), pageable.getPageSize(),
-              new Sort(Sort.Direction.ASC, "name"));
-    }
-
     List<User> targetUser = null;
     List<String> targetUserId = null;
     if(StringUtils.isNotEmpty(keyword)){
@@ -168,6 +162,21 @@ public class MetadataController {
       targetUserId = targetUser.stream().map(user -> user.getUsername()).collect(Collectors.toList());
     }
 
+    // Keyword 검색은 검색 인덱스에서 조회, 정렬 조건이 없으면 연관도(인기도 반영) 순으로 정렬
+    // 일자 검색, 카탈로그 미지정 검색 및 이름/설명/생성자 조건 검색은 기존 조회 방식 사용
+    if (isSearchableByIndex(keyword, catalogId, nameContains, descContains, creatorContains, from, to)) {
+      Page<Metadata> metadatas = metadataRepository.searchByKeyword(keyword, searchSourceType, catalogId, tag,
+                                                                    targetUserId, pageable);
+      metadataService.addProjectionProperties(metadatas.getContent());
+      return ResponseEntity.ok(this.pagedResourcesAssembler.toResource(metadatas, resourceAssembler));
+    }
+
+    // 기본 정렬 조건 셋팅
+    if (pageable.getSort() == null || !pageable.getSort().iterator().hasNext()) {
+      pageable = new PageRequest(pageable.getPageNumber(), pageable.getPageSize(),
+              new Sort(Sort.Direction.ASC, "name"));
+    }
+
     Page<Metadata> metadatas = metadataRepository.searchMetadatas(keyword, searchSourceType, catalogId, tag,
                                                                   nameContains, descContains, targetUserId,
                                                                   searchDateBy, from, to, pageable);
@@ -335,6 +344,33 @@ public class MetadataController {
     return ResponseEntity.noContent().build();
   }
 
+  /**
+   * Metadata count of keyword by facet (sourceType, tag)
+   */
+  @RequestMapping(path = "/metadatas/facets", method = RequestMethod.GET)
+  public @ResponseBody
+  ResponseEntity<?> getFacetsByKeyword(
+          @RequestParam(value = "keyword") String keyword,
+          @RequestParam(value = "sourceType", required = false) List<String> sourceType,
+          @RequestParam(value = "catalogId", required = false) String catalogId,
+          @RequestParam(value = "tag", required = false) String tag) {
+
+    List<Metadata.SourceType> searchSourceType = null;
+    if(sourceType != null && !sourceType.isEmpty()){
+      searchSourceType = new ArrayList<>();
+      for(String sourceTypeStr : sourceType){
+        if (StringUtils.isNotEmpty(sourceTypeStr)) {
+          searchSourceType.add(SearchParamValidator.enumUpperValue(Metadata.SourceType.class, sourceTypeStr, "sourceType"));
+        }
+      }
+    }
+
+    List<String> targetUserId = userRepository.findByFullNameContainingIgnoreCaseOrIdContainingIgnoreCase(keyword, keyword)
+                                              .stream().map(user -> user.getUsername()).collect(Collectors.toList());
+
+    return ResponseEntity.ok(metadataRepository.countFacetsByKeyword(keyword, searchSourceType, catalogId, tag, targetUserId));
+  }
+
   /**
    * Metadata count by sourceType
    */
@@ -647,4 +683,11 @@ public class MetadataController {
     metadataService.addProjectionProperties(metadatas.getContent());
     return ResponseEntity.ok(this.pagedResourcesAssembler.toResource(metadatas, resourceAssembler));
   }
+
+  private boolean isSearchableByIndex(String keyword, String catalogId, String nameContains, String descContains,
+                                      String creatorContains, DateTime from, DateTime to) {
+    return StringUtils.isNotEmpty(keyword) && !"".equals(catalogId)
+        && StringUtils.isEmpty(nameContains) && StringUtils.isEmpty(descContains) && StringUtils.isEmpty(creatorContains)
+        && from == null && to == null;
+  }
 }
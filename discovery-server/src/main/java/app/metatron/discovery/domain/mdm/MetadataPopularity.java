@@ -16,6 +16,8 @@ package app.metatron.discovery.domain.mdm;
 
 
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
+import org.joda.time.DateTime;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -63,6 +65,16 @@ public class MetadataPopularity {
   @Column(name = "popularity_value")
   Double popularity;
 
+  /**
+   * Score decayed by elapsed time, as of updated time
+   */
+  @Column(name = "popularity_decayed_score")
+  Double decayedScore;
+
+  @Column(name = "popularity_updated_time")
+  @Type(type = "org.jadira.usertype.dateandtime.joda.PersistentDateTime")
+  DateTime updatedTime;
+
   public MetadataPopularity() {
   }
 
@@ -70,7 +82,7 @@ public class MetadataPopularity {
     this.type = PopularityType.METADATA;
     this.metadataId = metadata.getId();
     this.sourceId = metadata.getSource().getSourceId();
-    this.score = 1L;
+    this.score = 0L;
   }
 
   public MetadataPopularity(Metadata metadata, MetadataColumn metadataColumn, Field field) {
@@ -80,15 +92,36 @@ public class MetadataPopularity {
     this.metaColumnId = metadataColumn.getId();
     this.fieldId = field.getId();
 
-    this.score = 1L;
+    this.score = 0L;
   }
 
-  public void addScore() {
-    this.score++;
+  /**
+   * Add weight to the score, previous score is decayed by elapsed time
+   *
+   * @param weight   weight of events
+   * @param now      time of events
+   * @param halfLife half-life of score in millis
+   */
+  public void addScore(double weight, DateTime now, long halfLife) {
+    this.decayedScore = getDecayedScore(now, halfLife) + weight;
+    this.score = (this.score == null ? 0L : this.score) + Math.round(weight);
+    this.updatedTime = now;
   }
 
-  public void calculatePopularity(Double maxValue) {
-    this.popularity = (this.score / maxValue) * 100;
+  /**
+   * Score decayed to given time, the raw score is used if it has never been decayed (before incremental scoring)
+   */
+  public double getDecayedScore(DateTime now, long halfLife) {
+    if (decayedScore == null || updatedTime == null) {
+      return score == null ? 0.0 : score.doubleValue();
+    }
+
+    long elapsed = Math.max(now.getMillis() - updatedTime.getMillis(), 0L);
+    return decayedScore * Math.pow(0.5, (double) elapsed / halfLife);
+  }
+
+  public void calculatePopularity(double score, double maxScore) {
+    this.popularity = maxScore > 0 ? (score / maxScore) * 100 : 0.0;
   }
 
   public Long getId() {
@@ -155,6 +188,22 @@ public class MetadataPopularity {
     this.popularity = popularity;
   }
 
+  public Double getDecayedScore() {
+    return decayedScore;
+  }
+
+  public void setDecayedScore(Double decayedScore) {
+    this.decayedScore = decayedScore;
+  }
+
+  public DateTime getUpdatedTime() {
+    return updatedTime;
+  }
+
+  public void setUpdatedTime(DateTime updatedTime) {
+    this.updatedTime = updatedTime;
+  }
+
   public enum PopularityType {
     METADATA, METACOLUMN
   }
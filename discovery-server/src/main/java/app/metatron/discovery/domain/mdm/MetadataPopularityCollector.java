@@ -0,0 +1,288 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.mdm;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import app.metatron.discovery.domain.datasource.DataSource;
+import app.metatron.discovery.domain.datasource.Field;
+import app.metatron.discovery.domain.datasource.data.DataSourceValidator;
+import app.metatron.discovery.domain.workbook.DashBoard;
+import app.metatron.discovery.domain.workbook.DashboardRepository;
+import app.metatron.discovery.domain.workbook.configurations.datasource.DefaultDataSource;
+import app.metatron.discovery.domain.workbook.configurations.datasource.MappingDataSource;
+import app.metatron.discovery.domain.workbook.configurations.widget.FilterWidgetConfiguration;
+import app.metatron.discovery.domain.workbook.configurations.widget.PageWidgetConfiguration;
+import app.metatron.discovery.domain.workbook.widget.FilterWidget;
+import app.metatron.discovery.domain.workbook.widget.PageWidget;
+import app.metatron.discovery.domain.workbook.widget.Widget;
+import app.metatron.discovery.domain.workbook.widget.WidgetRepository;
+
+/**
+ * Collects usage events of metadata (dashboard views, widget changes) for popularity. <br/>
+ * Events are counted in memory and added to decayed scores periodically,
+ * so popularity is maintained incrementally instead of scanning all dashboards.
+ */
+@Component
+public class MetadataPopularityCollector implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetadataPopularityCollector.class);
+
+  private static final double DASHBOARD_VIEW_WEIGHT = 1.0;
+
+  private static final double WIDGET_CHANGE_WEIGHT = 1.0;
+
+  @Autowired
+  DashboardRepository dashboardRepository;
+
+  @Autowired
+  WidgetRepository widgetRepository;
+
+  @Autowired
+  MetadataRepository metadataRepository;
+
+  @Autowired
+  MetadataPopularityService popularityService;
+
+  @Autowired
+  DataSourceValidator dataSourceValidator;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Value("${polaris.metadata.popularity.flushInterval:60}")
+  private Long flushInterval;
+
+  private final Map<String, Integer> viewedDashboards = new ConcurrentHashMap<>();
+
+  private final Map<String, Integer> changedWidgets = new ConcurrentHashMap<>();
+
+  private final AtomicLong collectedCount = new AtomicLong();
+
+  private final AtomicLong flushedCount = new AtomicLong();
+
+  private TransactionTemplate transactionTemplate;
+
+  private ScheduledExecutorService scheduler;
+
+  public MetadataPopularityCollector() {
+  }
+
+  @PostConstruct
+  public void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("MetadataPopularity-%s").setDaemon(true).build());
+    scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    scheduler.shutdownNow();
+    flush();
+  }
+
+  public void collectDashboardView(String dashboardId) {
+    collect(viewedDashboards, dashboardId);
+  }
+
+  public void collectWidgetChange(String widgetId) {
+    collect(changedWidgets, widgetId);
+  }
+
+  private void collect(Map<String, Integer> pending, String id) {
+    if (StringUtils.isEmpty(id)) {
+      return;
+    }
+
+    pending.merge(id, 1, Integer::sum);
+    collectedCount.incrementAndGet();
+  }
+
+  /**
+   * Add collected events to scores of popularity
+   */
+  public synchronized void flush() {
+    Map<String, Integer> dashboards = drain(viewedDashboards);
+    Map<String, Integer> widgets = drain(changedWidgets);
+    if (dashboards.isEmpty() && widgets.isEmpty()) {
+      return;
+    }
+
+    DateTime now = DateTime.now();
+    dashboards.forEach((dashboardId, count) -> applyInTransaction(() -> applyDashboardView(dashboardId, count, now)));
+    widgets.forEach((widgetId, count) -> applyInTransaction(() -> applyWidgetChange(widgetId, count, now)));
+
+    flushedCount.addAndGet(dashboards.size() + widgets.size());
+    LOGGER.debug("Flushed popularity events of {} dashboards, {} widgets", dashboards.size(), widgets.size());
+  }
+
+  /**
+   * Flush collected events and normalize popularity
+   */
+  public synchronized void normalize() {
+    flush();
+    popularityService.normalize();
+  }
+
+  private Map<String, Integer> drain(Map<String, Integer> pending) {
+    Map<String, Integer> drained = Maps.newHashMap();
+    for (String id : pending.keySet()) {
+      Integer count = pending.remove(id);
+      if (count != null) {
+        drained.put(id, count);
+      }
+    }
+    return drained;
+  }
+
+  private void applyInTransaction(Runnable runnable) {
+    try {
+      transactionTemplate.execute(status -> {
+        runnable.run();
+        return null;
+      });
+    } catch (Exception e) {
+      LOGGER.warn("Fail to apply popularity events : {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 대시보드에 연결된 데이터 소스를 기반으로 메타데이터 Popularity 스코어 지정
+   */
+  private void applyDashboardView(String dashboardId, int count, DateTime now) {
+    DashBoard dashBoard = dashboardRepository.findOne(dashboardId);
+    if (dashBoard == null || CollectionUtils.isEmpty(dashBoard.getDataSources())) {
+      return;
+    }
+
+    List<String> sourceIds = dashBoard.getDataSources().stream()
+                                      .map(DataSource::getId)
+                                      .collect(Collectors.toList());
+
+    for (Metadata metadata : metadataRepository.findBySource(sourceIds)) {
+      popularityService.addMetadataScore(metadata, DASHBOARD_VIEW_WEIGHT * count, now);
+    }
+  }
+
+  /**
+   * 위젯에서 사용된 필드를 기반으로 메타데이터 컬럼 Popularity 스코어 지정
+   */
+  private void applyWidgetChange(String widgetId, int count, DateTime now) {
+    Widget widget = widgetRepository.findOne(widgetId);
+    if (widget == null) {
+      return;
+    }
+
+    // data source and name of used fields
+    List<Map.Entry<DataSource, String>> usedFields = Lists.newArrayList();
+    if (widget instanceof FilterWidget) {
+      FilterWidgetConfiguration configuration = (FilterWidgetConfiguration) widget.convertConfiguration();
+      if (configuration.getDataSource() == null) {  // 필터위젯의 경우 없는 경우가 있음
+        return;
+      }
+      dataSourceValidator.validateQuery(configuration.getDataSource());
+
+      DataSource dataSource = getDataSourceByRef(configuration.getDataSource(), configuration.getFilter().getRef());
+      if (dataSource != null) {
+        usedFields.add(Maps.immutableEntry(dataSource, configuration.getFilter().getField()));
+      }
+    } else if (widget instanceof PageWidget) {
+      PageWidgetConfiguration configuration = (PageWidgetConfiguration) widget.convertConfiguration();
+      dataSourceValidator.validateQuery(configuration.getDataSource());
+
+      for (app.metatron.discovery.domain.workbook.configurations.field.Field field : configuration.getPivot().getAllFields()) {
+        DataSource dataSource = getDataSourceByRef(configuration.getDataSource(), field.getRef());
+        if (dataSource != null) {
+          usedFields.add(Maps.immutableEntry(dataSource, field.getName()));
+        }
+      }
+    }
+
+    if (usedFields.isEmpty()) {
+      return;
+    }
+
+    List<String> sourceIds = usedFields.stream()
+                                       .map(entry -> entry.getKey().getId())
+                                       .distinct()
+                                       .collect(Collectors.toList());
+    Map<String, Metadata> metadataMap = Maps.newHashMap();
+    for (Metadata metadata : metadataRepository.findBySource(sourceIds)) {
+      metadataMap.put(metadata.getSource().getSourceId(), metadata);
+    }
+
+    for (Map.Entry<DataSource, String> usedField : usedFields) {
+      Metadata metadata = metadataMap.get(usedField.getKey().getId());
+      Field field = usedField.getKey().getFieldByName(usedField.getValue());
+      if (metadata == null || field == null) {
+        continue;
+      }
+
+      MetadataColumn metadataColumn = metadata.getColumnMapByPhysicalName().get(field.getName());
+      if (metadataColumn != null) {
+        popularityService.addColumnScore(metadata, metadataColumn, field, WIDGET_CHANGE_WEIGHT * count, now);
+      }
+    }
+  }
+
+  private DataSource getDataSourceByRef(app.metatron.discovery.domain.workbook.configurations.datasource.DataSource dataSource, String ref) {
+    if (dataSource instanceof DefaultDataSource || StringUtils.isEmpty(ref)) {
+      return dataSource.getMetaDataSource();
+    } else if (dataSource instanceof MappingDataSource) {
+      return ((MappingDataSource) dataSource).findMetaDataSourceByRef(ref);
+    }
+
+    return null;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("metadata.popularity.pending", viewedDashboards.size() + changedWidgets.size()));
+    metrics.add(new Metric<>("metadata.popularity.collected", collectedCount.get()));
+    metrics.add(new Metric<>("metadata.popularity.flushed", flushedCount.get()));
+    return metrics;
+  }
+}
@@ -17,16 +17,10 @@ package app.metatron.discovery.domain.mdm;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
-import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  *
@@ -45,13 +39,5 @@ public interface MetadataPopularityRepository extends JpaRepository<MetadataPopu
 
   Page<MetadataPopularity> findByType(MetadataPopularity.PopularityType type, Pageable pageable);
 
-  @Query("SELECT MAX(m.score) FROM MetadataPopularity m WHERE m.type = :type")
-  Optional<Long> findByMaxScore(@Param("type") MetadataPopularity.PopularityType type);
-
-  @Modifying
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
-  @Query("DELETE FROM MetadataPopularity")
-  void delelteAllPopularity();
-
   List<MetadataPopularity> findByTypeAndMetadataIdIn(MetadataPopularity.PopularityType type, List<String> metadataId);
 }
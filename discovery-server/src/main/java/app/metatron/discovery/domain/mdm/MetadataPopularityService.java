@@ -15,17 +15,69 @@
 package app.metatron.discovery.domain.mdm;
 
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+
+import app.metatron.discovery.domain.datasource.Field;
 
 @Component
 public class MetadataPopularityService {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetadataPopularityService.class);
+
+  private static final int NORMALIZE_BATCH_SIZE = 500;
+
+  /**
+   * Popularity decayed under this score is removed
+   */
+  private static final double MIN_SCORE = 0.01;
+
+  /**
+   * Change of popularity value to reindex metadata
+   */
+  private static final double REINDEX_THRESHOLD = 1.0;
+
   @Autowired
   MetadataPopularityRepository popularityRepository;
 
+  @Autowired
+  MetadataSearchIndexer metadataSearchIndexer;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Value("${polaris.metadata.popularity.halfLifeDays:30}")
+  private Integer halfLifeDays;
+
+  private TransactionTemplate transactionTemplate;
+
+  @PostConstruct
+  public void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
   public Double getPopularityValue(String metadataId) {
 
     MetadataPopularity popularity = popularityRepository.findByTypeAndMetadataId(MetadataPopularity.PopularityType.METADATA, metadataId);
@@ -53,4 +105,108 @@ public class MetadataPopularityService {
     List<MetadataPopularity> popularity = popularityRepository.findByTypeAndMetadataIdIn(MetadataPopularity.PopularityType.METADATA, metadataIdList);
     return popularity;
   }
+
+  /**
+   * Add weight to the score of metadata, call it in transaction
+   */
+  public void addMetadataScore(Metadata metadata, double weight, DateTime now) {
+    MetadataPopularity popularity = popularityRepository.findByTypeAndMetadataIdAndSourceId(
+        MetadataPopularity.PopularityType.METADATA, metadata.getId(), metadata.getSource().getSourceId());
+    if (popularity == null) {
+      popularity = new MetadataPopularity(metadata);
+    }
+
+    popularity.addScore(weight, now, getHalfLife());
+    popularityRepository.save(popularity);
+  }
+
+  /**
+   * Add weight to the score of metadata column, call it in transaction
+   */
+  public void addColumnScore(Metadata metadata, MetadataColumn metadataColumn, Field field, double weight, DateTime now) {
+    MetadataPopularity popularity = popularityRepository.findByTypeAndMetadataIdAndSourceIdAndMetaColumnId(
+        MetadataPopularity.PopularityType.METACOLUMN, metadata.getId(), metadata.getSource().getSourceId(), metadataColumn.getId());
+    if (popularity == null) {
+      popularity = new MetadataPopularity(metadata, metadataColumn, field);
+    }
+
+    popularity.addScore(weight, now, getHalfLife());
+    popularityRepository.save(popularity);
+  }
+
+  /**
+   * Decay scores to now and calculate popularity (0 ~ 100) by max score of each type. <br/>
+   * Popularity of faded out scores are removed, and metadata of changed popularity are reindexed.
+   */
+  public void normalize() {
+    DateTime now = DateTime.now();
+    long halfLife = getHalfLife();
+
+    Map<MetadataPopularity.PopularityType, Double> maxScores = Maps.newEnumMap(MetadataPopularity.PopularityType.class);
+    Long lastId = 0L;
+    List<MetadataPopularity> popularities;
+    while (!(popularities = findBatch(lastId)).isEmpty()) {
+      for (MetadataPopularity popularity : popularities) {
+        maxScores.merge(popularity.getType(), popularity.getDecayedScore(now, halfLife), Math::max);
+      }
+      lastId = popularities.get(popularities.size() - 1).getId();
+    }
+
+    Set<String> reindexMetadataIds = Sets.newHashSet();
+    AtomicInteger removedCount = new AtomicInteger();
+    lastId = 0L;
+    while (lastId != null) {
+      final Long afterId = lastId;
+      lastId = transactionTemplate.execute(status -> {
+        List<MetadataPopularity> batch = findBatch(afterId);
+        if (batch.isEmpty()) {
+          return null;
+        }
+
+        List<MetadataPopularity> expired = Lists.newArrayList();
+        for (MetadataPopularity popularity : batch) {
+          double score = popularity.getDecayedScore(now, halfLife);
+          double previous = popularity.getPopularity() == null ? 0.0 : popularity.getPopularity();
+          double current = 0.0;
+
+          if (score < MIN_SCORE) {
+            expired.add(popularity);
+          } else {
+            popularity.setDecayedScore(score);
+            popularity.setUpdatedTime(now);
+            popularity.calculatePopularity(score, maxScores.getOrDefault(popularity.getType(), 0.0));
+            current = popularity.getPopularity();
+          }
+
+          if (popularity.getType() == MetadataPopularity.PopularityType.METADATA
+              && Math.abs(current - previous) >= REINDEX_THRESHOLD) {
+            reindexMetadataIds.add(popularity.getMetadataId());
+          }
+        }
+
+        Long batchLastId = batch.get(batch.size() - 1).getId();
+        batch.removeAll(expired);
+        popularityRepository.save(batch);
+        popularityRepository.delete(expired);
+        removedCount.addAndGet(expired.size());
+
+        return batchLastId;
+      });
+    }
+
+    LOGGER.info("Normalized popularity, max scores : {}, removed : {}, reindex : {}",
+                maxScores, removedCount.get(), reindexMetadataIds.size());
+
+    metadataSearchIndexer.reindex(reindexMetadataIds);
+  }
+
+  private List<MetadataPopularity> findBatch(Long afterId) {
+    return Lists.newArrayList(popularityRepository.findAll(
+        QMetadataPopularity.metadataPopularity.id.gt(afterId),
+        new PageRequest(0, NORMALIZE_BATCH_SIZE, Sort.Direction.ASC, "id")).getContent());
+  }
+
+  public long getHalfLife() {
+    return TimeUnit.DAYS.toMillis(halfLifeDays);
+  }
 }
@@ -14,10 +14,12 @@
 
 package app.metatron.discovery.domain.mdm;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.data.repository.history.RevisionRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.util.List;
 
@@ -33,5 +35,12 @@ public interface MetadataRepository extends JpaRepository<Metadata, String>,
 
   List<Metadata> findByIdIn(List<String> ids);
 
+  /**
+   * Find metadata with tags and popularity, to build search index
+   */
+  @RestResource(exported = false)
+  @EntityGraph(attributePaths = {"tagDomains", "tagDomains.tag", "popularities"})
+  List<Metadata> findDistinctByIdIn(List<String> ids);
+
   <T> List<T> findTop5ByCreatedByOrderByCreatedTimeDesc(String createdBy, Class<T> type);
 }
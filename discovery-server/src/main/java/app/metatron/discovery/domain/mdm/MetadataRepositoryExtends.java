@@ -19,6 +19,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 public interface MetadataRepositoryExtends {
 
@@ -29,6 +30,18 @@ public interface MetadataRepositoryExtends {
                                  String nameContains, String descContains, List<String> userIds,
                                  String searchDateBy, DateTime from, DateTime to, Pageable pageable);
 
+  /**
+   * Full-text search of metadata, ranked by relevance boosted with popularity
+   */
+  Page<Metadata> searchByKeyword(String keyword, List<Metadata.SourceType> sourceType, String catalogId, String tag,
+                                 List<String> userIds, Pageable pageable);
+
+  /**
+   * Counts of metadata matched by keyword, per facet (sourceType, tag) and value
+   */
+  Map<String, Map<String, Long>> countFacetsByKeyword(String keyword, List<Metadata.SourceType> sourceType,
+                                                      String catalogId, String tag, List<String> userIds);
+
   List<Metadata> findBySource(String sourceId, String schema, List<String> table);
 
   List<Metadata> findBySource(List<String> sourceIds);
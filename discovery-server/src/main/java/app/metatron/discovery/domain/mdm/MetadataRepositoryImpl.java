@@ -15,29 +15,86 @@
 package app.metatron.discovery.domain.mdm;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.jpa.JPQLQuery;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.CustomScoreProvider;
+import org.apache.lucene.queries.CustomScoreQuery;
+import org.apache.lucene.queries.function.FunctionQuery;
+import org.apache.lucene.queries.function.valuesource.DoubleFieldSource;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.search.exception.EmptyQueryException;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.FullTextQuery;
+import org.hibernate.search.jpa.Search;
+import org.hibernate.search.query.dsl.BooleanJunction;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.hibernate.search.query.engine.spi.FacetManager;
+import org.hibernate.search.query.facet.Facet;
+import org.hibernate.search.query.facet.FacetSortOrder;
+import org.hibernate.search.query.facet.FacetingRequest;
 import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QueryDslRepositorySupport;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+
+import app.metatron.discovery.common.entity.DomainType;
 import app.metatron.discovery.domain.mdm.source.QMetadataSource;
 import app.metatron.discovery.domain.tag.QTagDomain;
 
+import static app.metatron.discovery.common.bridge.MetadataSearchBridge.FIELD_POPULARITY;
+import static app.metatron.discovery.common.bridge.MetadataSearchBridge.FIELD_TAGS;
+import static app.metatron.discovery.common.bridge.MetadataSearchBridge.FIELD_TAGS_RAW;
+
 public class MetadataRepositoryImpl extends QueryDslRepositorySupport implements MetadataRepositoryExtends {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetadataRepositoryImpl.class);
+
+  public static final String FACET_SOURCE_TYPE = "sourceType";
+
+  public static final String FACET_TAG = "tag";
+
+  /**
+   * Tags are counted in top hits of keyword
+   */
+  private static final int MAX_FACET_HITS = 1000;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Map<String, SortField> sortFieldMap = Maps.newHashMap();
+
   public MetadataRepositoryImpl() {
     super(Metadata.class);
+
+    sortFieldMap.put("name", new SortField("sortName", SortField.Type.STRING));
+    sortFieldMap.put("createdTime", new SortField("createdTime.mils", SortField.Type.STRING));
+    sortFieldMap.put("modifiedTime", new SortField("modifiedTime.mils", SortField.Type.STRING));
   }
 
   public Page<Metadata> searchMetadatas(List<Metadata.SourceType> sourceType, String catalogId, String tag, String nameContains,
@@ -104,6 +161,166 @@ public class MetadataRepositoryImpl extends QueryDslRepositorySupport implements
 
   }
 
+  @Override
+  public Page<Metadata> searchByKeyword(String keyword, List<Metadata.SourceType> sourceType, String catalogId, String tag,
+                                        List<String> userIds, Pageable pageable) {
+
+    final FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
+
+    FullTextQuery fullTextQuery = fullTextEntityManager.createFullTextQuery(
+        createKeywordQuery(fullTextEntityManager, keyword, sourceType, catalogId, tag, userIds), Metadata.class);
+    fullTextQuery.setFirstResult(pageable.getOffset());
+    fullTextQuery.setMaxResults(pageable.getPageSize());
+
+    // Without sort, results are ordered by relevance
+    Sort sort = getSearchSort(pageable);
+    if (sort != null) {
+      fullTextQuery.setSort(sort);
+    }
+
+    return new PageImpl<>(fullTextQuery.getResultList(), pageable, fullTextQuery.getResultSize());
+  }
+
+  @Override
+  public Map<String, Map<String, Long>> countFacetsByKeyword(String keyword, List<Metadata.SourceType> sourceType,
+                                                             String catalogId, String tag, List<String> userIds) {
+
+    final FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
+    final QueryBuilder queryBuilder = fullTextEntityManager.getSearchFactory().buildQueryBuilder().forEntity(Metadata.class).get();
+
+    Query query = createKeywordQuery(fullTextEntityManager, keyword, sourceType, catalogId, tag, userIds);
+
+    Map<String, Map<String, Long>> facets = Maps.newLinkedHashMap();
+
+    FacetingRequest sourceTypeFacet = queryBuilder.facet()
+                                                  .name(FACET_SOURCE_TYPE)
+                                                  .onField("sourceType")
+                                                  .discrete()
+                                                  .orderedBy(FacetSortOrder.COUNT_DESC)
+                                                  .includeZeroCounts(false)
+                                                  .createFacetingRequest();
+
+    FacetManager facetManager = fullTextEntityManager.createFullTextQuery(query, Metadata.class).getFacetManager();
+    facetManager.enableFaceting(sourceTypeFacet);
+
+    Map<String, Long> sourceTypeCounts = Maps.newLinkedHashMap();
+    for (Facet facet : facetManager.getFacets(FACET_SOURCE_TYPE)) {
+      sourceTypeCounts.put(facet.getValue(), (long) facet.getCount());
+    }
+    facets.put(FACET_SOURCE_TYPE, sourceTypeCounts);
+
+    // Tags are not mapped to metadata, so tags of top hits are counted from tag domain
+    FullTextQuery idQuery = fullTextEntityManager.createFullTextQuery(query, Metadata.class);
+    idQuery.setProjection(FullTextQuery.ID);
+    idQuery.setMaxResults(MAX_FACET_HITS);
+
+    List<String> ids = ((List<Object[]>) idQuery.getResultList()).stream()
+                                                                 .map(row -> (String) row[0])
+                                                                 .collect(Collectors.toList());
+
+    Map<String, Long> tagCounts = Maps.newLinkedHashMap();
+    if (!ids.isEmpty()) {
+      QTagDomain qTagDomain = QTagDomain.tagDomain;
+      StringPath tagName = qTagDomain.tag.name;
+      NumberExpression<Long> tagCount = qTagDomain.id.count();
+
+      List<Tuple> tuples = from(qTagDomain).select(tagName, tagCount)
+                                           .where(qTagDomain.domainType.eq(DomainType.METADATA),
+                                                  qTagDomain.domainId.in(ids))
+                                           .groupBy(tagName)
+                                           .orderBy(tagCount.desc())
+                                           .fetch();
+
+      for (Tuple tuple : tuples) {
+        tagCounts.put(tuple.get(tagName), tuple.get(tagCount));
+      }
+    }
+    facets.put(FACET_TAG, tagCounts);
+
+    return facets;
+  }
+
+  private Query createKeywordQuery(FullTextEntityManager fullTextEntityManager, String keyword,
+                                   List<Metadata.SourceType> sourceType, String catalogId, String tag,
+                                   List<String> userIds) {
+
+    final QueryBuilder queryBuilder = fullTextEntityManager.getSearchFactory().buildQueryBuilder().forEntity(Metadata.class).get();
+
+    // Matched with name, tags, description and columns. name and tags are weighted
+    final BooleanJunction<BooleanJunction> matches = queryBuilder.bool();
+    try {
+      matches.should(
+          queryBuilder
+              .keyword()
+              .onField("name").boostedTo(3.0f)
+              .andField(FIELD_TAGS).boostedTo(2.0f).ignoreFieldBridge()
+              .andField("description")
+              .andField("columns.name")
+              .andField("columns.physicalName")
+              .andField("columns.description")
+              .matching(keyword)
+              .createQuery()
+      );
+    } catch (EmptyQueryException e) {
+      LOGGER.debug("All terms of keyword({}) are removed by analyzer", keyword);
+    }
+
+    // Part of name is still matched, like before
+    matches.should(
+        queryBuilder
+            .keyword()
+            .wildcard()
+            .onField("name")
+            .matching("*" + QueryParser.escape(keyword.toLowerCase()) + "*")
+            .createQuery()
+    );
+
+    if (CollectionUtils.isNotEmpty(userIds)) {
+      for (String userId : userIds) {
+        matches.should(new TermQuery(new Term("createdBy", userId)));
+      }
+    }
+
+    final BooleanJunction<BooleanJunction> outer = queryBuilder.bool();
+    outer.must(matches.createQuery());
+
+    if (CollectionUtils.isNotEmpty(sourceType)) {
+      final BooleanJunction<BooleanJunction> sourceTypes = queryBuilder.bool();
+      for (Metadata.SourceType type : sourceType) {
+        sourceTypes.should(new TermQuery(new Term("sourceType", type.name())));
+      }
+      outer.must(sourceTypes.createQuery());
+    }
+
+    if (StringUtils.isNotEmpty(catalogId)) {
+      outer.must(new TermQuery(new Term("catalogs.id", catalogId)));
+    }
+
+    if (StringUtils.isNotEmpty(tag)) {
+      outer.must(new TermQuery(new Term(FIELD_TAGS_RAW, tag)));
+    }
+
+    return new PopularityBoostQuery(outer.createQuery());
+  }
+
+  private Sort getSearchSort(Pageable pageable) {
+
+    if (pageable == null || pageable.getSort() == null) {
+      return null;
+    }
+
+    List<SortField> sortFields = Lists.newArrayList();
+    for (org.springframework.data.domain.Sort.Order sortOrder : pageable.getSort()) {
+      SortField sortField = sortFieldMap.get(sortOrder.getProperty());
+      if (sortField != null) {
+        boolean reverse = sortOrder.getDirection() == org.springframework.data.domain.Sort.Direction.DESC;
+        sortFields.add(new SortField(sortField.getField(), sortField.getType(), reverse));
+      }
+    }
+
+    return sortFields.isEmpty() ? null : new Sort(sortFields.toArray(new SortField[0]));
+  }
+
   @Override
   public List<Metadata> findBySource(String sourceId, String schema, List<String> table) {
     QMetadata qMetadata = QMetadata.metadata;
@@ -180,4 +397,24 @@ public class MetadataRepositoryImpl extends QueryDslRepositorySupport implements
     }
     return query.fetch();
   }
+
+  /**
+   * Score of keyword is boosted by popularity of metadata (0 ~ 100), up to about 2 times
+   */
+  private static class PopularityBoostQuery extends CustomScoreQuery {
+
+    PopularityBoostQuery(Query subQuery) {
+      super(subQuery, new FunctionQuery(new DoubleFieldSource(FIELD_POPULARITY)));
+    }
+
+    @Override
+    protected CustomScoreProvider getCustomScoreProvider(LeafReaderContext context) {
+      return new CustomScoreProvider(context) {
+        @Override
+        public float customScore(int doc, float subQueryScore, float valSrcScore) {
+          return subQueryScore * (1.0f + (float) Math.log1p(Math.max(valSrcScore, 0.0f)) / 4.6f);
+        }
+      };
+    }
+  }
 }
@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.mdm;
+
+import com.google.common.collect.Lists;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.Search;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Keeps search index of metadata up to date. <br/>
+ * Changes of metadata and columns are indexed by hibernate search itself,
+ * changes of tags and popularity (read only associations of metadata) should be reindexed by this. <br/>
+ * Index of metadata and column dictionary is built when the application is ready, if it is empty.
+ */
+@Component
+public class MetadataSearchIndexer implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetadataSearchIndexer.class);
+
+  private static final int REINDEX_BATCH_SIZE = 100;
+
+  private static final List<Class<?>> INDEX_DOMAIN_CLASSES = Lists.newArrayList(Metadata.class, ColumnDictionary.class);
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Autowired
+  MetadataRepository metadataRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+
+  public MetadataSearchIndexer() {
+  }
+
+  @PostConstruct
+  public void init() {
+    // Reindexing can be called after commit of other transaction
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Build index of domains whose index is empty (ex. first start, new node), in background
+   */
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    EntityManager indexEntityManager = entityManagerFactory.createEntityManager();
+    try {
+      FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(indexEntityManager);
+
+      List<Class<?>> emptyClasses = Lists.newArrayList();
+      for (Class<?> domainClass : INDEX_DOMAIN_CLASSES) {
+        if (fullTextEntityManager.createFullTextQuery(new MatchAllDocsQuery(), domainClass).getResultSize() == 0) {
+          emptyClasses.add(domainClass);
+        }
+      }
+
+      if (emptyClasses.isEmpty()) {
+        return;
+      }
+
+      LOGGER.info("Search index of {} is empty, start indexing.", emptyClasses);
+      fullTextEntityManager.createIndexer(emptyClasses.toArray(new Class[0]))
+                           .batchSizeToLoadObjects(REINDEX_BATCH_SIZE)
+                           .threadsToLoadObjects(2)
+                           .start();
+    } catch (Exception e) {
+      LOGGER.warn("Fail to build search index of metadata : {}", e.getMessage());
+    } finally {
+      indexEntityManager.close();
+    }
+  }
+
+  /**
+   * Reindex metadata, after the current transaction is committed if exists
+   *
+   * @param metadataIds ids of metadata to reindex
+   */
+  public void reindex(Collection<String> metadataIds) {
+    if (CollectionUtils.isEmpty(metadataIds)) {
+      return;
+    }
+
+    List<String> targetIds = Lists.newArrayList(metadataIds);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          doReindex(targetIds);
+        }
+      });
+    } else {
+      doReindex(targetIds);
+    }
+  }
+
+  private void doReindex(List<String> metadataIds) {
+    try {
+      for (List<String> ids : Lists.partition(metadataIds, REINDEX_BATCH_SIZE)) {
+        transactionTemplate.execute(status -> {
+          FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
+          for (Metadata metadata : metadataRepository.findDistinctByIdIn(ids)) {
+            fullTextEntityManager.index(metadata);
+          }
+          return null;
+        });
+      }
+      LOGGER.debug("Reindexed {} metadata", metadataIds.size());
+    } catch (Exception e) {
+      LOGGER.warn("Fail to reindex metadata({}) : {}", metadataIds, e.getMessage());
+    }
+  }
+}
@@ -913,12 +913,14 @@ public class MetadataService implements ApplicationEventPublisherAware {
       List<String> metadataIds = metadataList.stream().map(metadata -> metadata.getId()).collect(Collectors.toList());
       List<MetadataPopularity> popularities = metadataPopularityService.getPopularity(metadataIds);
 
+      Map<String, MetadataPopularity> popularityMap = new HashMap<>();
+      popularities.forEach(popularity -> popularityMap.putIfAbsent(popularity.getMetadataId(), popularity));
+
       metadataList.stream().forEach(metadata -> {
-        Optional<MetadataPopularity> metadataPopularity =
-            popularities.stream().filter(popularity -> popularity.getMetadataId().equals(metadata.getId())).findFirst();
+        MetadataPopularity metadataPopularity = popularityMap.get(metadata.getId());
 
-        if(metadataPopularity.isPresent()){
-          metadata.setPopularity(metadataPopularity.get().popularity);
+        if(metadataPopularity != null && metadataPopularity.popularity != null){
+          metadata.setPopularity(metadataPopularity.popularity);
         } else {
           metadata.setPopularity(0.0);
         }
@@ -17,6 +17,7 @@ package app.metatron.discovery.domain.mdm.lineage;
 import app.metatron.discovery.domain.AbstractHistoryEntity;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.Lob;
@@ -25,6 +26,7 @@ import org.hibernate.annotations.GenericGenerator;
 
 @Entity
 @Table(name = "mdm_lineage_edge")
+@EntityListeners(LineageEdgeIndexListener.class)
 public class LineageEdge extends AbstractHistoryEntity {
 
   @Id
@@ -0,0 +1,199 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.mdm.lineage;
+
+import com.google.common.collect.Lists;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of lineage edges by upstream and downstream metadata. <br/>
+ * Loaded when the application is ready, then kept up to date by {@link LineageEdgeIndexListener}
+ * after each commit. Edges changed by other nodes or out of the application are detected by
+ * the count and last modified time of edges, checked at most once per {@link #CHECK_INTERVAL}, and reloaded.
+ */
+@Component
+public class LineageEdgeIndex implements ApplicationListener<ApplicationReadyEvent>, PublicMetrics {
+
+  private static Logger LOGGER = LoggerFactory.getLogger(LineageEdgeIndex.class);
+
+  private static final long RELOAD_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+  static final long CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+  @Autowired
+  LineageEdgeRepository edgeRepository;
+
+  private final Map<String, LineageEdge> edges = new ConcurrentHashMap<>();
+
+  private final Map<String, Map<String, LineageEdge>> upstreamEdges = new ConcurrentHashMap<>();
+
+  private final Map<String, Map<String, LineageEdge>> downstreamEdges = new ConcurrentHashMap<>();
+
+  private volatile long loadedTime;
+
+  private volatile long checkedTime;
+
+  private List<Object> loadedVersion;
+
+  private volatile boolean loaded;
+
+  public LineageEdgeIndex() {
+  }
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    try {
+      load();
+    } catch (Exception e) {
+      LOGGER.warn("Fail to load lineage edge index, it will be loaded on demand : {}", e.getMessage());
+    }
+  }
+
+  /**
+   * (Re)load all edges from database
+   */
+  public synchronized void load() {
+    long startTime = System.currentTimeMillis();
+
+    // version is read before edges, so edges changed while loading are reloaded on next check
+    List<Object> version = getVersion();
+
+    edges.clear();
+    upstreamEdges.clear();
+    downstreamEdges.clear();
+    edgeRepository.findAll().forEach(this::addEdge);
+    loadedVersion = version;
+    loadedTime = System.currentTimeMillis();
+    checkedTime = loadedTime;
+    loaded = true;
+
+    LOGGER.info("Lineage edge index is loaded : {} edges, {} ms", edges.size(), loadedTime - startTime);
+  }
+
+  /**
+   * Edge ids are not sequential, so edges saved by other nodes can not be loaded incrementally,
+   * the whole index is reloaded once stale
+   */
+  synchronized void refresh() {
+    long now = System.currentTimeMillis();
+    if (!loaded || now - loadedTime > RELOAD_INTERVAL) {
+      load();
+      return;
+    }
+
+    if (now - checkedTime < CHECK_INTERVAL) {
+      return;
+    }
+
+    checkedTime = now;
+    if (!Objects.equals(loadedVersion, getVersion())) {
+      LOGGER.debug("Lineage edges are changed, reload the index.");
+      load();
+    }
+  }
+
+  private List<Object> getVersion() {
+    List<Object[]> results = edgeRepository.findCountAndLastModifiedTime();
+    return results == null || results.isEmpty() ? null : Arrays.asList(results.get(0));
+  }
+
+  // Edges whose downstream is the metadata
+  public List<LineageEdge> getUpstreamEdgesOf(String metaId) {
+    return getEdges(upstreamEdges, metaId);
+  }
+
+  // Edges whose upstream is the metadata
+  public List<LineageEdge> getDownstreamEdgesOf(String metaId) {
+    return getEdges(downstreamEdges, metaId);
+  }
+
+  public synchronized void add(LineageEdge edge) {
+    if (!loaded || edge.getEdgeId() == null) {
+      return;
+    }
+
+    remove(edge.getEdgeId());
+    addEdge(edge);
+  }
+
+  public synchronized void remove(String edgeId) {
+    LineageEdge edge = edges.remove(edgeId);
+    if (edge == null) {
+      return;
+    }
+
+    removeFrom(upstreamEdges, edge.getToMetaId(), edgeId);
+    removeFrom(downstreamEdges, edge.getFrMetaId(), edgeId);
+  }
+
+  private List<LineageEdge> getEdges(Map<String, Map<String, LineageEdge>> index, String metaId) {
+    if (!loaded || System.currentTimeMillis() - checkedTime >= CHECK_INTERVAL) {
+      refresh();
+    }
+
+    if (metaId == null) {
+      return Collections.emptyList();
+    }
+
+    Map<String, LineageEdge> metaEdges = index.get(metaId);
+    return metaEdges == null ? Lists.newArrayList() : Lists.newArrayList(metaEdges.values());
+  }
+
+  private void addEdge(LineageEdge edge) {
+    edges.put(edge.getEdgeId(), edge);
+    if (edge.getToMetaId() != null) {
+      upstreamEdges.computeIfAbsent(edge.getToMetaId(), key -> new ConcurrentHashMap<>()).put(edge.getEdgeId(), edge);
+    }
+    if (edge.getFrMetaId() != null) {
+      downstreamEdges.computeIfAbsent(edge.getFrMetaId(), key -> new ConcurrentHashMap<>()).put(edge.getEdgeId(), edge);
+    }
+  }
+
+  private void removeFrom(Map<String, Map<String, LineageEdge>> index, String metaId, String edgeId) {
+    if (metaId == null) {
+      return;
+    }
+
+    Map<String, LineageEdge> metaEdges = index.get(metaId);
+    if (metaEdges != null) {
+      metaEdges.remove(edgeId);
+      if (metaEdges.isEmpty()) {
+        index.remove(metaId);
+      }
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("lineage.edge.index.edges", edges.size()));
+    return metrics;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.mdm.lineage;
+
+import app.metatron.discovery.util.ApplicationContextProvider;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link LineageEdgeIndex} up to date, whichever way the edge is saved or deleted. <br/>
+ * Callbacks fire on flush, so changes are applied after commit; rolled back changes never reach the index.
+ */
+public class LineageEdgeIndexListener {
+
+  @PostPersist
+  @PostUpdate
+  public void postSave(LineageEdge edge) {
+    LineageEdgeIndex index = getIndex();
+    if (index != null) {
+      afterCommit(() -> index.add(edge));
+    }
+  }
+
+  @PostRemove
+  public void postRemove(LineageEdge edge) {
+    LineageEdgeIndex index = getIndex();
+    if (index != null) {
+      String edgeId = edge.getEdgeId();
+      afterCommit(() -> index.remove(edgeId));
+    }
+  }
+
+  private void afterCommit(Runnable update) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          update.run();
+        }
+      });
+    } else {
+      update.run();
+    }
+  }
+
+  private LineageEdgeIndex getIndex() {
+    ApplicationContext context = ApplicationContextProvider.getApplicationContext();
+    return context == null ? null : context.getBean(LineageEdgeIndex.class);
+  }
+}
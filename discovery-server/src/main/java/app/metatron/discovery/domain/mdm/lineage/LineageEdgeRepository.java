@@ -18,7 +18,9 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 @RepositoryRestResource(path = "metadatas/lineageedges", itemResourceRel = "lineageedges", collectionResourceRel = "lineageedges",
     excerptProjection = LineageEdgeProjections.DefaultProjection.class)
@@ -31,4 +33,11 @@ public interface LineageEdgeRepository extends JpaRepository<LineageEdge, String
   List<LineageEdge> findByFrMetaIdAndToMetaId(String upstreamMetaId, String downstreamMetaId);
 
   Page<LineageEdge> findByDescContaining(String descContains, Pageable pageable);
+
+  /**
+   * Count and last modified time of edges, changed when edges are saved or deleted on any node
+   */
+  @RestResource(exported = false)
+  @Query("SELECT count(e), max(e.modifiedTime) FROM LineageEdge e")
+  List<Object[]> findCountAndLastModifiedTime();
 }
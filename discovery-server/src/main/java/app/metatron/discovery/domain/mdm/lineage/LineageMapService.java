@@ -31,7 +31,7 @@ public class LineageMapService {
   private static Logger LOGGER = LoggerFactory.getLogger(LineageMapService.class);
 
   @Autowired
-  LineageEdgeRepository edgeRepository;
+  LineageEdgeIndex edgeIndex;
 
   @Autowired
   MetadataRepository metadataRepository;
@@ -40,12 +40,12 @@ public class LineageMapService {
   }
 
   private List<LineageEdge> getUpstreamEdgesOf(String metaId) {
-    return edgeRepository.findByToMetaId(metaId);
+    return edgeIndex.getUpstreamEdgesOf(metaId);
   }
 
   // Returns true if found any downstream
   private List<LineageEdge> getDownstreamEdgesOf(String metaId) {
-    return edgeRepository.findByFrMetaId(metaId);
+    return edgeIndex.getDownstreamEdgesOf(metaId);
   }
 
   private boolean addUpstreamOfCol(LineageMap map) {
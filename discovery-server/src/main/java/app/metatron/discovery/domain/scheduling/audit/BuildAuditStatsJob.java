@@ -0,0 +1,54 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.scheduling.audit;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+import org.springframework.stereotype.Component;
+
+import app.metatron.discovery.domain.audit.AuditStatsService;
+
+/**
+ * Build rollups of audit statistics from audits before the upgrade, once after the scheduler starts. <br/>
+ * Runs on the scheduling node only, so nodes serving requests start without reading the audits.
+ */
+@Component
+@DisallowConcurrentExecution
+public class BuildAuditStatsJob extends QuartzJobBean {
+
+  private static Logger LOGGER = LoggerFactory.getLogger(BuildAuditStatsJob.class);
+
+  @Autowired
+  AuditStatsService auditStatsService;
+
+  @Override
+  public void executeInternal(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    LOGGER.info("## Start building audit statistics");
+
+    try {
+      auditStatsService.backfill();
+    } catch (Exception e) {
+      LOGGER.warn("Fail to build rollups of audit statistics : {}", e.getMessage());
+    }
+
+    LOGGER.info("## End building audit statistics");
+  }
+
+}
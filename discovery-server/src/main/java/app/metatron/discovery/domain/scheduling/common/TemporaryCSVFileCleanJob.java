@@ -14,6 +14,7 @@
 
 package app.metatron.discovery.domain.scheduling.common;
 
+import app.metatron.discovery.domain.datasource.connection.jdbc.CsvRowIndex;
 import app.metatron.discovery.domain.engine.EngineProperties;
 import app.metatron.discovery.domain.workbench.WorkbenchProperties;
 import org.joda.time.DateTime;
@@ -89,6 +90,7 @@ public class TemporaryCSVFileCleanJob extends QuartzJobBean {
       deleteTargetPathList.stream().forEach(path -> {
         try {
           Files.deleteIfExists(path);
+          Files.deleteIfExists(Paths.get(path.toString() + CsvRowIndex.EXTENSION));
           LOGGER.info("expired temporary csv file deleted : {}", path.toString());
         } catch (IOException e) {
           // File permission problems are caught here.
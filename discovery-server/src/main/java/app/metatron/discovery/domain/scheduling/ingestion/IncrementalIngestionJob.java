@@ -92,9 +92,9 @@ public class IncrementalIngestionJob extends QuartzJobBean {
       return;
     }
 
-    jobRunner.ingestion(dataSource);
-
-    LOGGER.info("## End incremental ingestion job for datasource({}).", targetDataSourceId);
+    // engine task is tracked asynchronously, the job is not blocked until the task is completed
+    jobRunner.ingestion(targetDataSourceId, false)
+             .thenAccept(history -> LOGGER.info("## End incremental ingestion job for datasource({}).", targetDataSourceId));
   }
 
 }
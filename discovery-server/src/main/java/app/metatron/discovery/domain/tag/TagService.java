@@ -29,9 +29,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import app.metatron.discovery.common.entity.DomainType;
 import app.metatron.discovery.domain.mdm.MetadataRepository;
+import app.metatron.discovery.domain.mdm.MetadataSearchIndexer;
 import app.metatron.discovery.domain.user.UserController;
 import app.metatron.discovery.util.ProjectionUtils;
 
@@ -47,6 +49,9 @@ public class TagService {
   @Autowired
   MetadataRepository metadataRepository;
 
+  @Autowired
+  MetadataSearchIndexer metadataSearchIndexer;
+
   @Autowired
   public ProjectionFactory projectionFactory;
 
@@ -87,11 +92,15 @@ public class TagService {
       tagRepository.save(tag);
       LOGGER.debug("Add Tags to Item : {}", tag);
     }
+
+    reindexMetadata(domainType, Lists.newArrayList(domainId));
   }
 
   @Transactional
   public void detachTagsFromDomainItem(Tag.Scope scope, DomainType domainType, String domainId, List<String> tags) {
     tagRepository.detachTag(scope, domainType, domainId, tags);
+
+    reindexMetadata(domainType, Lists.newArrayList(domainId));
   }
 
   @Transactional
@@ -100,6 +109,9 @@ public class TagService {
     for (String tagName : tags) {
       Tag tag = tagRepository.findByTagNameAndDomain(scope, domainType, tagName);
       if(tag != null) {
+        reindexMetadata(domainType, tag.getDomains().stream()
+                                       .map(TagDomain::getDomainId)
+                                       .collect(Collectors.toList()));
         tagRepository.delete(tag);
         LOGGER.debug("Successfully delete tags : {} ({}, {})", tagName, scope, domainType);
       }
@@ -117,4 +129,13 @@ public class TagService {
     Page<TagCountDTO> tagCountDTOS = tagRepository.findTagsWithCount(scope, domainType, nameContains, includeEmpty, pageable);
     return tagCountDTOS;
   }
+
+  /**
+   * Tags are indexed with metadata, so metadata should be reindexed when its tags are changed
+   */
+  private void reindexMetadata(DomainType domainType, List<String> domainIds) {
+    if (domainType == DomainType.METADATA) {
+      metadataSearchIndexer.reindex(domainIds);
+    }
+  }
 }
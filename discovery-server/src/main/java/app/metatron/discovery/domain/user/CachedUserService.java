@@ -19,28 +19,44 @@ import app.metatron.discovery.domain.user.group.GroupProfile;
 import app.metatron.discovery.domain.user.group.GroupRepository;
 import app.metatron.discovery.domain.user.org.OrganizationRepository;
 import app.metatron.discovery.domain.user.org.OrganizationService;
+import app.metatron.discovery.domain.user.role.Role;
 import app.metatron.discovery.domain.user.role.RoleService;
+import app.metatron.discovery.domain.user.role.RoleSet;
+import app.metatron.discovery.domain.user.role.RoleSetRepository;
 import app.metatron.discovery.domain.workspace.WorkspaceMember;
-import com.google.common.collect.Maps;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.infinispan.Cache;
+import org.infinispan.stats.Stats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
+ * Caches users, groups, roles of user and permissions of role sets. <br/>
+ * Caches are bounded and expired (polaris.user.cache.*), and removal of entries is invalidated on all nodes of cluster.
+ * Modified entries should be removed by the caller, it is applied after the transaction is committed.
+ *
  * Created by kyungtaak on 2016. 5. 18..
  */
 @Component("cachedUserService")
-public class CachedUserService {
-
-  private static final Logger LOGGER = LoggerFactory.getLogger(InnerUserServiceImpl.class);
+public class CachedUserService implements PublicMetrics {
 
-  private static final Map<String, User> userMap = Maps.newHashMap();
-
-  private static final Map<String, Group> groupMap = Maps.newHashMap();
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachedUserService.class);
 
   @Autowired
   RoleService roleService;
@@ -57,63 +73,183 @@ public class CachedUserService {
   @Autowired
   OrganizationRepository organizationRepository;
 
+  @Autowired
+  RoleSetRepository roleSetRepository;
+
+  @Autowired
+  @Qualifier("userCache")
+  Cache<String, User> userCache;
+
+  @Autowired
+  @Qualifier("groupCache")
+  Cache<String, Group> groupCache;
+
+  @Autowired
+  @Qualifier("userRoleCache")
+  Cache<String, List<Role>> userRoleCache;
+
+  @Autowired
+  @Qualifier("roleSetPermissionCache")
+  Cache<String, Set<String>> roleSetPermissionCache;
+
   public User findUser(String username) {
 
     if (StringUtils.isBlank(username)) {
       return null;
     }
 
-    if (userMap.containsKey(username)) {
-      return userMap.get(username);
-    } else {
-      User user = userRepository.findByUsername(username);
-      if (user == null) {
-        LOGGER.debug("User({}) not found. Return empty User object.", username);
-        return null;
-      } else {
-        user.setRoleService(roleService);
-        user.setOrgCodes(orgService.findCodesOfMembersOrg(user.getUsername()));
-        userMap.put(username, user);
-        return user;
-      }
+    User user = userCache.get(username);
+    if (user != null) {
+      return user;
+    }
+
+    user = userRepository.findByUsername(username);
+    if (user == null) {
+      LOGGER.debug("User({}) not found. Return empty User object.", username);
+      return null;
     }
+
+    user.setRoleService(roleService);
+    user.setOrgCodes(orgService.findCodesOfMembersOrg(user.getUsername()));
+
+    // 다른 노드로 전파하지 않고 현재 노드에만 저장
+    userCache.putForExternalRead(username, user);
+    return user;
   }
 
   public void removeCachedUser(String userId) {
-    if (userMap.containsKey(userId)) {
-      userMap.remove(userId);
+    if (StringUtils.isBlank(userId)) {
+      return;
     }
+
+    afterCommit(() -> {
+      userCache.remove(userId);
+      userRoleCache.remove(userId);
+    });
   }
 
   public void removeCacheByType(String id, DirectoryProfile.Type type) {
     if (type == DirectoryProfile.Type.USER) {
-      userMap.remove(id);
-    } else {
-      groupMap.remove(id);
+      removeCachedUser(id);
+    } else if (StringUtils.isNotBlank(id)) {
+      afterCommit(() -> groupCache.remove(id));
     }
   }
 
+  /**
+   * Call it when roles, role sets or members of group are changed
+   */
+  public void removeCachedRoles() {
+    afterCommit(() -> {
+      userRoleCache.clear();
+      roleSetPermissionCache.clear();
+    });
+  }
+
   public Group findGroup(String groupId) {
 
     if (groupId == null) {
       return null;
     }
 
-    if (groupMap.containsKey(groupId)) {
-      return groupMap.get(groupId);
+    Group group = groupCache.get(groupId);
+    if (group != null) {
+      return group;
+    }
+
+    group = groupRepository.findOne(groupId);
+    if (group == null) {
+      LOGGER.debug("Group({}) not found. Return empty Group object.", groupId);
+      return null;
+    }
+
+    group.setOrgCodes(orgService.findCodesOfMembersOrg(group.getId()));
+
+    groupCache.putForExternalRead(groupId, group);
+    return group;
+  }
+
+  /**
+   * Roles of user including roles of joined groups, permissions of roles are loaded
+   *
+   * @param username
+   * @return
+   */
+  public List<Role> findRoles(String username) {
+
+    if (StringUtils.isBlank(username)) {
+      return Lists.newArrayList();
+    }
+
+    List<Role> roles = userRoleCache.get(username);
+    if (roles == null) {
+      roles = ImmutableList.copyOf(roleService.loadRolesByUsername(username));
+      userRoleCache.putForExternalRead(username, roles);
+    }
+
+    return roles;
+  }
+
+  /**
+   * Permission names of roles in role sets
+   *
+   * @param roleSets
+   * @param roleNames
+   * @return
+   */
+  public Set<String> findPermissions(List<RoleSet> roleSets, List<String> roleNames) {
+
+    if (CollectionUtils.isEmpty(roleSets) || CollectionUtils.isEmpty(roleNames)) {
+      return ImmutableSet.of();
+    }
+
+    String key = roleSets.stream().map(RoleSet::getId).sorted().collect(Collectors.joining(","))
+        + "|" + roleNames.stream().sorted().distinct().collect(Collectors.joining(","));
+
+    Set<String> permissions = roleSetPermissionCache.get(key);
+    if (permissions == null) {
+      permissions = ImmutableSet.copyOf(roleSetRepository.getPermissionsByRoleSetAndRoleName(roleSets, roleNames));
+      roleSetPermissionCache.putForExternalRead(key, permissions);
+    }
+
+    return permissions;
+  }
+
+  /**
+   * Cached entries are removed after the transaction is committed,
+   * so the entries are not reloaded with uncommitted data.
+   */
+  private void afterCommit(Runnable removal) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          removal.run();
+        }
+      });
     } else {
-      Group group = groupRepository.findOne(groupId);
-      group.setOrgCodes(orgService.findCodesOfMembersOrg(group.getId()));
-      if (group == null) {
-        LOGGER.debug("Role({}) not found. Return empty Role object.", groupId);
-        return null;
-      } else {
-        groupMap.put(groupId, group);
-        return group;
-      }
+      removal.run();
     }
   }
 
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    addCacheMetrics(metrics, "user.cache.user", userCache);
+    addCacheMetrics(metrics, "user.cache.group", groupCache);
+    addCacheMetrics(metrics, "user.cache.role", userRoleCache);
+    addCacheMetrics(metrics, "user.cache.roleset", roleSetPermissionCache);
+    return metrics;
+  }
+
+  private void addCacheMetrics(List<Metric<?>> metrics, String prefix, Cache<String, ?> cache) {
+    Stats stats = cache.getAdvancedCache().getStats();
+    metrics.add(new Metric<>(prefix + ".size", stats.getCurrentNumberOfEntries()));
+    metrics.add(new Metric<>(prefix + ".hit", stats.getHits()));
+    metrics.add(new Metric<>(prefix + ".miss", stats.getMisses()));
+    metrics.add(new Metric<>(prefix + ".eviction", stats.getEvictions()));
+  }
+
   /**
    * Member 타입(사용자/그룹) 별 profile 정보 가져오기,
    * Projection 내 Spel 처리시 활용
@@ -19,6 +19,7 @@ import app.metatron.discovery.common.exception.ResourceNotFoundException;
 import app.metatron.discovery.domain.CollectionPatch;
 import app.metatron.discovery.domain.context.ContextService;
 import app.metatron.discovery.domain.images.ImageRepository;
+import app.metatron.discovery.domain.user.CachedUserService;
 import app.metatron.discovery.domain.user.DirectoryProfile;
 import app.metatron.discovery.domain.user.User;
 import app.metatron.discovery.domain.user.UserProperties;
@@ -50,6 +51,9 @@ public class GroupService {
   @Autowired
   OrganizationService orgService;
 
+  @Autowired
+  CachedUserService cachedUserService;
+
   @Autowired
   GroupRepository groupRepository;
 
@@ -129,6 +133,8 @@ public class GroupService {
     persistGroup.setContexts(group.getContexts());
     contextService.saveContextFromDomain(persistGroup);
 
+    cachedUserService.removeCacheByType(persistGroup.getId(), DirectoryProfile.Type.GROUP);
+
     return groupRepository.save(persistGroup);
   }
 
@@ -149,6 +155,9 @@ public class GroupService {
     orgService.deleteOrgMembers(groupId);
 
     groupRepository.delete(persistGroup);
+
+    cachedUserService.removeCacheByType(groupId, DirectoryProfile.Type.GROUP);
+    cachedUserService.removeCachedRoles();
   }
 
   public void updateGroupMembers(String groupId, List<CollectionPatch> members) {
@@ -177,6 +186,9 @@ public class GroupService {
     }
 
     groupRepository.save(persistGroup);
+
+    // 그룹 멤버의 Role 변경
+    cachedUserService.removeCachedRoles();
   }
 
   public void deleteGroupMember(String memberId) {
@@ -185,6 +197,8 @@ public class GroupService {
       Group group = groupMember.getGroup();
       group.removeGroupMember(groupMember);
     }
+
+    cachedUserService.removeCachedRoles();
   }
 
   @Transactional(readOnly = true)
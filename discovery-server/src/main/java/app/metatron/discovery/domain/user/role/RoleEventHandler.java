@@ -16,6 +16,8 @@ package app.metatron.discovery.domain.user.role;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
 import org.springframework.data.rest.core.annotation.HandleBeforeCreate;
 import org.springframework.data.rest.core.annotation.HandleBeforeDelete;
 import org.springframework.data.rest.core.annotation.HandleBeforeSave;
@@ -23,6 +25,7 @@ import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import app.metatron.discovery.domain.context.ContextService;
+import app.metatron.discovery.domain.user.CachedUserService;
 
 /**
  * Created by kyungtaak on 2016. 5. 14..
@@ -36,6 +39,9 @@ public class RoleEventHandler {
   @Autowired
   RoleRepository roleRepository;
 
+  @Autowired
+  CachedUserService cachedUserService;
+
   @HandleBeforeCreate
   @PreAuthorize("hasAnyAuthority('PERM_SYSTEM_MANAGE_USER')")
   public void handleBeforeCreate(Role role) {
@@ -60,6 +66,7 @@ public class RoleEventHandler {
   public void handleAfterCreate(Role role) {
     // Context 정보 저장, ID 가 지정후 생성 필요
     contextService.saveContextFromDomain(role);
+    cachedUserService.removeCachedRoles();
   }
 
   @HandleBeforeSave
@@ -69,6 +76,11 @@ public class RoleEventHandler {
     contextService.saveContextFromDomain(role);
   }
 
+  @HandleAfterSave
+  public void handleAfterSave(Role role) {
+    cachedUserService.removeCachedRoles();
+  }
+
   @HandleBeforeDelete
   @PreAuthorize("hasAnyAuthority('PERM_SYSTEM_MANAGE_USER')")
   public void handleBeforeDelete(Role role) {
@@ -76,4 +88,9 @@ public class RoleEventHandler {
     contextService.removeContextFromDomain(role);
   }
 
+  @HandleAfterDelete
+  public void handleAfterDelete(Role role) {
+    cachedUserService.removeCachedRoles();
+  }
+
 }
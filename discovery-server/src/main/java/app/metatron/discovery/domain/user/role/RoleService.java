@@ -18,8 +18,10 @@ import com.google.common.collect.Lists;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -67,6 +69,8 @@ public class RoleService {
       role.setPermissions(permRepository.findByNameInAndDomain(role.getPermissionNames(), type));
     }
 
+    userService.removeCachedRoles();
+
     return roleRepository.save(role);
   }
 
@@ -100,6 +104,8 @@ public class RoleService {
       role.setPermissions(permRepository.findByNameInAndDomain(role.getPermissionNames(), type));
     }
 
+    userService.removeCachedRoles();
+
     return roleRepository.save(persistRole);
   }
 
@@ -132,6 +138,8 @@ public class RoleService {
       }
     }
 
+    userService.removeCachedRoles();
+
     roleRepository.save(role);
   }
 
@@ -140,6 +148,17 @@ public class RoleService {
   }
 
   public List<Role> getRolesByUsername(String username) {
+    return userService.findRoles(username);
+  }
+
+  /**
+   * 사용자 및 사용자가 포함된 그룹의 Role 조회, 캐시 저장을 위해 Permission 까지 로드
+   *
+   * @param username
+   * @return
+   */
+  @Transactional(readOnly = true)
+  public List<Role> loadRolesByUsername(String username) {
 
     List<String> directoryIds = Lists.newArrayList(username);
 
@@ -152,6 +171,10 @@ public class RoleService {
     List<Role> resultRoles = roleRepository.findRoleByDirectoryId(
         directoryIds.toArray(new String[directoryIds.size()]));
 
+    for (Role role : resultRoles) {
+      Hibernate.initialize(role.getPermissions());
+    }
+
     return resultRoles;
   }
 
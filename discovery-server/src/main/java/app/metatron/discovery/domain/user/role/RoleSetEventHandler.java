@@ -22,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
 import org.springframework.data.rest.core.annotation.HandleBeforeCreate;
 import org.springframework.data.rest.core.annotation.HandleBeforeDelete;
 import org.springframework.data.rest.core.annotation.HandleBeforeLinkDelete;
@@ -32,6 +33,7 @@ import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
 import java.util.List;
 import java.util.Set;
 
+import app.metatron.discovery.domain.user.CachedUserService;
 import app.metatron.discovery.domain.workspace.Workspace;
 import app.metatron.discovery.domain.workspace.WorkspaceMemberRepository;
 import app.metatron.discovery.domain.workspace.WorkspaceRepository;
@@ -56,6 +58,9 @@ public class RoleSetEventHandler {
   @Autowired
   WorkspaceMemberRepository workspaceMemberRepository;
 
+  @Autowired
+  CachedUserService cachedUserService;
+
   @HandleBeforeCreate
 //  @PreAuthorize("hasAnyAuthority('PERM_SYSTEM_WRITE_USER') " +
 //          "or hasPermission(#roleSet, 'PERM_WORKSPACE_WRITE_MEMBER')")
@@ -79,6 +84,11 @@ public class RoleSetEventHandler {
   public void handleBeforeSave(RoleSet roleSet) {
   }
 
+  @HandleAfterSave
+  public void handleAfterSave(RoleSet roleSet) {
+    cachedUserService.removeCachedRoles();
+  }
+
   @HandleBeforeLinkSave
 //  @PreAuthorize("hasAnyAuthority('PERM_SYSTEM_WRITE_USER') " +
 //      "or hasPermission(#roleSet, 'PERM_WORKSPACE_WRITE_MEMBER')")
@@ -102,6 +112,8 @@ public class RoleSetEventHandler {
 
   @HandleAfterDelete
   public void handleAfterDelete(RoleSet roleSet) {
+    cachedUserService.removeCachedRoles();
+
     // 연결된 워크스페이스 기본 퍼미션 스키마로 변경, Member의 Role도 defaultRole로 변경
     if (roleSet.getScope() == RoleSet.RoleSetScope.PUBLIC &&
         roleSet.getLinkedWorkspaces() > 0) {
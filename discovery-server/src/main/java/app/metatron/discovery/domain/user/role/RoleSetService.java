@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 
 import app.metatron.discovery.common.exception.BadRequestException;
+import app.metatron.discovery.domain.user.CachedUserService;
 import app.metatron.discovery.domain.workspace.WorkspaceMemberRepository;
 import app.metatron.discovery.domain.workspace.WorkspaceRepository;
 
@@ -34,6 +35,9 @@ import app.metatron.discovery.domain.workspace.WorkspaceRepository;
 @Transactional(readOnly = true)
 public class RoleSetService {
 
+  @Autowired
+  CachedUserService userService;
+
   @Autowired
   RoleRepository roleRepository;
 
@@ -137,6 +141,8 @@ public class RoleSetService {
 
     roleSetRepository.saveAndFlush(persistRoleSet);
 
+    userService.removeCachedRoles();
+
     // mapper 값을 통해 기존 GroupMember 값을 변경
     Map<String, String> mapper = roleSet.getMapper();
 
@@ -0,0 +1,167 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.workbench;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Polls query logs of all running hive statements on a few shared threads. <br/>
+ * Poll interval of a query grows with its age, from logPollInterval up to logPollMaxInterval.
+ */
+@Component
+public class HiveQueryLogPoller implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HiveQueryLogPoller.class);
+
+  @Autowired
+  WorkbenchProperties workbenchProperties;
+
+  private ScheduledExecutorService scheduler;
+
+  private long pollInterval;
+
+  private long maxPollInterval;
+
+  private final AtomicInteger running = new AtomicInteger();
+
+  @PostConstruct
+  public void init() {
+    if (workbenchProperties == null) {
+      workbenchProperties = new WorkbenchProperties();
+    }
+
+    pollInterval = workbenchProperties.getLogPollInterval();
+    maxPollInterval = Math.max(pollInterval, workbenchProperties.getLogPollMaxInterval());
+
+    ThreadFactory factory = new ThreadFactoryBuilder()
+        .setNameFormat("HiveQueryLogPoller-%s")
+        .setDaemon(true)
+        .build();
+    scheduler = Executors.newScheduledThreadPool(workbenchProperties.getLogPollerThreads(), factory);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Start polling logs of the statement
+   *
+   * @return registration to be finished when the statement is executed
+   */
+  public Registration register(HiveQueryLogThread logTask) {
+    Registration registration = new Registration(logTask);
+    running.incrementAndGet();
+    registration.schedule(pollInterval);
+    return registration;
+  }
+
+  /**
+   * Next interval, grows 100ms per second of query age
+   */
+  long nextInterval(long age) {
+    return Math.min(maxPollInterval, pollInterval + age / 10);
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("workbench.hive.log.running", running.get()));
+    return metrics;
+  }
+
+  public class Registration {
+
+    private final HiveQueryLogThread logTask;
+
+    private final long startTime = System.currentTimeMillis();
+
+    private boolean finished;
+
+    private ScheduledFuture<?> future;
+
+    private Registration(HiveQueryLogThread logTask) {
+      this.logTask = logTask;
+    }
+
+    private synchronized void schedule(long delay) {
+      if (finished) {
+        return;
+      }
+
+      try {
+        future = scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        LOGGER.debug("Log poller is shut down.");
+      }
+    }
+
+    private void poll() {
+      boolean hasMoreLogs;
+      synchronized (this) {
+        if (finished) {
+          return;
+        }
+        hasMoreLogs = logTask.poll();
+      }
+
+      if (hasMoreLogs) {
+        schedule(nextInterval(System.currentTimeMillis() - startTime));
+      }
+    }
+
+    /**
+     * Stop polling and send remaining logs
+     */
+    public void finish() {
+      synchronized (this) {
+        if (finished) {
+          return;
+        }
+        finished = true;
+        if (future != null) {
+          future.cancel(false);
+        }
+      }
+
+      running.decrementAndGet();
+      logTask.drain();
+    }
+  }
+}
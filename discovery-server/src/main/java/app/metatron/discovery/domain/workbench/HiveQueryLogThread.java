@@ -16,75 +16,73 @@ package app.metatron.discovery.domain.workbench;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hive.jdbc.HiveStatement;
-import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
-import org.springframework.stereotype.Component;
 
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import app.metatron.discovery.common.ProgressResponse;
-import app.metatron.discovery.util.WebSocketUtils;
+import app.metatron.discovery.common.websocket.ProgressPublisher;
 
 /**
- *
+ * Log task of a hive query, polled by {@link HiveQueryLogPoller}
  */
-@Component
-public class HiveQueryLogThread implements Runnable {
+public class HiveQueryLogThread {
 
   private static Logger LOGGER = LoggerFactory.getLogger(HiveQueryLogThread.class);
 
-  private SimpMessageSendingOperations messagingTemplate;
+  private ProgressPublisher progressPublisher;
   private HiveStatement stmt;
   private String workbenchId;
   private String webSocketId;
   private int queryIndex;
-  private long queryProgressInterval;
   private String totalLog;
   private String queryEditorId;
 
-
-  private HiveQueryLogThread(){
-
-  }
-
-  public HiveQueryLogThread(HiveStatement stmt, String workbenchId, String webSocketId, int queryIndex, String queryEditorId,long queryProgressInterval, SimpMessageSendingOperations messagingTemplate){
+  public HiveQueryLogThread(HiveStatement stmt, String workbenchId, String webSocketId, int queryIndex, String queryEditorId, ProgressPublisher progressPublisher){
     this.stmt = stmt;
     this.workbenchId = workbenchId;
     this.webSocketId = webSocketId;
     this.queryIndex = queryIndex;
     this.queryEditorId = queryEditorId;
-    this.queryProgressInterval = queryProgressInterval;
-    this.messagingTemplate = messagingTemplate;
+    this.progressPublisher = progressPublisher;
   }
 
-  @Override
-  public void run() {
-    try{
-      while (stmt.hasMoreLogs()) {
-        LOGGER.debug("HiveQueryLogThread Tick : {}", DateTime.now().getSecondOfDay());
+  /**
+   * Fetch logs since last fetch once, used by {@link HiveQueryLogPoller}
+   *
+   * @return false, if the statement has no more logs
+   */
+  public boolean poll() {
+    try {
+      if (!stmt.hasMoreLogs()) {
+        return false;
+      }
 
-        //get current log
-        //required hive property in server-side (hive.async.log.enabled=false)
-        List<String> logLists = stmt.getQueryLog();
+      List<String> logLists = stmt.getQueryLog();
+      //no message for empty logs
+      if (logLists != null && !logLists.isEmpty()) {
         sendLogMessage(logLists);
-        Thread.sleep(queryProgressInterval);
       }
-    } catch(SQLException e){
+      return true;
+    } catch (SQLException e) {
       LOGGER.debug(e.getMessage());
-    } catch(InterruptedException e){
-      LOGGER.debug("Log Thread Interrupted..", e);
-    } finally {
-      showRemainingLogsIfAny(stmt);
-//      sendDoneMessage();
+      return false;
     }
   }
 
+  /**
+   * Send logs remaining after the query is finished
+   */
+  public void drain() {
+    showRemainingLogsIfAny(stmt);
+  }
+
   private ProgressResponse parseProgress(List<String> logLists){
     ProgressResponse progress = null;
     for(String log : logLists){
@@ -135,7 +133,30 @@ public class HiveQueryLogThread implements Runnable {
     message.put("queryIndex", queryIndex);
     message.put("queryEditorId", queryEditorId);
 
-    WebSocketUtils.sendMessage(messagingTemplate, webSocketId, "/queue/workbench/" + workbenchId, message);
+    // logs of the query are sent in a batch per interval of publisher
+    progressPublisher.sendBatch(webSocketId, "/queue/workbench/" + workbenchId, queryEditorId + ":" + queryIndex,
+                                message, HiveQueryLogThread::mergeLogMessage);
+  }
+
+  /**
+   * Merge log messages of the query, logs are appended and the latest progress is kept
+   */
+  @SuppressWarnings("unchecked")
+  static Map<String, Object> mergeLogMessage(Map<String, Object> pending, Map<String, Object> message) {
+    List<String> logs = new ArrayList<>();
+    if (pending.get("log") != null) {
+      logs.addAll((List<String>) pending.get("log"));
+    }
+    if (message.get("log") != null) {
+      logs.addAll((List<String>) message.get("log"));
+    }
+
+    Map<String, Object> merged = new HashMap<>(message);
+    merged.put("log", logs);
+    if (merged.get("progress") == null) {
+      merged.put("progress", pending.get("progress"));
+    }
+    return merged;
   }
 
 
@@ -145,7 +166,7 @@ public class HiveQueryLogThread implements Runnable {
     message.put("queryIndex", queryIndex);
     message.put("queryEditorId", queryEditorId);
 
-    WebSocketUtils.sendMessage(messagingTemplate, webSocketId, "/queue/workbench/" + workbenchId, message);
+    progressPublisher.send(webSocketId, "/queue/workbench/" + workbenchId, message);
   }
 
   private void showRemainingLogsIfAny(Statement statement) {
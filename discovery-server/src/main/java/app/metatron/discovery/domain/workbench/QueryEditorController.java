@@ -142,7 +142,7 @@ public class QueryEditorController {
 
     //3. 쿼리 실행 서비스 호출
     List<QueryResult> queryResults = queryEditorService.getQueryResult(queryEditor, dataConnection, workbench,
-            query, webSocketId, database);
+            query, webSocketId, database, queryRunRequest.isParallel());
 
 
     //Hive Hook에서 Update할때 버전이 안맞아 업데이트 에러방지
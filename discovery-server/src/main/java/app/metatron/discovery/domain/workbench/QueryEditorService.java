@@ -14,6 +14,9 @@
 
 package app.metatron.discovery.domain.workbench;
 
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import app.metatron.discovery.domain.workbench.util.AvaticaQueryEncoder;
 import org.apache.calcite.avatica.AvaticaStatement;
 import org.apache.commons.lang3.StringUtils;
@@ -23,7 +26,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.support.JdbcUtils;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 import org.supercsv.cellprocessor.Optional;
 import org.supercsv.cellprocessor.ParseBigDecimal;
@@ -37,9 +39,12 @@ import org.supercsv.io.ICsvMapReader;
 import org.supercsv.prefs.CsvPreference;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.sql.Connection;
@@ -51,27 +56,36 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.persistence.EntityManager;
 
 import app.metatron.discovery.common.GlobalObjectMapper;
 import app.metatron.discovery.common.datasource.DataType;
 import app.metatron.discovery.common.exception.ResourceNotFoundException;
+import app.metatron.discovery.common.websocket.ProgressPublisher;
 import app.metatron.discovery.domain.audit.Audit;
 import app.metatron.discovery.domain.audit.AuditRepository;
 import app.metatron.discovery.domain.dataconnection.DataConnection;
 import app.metatron.discovery.domain.dataconnection.DataConnectionHelper;
 import app.metatron.discovery.domain.datasource.Field;
+import app.metatron.discovery.domain.datasource.connection.jdbc.CsvRowIndex;
 import app.metatron.discovery.domain.datasource.connection.jdbc.JdbcConnectionService;
 import app.metatron.discovery.domain.workbench.util.WorkbenchDataSource;
 import app.metatron.discovery.domain.workbench.util.WorkbenchDataSourceManager;
 import app.metatron.discovery.extension.dataconnection.jdbc.accessor.JdbcAccessor;
 import app.metatron.discovery.extension.dataconnection.jdbc.dialect.JdbcDialect;
 import app.metatron.discovery.util.AuthUtils;
-import app.metatron.discovery.util.WebSocketUtils;
 
 import static app.metatron.discovery.domain.workbench.WorkbenchErrorCodes.CSV_FILE_NOT_FOUND;
 
@@ -80,6 +94,13 @@ public class QueryEditorService {
 
   private static Logger LOGGER = LoggerFactory.getLogger(QueryEditorService.class);
 
+  /**
+   * Keywords which write data or change the session, queries containing them are not executed in parallel
+   */
+  private static final Set<String> NOT_PARALLEL_KEYWORDS = Sets.newHashSet(
+      "insert", "update", "delete", "merge", "upsert", "into", "create", "drop", "alter", "truncate",
+      "grant", "revoke", "set", "use", "call", "exec", "execute", "lock", "load");
+
   @Autowired
   private WorkbenchProperties workbenchProperties;
 
@@ -93,7 +114,7 @@ public class QueryEditorService {
   private JdbcConnectionService jdbcConnectionService;
 
   @Autowired
-  public SimpMessageSendingOperations messagingTemplate;
+  ProgressPublisher progressPublisher;
 
   @Autowired
   EntityManager entityManager;
@@ -101,6 +122,27 @@ public class QueryEditorService {
   @Autowired
   WorkbenchDataSourceManager workbenchDataSourceManager;
 
+  @Autowired
+  HiveQueryLogPoller hiveQueryLogPoller;
+
+  private ExecutorService parallelQueryExecutor;
+
+  @PostConstruct
+  public void init() {
+    ThreadFactory factory = new ThreadFactoryBuilder()
+        .setNameFormat("WorkbenchParallelQuery-%s")
+        .setDaemon(true)
+        .build();
+    parallelQueryExecutor = Executors.newFixedThreadPool(workbenchProperties.getMaxParallelQueries(), factory);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if(parallelQueryExecutor != null){
+      parallelQueryExecutor.shutdownNow();
+    }
+  }
+
   public QueryStatus getQueryStatus(String webSocketId) {
     WorkbenchDataSource dataSourceInfo = workbenchDataSourceManager.findDataSourceInfo(webSocketId);
     return dataSourceInfo == null ? null : dataSourceInfo.getQueryStatus();
@@ -116,6 +158,18 @@ public class QueryEditorService {
   public List<QueryResult> getQueryResult(
           QueryEditor queryEditor, DataConnection jdbcDataConnection,
           Workbench workbench, String query, String webSocketId, String databaseName) {
+
+    return getQueryResult(queryEditor, jdbcDataConnection, workbench, query, webSocketId, databaseName, false);
+  }
+
+  /**
+   * Execute queries of editor
+   *
+   * @param parallel if true, independent select queries are executed on other connections at the same time
+   */
+  public List<QueryResult> getQueryResult(
+          QueryEditor queryEditor, DataConnection jdbcDataConnection,
+          Workbench workbench, String query, String webSocketId, String databaseName, boolean parallel) {
     List<QueryResult> queryResults = new ArrayList<>();
 
     //1. 쿼리 목록으로 변환
@@ -132,6 +186,14 @@ public class QueryEditorService {
     JdbcAccessor jdbcDataAccessor = DataConnectionHelper.getAccessor(jdbcDataConnection);
     JdbcDialect jdbcDialect = jdbcDataAccessor.getDialect();
 
+    boolean runParallel = parallel && isParallelizable(queryList, jdbcDataConnection);
+    List<Future<QueryResult>> parallelFutures = new ArrayList<>();
+    List<QueryResult> parallelFailResults = new ArrayList<>();
+    if(runParallel){
+      LOGGER.debug("Execute {} queries in parallel", queryList.size());
+      dataSourceInfo.setQueryStatus(QueryStatus.RUNNING);
+    }
+
     int queryIndex = 0;
     while(!queryList.isEmpty()){
       String substitutedQuery = queryList.remove(0);
@@ -169,14 +231,38 @@ public class QueryEditorService {
 
       entityManager.clear();
 
-      QueryResult queryResult = executeQuery(dataSourceInfo, substitutedQuery, workbench.getId(), webSocketId, jdbcDataConnection,
-                                             jdbcDialect, queryHistoryId, auditId, queryIndex, queryEditor.getId());
-      queryResults.add(queryResult);
+      if(runParallel){
+        final String parallelQuery = substitutedQuery;
+        final int parallelQueryIndex = queryIndex;
+        parallelFutures.add(parallelQueryExecutor.submit(
+            () -> executeParallelQuery(dataSourceInfo, parallelQuery, workbench.getId(), webSocketId, jdbcDataConnection,
+                                       jdbcDialect, databaseName, queryHistoryId, auditId, parallelQueryIndex, queryEditor.getId())));
+        parallelFailResults.add(createFailResult("Fail to execute query in parallel.", substitutedQuery,
+                                                 queryHistoryId, auditId, queryEditor.getId()));
+      } else {
+        QueryResult queryResult = executeQuery(dataSourceInfo, substitutedQuery, workbench.getId(), webSocketId, jdbcDataConnection,
+                                               jdbcDialect, queryHistoryId, auditId, queryIndex, queryEditor.getId(), null);
+        queryResults.add(queryResult);
+      }
 
       //increase query index
       queryIndex++;
     }
 
+    //wait for parallel queries in order of queries
+    for(int i = 0; i < parallelFutures.size(); i++){
+      try {
+        queryResults.add(parallelFutures.get(i).get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        parallelFutures.get(i).cancel(true);
+        queryResults.add(parallelFailResults.get(i));
+      } catch (ExecutionException e) {
+        LOGGER.error("Parallel query execute exception : ", e.getCause());
+        queryResults.add(parallelFailResults.get(i));
+      }
+    }
+
     dataSourceInfo.setQueryStatus(QueryStatus.IDLE);
 
     //3. Query History Update
@@ -306,17 +392,135 @@ public class QueryEditorService {
     return returnMap;
   }
 
+  /**
+   * Only select queries of connection with its own credential are executed in parallel,
+   * other queries can depend on the result or session of previous query.
+   */
+  private boolean isParallelizable(List<String> queryList, DataConnection jdbcDataConnection){
+    if(queryList.size() < 2){
+      return false;
+    }
+
+    if(jdbcDataConnection.getAuthenticationType() != null
+        && jdbcDataConnection.getAuthenticationType() != DataConnection.AuthenticationType.MANUAL){
+      return false;
+    }
+
+    for(String query : queryList){
+      if(!isReadOnlyQuery(query)){
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Whether the query is a SELECT (or WITH ... SELECT) which does not write data nor change the session.
+   * Comments and literals are removed before checking keywords.
+   */
+  static boolean isReadOnlyQuery(String query){
+    String[] tokens = StringUtils.split(StringUtils.lowerCase(stripCommentsAndLiterals(query)), " \t\r\n;,.()=<>+-*/%|!'\"`[]");
+    if(tokens == null || tokens.length == 0){
+      return false;
+    }
+
+    if(!"select".equals(tokens[0]) && !"with".equals(tokens[0])){
+      return false;
+    }
+
+    for(String token : tokens){
+      if(NOT_PARALLEL_KEYWORDS.contains(token)){
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Replace comments (-- and block comments), quoted literals and identifiers with a space.
+   */
+  static String stripCommentsAndLiterals(String query){
+    if(query == null){
+      return "";
+    }
+
+    StringBuilder builder = new StringBuilder(query.length());
+    int length = query.length();
+    int i = 0;
+    while(i < length){
+      char c = query.charAt(i);
+      if(c == '-' && i + 1 < length && query.charAt(i + 1) == '-'){
+        while(i < length && query.charAt(i) != '\n'){
+          i++;
+        }
+        builder.append(' ');
+      } else if(c == '/' && i + 1 < length && query.charAt(i + 1) == '*'){
+        int end = query.indexOf("*/", i + 2);
+        i = end < 0 ? length : end + 2;
+        builder.append(' ');
+      } else if(c == '\'' || c == '"' || c == '`'){
+        i++;
+        while(i < length && query.charAt(i) != c){
+          if(query.charAt(i) == '\\'){
+            i++;
+          }
+          i++;
+        }
+        i++;
+        builder.append(' ');
+      } else {
+        builder.append(c);
+        i++;
+      }
+    }
+    return builder.toString();
+  }
+
+  private QueryResult executeParallelQuery(WorkbenchDataSource dataSourceInfo, String query, String workbenchId,
+                                           String webSocketId, DataConnection jdbcDataConnection, JdbcDialect jdbcDialect,
+                                           String databaseName, long queryHistoryId, String auditId, int queryIndex,
+                                           String queryEditorId){
+    Connection connection;
+    try{
+      // connection of the data connection is borrowed from the pool, and returned when closed
+      JdbcAccessor jdbcDataAccessor = DataConnectionHelper.getAccessor(jdbcDataConnection);
+      connection = StringUtils.isEmpty(databaseName)
+          ? jdbcDataAccessor.getConnection()
+          : jdbcDataAccessor.getConnection(databaseName, true);
+    } catch (Exception e){
+      LOGGER.error("Fail to get connection for parallel query : ", e);
+      return createFailResult(e.getMessage(), query, queryHistoryId, auditId, queryEditorId);
+    }
+
+    return executeQuery(dataSourceInfo, query, workbenchId, webSocketId, jdbcDataConnection, jdbcDialect,
+                        queryHistoryId, auditId, queryIndex, queryEditorId, connection);
+  }
+
+  private QueryResult createFailResult(String message, String query, long queryHistoryId, String auditId, String queryEditorId){
+    QueryResult queryResult = createMessageResult(message, query, QueryResult.QueryResultStatus.FAIL);
+    queryResult.setStartDateTime(DateTime.now());
+    queryResult.setFinishDateTime(DateTime.now());
+    queryResult.setAuditId(auditId);
+    queryResult.setQueryHistoryId(queryHistoryId);
+    queryResult.setQueryEditorId(queryEditorId);
+    return queryResult;
+  }
+
+  /**
+   * @param parallelConnection connection for parallel query, primary connection of workbench is used if null
+   */
   private QueryResult executeQuery(WorkbenchDataSource dataSourceInfo, String query, String workbenchId, String webSocketId,
                                    DataConnection jdbcDataConnection, JdbcDialect jdbcDialect, long queryHistoryId,
-                                   String auditId, int queryIndex, String queryEditorId){
+                                   String auditId, int queryIndex, String queryEditorId, Connection parallelConnection){
 
     ResultSet resultSet = null;
     QueryResult queryResult = null;
     Statement stmt = null;
     Connection connection = null;
-    Thread logThread = null;
+    HiveQueryLogPoller.Registration logRegistration = null;
 
     if(isComment(query)){
+      JdbcUtils.closeConnection(parallelConnection);
       queryResult = createMessageResult("OK", query, QueryResult.QueryResultStatus.SUCCESS);
       queryResult.setStartDateTime(DateTime.now());
       queryResult.setFinishDateTime(DateTime.now());
@@ -334,18 +538,23 @@ public class QueryEditorService {
     try {
       sendWebSocketMessage(WorkbenchWebSocketController.WorkbenchWebSocketCommand.GET_CONNECTION, queryIndex,
               queryEditorId, workbenchId, webSocketId);
-      connection = dataSourceInfo.getPrimaryConnection();
+      connection = parallelConnection != null ? parallelConnection : dataSourceInfo.getPrimaryConnection();
 
       sendWebSocketMessage(WorkbenchWebSocketController.WorkbenchWebSocketCommand.CREATE_STATEMENT, queryIndex,
               queryEditorId, workbenchId, webSocketId);
       stmt = connection.createStatement();
       stmt.setFetchSize(workbenchProperties.getMaxFetchSize());
 
-      //Query 실행 상태 RUNNING로 전환
-      dataSourceInfo.setQueryStatus(QueryStatus.RUNNING);
-      dataSourceInfo.setCurrentStatement(stmt);
-      dataSourceInfo.setQueryHistoryId(queryHistoryId);
-      dataSourceInfo.setAuditId(auditId);
+      if(parallelConnection == null) {
+        //Query 실행 상태 RUNNING로 전환
+        dataSourceInfo.setQueryStatus(QueryStatus.RUNNING);
+        dataSourceInfo.setCurrentStatement(stmt);
+        dataSourceInfo.setQueryHistoryId(queryHistoryId);
+        dataSourceInfo.setAuditId(auditId);
+      } else {
+        //status of parallel queries is changed by caller
+        dataSourceInfo.getParallelStatements().add(stmt);
+      }
 
       stmt.setMaxRows(maxResultSize);
 
@@ -363,21 +572,21 @@ public class QueryEditorService {
         //Set InPlaceProgress false (generate progress log without logging level verbose)
         setHiveInPlaceLog(connection, false);
 
-        //create hive query log print thread
-        logThread = new Thread(
+        //poll hive query log on shared poller
+        logRegistration = hiveQueryLogPoller.register(
                 new HiveQueryLogThread((HiveStatement) stmt, workbenchId, webSocketId, queryIndex, queryEditorId,
-                        1000L, messagingTemplate)
+                        progressPublisher)
         );
 
-        logThread.start();
         boolean hasResult = ((HiveStatement) stmt).execute(query);
-        logThread.interrupt();
+        logRegistration.finish();
 
         if(hasResult){
           sendWebSocketMessage(WorkbenchWebSocketController.WorkbenchWebSocketCommand.GET_RESULTSET, queryIndex,
                   queryEditorId, workbenchId, webSocketId);
           resultSet = stmt.getResultSet();
-          queryResult = getQueryResult(jdbcDialect, resultSet, query, null, defaultResultSize, queryEditorId, queryIndex);
+          queryResult = getQueryResult(jdbcDialect, resultSet, query, null, defaultResultSize, queryEditorId, queryIndex,
+                                       workbenchId, webSocketId);
         } else {
           queryResult = createMessageResult("OK", query, QueryResult.QueryResultStatus.SUCCESS);
         }
@@ -391,7 +600,8 @@ public class QueryEditorService {
           sendWebSocketMessage(WorkbenchWebSocketController.WorkbenchWebSocketCommand.GET_RESULTSET, queryIndex,
                   queryEditorId, workbenchId, webSocketId);
           resultSet = stmt.getResultSet();
-          queryResult = getQueryResult(jdbcDialect, resultSet, query, null, defaultResultSize, queryEditorId, queryIndex);
+          queryResult = getQueryResult(jdbcDialect, resultSet, query, null, defaultResultSize, queryEditorId, queryIndex,
+                                       workbenchId, webSocketId);
         } else {
           queryResult = createMessageResult("OK", query, QueryResult.QueryResultStatus.SUCCESS);
         }
@@ -407,10 +617,8 @@ public class QueryEditorService {
       LOGGER.error("Query Execute Exception : ", e);
       queryResult = createMessageResult(e.getMessage(), query, QueryResult.QueryResultStatus.FAIL);
     } finally {
-      if (logThread != null) {
-        if (!logThread.isInterrupted()) {
-          logThread.interrupt();
-        }
+      if (logRegistration != null) {
+        logRegistration.finish();
       }
 
       LOGGER.debug("resultset close");
@@ -420,9 +628,13 @@ public class QueryEditorService {
       LOGGER.debug("connection close");
       JdbcUtils.closeConnection(connection);
 
-      //Query 실행 상태 IDLE로 전환
-      dataSourceInfo.setQueryStatus(QueryStatus.IDLE);
-      dataSourceInfo.setCurrentStatement(null);
+      if(parallelConnection == null) {
+        //Query 실행 상태 IDLE로 전환
+        dataSourceInfo.setQueryStatus(QueryStatus.IDLE);
+        dataSourceInfo.setCurrentStatement(null);
+      } else if(stmt != null) {
+        dataSourceInfo.getParallelStatements().remove(stmt);
+      }
 
       //종료시간
       DateTime finishDateTime = DateTime.now();
@@ -443,7 +655,8 @@ public class QueryEditorService {
   }
   
   private QueryResult getQueryResult(JdbcDialect jdbcDialect, ResultSet resultSet, String query, String tempTable,
-                                     int pageSize, String queryEditorId, int queryIndex) throws SQLException{
+                                     int pageSize, String queryEditorId, int queryIndex,
+                                     String workbenchId, String webSocketId) throws SQLException{
     //1. create CSV File with header
     String csvBaseDir = workbenchProperties.getTempCSVPath();
     if(!csvBaseDir.endsWith(File.separator)){
@@ -465,16 +678,32 @@ public class QueryEditorService {
                .forEach(field -> field.setType(DataType.STRING));
     }
 
-    //3. write csv
+    //3. write csv, the first page is sent to websocket as soon as it's written
+    final String csvFilePath = csvBaseDir + tempFileName;
+    Runnable previewCallback = () -> {
+      try {
+        Map<String, Object> preview = new HashMap<>();
+        preview.put("fields", fieldList);
+        preview.put("data", readCsv(csvFilePath, fieldList, 0, pageSize));
+        preview.put("csvFilePath", tempFileName);
+        sendWebSocketMessage(WorkbenchWebSocketController.WorkbenchWebSocketCommand.PREVIEW, queryIndex,
+                queryEditorId, workbenchId, webSocketId, preview);
+      } catch (Exception e) {
+        LOGGER.warn("Fail to send preview of result : {}", e.getMessage());
+      }
+    };
+
     int rowNumber = jdbcConnectionService.writeResultSetToCSV(
             jdbcDialect,
             resultSet,
-            csvBaseDir + tempFileName,
-            fieldList.stream().map(field -> field.getName()).collect(Collectors.toList()));
+            csvFilePath,
+            fieldList.stream().map(field -> field.getName()).collect(Collectors.toList()),
+            pageSize,
+            previewCallback);
 
 
     //4. get data list from csv file
-    List<Map<String, Object>> dataList = readCsv(csvBaseDir + tempFileName, fieldList, 0, pageSize);
+    List<Map<String, Object>> dataList = readCsv(csvFilePath, fieldList, 0, pageSize);
 
     //5. generate Query Result
     QueryResult queryResult = new QueryResult();
@@ -524,6 +753,14 @@ public class QueryEditorService {
         entityManager.clear();
         
         LOGGER.debug("Removed remain query all");
+        for(Statement parallelStatement : dataSourceInfo.getParallelStatements()){
+          try {
+            parallelStatement.cancel();
+          } catch (SQLException e) {
+            LOGGER.debug("Fail to cancel parallel query : {}", e.getMessage());
+          }
+        }
+
         stmt = dataSourceInfo.getCurrentStatement();
         if(stmt != null){
           ResultSet rs = stmt.getResultSet();
@@ -604,31 +841,62 @@ public class QueryEditorService {
 
   public void sendWebSocketMessage(WorkbenchWebSocketController.WorkbenchWebSocketCommand command, int queryIndex,
                                    String queryEditorId, String workbenchId, String webSocketId){
+    sendWebSocketMessage(command, queryIndex, queryEditorId, workbenchId, webSocketId, null);
+  }
+
+  public void sendWebSocketMessage(WorkbenchWebSocketController.WorkbenchWebSocketCommand command, int queryIndex,
+                                   String queryEditorId, String workbenchId, String webSocketId,
+                                   Map<String, Object> contents){
     Map<String, Object> message = new HashMap<>();
+    if(contents != null){
+      message.putAll(contents);
+    }
     message.put("command", command);
     message.put("queryIndex", queryIndex);
     message.put("queryEditorId", queryEditorId);
 
-    WebSocketUtils.sendMessage(messagingTemplate, webSocketId, "/queue/workbench/" + workbenchId, message);
+    progressPublisher.send(webSocketId, "/queue/workbench/" + workbenchId, message);
   }
 
   public List<Map<String, Object>> readCsv(String fileName, List<Field> fieldList, int index, int length) {
     ICsvMapReader mapReader = null;
     List<Map<String, Object>> returnList = new ArrayList<>();
     try {
-      mapReader = new CsvMapReader(new FileReader(fileName)
-              , new CsvPreference.Builder('"', ',', "\r\n")
+      CsvPreference preference = new CsvPreference.Builder('"', ',', "\r\n")
               .ignoreEmptyLines(false)
-              .build());
+              .build();
 
       // the header columns are used as the keys to the Map
-      final String[] header = mapReader.getHeader(true);
+      String[] header;
+      int row = 0;
+
+      // seek to the nearest indexed row of the page, if row index of the file exists
+      CsvRowIndex rowIndex = index > 0 ? CsvRowIndex.read(fileName) : null;
+      int indexedRow = rowIndex == null ? -1 : rowIndex.nearestRow(index);
+      if(indexedRow > 0) {
+        try(ICsvMapReader headerReader = new CsvMapReader(new FileReader(fileName), preference)) {
+          header = headerReader.getHeader(true);
+        }
+
+        FileInputStream inputStream = new FileInputStream(fileName);
+        inputStream.getChannel().position(rowIndex.offsetOf(indexedRow));
+        mapReader = new CsvMapReader(new InputStreamReader(inputStream, Charset.defaultCharset()), preference);
+        row = indexedRow;
+      } else {
+        mapReader = new CsvMapReader(new FileReader(fileName), preference);
+        header = mapReader.getHeader(true);
+      }
 
+      // rows before the page are skipped without converting values
+      while(row < index && mapReader.read(header) != null) {
+        row++;
+      }
+
+      CellProcessor[] processors = getProcessors(fieldList);
       Map<String, Object> rowMap;
-      while( (rowMap = mapReader.read(header, getProcessors(fieldList))) != null && mapReader.getRowNumber() - 1 < index + length + 1) {
-        if(mapReader.getRowNumber() - 1 > index){
-          returnList.add(rowMap);
-        }
+      while(row < index + length && (rowMap = mapReader.read(header, processors)) != null) {
+        returnList.add(rowMap);
+        row++;
       }
     } catch (FileNotFoundException e){
       throw new WorkbenchException(CSV_FILE_NOT_FOUND, "CSV File Not Founded.", e);
@@ -22,6 +22,7 @@ public class QueryRunRequest {
   int numRows;
   int runIndex = -1;
   int retryQueryResultOrder = -1;
+  boolean parallel;
 
   public String getQuery() {
     return query;
@@ -71,6 +72,14 @@ public class QueryRunRequest {
     this.runIndex = runIndex;
   }
 
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
   public boolean isFirstRunInQueryEditor() {
     if(this.getRunIndex() == 0 && this.getRetryQueryResultOrder() == -1) {
       return true;
@@ -96,6 +105,7 @@ public class QueryRunRequest {
         ", numRows=" + numRows +
         ", runIndex=" + runIndex +
         ", retryQueryResultOrder=" + retryQueryResultOrder +
+        ", parallel=" + parallel +
         '}';
   }
 }
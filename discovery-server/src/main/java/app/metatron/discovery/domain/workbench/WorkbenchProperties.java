@@ -27,6 +27,10 @@ public class WorkbenchProperties {
   private String tempCSVPath = "/tmp";
   private String tempCSVExpireDuration = "1";
   private String tempDataTableHdfsPath = "/tmp/metatron";
+  private Integer maxParallelQueries = 4;
+  private Integer logPollerThreads = 2;
+  private Long logPollInterval = 1000L;
+  private Long logPollMaxInterval = 5000L;
 
   public static String TEMP_SCHEMA_PREFIX = "temp_";
   public static String TEMP_TABLE_PREFIX = "wb_";
@@ -87,4 +91,36 @@ public class WorkbenchProperties {
   public void setTempCSVExpireDuration(String tempCSVExpireDuration) {
     this.tempCSVExpireDuration = tempCSVExpireDuration;
   }
+
+  public Integer getMaxParallelQueries() {
+    return maxParallelQueries;
+  }
+
+  public void setMaxParallelQueries(Integer maxParallelQueries) {
+    this.maxParallelQueries = maxParallelQueries;
+  }
+
+  public Integer getLogPollerThreads() {
+    return logPollerThreads;
+  }
+
+  public void setLogPollerThreads(Integer logPollerThreads) {
+    this.logPollerThreads = logPollerThreads;
+  }
+
+  public Long getLogPollInterval() {
+    return logPollInterval;
+  }
+
+  public void setLogPollInterval(Long logPollInterval) {
+    this.logPollInterval = logPollInterval;
+  }
+
+  public Long getLogPollMaxInterval() {
+    return logPollMaxInterval;
+  }
+
+  public void setLogPollMaxInterval(Long logPollMaxInterval) {
+    this.logPollMaxInterval = logPollMaxInterval;
+  }
 }
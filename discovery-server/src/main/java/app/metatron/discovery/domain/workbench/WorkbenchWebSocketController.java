@@ -37,7 +37,7 @@ public class WorkbenchWebSocketController {
   private static Logger LOGGER = LoggerFactory.getLogger(WorkbenchWebSocketController.class);
 
   enum WorkbenchWebSocketCommand{
-    CONNECT, DISCONNECT, LOG, GET_CONNECTION, CREATE_STATEMENT, EXECUTE_QUERY, GET_RESULTSET, DONE
+    CONNECT, DISCONNECT, LOG, GET_CONNECTION, CREATE_STATEMENT, EXECUTE_QUERY, GET_RESULTSET, PREVIEW, DONE
   }
 
   @Autowired
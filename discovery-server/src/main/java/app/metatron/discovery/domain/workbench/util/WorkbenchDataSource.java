@@ -25,6 +25,8 @@ import java.sql.Connection;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import app.metatron.discovery.domain.dataconnection.DataConnectionHelper;
 import app.metatron.discovery.domain.dataconnection.dialect.HiveDialect;
@@ -43,6 +45,7 @@ public class WorkbenchDataSource {
   private QueryStatus queryStatus = QueryStatus.IDLE;
   private String applicationId;
   private Statement currentStatement;
+  private Set<Statement> parallelStatements = ConcurrentHashMap.newKeySet();
   private Long queryHistoryId;
   private String auditId;
 
@@ -140,6 +143,13 @@ public class WorkbenchDataSource {
     this.currentStatement = currentStatement;
   }
 
+  /**
+   * Statements running on other connections, when queries are executed in parallel.
+   */
+  public Set<Statement> getParallelStatements() {
+    return parallelStatements;
+  }
+
   public List<String> getQueryList() {
     return queryList;
   }
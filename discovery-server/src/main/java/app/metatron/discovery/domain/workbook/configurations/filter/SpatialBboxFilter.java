@@ -60,6 +60,22 @@ public class SpatialBboxFilter extends SpatialFilter {
     return new double[]{Double.parseDouble(uppers[0]), Double.parseDouble(lowers[0])};
   }
 
+  /**
+   * Expand the box to tiles of zoom level, so the box is not changed by small move of map.
+   */
+  public SpatialBboxFilter alignToTile(int zoom) {
+    double tileSize = 360.0 / Math.pow(2, zoom);
+
+    double minLon = Math.max(-180.0, Math.floor(Double.parseDouble(lowers[0]) / tileSize) * tileSize);
+    double minLat = Math.max(-90.0, Math.floor(Double.parseDouble(lowers[1]) / tileSize) * tileSize);
+    double maxLon = Math.min(180.0, Math.ceil(Double.parseDouble(uppers[0]) / tileSize) * tileSize);
+    double maxLat = Math.min(90.0, Math.ceil(Double.parseDouble(uppers[1]) / tileSize) * tileSize);
+
+    return new SpatialBboxFilter(dataSource, field, ref,
+                                 minLon + " " + minLat, maxLon + " " + maxLat,
+                                 operation.name());
+  }
+
   public String getLowerCorner() {
     return lowerCorner;
   }
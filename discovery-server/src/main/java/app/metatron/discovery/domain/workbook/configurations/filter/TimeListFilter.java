@@ -22,8 +22,15 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 import app.metatron.discovery.domain.datasource.Field;
 import app.metatron.discovery.domain.workbook.configurations.format.TimeFieldFormat;
@@ -93,6 +100,37 @@ public class TimeListFilter extends TimeFilter {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Intervals covering the selected values, used to narrow the query intervals. <br/>
+   * Returns empty list, if values are discontinuous or can not be parsed.
+   */
+  @JsonIgnore
+  public List<String> getCoveringIntervals() {
+    if (CollectionUtils.isEmpty(valueList) || BooleanUtils.isTrue(discontinuous)) {
+      return Collections.emptyList();
+    }
+
+    if (timeUnit == null || timeUnit == TimeFieldFormat.TimeUnit.NONE || timeUnit == TimeFieldFormat.TimeUnit.QUARTER) {
+      return Collections.emptyList();
+    }
+
+    try {
+      DateTimeFormatter formatter = DateTimeFormat.forPattern(getTimeFormat())
+                                                  .withZone(DateTimeZone.forID(timeZone))
+                                                  .withLocale(Locale.forLanguageTag(locale));
+
+      return valueList.stream()
+                      .map(value -> {
+                        DateTime startDateTime = DateTime.parse(value, formatter);
+                        DateTime endDateTime = timeUnit.maxDateTimeByUnit(startDateTime).plusMillis(1);
+                        return startDateTime + "/" + endDateTime;
+                      })
+                      .collect(Collectors.toList());
+    } catch (Exception e) {
+      return Collections.emptyList();
+    }
+  }
+
   @Override
   public String getExpression(String columnName, Field datasourceField) {
     if (CollectionUtils.isEmpty(valueList)) {
@@ -38,8 +38,20 @@ public class GeoShelf implements Shelf {
    */
   List<MapViewLayer> layers;
 
+  /**
+   * Zoom level of map (optional), precision of hash view and viewport are adjusted to the level
+   */
+  Integer zoom;
+
+  public GeoShelf(List<Object> layers) {
+    this(layers, null);
+  }
+
   @JsonCreator
-  public GeoShelf(@JsonProperty("layers") List<Object> layers) {
+  public GeoShelf(@JsonProperty("layers") List<Object> layers,
+                  @JsonProperty("zoom") Integer zoom) {
+
+    this.zoom = zoom;
 
     // for backward compatibility ex) {"type":"geo","layers":[[]]}
     if (CollectionUtils.isEmpty(layers)) {
@@ -92,10 +104,15 @@ public class GeoShelf implements Shelf {
     return layers;
   }
 
+  public Integer getZoom() {
+    return zoom;
+  }
+
   @Override
   public String toString() {
     return "GeoShelf{" +
         "layers=" + layers +
+        ", zoom=" + zoom +
         '}';
   }
 
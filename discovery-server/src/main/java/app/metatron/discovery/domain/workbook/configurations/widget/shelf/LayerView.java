@@ -82,6 +82,62 @@ public interface LayerView extends Serializable {
       }
     }
 
+    /**
+     * Width of tile at zoom level 0 (km), the equator of web mercator
+     */
+    private static final double TILE_WIDTH_KM = 40075.017;
+
+    /**
+     * Width of geohash cell at the equator (km) per precision 1 ~ 12
+     */
+    private static final double[] GEOHASH_CELL_KM = {
+        5009.4, 1252.3, 156.5, 39.1, 4.89, 1.22, 0.153, 0.0382, 0.00477, 0.00119, 0.000149, 0.0000372
+    };
+
+    /**
+     * Width of h3 cell (twice the average edge length, km) per resolution 1 ~ 12
+     */
+    private static final double[] H3_CELL_KM = {
+        837.4, 316.5, 119.6, 45.2, 17.1, 6.46, 2.44, 0.922, 0.348, 0.132, 0.0498, 0.0188
+    };
+
+    /**
+     * Width of geohex v3 cell (km) per level 1 ~ 12, 2 * 20037.508 / 3^(level + 3)
+     */
+    private static final double[] GEOHEX_CELL_KM = {
+        494.75, 164.92, 54.97, 18.32, 6.108, 2.036, 0.6786, 0.2262, 0.07540, 0.02513, 0.008378, 0.002793
+    };
+
+    /**
+     * Adjust precision to zoom level of map, the cell size closest to 1/8 of the tile width is chosen.
+     */
+    public void adjustPrecision(int zoom) {
+      double[] cellSizes;
+      switch (method) {
+        case "geohash":
+          cellSizes = GEOHASH_CELL_KM;
+          break;
+        case "h3":
+          cellSizes = H3_CELL_KM;
+          break;
+        default:
+          cellSizes = GEOHEX_CELL_KM;
+      }
+
+      double target = TILE_WIDTH_KM / Math.pow(2, zoom) / 8;
+
+      int adjusted = 1;
+      double minDistance = Double.MAX_VALUE;
+      for (int i = 0; i < cellSizes.length; i++) {
+        double distance = Math.abs(Math.log(cellSizes[i] / target));
+        if (distance < minDistance) {
+          minDistance = distance;
+          adjusted = i + 1;
+        }
+      }
+      this.precision = adjusted;
+    }
+
     public String toHashExpression(String fieldName) {
 
       List<String> pointKeyList = LogicalType.GEO_POINT.getGeoPointKeys();
@@ -50,13 +50,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -68,6 +71,8 @@ import app.metatron.discovery.domain.datasource.DataSourceAlias;
 import app.metatron.discovery.domain.datasource.DataSourceAliasRepository;
 import app.metatron.discovery.domain.datasource.data.DataSourceValidator;
 import app.metatron.discovery.domain.datasource.data.SearchQueryRequest;
+import app.metatron.discovery.domain.datasource.data.export.CsvResultExporter;
+import app.metatron.discovery.domain.datasource.data.export.ResultExporter;
 import app.metatron.discovery.domain.datasource.data.forward.CsvResultForward;
 import app.metatron.discovery.domain.datasource.data.forward.ExcelResultForward;
 import app.metatron.discovery.domain.datasource.data.result.FileResultFormat;
@@ -97,6 +102,8 @@ import static java.util.stream.Collectors.toList;
 @RepositoryRestController
 public class WidgetController {
 
+  private static final int BUFFER_SIZE = 8192;
+
   @Autowired
   WidgetRepository widgetRepository;
 
@@ -276,6 +283,7 @@ public class WidgetController {
                                      @RequestParam(value = "original", required = false) boolean isOriginal,
                                      @RequestParam(value = "limit", required = false) Integer limit,
                                      @RequestParam(value = "maxRowsPerSheet", defaultValue = "1000000") Integer maxRowsPerSheet,
+                                     @RequestParam(value = "streaming", defaultValue = "true") boolean streaming,
                                      @RequestBody WidgetConfiguration configuration) throws IOException {
 
     if(!(configuration instanceof PageWidgetConfiguration)) {
@@ -299,7 +307,12 @@ public class WidgetController {
 
     String accept = resquest.getHeader("accept");
 
-    downloadData(isOriginal ? "original_data" : "chart_data", accept, searchQuery, maxRowsPerSheet, response);
+    // xlsx 는 zip 컨테이너가 마지막에 기록되므로 streaming 은 csv 인 경우만 지원
+    if (streaming && !"application/vnd.ms-excel".equals(accept)) {
+      exportData(isOriginal ? "original_data" : "chart_data", accept, searchQuery, resquest, response);
+    } else {
+      downloadData(isOriginal ? "original_data" : "chart_data", accept, searchQuery, maxRowsPerSheet, response);
+    }
 
   }
 
@@ -321,6 +334,7 @@ public class WidgetController {
                                      @RequestParam(value = "original", required = false) boolean isOriginal,
                                      @RequestParam(value = "limit", required = false) Integer limit,
                                      @RequestParam(value = "maxRowsPerSheet", defaultValue = "1000000") Integer maxRowsPerSheet,
+                                     @RequestParam(value = "streaming", defaultValue = "true") boolean streaming,
                                      @RequestBody(required = false) List<Filter> filters) throws IOException {
 
     if(maxRowsPerSheet > 1000000) {
@@ -359,7 +373,12 @@ public class WidgetController {
 
     String accept = request.getHeader("accept");
 
-    downloadData(isOriginal ? "original_data" : "chart_data", accept, searchQuery, maxRowsPerSheet, response);
+    // xlsx 는 zip 컨테이너가 마지막에 기록되므로 streaming 은 csv 인 경우만 지원
+    if (streaming && !"application/vnd.ms-excel".equals(accept)) {
+      exportData(isOriginal ? "original_data" : "chart_data", accept, searchQuery, request, response);
+    } else {
+      downloadData(isOriginal ? "original_data" : "chart_data", accept, searchQuery, maxRowsPerSheet, response);
+    }
 
   }
 
@@ -400,7 +419,7 @@ public class WidgetController {
       response.setHeader("Content-Disposition", String.format("inline; filename=\"%s\"", downloadFileName));
 //    response.setHeader("Content-Disposition", "attachment; filename=" + new String(downloadFileName.getBytes("euc-kr"), "latin1") + ";");
 
-      response.setContentLength((int)downloadFile.length());
+      response.setContentLengthLong(downloadFile.length());
 
       InputStream inputStream = new BufferedInputStream(new FileInputStream(downloadFile));
 
@@ -408,6 +427,59 @@ public class WidgetController {
     }
   }
 
+  /**
+   * Export CSV results directly to the response without temporary file.
+   * Content length is unknown, so the response is sent in chunked transfer encoding.
+   * Excel is not exported in this way, its zip container can only be written after all rows are buffered. <br/>
+   * Headers are set when the engine returns results, and the response is reset if the query fails
+   * before any byte is sent, so the client gets the error instead of a broken file.
+   *
+   * @param name name of file
+   * @param accept requested accept header contents
+   * @param searchQuery search query model
+   * @param request
+   * @param response
+   * @throws IOException
+   */
+  private void exportData(String name, String accept, SearchQueryRequest searchQuery,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+    boolean gzip = StringUtils.containsIgnoreCase(request.getHeader("Accept-Encoding"), "gzip");
+
+    // 응답 본문은 버퍼에 쓰여지므로, 첫 결과가 오기 전까지 응답이 전송되지 않음
+    OutputStream outputStream = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+    if (gzip) {
+      outputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+    }
+
+    ResultExporter exporter = new CsvResultExporter(outputStream) {
+      @Override
+      public void start(List<String> columns) throws IOException {
+        response.setContentType(accept);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment;filename=" + name + ".csv");
+        if (gzip) {
+          response.setHeader("Content-Encoding", "gzip");
+        }
+        super.start(columns);
+      }
+    };
+
+    try {
+      engineQueryService.export(searchQuery, exporter);
+    } catch (IOException | RuntimeException e) {
+      if (!response.isCommitted()) {
+        response.reset();
+      }
+      throw e;
+    }
+
+    if (outputStream instanceof GZIPOutputStream) {
+      ((GZIPOutputStream) outputStream).finish();
+    }
+    outputStream.flush();
+  }
+
 
   /**
    * Make query request model
@@ -17,6 +17,8 @@ package app.metatron.discovery.domain.workbook.widget;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
 import org.springframework.data.rest.core.annotation.HandleBeforeCreate;
 import org.springframework.data.rest.core.annotation.HandleBeforeDelete;
 import org.springframework.data.rest.core.annotation.HandleBeforeSave;
@@ -27,6 +29,7 @@ import java.util.List;
 
 import app.metatron.discovery.domain.images.Image;
 import app.metatron.discovery.domain.images.ImageRepository;
+import app.metatron.discovery.domain.mdm.MetadataPopularityCollector;
 
 /**
  * Created by kyungtaak on 2016. 5. 13..
@@ -37,6 +40,9 @@ public class WidgetEventHandler {
   @Autowired
   ImageRepository imageRepository;
 
+  @Autowired
+  MetadataPopularityCollector popularityCollector;
+
   @HandleBeforeCreate
   @PreAuthorize("hasPermission(#widget, 'PERM_WORKSPACE_WRITE_BOOK')")
   public void checkBeforeCreate(Widget widget) {
@@ -56,6 +62,13 @@ public class WidgetEventHandler {
 
   }
 
+  @HandleAfterCreate
+  @HandleAfterSave
+  public void handleAfterCreateOrSave(Widget widget) {
+    // 위젯에서 사용된 필드는 메타데이터 컬럼 Popularity 에 반영
+    popularityCollector.collectWidgetChange(widget.getId());
+  }
+
   @HandleBeforeDelete
   @PreAuthorize("hasPermission(#widget, 'PERM_WORKSPACE_WRITE_BOOK')")
   public void checkBeforeDelete(Widget widget) {
@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.workspace;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Tracks last accessed time of workspaces. <br/>
+ * Accesses are coalesced in memory and flushed periodically,
+ * so a workspace is updated at most once per interval.
+ */
+@Component
+public class WorkspaceAccessTracker implements PublicMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceAccessTracker.class);
+
+  @Autowired
+  WorkspaceRepository workspaceRepository;
+
+  @Value("${polaris.workspace.lastAccessed.flushInterval:30}")
+  private Long flushInterval;
+
+  private final Map<String, DateTime> accessedTimes = new ConcurrentHashMap<>();
+
+  private final AtomicLong accessCount = new AtomicLong();
+
+  private final AtomicLong updateCount = new AtomicLong();
+
+  private ScheduledExecutorService scheduler;
+
+  public WorkspaceAccessTracker() {
+  }
+
+  @PostConstruct
+  public void init() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("WorkspaceAccessTracker-%s").setDaemon(true).build());
+    scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Accesses of last interval are flushed on shutdown
+   */
+  @PreDestroy
+  public void destroy() {
+    scheduler.shutdownNow();
+    flush();
+  }
+
+  public void access(String workspaceId) {
+    if (StringUtils.isEmpty(workspaceId)) {
+      return;
+    }
+
+    accessedTimes.put(workspaceId, DateTime.now());
+    accessCount.incrementAndGet();
+  }
+
+  public synchronized void flush() {
+    Map<String, DateTime> flushTimes = Maps.newHashMap();
+    for (String workspaceId : accessedTimes.keySet()) {
+      DateTime accessedTime = accessedTimes.remove(workspaceId);
+      if (accessedTime != null) {
+        flushTimes.put(workspaceId, accessedTime);
+      }
+    }
+
+    for (Map.Entry<String, DateTime> entry : flushTimes.entrySet()) {
+      try {
+        workspaceRepository.updateLastAccessedTime(entry.getKey(), entry.getValue());
+        updateCount.incrementAndGet();
+      } catch (Exception e) {
+        LOGGER.warn("Fail to update last accessed time of workspace({}) : {}", entry.getKey(), e.getMessage());
+      }
+    }
+
+    if (!flushTimes.isEmpty()) {
+      LOGGER.debug("Updated last accessed time of {} workspaces", flushTimes.size());
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = Lists.newArrayList();
+    metrics.add(new Metric<>("workspace.access.pending", accessedTimes.size()));
+    metrics.add(new Metric<>("workspace.access.count", accessCount.get()));
+    metrics.add(new Metric<>("workspace.access.update", updateCount.get()));
+    return metrics;
+  }
+}
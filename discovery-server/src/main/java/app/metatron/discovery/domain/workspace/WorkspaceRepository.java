@@ -14,6 +14,7 @@
 
 package app.metatron.discovery.domain.workspace;
 
+import org.joda.time.DateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -84,8 +85,10 @@ public interface WorkspaceRepository extends JpaRepository<Workspace, String>,
 
   @Transactional
   @Modifying
-  @Query("UPDATE Workspace ws SET ws.lastAccessedTime = CURRENT_TIMESTAMP WHERE ws.id = :workspaceId")
-  void updateLastAccessedTime(@Param("workspaceId") String workspaceId);
+  @Query("UPDATE Workspace ws SET ws.lastAccessedTime = :accessedTime WHERE ws.id = :workspaceId " +
+      "AND (ws.lastAccessedTime IS NULL OR ws.lastAccessedTime < :accessedTime)")
+  void updateLastAccessedTime(@Param("workspaceId") String workspaceId,
+                              @Param("accessedTime") DateTime accessedTime);
 
   @Transactional
   @Modifying
@@ -104,6 +104,9 @@ public class WorkspaceService {
   @Autowired
   WorkspaceRepository workspaceRepository;
 
+  @Autowired
+  WorkspaceAccessTracker workspaceAccessTracker;
+
   @Autowired
   WorkspaceMemberRepository workspaceMemberRepository;
 
@@ -149,11 +152,10 @@ public class WorkspaceService {
   }
 
   /**
-   * Workspace 접근 시간 지정
+   * Workspace 접근 시간 지정, 주기적으로 반영됨
    */
-  @Transactional
   public void updateLastAccessedTime(String workspaceId) {
-    workspaceRepository.updateLastAccessedTime(workspaceId);
+    workspaceAccessTracker.access(workspaceId);
   }
 
   /**
@@ -385,7 +387,7 @@ public class WorkspaceService {
       workspace.addRoleSet(roleSetService.getDefaultRoleSet());
     }
 
-    return roleSetRepository.getPermissionsByRoleSetAndRoleName(workspace.getRoleSets(), roleNames);
+    return Sets.newHashSet(cachedUserService.findPermissions(workspace.getRoleSets(), roleNames));
   }
 
   /**
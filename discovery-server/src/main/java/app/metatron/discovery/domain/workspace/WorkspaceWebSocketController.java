@@ -35,7 +35,7 @@ public class WorkspaceWebSocketController {
   public WorkspaceService workspaceService;
 
   /**
-   * Workspace 화면 진입시 호출 되며, 메시지를 받는 즉시 특정 workspace 의 lastAccessTime 을 업데이트 합니다
+   * Workspace 화면 진입시 호출 되며, 특정 workspace 의 lastAccessTime 을 주기적으로 업데이트 합니다
    *
    * @param accessor
    * @param workspaceId
@@ -89,6 +89,8 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.joda.time.Interval;
+import org.joda.time.chrono.ISOChronology;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -569,7 +571,7 @@ public abstract class AbstractQueryBuilder {
         app.metatron.discovery.domain.datasource.Field datasourceField = this.metaFieldMap.get(fieldName);
 
         if (datasourceField.getRole() == TIMESTAMP) {
-          intervals.addAll(intervalFilter.getEngineIntervals());
+          narrowIntervals(intervals, intervalFilter.getEngineIntervals());
         } else if (datasourceField.getRole() == DIMENSION && datasourceField.getLogicalType() == LogicalType.TIMESTAMP) {
           OrFilter orFilter = new OrFilter();
           List<String> curIntervals = intervalFilter.getEngineIntervals();
@@ -666,14 +668,114 @@ public abstract class AbstractQueryBuilder {
     app.metatron.discovery.domain.datasource.Field datasourceField = this.metaFieldMap.get(fieldName);
 
     if (datasourceField.getRole() == TIMESTAMP && !(timeFilter instanceof TimeListFilter)) {
-      intervals.addAll(timeFilter.getEngineIntervals(datasourceField));
+      narrowIntervals(intervals, timeFilter.getEngineIntervals(datasourceField));
     } else {
       String expr = timeFilter.getExpression(engineColumnName, datasourceField);
       if (StringUtils.isNotEmpty(expr)) {
         filter.addField(new ExprFilter(timeFilter.getExpression(engineColumnName, datasourceField)));
       }
+
+      // 선택된 시간 값 목록으로 Interval 범위를 좁혀 스캔 대상 세그먼트를 줄임
+      if (datasourceField.getRole() == TIMESTAMP) {
+        narrowIntervals(intervals, ((TimeListFilter) timeFilter).getCoveringIntervals());
+      }
+    }
+
+  }
+
+  /**
+   * Narrow the query intervals with the intervals of a filter. <br/>
+   * Filters are combined with AND, so the result is the intersection of both.
+   *
+   * @param intervals       intervals of query, modified in place
+   * @param filterIntervals intervals from a filter
+   */
+  protected void narrowIntervals(List<String> intervals, List<String> filterIntervals) {
+
+    if (CollectionUtils.isEmpty(filterIntervals)) {
+      return;
+    }
+
+    if (intervals.isEmpty()) {
+      intervals.addAll(filterIntervals);
+      return;
+    }
+
+    List<Interval> lhs = parseIntervals(intervals);
+    List<Interval> rhs = parseIntervals(filterIntervals);
+    if (lhs == null || rhs == null) {
+      // 해석할 수 없는 Interval 이 포함된 경우 기존 처리 방식을 따름
+      intervals.addAll(filterIntervals);
+      return;
+    }
+
+    List<Interval> overlaps = Lists.newArrayList();
+    for (Interval left : lhs) {
+      for (Interval right : rhs) {
+        Interval overlap = left.overlap(right);
+        if (overlap != null) {
+          overlaps.add(overlap);
+        }
+      }
+    }
+
+    intervals.clear();
+    if (overlaps.isEmpty()) {
+      // 겹치는 범위가 없으면 어떤 세그먼트도 스캔하지 않도록 길이가 0인 Interval 을 지정
+      Interval first = lhs.get(0);
+      intervals.add(new Interval(first.getStart(), first.getStart()).toString());
+    } else {
+      intervals.addAll(condenseIntervals(overlaps));
+    }
+  }
+
+  /**
+   * Resolve the intervals of query, default intervals is used if there is no interval from filters.
+   *
+   * @param intervals intervals from filters
+   * @return intervals for engine query
+   */
+  protected List<String> resolveIntervals(List<String> intervals) {
+    return CollectionUtils.isEmpty(intervals) ? DEFAULT_INTERVALS : intervals;
+  }
+
+  private List<Interval> parseIntervals(List<String> intervals) {
+    List<Interval> parsedIntervals = Lists.newArrayList();
+    for (String interval : intervals) {
+      try {
+        parsedIntervals.add(Interval.parse(interval).withChronology(ISOChronology.getInstanceUTC()));
+      } catch (Exception e) {
+        return null;
+      }
+    }
+    return parsedIntervals;
+  }
+
+  /**
+   * Sort intervals and merge overlapped or abutting intervals.
+   */
+  private List<String> condenseIntervals(List<Interval> intervals) {
+
+    List<Interval> sortedIntervals = Lists.newArrayList(intervals);
+    sortedIntervals.sort(Comparator.comparingLong(Interval::getStartMillis));
+
+    List<String> condensedIntervals = Lists.newArrayList();
+    Interval current = null;
+    for (Interval interval : sortedIntervals) {
+      if (current == null) {
+        current = interval;
+      } else if (interval.getStartMillis() <= current.getEndMillis()) {
+        current = current.withEndMillis(Math.max(current.getEndMillis(), interval.getEndMillis()));
+      } else {
+        condensedIntervals.add(current.toString());
+        current = interval;
+      }
+    }
+    if (current != null) {
+      condensedIntervals.add(current.toString());
     }
 
+    return condensedIntervals;
   }
 
   private boolean isNotMainDataSourceColumn(app.metatron.discovery.domain.workbook.configurations.filter.Filter filter) {
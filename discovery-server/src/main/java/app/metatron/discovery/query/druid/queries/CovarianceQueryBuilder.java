@@ -102,11 +102,7 @@ public class CovarianceQueryBuilder extends AbstractQueryBuilder {
       covarianceQuery.setVirtualColumns(Lists.newArrayList(virtualColumns.values()));
     }
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      covarianceQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      covarianceQuery.setIntervals(intervals);
-    }
+    covarianceQuery.setIntervals(resolveIntervals(intervals));
 
     covarianceQuery.setExcludes(excludes);
 
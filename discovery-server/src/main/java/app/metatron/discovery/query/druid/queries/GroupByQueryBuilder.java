@@ -993,11 +993,7 @@ public class GroupByQueryBuilder extends AbstractQueryBuilder {
       groupByQuery.setGranularity(new SimpleGranularity("all"));
     }
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      groupByQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      groupByQuery.setIntervals(intervals);
-    }
+    groupByQuery.setIntervals(resolveIntervals(intervals));
 
     if (limitSpec != null) {
       groupByQuery.setLimitSpec(limitSpec);
@@ -183,11 +183,7 @@ public class SearchQueryBuilder extends AbstractQueryBuilder {
 
     searchQuery.setGranularity(new SimpleGranularity("all"));
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      searchQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      searchQuery.setIntervals(intervals);
-    }
+    searchQuery.setIntervals(resolveIntervals(intervals));
 
     searchQuery.setQuery(query);
 
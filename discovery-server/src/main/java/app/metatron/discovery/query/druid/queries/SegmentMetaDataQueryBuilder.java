@@ -145,11 +145,7 @@ public class SegmentMetaDataQueryBuilder extends AbstractQueryBuilder {
       query.setAnalysisTypes(analysisTypes);
     }
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      query.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      query.setIntervals(intervals);
-    }
+    query.setIntervals(resolveIntervals(intervals));
 
     query.setMerge(merge);
 
@@ -169,11 +169,7 @@ public class SelectMetaQueryBuilder extends AbstractQueryBuilder {
 
     selectMetaQuery.setSchemaOnly(schemaOnly);
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      selectMetaQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      selectMetaQuery.setIntervals(intervals);
-    }
+    selectMetaQuery.setIntervals(resolveIntervals(intervals));
 
     selectMetaQuery.setPagingSpec(pagingSpec);
 
@@ -315,11 +315,7 @@ public class SelectQueryBuilder extends AbstractQueryBuilder {
 
     selectQuery.setGranularity(new SimpleGranularity("all"));
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      selectQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      selectQuery.setIntervals(intervals);
-    }
+    selectQuery.setIntervals(resolveIntervals(intervals));
 
     selectQuery.setPagingSpec(pagingSpec);
 
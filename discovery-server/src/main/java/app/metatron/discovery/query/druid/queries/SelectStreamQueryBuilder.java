@@ -367,11 +367,7 @@ public class SelectStreamQueryBuilder extends AbstractQueryBuilder {
       streamQuery.setVirtualColumns(Lists.newArrayList(virtualColumns.values()));
     }
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      streamQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      streamQuery.setIntervals(intervals);
-    }
+    streamQuery.setIntervals(resolveIntervals(intervals));
 
     streamQuery.setDefaultLimitSize(limit);
 
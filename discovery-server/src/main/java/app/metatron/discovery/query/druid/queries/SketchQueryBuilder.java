@@ -16,8 +16,6 @@ package app.metatron.discovery.query.druid.queries;
 
 import com.google.common.collect.Lists;
 
-import org.apache.commons.collections.CollectionUtils;
-
 import java.util.List;
 
 import app.metatron.discovery.query.druid.AbstractQueryBuilder;
@@ -50,11 +48,7 @@ public class SketchQueryBuilder extends AbstractQueryBuilder {
 
     sketchQuery.setDataSource(dataSource);
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      sketchQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      sketchQuery.setIntervals(intervals);
-    }
+    sketchQuery.setIntervals(resolveIntervals(intervals));
 
     return sketchQuery;
   }
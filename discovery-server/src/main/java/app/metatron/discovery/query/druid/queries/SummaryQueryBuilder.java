@@ -93,11 +93,7 @@ public class SummaryQueryBuilder extends AbstractQueryBuilder {
     summaryQuery.setDimensions(dimensions);
     summaryQuery.setMetrics(metrics);
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      summaryQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      summaryQuery.setIntervals(intervals);
-    }
+    summaryQuery.setIntervals(resolveIntervals(intervals));
 
     if (StringUtils.isNotEmpty(queryId)) {
       addQueryId(queryId);
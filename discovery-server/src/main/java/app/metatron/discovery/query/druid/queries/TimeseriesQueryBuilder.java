@@ -144,11 +144,7 @@ public class TimeseriesQueryBuilder extends AbstractQueryBuilder {
       timeseriesQuery.setGranularity(new SimpleGranularity("all"));
     }
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      timeseriesQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      timeseriesQuery.setIntervals(intervals);
-    }
+    timeseriesQuery.setIntervals(resolveIntervals(intervals));
 
     if (StringUtils.isNotEmpty(queryId)) {
       addQueryId(queryId);
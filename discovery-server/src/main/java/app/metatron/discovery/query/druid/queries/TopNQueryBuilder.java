@@ -167,11 +167,7 @@ public class TopNQueryBuilder extends AbstractQueryBuilder {
       topNQuery.setGranularity(new SimpleGranularity("all"));
     }
 
-    if (CollectionUtils.isEmpty(intervals)) {
-      topNQuery.setIntervals(DEFAULT_INTERVALS);
-    } else {
-      topNQuery.setIntervals(intervals);
-    }
+    topNQuery.setIntervals(resolveIntervals(intervals));
 
     if(StringUtils.isNotEmpty(queryId)) {
       addQueryId(queryId);
@@ -38,6 +38,7 @@ import app.metatron.discovery.spec.druid.ingestion.firehose.LocalFirehose;
 import app.metatron.discovery.spec.druid.ingestion.index.IndexSpec;
 import app.metatron.discovery.spec.druid.ingestion.input.HadoopInputSpec;
 import app.metatron.discovery.spec.druid.ingestion.input.HiveInputSpec;
+import app.metatron.discovery.spec.druid.ingestion.input.StaticInputSpec;
 import app.metatron.discovery.spec.druid.ingestion.io.BatchIoConfig;
 import app.metatron.discovery.spec.druid.ingestion.io.HadoopIoConfig;
 import app.metatron.discovery.spec.druid.ingestion.io.IoConfig;
@@ -145,6 +146,13 @@ public class IngestionSpecBuilder extends AbstractSpecBuilder {
     return this;
   }
 
+  public IngestionSpecBuilder staticIoConfig(List<String> paths, String inputFormat) {
+
+    ioConfig = new HadoopIoConfig(new StaticInputSpec(paths, inputFormat));
+
+    return this;
+  }
+
   public IngestionSpec build() {
     IngestionSpec spec = new IngestionSpec();
     spec.setDataSchema(dataSchema);
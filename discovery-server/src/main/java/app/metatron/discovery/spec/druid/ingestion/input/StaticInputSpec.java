@@ -14,6 +14,8 @@
 
 package app.metatron.discovery.spec.druid.ingestion.input;
 
+import org.apache.commons.lang3.StringUtils;
+
 import java.util.List;
 
 /**
@@ -21,16 +23,34 @@ import java.util.List;
  */
 public class StaticInputSpec implements InputSpec {
 
-  List<String> paths;
+  /**
+   * Comma separated paths of input files
+   */
+  String paths;
+
+  String inputFormat;
 
   public StaticInputSpec() {
   }
 
-  public List<String> getPaths() {
+  public StaticInputSpec(List<String> paths, String inputFormat) {
+    this.paths = StringUtils.join(paths, ",");
+    this.inputFormat = inputFormat;
+  }
+
+  public String getPaths() {
     return paths;
   }
 
-  public void setPaths(List<String> paths) {
+  public void setPaths(String paths) {
     this.paths = paths;
   }
+
+  public String getInputFormat() {
+    return inputFormat;
+  }
+
+  public void setInputFormat(String inputFormat) {
+    this.inputFormat = inputFormat;
+  }
 }
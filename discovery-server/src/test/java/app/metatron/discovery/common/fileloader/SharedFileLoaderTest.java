@@ -14,11 +14,14 @@
 
 package app.metatron.discovery.common.fileloader;
 
+import com.google.common.collect.Lists;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 
 public class SharedFileLoaderTest {
@@ -44,4 +47,27 @@ public class SharedFileLoaderTest {
 
   }
 
+  @Test
+  public void putFilesWithTargetNames() throws IOException {
+
+    File remoteDirFile = new File("/tmp/test_" + System.currentTimeMillis());
+    remoteDirFile.mkdir();
+
+    File sourceFile1 = File.createTempFile("shared_loader_", ".csv");
+    File sourceFile2 = File.createTempFile("shared_loader_", ".csv");
+    Files.write(sourceFile1.toPath(), "a,1\nb,2\n".getBytes());
+    Files.write(sourceFile2.toPath(), "c,3\n".getBytes());
+
+    FileLoaderProperties properties = new FileLoaderProperties(FileLoaderProperties.RemoteType.SHARED, "/tmp",
+                                                               remoteDirFile.getAbsolutePath(), null);
+
+    List<String> remotePaths = new SharedFileLoader().put(properties,
+                                                          Lists.newArrayList(sourceFile1.getAbsolutePath(), sourceFile2.getAbsolutePath()),
+                                                          Lists.newArrayList("part0.csv", "part1.csv"), true);
+
+    Assert.assertEquals(2, remotePaths.size());
+    Assert.assertEquals("a,1\nb,2\n", new String(Files.readAllBytes(new File(remotePaths.get(0)).toPath())));
+    Assert.assertEquals("c,3\n", new String(Files.readAllBytes(new File(remotePaths.get(1)).toPath())));
+    Assert.assertTrue(sourceFile1.exists());
+  }
 }
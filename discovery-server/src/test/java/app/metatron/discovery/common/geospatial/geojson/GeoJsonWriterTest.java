@@ -17,7 +17,10 @@ package app.metatron.discovery.common.geospatial.geojson;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import org.junit.Assert;
 import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKTReader;
 
 import app.metatron.discovery.common.GlobalObjectMapper;
 
@@ -62,4 +65,19 @@ public class GeoJsonWriterTest {
 
   }
 
+  @Test
+  public void simplifyByTolerance() throws Exception {
+    WKTReader reader = new WKTReader();
+    GeoJsonWriter writer = new GeoJsonWriter(0.01);
+
+    Geometry line = writer.simplify(reader.read("LINESTRING (0 0, 1 0.001, 2 0)"));
+    Assert.assertEquals(2, line.getNumPoints());
+
+    Geometry point = reader.read("POINT (100 90)");
+    Assert.assertSame(point, writer.simplify(point));
+
+    Geometry polygon = reader.read("POLYGON ((100.1 0.1, 101.1 0.1, 101.1 1.1, 100.1 1.1, 100.1 0.1))");
+    Assert.assertEquals(5, writer.simplify(polygon).getNumPoints());
+  }
+
 }
\ No newline at end of file
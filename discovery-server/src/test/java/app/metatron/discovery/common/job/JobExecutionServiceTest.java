@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.job;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class JobExecutionServiceTest {
+
+  private JobExecutionService jobExecutionService;
+
+  private CountDownLatch latch = new CountDownLatch(1);
+
+  @Before
+  public void setUp() {
+    JobProperties jobProperties = new JobProperties();
+    jobProperties.getPools().put("test", new JobProperties.PoolInfo(1, 1, JobProperties.RejectPolicy.ABORT));
+    jobProperties.getPools().put("discard", new JobProperties.PoolInfo(1, 1, JobProperties.RejectPolicy.DISCARD));
+
+    jobExecutionService = new JobExecutionService();
+    jobExecutionService.jobProperties = jobProperties;
+    jobExecutionService.init();
+  }
+
+  @After
+  public void tearDown() {
+    latch.countDown();
+    jobExecutionService.destroy();
+  }
+
+  @Test
+  public void runJob() throws Exception {
+    JobInfo job = jobExecutionService.submit("test", "success", () -> "done");
+
+    job.future.get(5, TimeUnit.SECONDS);
+    Assert.assertEquals(JobInfo.JobStatus.SUCCESS, jobExecutionService.getJob(job.getId()).getStatus());
+  }
+
+  @Test
+  public void finishJobWhenFutureCompleted() throws Exception {
+    CompletableFuture<String> result = new CompletableFuture<>();
+    JobInfo job = jobExecutionService.submit("test", "async", () -> result);
+
+    job.future.get(5, TimeUnit.SECONDS);
+    Assert.assertEquals(JobInfo.JobStatus.RUNNING, job.getStatus());
+
+    result.completeExceptionally(new IllegalStateException("failed"));
+    Assert.assertEquals(JobInfo.JobStatus.FAILED, job.getStatus());
+    Assert.assertEquals("failed", job.getErrorMessage());
+  }
+
+  @Test(expected = JobRejectedException.class)
+  public void rejectWhenQueueIsFull() {
+    jobExecutionService.submit("test", "running", () -> latch.await(5, TimeUnit.SECONDS));
+    jobExecutionService.submit("test", "queued", () -> latch.await(5, TimeUnit.SECONDS));
+    jobExecutionService.submit("test", "rejected", () -> latch.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void discardWhenQueueIsFull() {
+    jobExecutionService.submit("discard", "running", () -> latch.await(5, TimeUnit.SECONDS));
+    jobExecutionService.submit("discard", "queued", () -> latch.await(5, TimeUnit.SECONDS));
+    JobInfo job = jobExecutionService.submit("discard", "discarded", () -> latch.await(5, TimeUnit.SECONDS));
+
+    Assert.assertEquals(JobInfo.JobStatus.REJECTED, job.getStatus());
+  }
+
+  @Test
+  public void cancelQueuedJob() {
+    jobExecutionService.submit("test", "running", () -> latch.await(5, TimeUnit.SECONDS));
+    JobInfo job = jobExecutionService.submit("test", "queued", () -> latch.await(5, TimeUnit.SECONDS));
+
+    Assert.assertTrue(jobExecutionService.cancel(job.getId()));
+    Assert.assertEquals(JobInfo.JobStatus.CANCELED, jobExecutionService.getJob(job.getId()).getStatus());
+    Assert.assertFalse(jobExecutionService.cancel(job.getId()));
+    Assert.assertEquals(2, jobExecutionService.getJobs("test").size());
+  }
+
+  @Test
+  public void callOnRejectedWhenQueueIsFull() {
+    AtomicBoolean rejected = new AtomicBoolean();
+    jobExecutionService.submit("test", "running", () -> latch.await(5, TimeUnit.SECONDS));
+    jobExecutionService.submit("test", "queued", () -> latch.await(5, TimeUnit.SECONDS));
+
+    try {
+      jobExecutionService.submit("test", "rejected", () -> latch.await(5, TimeUnit.SECONDS), () -> rejected.set(true));
+      Assert.fail("Job should be rejected");
+    } catch (JobRejectedException e) {
+      Assert.assertTrue(rejected.get());
+    }
+  }
+
+  @Test
+  public void cancelResultOfRunningJob() throws Exception {
+    CompletableFuture<String> result = new CompletableFuture<>();
+    JobInfo job = jobExecutionService.submit("test", "async", () -> result);
+
+    job.future.get(5, TimeUnit.SECONDS);
+    Assert.assertTrue(jobExecutionService.cancel(job.getId()));
+    Assert.assertTrue(result.isCancelled());
+    Assert.assertEquals(JobInfo.JobStatus.CANCELED, job.getStatus());
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.common.websocket;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.util.function.BinaryOperator;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ProgressPublisherTest {
+
+  private static final String TOPIC = "/topic/datasources/ds-1/progress";
+
+  private SimpMessageSendingOperations messagingTemplate;
+
+  private ProgressPublisher publisher;
+
+  @Before
+  public void setUp() {
+    messagingTemplate = mock(SimpMessageSendingOperations.class);
+
+    publisher = new ProgressPublisher();
+    publisher.setMessagingTemplate(messagingTemplate);
+  }
+
+  @Test
+  public void sendLatestProgress() {
+    publisher.sendProgress(TOPIC, "10");
+    publisher.sendProgress(TOPIC, "20");
+    publisher.sendProgress(TOPIC, "30");
+    publisher.flush();
+
+    verify(messagingTemplate, never()).convertAndSend(TOPIC, (Object) "10");
+    verify(messagingTemplate, never()).convertAndSend(TOPIC, (Object) "20");
+    verify(messagingTemplate).convertAndSend(TOPIC, (Object) "30");
+    Assert.assertEquals(2L, metric("websocket.progress.dropped"));
+    Assert.assertEquals(1L, metric("websocket.progress.published"));
+  }
+
+  @Test
+  public void dropPendingProgressBeforeImmediateMessage() {
+    publisher.sendProgress(TOPIC, "50");
+    publisher.send(TOPIC, "100");
+    publisher.flush();
+
+    verify(messagingTemplate, never()).convertAndSend(TOPIC, (Object) "50");
+    verify(messagingTemplate).convertAndSend(TOPIC, (Object) "100");
+  }
+
+  @Test
+  public void sendBatchBeforeImmediateMessage() {
+    BinaryOperator<String> merger = (pending, message) -> pending + "\n" + message;
+    publisher.sendBatch(null, TOPIC, "query-1", "log1", merger);
+    publisher.sendBatch(null, TOPIC, "query-1", "log2", merger);
+    publisher.send(TOPIC, "done");
+
+    InOrder inOrder = inOrder(messagingTemplate);
+    inOrder.verify(messagingTemplate).convertAndSend(TOPIC, (Object) "log1\nlog2");
+    inOrder.verify(messagingTemplate).convertAndSend(TOPIC, (Object) "done");
+    Assert.assertEquals(1L, metric("websocket.progress.batched"));
+  }
+
+  private long metric(String name) {
+    return publisher.metrics().stream()
+                    .filter(metric -> metric.getName().equals(name))
+                    .findFirst()
+                    .map(metric -> metric.getValue().longValue())
+                    .orElse(-1L);
+  }
+}
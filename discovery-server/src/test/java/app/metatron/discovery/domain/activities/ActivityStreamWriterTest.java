@@ -0,0 +1,174 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.activities;
+
+import com.google.common.collect.Lists;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class ActivityStreamWriterTest {
+
+  private ActivityStreamWriter writer;
+
+  private ActivityStreamRepository activityStreamRepository;
+
+  /**
+   * Sizes of batches saved by the writer thread
+   */
+  private List<Integer> batchSizes;
+
+  /**
+   * Sizes of batches saved directly by the caller thread
+   */
+  private List<Integer> directSizes;
+
+  /**
+   * The writer thread is blocked on the first batch until released
+   */
+  private CountDownLatch firstBatchSaving;
+
+  private CountDownLatch release;
+
+  @Before
+  public void setUp() {
+    activityStreamRepository = mock(ActivityStreamRepository.class);
+    batchSizes = Collections.synchronizedList(Lists.newArrayList());
+    directSizes = Collections.synchronizedList(Lists.newArrayList());
+    firstBatchSaving = new CountDownLatch(1);
+    release = new CountDownLatch(1);
+
+    doAnswer(invocation -> {
+      List batch = (List) invocation.getArguments()[0];
+      if (Thread.currentThread().getName().startsWith("ActivityStreamWriter")) {
+        firstBatchSaving.countDown();
+        release.await(10, TimeUnit.SECONDS);
+        batchSizes.add(batch.size());
+      } else {
+        directSizes.add(batch.size());
+      }
+      return batch;
+    }).when(activityStreamRepository).save(anyListOf(ActivityStream.class));
+
+    writer = new ActivityStreamWriter();
+    writer.activityStreamRepository = activityStreamRepository;
+    writer.transactionManager = mock(PlatformTransactionManager.class);
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    writer.destroy();
+  }
+
+  private void init(int queueSize) {
+    ReflectionTestUtils.setField(writer, "queueSize", queueSize);
+    writer.init();
+  }
+
+  private long metric(String name) {
+    for (Metric<?> metric : writer.metrics()) {
+      if (metric.getName().equals(name)) {
+        return metric.getValue().longValue();
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+
+  private void writeAndWaitWriterBlocked() throws InterruptedException {
+    writer.write(new ActivityStream());
+    Assert.assertTrue(firstBatchSaving.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void writeQueuedActivitiesInBatch() throws Exception {
+    init(100);
+    writeAndWaitWriterBlocked();
+
+    // queued while the first batch is written
+    for (int i = 0; i < 5; i++) {
+      writer.write(new ActivityStream());
+    }
+    release.countDown();
+
+    writer.destroy();
+
+    Assert.assertEquals(Lists.newArrayList(1, 5), batchSizes);
+    Assert.assertTrue(directSizes.isEmpty());
+    Assert.assertEquals(6L, metric("activity.written"));
+    Assert.assertEquals(2L, metric("activity.batch"));
+  }
+
+  @Test
+  public void writeDirectlyWhenQueueIsFull() throws Exception {
+    init(1);
+    writeAndWaitWriterBlocked();
+
+    writer.write(new ActivityStream());   // queued
+    writer.write(new ActivityStream());   // queue is full
+
+    Assert.assertEquals(Lists.newArrayList(1), directSizes);
+    Assert.assertEquals(1L, metric("activity.direct"));
+
+    release.countDown();
+    writer.destroy();
+
+    Assert.assertEquals(Lists.newArrayList(1, 1), batchSizes);
+  }
+
+  @Test
+  public void drainQueueOnShutdown() throws Exception {
+    init(100);
+    writeAndWaitWriterBlocked();
+
+    for (int i = 0; i < 10; i++) {
+      writer.write(new ActivityStream());
+    }
+
+    // the writer is released while shutting down
+    Thread releaser = new Thread(() -> {
+      try {
+        Thread.sleep(200L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      release.countDown();
+    });
+    releaser.start();
+
+    writer.destroy();
+
+    Assert.assertEquals(Lists.newArrayList(1, 10), batchSizes);
+    Assert.assertEquals(0L, metric("activity.queue.size"));
+
+    // written directly after shutdown
+    writer.write(new ActivityStream());
+    Assert.assertEquals(Lists.newArrayList(1), directSizes);
+  }
+}
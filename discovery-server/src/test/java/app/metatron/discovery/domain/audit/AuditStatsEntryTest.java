@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import com.google.common.collect.Lists;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public class AuditStatsEntryTest {
+
+  @Test
+  public void normalizeQuery() {
+    Assert.assertEquals("SELECT * FROM sales WHERE id = ? AND name = ? AND code IN (?)",
+                        AuditStatsEntry.normalize("SELECT *\n  FROM sales WHERE id = 10 AND name = 'it''s' AND code IN (1, 2, 3);"));
+    Assert.assertEquals("SELECT t1.col FROM t1 LIMIT ?",
+                        AuditStatsEntry.normalize("SELECT t1.col FROM t1 -- comment\nLIMIT 100"));
+  }
+
+  @Test
+  public void sameFingerprintOfQueriesDifferentInValues() {
+    String fingerprint1 = AuditStatsEntry.fingerprint(AuditStatsEntry.normalize("select a from b where c = 1"));
+    String fingerprint2 = AuditStatsEntry.fingerprint(AuditStatsEntry.normalize("select a  from b where c = 25"));
+    String fingerprint3 = AuditStatsEntry.fingerprint(AuditStatsEntry.normalize("select a from b where d = 1"));
+
+    Assert.assertEquals(fingerprint1, fingerprint2);
+    Assert.assertNotEquals(fingerprint1, fingerprint3);
+  }
+
+  @Test
+  public void rollupEndOfRange() {
+    AuditStatsService service = new AuditStatsService();
+    DateTime from = new DateTime(2020, 1, 1, 0, 0, DateTimeZone.forOffsetHours(9));
+    DateTime end = new DateTime(2020, 1, 2, 0, 0, DateTimeZone.forOffsetHours(9));
+
+    Assert.assertEquals(end, service.getRollupEnd(from, end));
+    Assert.assertEquals(end, service.getRollupEnd(from, end.minusSeconds(1)));
+    Assert.assertEquals(end, service.getRollupEnd(from, end.minusMillis(1)));
+    Assert.assertNull(service.getRollupEnd(from, end.minusMinutes(10)));
+    Assert.assertNull(service.getRollupEnd(from.plusMinutes(30), end));
+    Assert.assertTrue(service.isRollupRange(null, null));
+  }
+
+  @Test
+  public void countByNormalizedQuery() {
+    AuditStatsService service = new AuditStatsService();
+    List<AuditStatsDto> counts = service.normalizeQueries(Lists.newArrayList(
+        new AuditStatsDto("select a from b where c = 1", 2L),
+        new AuditStatsDto("select a  from b where c = 25", 3L),
+        new AuditStatsDto("select a from b where d = 1", 4L)));
+
+    Page<AuditStatsDto> byCount = service.toPage(counts, new PageRequest(0, 1));
+    Assert.assertEquals(2, byCount.getTotalElements());
+    Assert.assertEquals("select a from b where c = ?", byCount.getContent().get(0).getKeyword());
+    Assert.assertEquals(5L, byCount.getContent().get(0).getCount().longValue());
+
+    Page<AuditStatsDto> byQuery = service.toPage(counts, new PageRequest(0, 10, Sort.Direction.DESC, AuditStatsDto.SORT_QUERY));
+    Assert.assertEquals("select a from b where d = ?", byQuery.getContent().get(0).getKeyword());
+    Assert.assertEquals(4L, byQuery.getContent().get(0).getCount().longValue());
+  }
+}
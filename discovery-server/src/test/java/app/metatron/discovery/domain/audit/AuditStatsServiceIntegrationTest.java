@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.audit;
+
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import app.metatron.discovery.AbstractIntegrationTest;
+
+public class AuditStatsServiceIntegrationTest extends AbstractIntegrationTest {
+
+  @Autowired
+  AuditStatsService auditStatsService;
+
+  @Autowired
+  AuditRepository auditRepository;
+
+  @Autowired
+  DataSource dataSource;
+
+  @PersistenceContext
+  EntityManager entityManager;
+
+  private JdbcTemplate jdbcTemplate;
+
+  @Before
+  public void setUp() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  @AfterTransaction
+  public void resetBackfill() {
+    auditStatsService.initBackfill();
+  }
+
+  @Test
+  public void backfillOnceAfterUpgrade() {
+    // audits before the upgrade, without rollups
+    DateTime beforeUpgrade = DateTime.now().minusHours(2);
+    String runningId = saveAudit(beforeUpgrade, Audit.AuditStatus.RUNNING, "select * from sales where id = 1");
+    saveAudit(beforeUpgrade, Audit.AuditStatus.SUCCESS, "select * from sales where id = 2");
+    jdbcTemplate.update("DELETE FROM audit_stats");
+    jdbcTemplate.update("DELETE FROM audit_stats_backfill");
+    entityManager.clear();
+
+    // node started after the upgrade
+    auditStatsService.initBackfill();
+
+    // audit before the upgrade is finished before the backfill, left to the backfill
+    updateStatus(runningId, Audit.AuditStatus.SUCCESS);
+    Assert.assertEquals(0L, sumCount(null));
+
+    // audit after the upgrade
+    saveAudit(DateTime.now(), Audit.AuditStatus.SUCCESS, "select * from sales where id = 3");
+    Assert.assertEquals(1L, sumCount(null));
+
+    Assert.assertEquals(2L, auditStatsService.backfill());
+    Assert.assertEquals(0L, auditStatsService.backfill());
+
+    Assert.assertEquals(3L, sumCount(Audit.AuditStatus.SUCCESS));
+    Assert.assertEquals(0L, sumCount(Audit.AuditStatus.RUNNING));
+    Assert.assertEquals(Integer.valueOf(0),
+                        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_stats WHERE stats_count < 0", Integer.class));
+
+    // audit before the upgrade is applied after the backfill
+    updateStatus(runningId, Audit.AuditStatus.FAIL);
+    Assert.assertEquals(2L, sumCount(Audit.AuditStatus.SUCCESS));
+    Assert.assertEquals(1L, sumCount(Audit.AuditStatus.FAIL));
+  }
+
+  private String saveAudit(DateTime startTime, Audit.AuditStatus status, String query) {
+    Audit audit = new Audit();
+    audit.setType(Audit.AuditType.QUERY);
+    audit.setUser("polaris");
+    audit.setStartTime(startTime);
+    audit.setStatus(status);
+    audit.setQuery(query);
+    return auditRepository.saveAndFlush(audit).getId();
+  }
+
+  private void updateStatus(String auditId, Audit.AuditStatus status) {
+    Audit audit = auditRepository.findOne(auditId);
+    audit.setStatus(status);
+    auditRepository.saveAndFlush(audit);
+  }
+
+  private long sumCount(Audit.AuditStatus status) {
+    Long sum = status == null
+        ? jdbcTemplate.queryForObject("SELECT SUM(stats_count) FROM audit_stats", Long.class)
+        : jdbcTemplate.queryForObject("SELECT SUM(stats_count) FROM audit_stats WHERE audit_status = ?", Long.class,
+                                      status.name());
+    return sum == null ? 0L : sum;
+  }
+}
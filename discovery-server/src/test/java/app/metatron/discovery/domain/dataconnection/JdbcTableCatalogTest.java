@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.dataconnection;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+
+public class JdbcTableCatalogTest {
+
+  private JdbcTableCatalog.TableIndex index() {
+    List<Map<String, Object>> tables = Lists.newArrayList();
+    for (String name : new String[]{"customer", "order_item", "orders", "sales_order", "product"}) {
+      Map<String, Object> table = Maps.newHashMap();
+      table.put("name", name);
+      table.put("type", "TABLE");
+      tables.add(table);
+    }
+    return new JdbcTableCatalog.TableIndex(tables, true);
+  }
+
+  private List<String> names(Map<String, Object> tableMap) {
+    List<String> names = Lists.newArrayList();
+    for (Map<String, Object> table : (List<Map<String, Object>>) tableMap.get("tables")) {
+      names.add((String) table.get("name"));
+    }
+    return names;
+  }
+
+  @Test
+  public void searchPrefixFirst() {
+    Map<String, Object> result = index().search("ORDER", null);
+
+    Assert.assertEquals(Lists.newArrayList("order_item", "orders", "sales_order"), names(result));
+    Assert.assertEquals(3, ((Map<String, Integer>) result.get("page")).get("totalElements").intValue());
+  }
+
+  @Test
+  public void searchWithPage() {
+    Map<String, Object> result = index().search(null, new PageRequest(1, 2));
+
+    Assert.assertEquals(Lists.newArrayList("orders", "sales_order"), names(result));
+
+    Map<String, Integer> page = (Map<String, Integer>) result.get("page");
+    Assert.assertEquals(5, page.get("totalElements").intValue());
+    Assert.assertEquals(3, page.get("totalPages").intValue());
+    Assert.assertEquals(1, page.get("number").intValue());
+
+    Assert.assertTrue(names(index().search(null, new PageRequest(3, 2))).isEmpty());
+  }
+
+  @Test
+  public void sameConnectionSharesCatalog() {
+    DataConnection connection = new DataConnection("MYSQL");
+    connection.setHostname("localhost");
+    connection.setUsername("polaris");
+    connection.setPassword("secret");
+
+    Assert.assertEquals(JdbcTableCatalog.CatalogKey.of(connection, "sales"),
+                        JdbcTableCatalog.CatalogKey.of(connection, "sales"));
+    Assert.assertNotEquals(JdbcTableCatalog.CatalogKey.of(connection, "sales"),
+                           JdbcTableCatalog.CatalogKey.of(connection, "hr"));
+    Assert.assertFalse(JdbcTableCatalog.CatalogKey.of(connection, "sales").connection.contains("secret"));
+  }
+}
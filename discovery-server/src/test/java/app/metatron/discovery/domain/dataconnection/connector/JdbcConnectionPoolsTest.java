@@ -0,0 +1,101 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.dataconnection.connector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import app.metatron.discovery.domain.dataconnection.DataConnection;
+import app.metatron.discovery.domain.dataconnection.DataConnectionProperties;
+import app.metatron.discovery.extension.dataconnection.jdbc.dialect.JdbcDialect;
+
+public class JdbcConnectionPoolsTest {
+
+  private static final String URL = "jdbc:mysql://localhost:3306/polaris";
+
+  private DataConnection connection(String id) {
+    DataConnection connection = new DataConnection("MYSQL");
+    connection.setId(id);
+    return connection;
+  }
+
+  @Test
+  public void sameCredentialSharesPool() {
+    Properties properties = new Properties();
+    properties.setProperty("useSSL", "false");
+
+    JdbcConnectionPools.PoolKey key1 = JdbcConnectionPools.PoolKey.of(connection("conn1"), URL, "polaris", "secret", properties);
+    JdbcConnectionPools.PoolKey key2 = JdbcConnectionPools.PoolKey.of(connection("conn1"), URL, "polaris", "secret", properties);
+
+    Assert.assertEquals(key1, key2);
+    Assert.assertEquals(key1.hashCode(), key2.hashCode());
+    Assert.assertFalse(key1.digest.contains("secret"));
+  }
+
+  @Test
+  public void otherCredentialUsesOtherPool() {
+    JdbcConnectionPools.PoolKey key = JdbcConnectionPools.PoolKey.of(connection("conn1"), URL, "polaris", "secret", null);
+
+    Assert.assertNotEquals(key, JdbcConnectionPools.PoolKey.of(connection("conn1"), URL, "polaris", "changed", null));
+    Assert.assertNotEquals(key, JdbcConnectionPools.PoolKey.of(connection("conn1"), URL, "other", "secret", null));
+    Assert.assertNotEquals(key, JdbcConnectionPools.PoolKey.of(connection("conn2"), URL, "polaris", "secret", null));
+  }
+
+  @Test
+  public void resetDatabaseOnReturn() throws SQLException {
+    JdbcConnectionPools pools = new JdbcConnectionPools();
+    pools.dataConnectionProperties = new DataConnectionProperties();
+    pools.init();
+
+    String url = "jdbc:h2:mem:pool_reset;DB_CLOSE_DELAY=-1";
+    DataConnection dataConnection = connection("conn1");
+    JdbcDialect dialect = Mockito.mock(JdbcDialect.class);
+
+    try {
+      Connection connection = pools.getConnection(dataConnection, dialect, url, "sa", "", null,
+                                                  () -> connect(url));
+      try (Statement stmt = connection.createStatement()) {
+        stmt.execute("CREATE SCHEMA IF NOT EXISTS SALES");
+        // the same as changing database
+        stmt.execute("SET SCHEMA SALES");
+      }
+      Assert.assertEquals("SALES", connection.getSchema());
+      connection.close();
+
+      // the same physical connection is borrowed again
+      Connection borrowed = pools.getConnection(dataConnection, dialect, url, "sa", "", null,
+                                                () -> connect(url));
+      Assert.assertEquals("PUBLIC", borrowed.getSchema());
+      borrowed.close();
+    } finally {
+      pools.destroy();
+    }
+  }
+
+  private Connection connect(String url) {
+    try {
+      return DriverManager.getConnection(url, "sa", "");
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
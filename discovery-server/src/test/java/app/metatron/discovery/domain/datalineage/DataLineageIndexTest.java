@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datalineage;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static app.metatron.discovery.domain.datalineage.DataLineageLink.Direction.BACKWARD;
+import static app.metatron.discovery.domain.datalineage.DataLineageLink.Direction.FORWARD;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DataLineageIndexTest {
+
+  private DataLineageIndex index;
+
+  private DataLineageRepository dataLineageRepository;
+
+  @Before
+  public void setUp() {
+    dataLineageRepository = mock(DataLineageRepository.class);
+    when(dataLineageRepository.getDataLineageEdges(anyLong())).thenReturn(Lists.newArrayList());
+
+    index = new DataLineageIndex();
+    index.dataLineageRepository = dataLineageRepository;
+  }
+
+  private DataLineage lineage(long id, String source, String target, DateTime timestamp) {
+    DataLineage dataLineage = new DataLineage();
+    dataLineage.setId(id);
+    dataLineage.setSourceDataBaseName("default");
+    dataLineage.setSourceTableName(source);
+    dataLineage.setTargetDataBaseName("default");
+    dataLineage.setTargetTableName(target);
+    dataLineage.setTimestamp(timestamp);
+    dataLineage.setSqlType(DataLineage.SqlType.INSERT.toString());
+    return dataLineage;
+  }
+
+  private void load(DataLineage... lineages) {
+    when(dataLineageRepository.getDataLineageEdges(0L)).thenReturn(Lists.newArrayList(lineages));
+    index.load();
+  }
+
+  private void assertLevel(List<Long> level, Long... ids) {
+    Assert.assertEquals(Sets.newHashSet(ids), Sets.newHashSet(level));
+    Assert.assertEquals(ids.length, level.size());
+  }
+
+  @Test
+  public void traverseByLevel() {
+    load(lineage(1L, "a", "b", null),
+         lineage(2L, "b", "c", null),
+         lineage(3L, "a", "d", null));
+
+    List<List<Long>> forward = index.traverse("default", "a", FORWARD, null, null, 10);
+    Assert.assertEquals(2, forward.size());
+    assertLevel(forward.get(0), 1L, 3L);
+    assertLevel(forward.get(1), 2L);
+
+    List<List<Long>> backward = index.traverse("default", "c", BACKWARD, null, null, 10);
+    Assert.assertEquals(2, backward.size());
+    assertLevel(backward.get(0), 2L);
+    assertLevel(backward.get(1), 1L);
+  }
+
+  @Test
+  public void traverseCycle() {
+    load(lineage(1L, "a", "b", null),
+         lineage(2L, "b", "c", null),
+         lineage(3L, "c", "a", null));
+
+    List<List<Long>> forward = index.traverse("default", "a", FORWARD, null, null, DataLineageIndex.MAX_DEPTH);
+
+    // tables already reached are not visited again
+    Assert.assertEquals(3, forward.size());
+    assertLevel(forward.get(0), 1L);
+    assertLevel(forward.get(1), 2L);
+    assertLevel(forward.get(2), 3L);
+  }
+
+  @Test
+  public void traverseUpToDepth() {
+    load(lineage(1L, "a", "b", null),
+         lineage(2L, "b", "c", null),
+         lineage(3L, "c", "d", null));
+
+    List<List<Long>> forward = index.traverse("default", "a", FORWARD, null, null, 2);
+
+    Assert.assertEquals(2, forward.size());
+    assertLevel(forward.get(0), 1L);
+    assertLevel(forward.get(1), 2L);
+  }
+
+  @Test
+  public void traverseInTimeWindow() {
+    DateTime baseTime = new DateTime(2019, 1, 10, 0, 0);
+    load(lineage(1L, "a", "b", baseTime.minusDays(5)),
+         lineage(2L, "a", "c", baseTime),
+         lineage(3L, "c", "d", baseTime.plusDays(5)));
+
+    List<List<Long>> forward = index.traverse("default", "a", FORWARD,
+                                              baseTime.minusDays(1), baseTime.plusDays(1), 10);
+
+    Assert.assertEquals(1, forward.size());
+    assertLevel(forward.get(0), 2L);
+  }
+
+  @Test
+  public void refreshAddedAndRemovedLineage() {
+    load(lineage(1L, "a", "b", null));
+
+    // lineage collected directly into database after load
+    when(dataLineageRepository.getDataLineageEdges(1L)).thenReturn(Lists.newArrayList(lineage(2L, "b", "c", null)));
+
+    List<List<Long>> forward = index.traverse("default", "a", FORWARD, null, null, 10);
+    Assert.assertEquals(2, forward.size());
+    assertLevel(forward.get(1), 2L);
+
+    index.remove(2L);
+    index.add(lineage(3L, "a", "c", null));
+
+    forward = index.traverse("default", "a", FORWARD, null, null, 10);
+    Assert.assertEquals(1, forward.size());
+    assertLevel(forward.get(0), 1L, 3L);
+  }
+}
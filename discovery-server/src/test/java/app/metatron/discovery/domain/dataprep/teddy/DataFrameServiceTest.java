@@ -0,0 +1,56 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.dataprep.teddy;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class DataFrameServiceTest {
+
+  @Test
+  public void cancelRunningGather() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch stopped = new CountDownLatch(1);
+
+    // a partition running until it is canceled
+    DataFrame newDf = new DataFrame("canceled") {
+      @Override
+      public List<Row> gather(DataFrame prevDf, List<Object> preparedArgs, int offset, int length, int limit)
+              throws InterruptedException {
+        started.countDown();
+        try {
+          while (true) {
+            cancelCheck();
+          }
+        } finally {
+          stopped.countDown();
+        }
+      }
+    };
+
+    Future<List<Row>> future = new DataFrameService().gatherAsync(new DataFrame("source"), newDf, null, 0, 1, 1);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    future.cancel(true);
+
+    assertTrue(stopped.await(10, TimeUnit.SECONDS));
+    assertTrue(future.isCancelled());
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static app.metatron.discovery.domain.engine.EngineProperties.QueryHistoryInfo.EngineQueryPolicy.COMPRESS;
+import static app.metatron.discovery.domain.engine.EngineProperties.QueryHistoryInfo.EngineQueryPolicy.FULL;
+import static app.metatron.discovery.domain.engine.EngineProperties.QueryHistoryInfo.EngineQueryPolicy.TRUNCATE;
+
+public class DataSourceQueryHistoryTest {
+
+  private static final String ENGINE_QUERY = "{\"queryType\":\"groupBy\",\"dataSource\":\"sales\",\"dimensions\":["
+      + StringUtils.repeat("\"City\",", 100) + "\"State\"]}";
+
+  @Test
+  public void compactEngineQueryWithCompress() {
+    DataSourceQueryHistory history = new DataSourceQueryHistory();
+    history.setEngineQuery(ENGINE_QUERY);
+
+    history.compactEngineQuery(COMPRESS, 100);
+
+    Assert.assertTrue(history.engineQuery.length() < ENGINE_QUERY.length());
+    Assert.assertEquals(ENGINE_QUERY, history.getEngineQuery());
+  }
+
+  @Test
+  public void compactEngineQueryWithTruncate() {
+    DataSourceQueryHistory history = new DataSourceQueryHistory();
+    history.setEngineQuery(ENGINE_QUERY);
+
+    history.compactEngineQuery(TRUNCATE, 100);
+
+    Assert.assertTrue(history.getEngineQuery().startsWith(ENGINE_QUERY.substring(0, 100)));
+    Assert.assertTrue(history.getEngineQuery().length() < ENGINE_QUERY.length());
+  }
+
+  @Test
+  public void compactEngineQueryWithinMaxLength() {
+    DataSourceQueryHistory history = new DataSourceQueryHistory();
+    history.setEngineQuery(ENGINE_QUERY);
+
+    history.compactEngineQuery(COMPRESS, ENGINE_QUERY.length());
+    Assert.assertEquals(ENGINE_QUERY, history.engineQuery);
+
+    history.compactEngineQuery(FULL, 100);
+    Assert.assertEquals(ENGINE_QUERY, history.engineQuery);
+  }
+}
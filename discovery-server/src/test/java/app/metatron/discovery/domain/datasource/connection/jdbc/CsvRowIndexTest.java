@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.connection.jdbc;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import app.metatron.discovery.common.datasource.DataType;
+import app.metatron.discovery.domain.datasource.Field;
+import app.metatron.discovery.domain.workbench.QueryEditorService;
+
+public class CsvRowIndexTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private String writeResult(int rows) throws Exception {
+    String csvFilePath = temporaryFolder.newFile("temp_wb_test.csv").getPath();
+
+    try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:csvrowindex");
+         Statement stmt = connection.createStatement()) {
+      stmt.execute("CREATE TABLE result (id INT, name VARCHAR(100))");
+      for (int i = 0; i < rows; i++) {
+        // values with line break are written in several lines
+        stmt.execute("INSERT INTO result VALUES (" + i + ", 'name" + (i % 2 == 0 ? "\n" : "") + i + "')");
+      }
+
+      ResultSet resultSet = stmt.executeQuery("SELECT id, name FROM result ORDER BY id");
+      new JdbcConnectionService().writeResultSetToCSV(null, resultSet, csvFilePath, Lists.newArrayList("id", "name"));
+      stmt.execute("DROP TABLE result");
+    }
+
+    return csvFilePath;
+  }
+
+  @Test
+  public void readPageWithRowIndex() throws Exception {
+    String csvFilePath = writeResult(2500);
+
+    CsvRowIndex rowIndex = CsvRowIndex.read(csvFilePath);
+    Assert.assertNotNull(rowIndex);
+    Assert.assertEquals(2000, rowIndex.nearestRow(2100));
+
+    List<Field> fields = Lists.newArrayList(new Field("id", DataType.INTEGER, 0), new Field("name", DataType.STRING, 1));
+    List<Map<String, Object>> page = new QueryEditorService().readCsv(csvFilePath, fields, 2098, 5);
+
+    Assert.assertEquals(5, page.size());
+    Assert.assertEquals(2098, page.get(0).get("id"));
+    Assert.assertEquals("name\n2098", page.get(0).get("name"));
+    Assert.assertEquals(2102, page.get(4).get("id"));
+
+    Assert.assertEquals(2, new QueryEditorService().readCsv(csvFilePath, fields, 2498, 5).size());
+  }
+
+  @Test
+  public void ignoreIndexOfModifiedFile() throws Exception {
+    String csvFilePath = writeResult(10);
+
+    try (FileOutputStream outputStream = new FileOutputStream(new File(csvFilePath), true)) {
+      outputStream.write("10,name10\r\n".getBytes());
+    }
+
+    Assert.assertNull(CsvRowIndex.read(csvFilePath));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.connection.jdbc;
+
+import com.google.common.collect.Lists;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import app.metatron.discovery.common.datasource.DataType;
+import app.metatron.discovery.domain.datasource.Field;
+
+public class JdbcOrcWriterTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private List<Field> fields() {
+    Field time = new Field("time", DataType.TIMESTAMP, Field.FieldRole.TIMESTAMP, 0);
+    time.setFormat("yyyy-MM-dd HH:mm:ss");
+    return Lists.newArrayList(time,
+                              new Field("name", DataType.STRING, 1),
+                              new Field("amount", DataType.LONG, 2),
+                              new Field("price", DataType.DOUBLE, 3));
+  }
+
+  @Test
+  public void schemaByFieldTypes() {
+    Assert.assertEquals("struct<time:string,name:string,amount:bigint,price:double>",
+                        JdbcOrcWriter.createSchema(fields()).toString());
+  }
+
+  @Test
+  public void writeResultOfQuery() throws Exception {
+    String fileName = new File(temporaryFolder.getRoot(), "temp_ds.orc").getPath();
+
+    try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:jdbcorcwriter");
+         Statement stmt = connection.createStatement()) {
+      stmt.execute("CREATE TABLE sales (time VARCHAR(20), name VARCHAR(20), amount BIGINT, price DOUBLE)");
+      stmt.execute("INSERT INTO sales VALUES ('2019-01-01 00:00:00', 'a', 10, 1.5)");
+      stmt.execute("INSERT INTO sales VALUES ('2019-01-02 00:00:00', 'b', NULL, 2.5)");
+
+      JdbcOrcWriter writer = new JdbcOrcWriter(fields());
+      writer.setConnection(DriverManager.getConnection("jdbc:h2:mem:jdbcorcwriter"));
+      writer.setQuery("SELECT time, name, amount, price FROM sales");
+      writer.setFileName(fileName);
+      writer.setCompression("snappy");
+      writer.write();
+
+      stmt.execute("DROP TABLE sales");
+    }
+
+    Reader reader = OrcFile.createReader(new Path(fileName), OrcFile.readerOptions(new Configuration()));
+    Assert.assertEquals(2, reader.getNumberOfRows());
+    Assert.assertEquals(JdbcOrcWriter.createSchema(fields()), reader.getSchema());
+  }
+}
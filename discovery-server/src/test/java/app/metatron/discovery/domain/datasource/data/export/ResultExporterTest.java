@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.data.export;
+
+import com.google.common.collect.Lists;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class ResultExporterTest {
+
+  private static final JsonNodeFactory FACTORY = JsonNodeFactory.instance;
+
+  @Test
+  public void exportCsv() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    CsvResultExporter exporter = new CsvResultExporter(out);
+    exporter.start(Lists.newArrayList("City", "Sales"));
+    exporter.write(Lists.newArrayList(FACTORY.textNode("Seoul, Korea"), FACTORY.numberNode(10.5)));
+    exporter.write(Lists.newArrayList(FACTORY.textNode("Busan"), null));
+    exporter.finish();
+
+    String result = new String(out.toByteArray(), 3, out.size() - 3, StandardCharsets.UTF_8);
+
+    Assert.assertEquals("City,Sales\r\n\"Seoul, Korea\",10.5\r\nBusan,\r\n", result);
+    Assert.assertEquals(2, exporter.getRowCount());
+  }
+}
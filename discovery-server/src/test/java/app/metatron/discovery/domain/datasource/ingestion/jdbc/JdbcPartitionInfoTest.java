@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.ingestion.jdbc;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import app.metatron.discovery.domain.dataconnection.DataConnection;
+import app.metatron.discovery.domain.dataconnection.dialect.MySQLDialect;
+
+public class JdbcPartitionInfoTest {
+
+  @Test
+  public void conditionsCoverAllRows() {
+    JdbcPartitionInfo partition = new JdbcPartitionInfo("id", 4);
+
+    List<String> conditions = partition.getConditions("id", 0, 100);
+
+    Assert.assertEquals(4, conditions.size());
+    Assert.assertEquals("id < 25 OR id IS NULL", conditions.get(0));
+    Assert.assertEquals("id >= 25 AND id < 50", conditions.get(1));
+    Assert.assertEquals("id >= 50 AND id < 75", conditions.get(2));
+    Assert.assertEquals("id >= 75", conditions.get(3));
+  }
+
+  @Test
+  public void singleConditionForNarrowRange() {
+    JdbcPartitionInfo partition = new JdbcPartitionInfo("id", 4);
+
+    Assert.assertEquals(1, partition.getConditions("id", 10, 12).size());
+    Assert.assertFalse(new JdbcPartitionInfo("id", 1).isPartitioned());
+  }
+
+  @Test
+  public void partitionQuery() {
+    BatchIngestionInfo ingestionInfo = new BatchIngestionInfo();
+    ingestionInfo.setDataType(JdbcIngestionInfo.DataType.QUERY);
+    ingestionInfo.setQuery("select * from sales");
+
+    DataConnection connection = new DataConnection("MYSQL");
+
+    String query = new SelectQueryBuilder(connection, new MySQLDialect())
+        .allProjection()
+        .query(ingestionInfo, connection)
+        .partition("id >= 75")
+        .limit(0, 1000)
+        .build();
+
+    Assert.assertTrue(query.contains("WHERE (id >= 75) LIMIT 1000"));
+  }
+}
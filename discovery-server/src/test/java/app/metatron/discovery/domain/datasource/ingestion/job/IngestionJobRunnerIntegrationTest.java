@@ -1,6 +1,7 @@
 package app.metatron.discovery.domain.datasource.ingestion.job;
 
 import app.metatron.discovery.AbstractIntegrationTest;
+import app.metatron.discovery.common.websocket.ProgressPublisher;
 import app.metatron.discovery.domain.datasource.DataSource;
 import app.metatron.discovery.fixture.MySqlDatasourceTestFixture;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -25,6 +26,9 @@ public class IngestionJobRunnerIntegrationTest extends AbstractIntegrationTest {
   @Autowired
   IngestionJobRunner jobRunner;
 
+  @Autowired
+  ProgressPublisher progressPublisher;
+
   @Autowired
   EntityManager entityManager;
 
@@ -35,12 +39,12 @@ public class IngestionJobRunnerIntegrationTest extends AbstractIntegrationTest {
     MySqlDatasourceTestFixture.setUpPaymentFixture();
 
     SimpMessagingTemplate mockSimpMessagingTemplate = mock(SimpMessagingTemplate.class);
-    jobRunner.setMessagingTemplate(mockSimpMessagingTemplate);
+    progressPublisher.setMessagingTemplate(mockSimpMessagingTemplate);
 
     DataSource dataSource = entityManager.find(DataSource.class, "ds-test-05");
 
     // when
-    jobRunner.ingestion(dataSource);
+    jobRunner.ingestion(dataSource.getId(), false).join();
 
     // then
     ArgumentCaptor<String> destination = ArgumentCaptor.forClass(String.class);
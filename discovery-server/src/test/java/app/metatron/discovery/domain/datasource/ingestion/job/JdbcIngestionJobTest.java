@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specic language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.datasource.ingestion.job;
+
+import com.google.common.collect.Lists;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import app.metatron.discovery.common.GlobalObjectMapper;
+import app.metatron.discovery.common.datasource.DataType;
+import app.metatron.discovery.domain.datasource.DataSource;
+import app.metatron.discovery.domain.datasource.Field;
+import app.metatron.discovery.domain.datasource.ingestion.file.OrcFileFormat;
+import app.metatron.discovery.domain.datasource.ingestion.jdbc.SingleIngestionInfo;
+import app.metatron.discovery.spec.druid.ingestion.IngestionSpec;
+
+import static app.metatron.discovery.domain.datasource.DataSource.ConnectionType.ENGINE;
+import static app.metatron.discovery.domain.datasource.DataSource.DataSourceType.MASTER;
+import static app.metatron.discovery.domain.datasource.DataSource.GranularityType.DAY;
+import static app.metatron.discovery.domain.datasource.DataSource.SourceType.JDBC;
+import static app.metatron.discovery.domain.datasource.Field.FieldRole.DIMENSION;
+import static app.metatron.discovery.domain.datasource.Field.FieldRole.MEASURE;
+import static app.metatron.discovery.domain.datasource.Field.FieldRole.TIMESTAMP;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class JdbcIngestionJobTest {
+
+  private DataSource orcDataSource() {
+    DataSource dataSource = new DataSource();
+    dataSource.setName("jdbc_orc");
+    dataSource.setDsType(MASTER);
+    dataSource.setConnType(ENGINE);
+    dataSource.setGranularity(DAY);
+    dataSource.setSegGranularity(DAY);
+    dataSource.setSrcType(JDBC);
+
+    Field time = new Field("time", DataType.TIMESTAMP, TIMESTAMP, 0L);
+    time.setFormat("yyyy-MM-dd HH:mm:ss");
+    List<Field> fields = Lists.newArrayList(time,
+                                            new Field("d", DataType.STRING, DIMENSION, 1L),
+                                            new Field("m1", DataType.DOUBLE, MEASURE, 2L));
+    dataSource.setFields(fields);
+
+    SingleIngestionInfo ingestionInfo = new SingleIngestionInfo();
+    ingestionInfo.setFormat(new OrcFileFormat());
+    dataSource.setIngestion(GlobalObjectMapper.writeValueAsString(ingestionInfo));
+
+    return dataSource;
+  }
+
+  @Test
+  public void orcSpecReadsStagedFilesByStaticInputSpec() {
+    IngestionSpec spec = JdbcIngestionJob.orcSpec(orcDataSource(), "/tmp/ingestion",
+                                                  Lists.newArrayList("jdbc_orc_part0.orc", "jdbc_orc_part1.orc"),
+                                                  null, null);
+
+    DocumentContext jsonContext = JsonPath.parse(GlobalObjectMapper.writeValueAsString(spec));
+
+    assertThat(jsonContext.read("$['ioConfig']['type']"), is("hadoop"));
+    assertThat(jsonContext.read("$['ioConfig']['inputSpec']['type']"), is("static"));
+    assertThat(jsonContext.read("$['ioConfig']['inputSpec']['paths']"),
+               is("file:/tmp/ingestion/jdbc_orc_part0.orc,file:/tmp/ingestion/jdbc_orc_part1.orc"));
+    assertThat(jsonContext.read("$['ioConfig']['inputSpec']['inputFormat']"), is(JdbcIngestionJob.ORC_INPUT_FORMAT));
+    assertThat(jsonContext.read("$['dataSchema']['parser']['type']"), is("orc"));
+    assertThat(jsonContext.read("$['dataSchema']['parser']['typeString']"),
+               is("struct<time:string,d:string,m1:double>"));
+    assertThat(jsonContext.read("$['tuningConfig']['type']"), is("hadoop"));
+  }
+
+  @Test
+  public void orcSpecKeepsRemoteBaseDir() {
+    IngestionSpec spec = JdbcIngestionJob.orcSpec(orcDataSource(), "hdfs://namenode:8020/ingestion/",
+                                                  Lists.newArrayList("jdbc_orc_part0.orc"),
+                                                  null, null);
+
+    DocumentContext jsonContext = JsonPath.parse(GlobalObjectMapper.writeValueAsString(spec));
+
+    assertThat(jsonContext.read("$['ioConfig']['inputSpec']['paths']"),
+               is("hdfs://namenode:8020/ingestion/jdbc_orc_part0.orc"));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import app.metatron.discovery.domain.datasource.data.CandidateQueryRequest;
+
+public class CandidateCacheTest {
+
+  private JsonNode candidates() {
+    ArrayNode result = JsonNodeFactory.instance.arrayNode();
+    result.addObject().put("count", 10).put("field", "Seoul");
+    result.addObject().put("count", 30).put("field", "Busan");
+    result.addObject().put("count", 20).put("field", "South Seoul");
+    result.addObject().put("count", 20).put("field", "Daegu");
+    return result;
+  }
+
+  @Test
+  public void searchSortByCount() {
+    CandidateCache.ValueDictionary dictionary = CandidateCache.ValueDictionary.of(candidates(), 10);
+
+    ArrayNode result = dictionary.search(null, CandidateQueryRequest.SortCreteria.COUNT, null);
+
+    Assert.assertEquals(4, result.size());
+    Assert.assertEquals("Busan", result.get(0).get("field").asText());
+    Assert.assertEquals("Daegu", result.get(1).get("field").asText());
+    Assert.assertEquals("South Seoul", result.get(2).get("field").asText());
+    Assert.assertEquals("Seoul", result.get(3).get("field").asText());
+  }
+
+  @Test
+  public void searchWords() {
+    CandidateCache.ValueDictionary dictionary = CandidateCache.ValueDictionary.of(candidates(), 10);
+
+    ArrayNode result = dictionary.search("seoul", CandidateQueryRequest.SortCreteria.VALUE, null);
+    Assert.assertEquals(2, result.size());
+    Assert.assertEquals("Seoul", result.get(0).get("field").asText());
+    Assert.assertEquals(10, result.get(0).get("count").asLong());
+
+    result = dictionary.search("seo SOU", CandidateQueryRequest.SortCreteria.VALUE, 1);
+    Assert.assertEquals(1, result.size());
+    Assert.assertEquals("South Seoul", result.get(0).get("field").asText());
+  }
+
+  @Test
+  public void exceedMaxValues() {
+    CandidateCache.ValueDictionary dictionary = CandidateCache.ValueDictionary.of(candidates(), 3);
+
+    Assert.assertFalse(dictionary.isComplete());
+  }
+
+  @Test
+  public void estimateSizeByValues() {
+    ArrayNode longValues = JsonNodeFactory.instance.arrayNode();
+    for (int i = 0; i < 4; i++) {
+      longValues.addObject().put("count", i).put("field", "Seoul-" + new String(new char[1000]).replace('\0', 'a') + i);
+    }
+
+    long smallSize = CandidateCache.ValueDictionary.of(candidates(), 10).estimateSize();
+    long largeSize = CandidateCache.ValueDictionary.of(longValues, 10).estimateSize();
+
+    Assert.assertTrue(largeSize > 4 * 2 * 2 * 1000);
+    Assert.assertTrue(smallSize < largeSize);
+  }
+}
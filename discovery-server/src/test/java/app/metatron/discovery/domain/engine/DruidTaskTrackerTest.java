@@ -0,0 +1,190 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.engine;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import app.metatron.discovery.TestUtils;
+import app.metatron.discovery.domain.datasource.DataSourceIngestionException;
+import app.metatron.discovery.domain.datasource.ingestion.IngestionHistory;
+import app.metatron.discovery.domain.engine.model.IngestionStatusResponse;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DruidTaskTrackerTest {
+
+  private DruidTaskTracker tracker;
+
+  private DruidEngineRepository engineRepository;
+
+  private EngineIngestionService ingestionService;
+
+  private DruidEngineMetaRepository engineMetaRepository;
+
+  @Before
+  public void setUp() {
+    engineRepository = mock(DruidEngineRepository.class);
+    ingestionService = mock(EngineIngestionService.class);
+    engineMetaRepository = mock(DruidEngineMetaRepository.class);
+
+    tracker = new DruidTaskTracker();
+    tracker.engineRepository = engineRepository;
+    tracker.ingestionService = ingestionService;
+    tracker.engineMetaRepository = engineMetaRepository;
+    ReflectionTestUtils.setField(tracker, "delay", 1L);
+    ReflectionTestUtils.setField(tracker, "maxDelay", 1L);
+    ReflectionTestUtils.setField(tracker, "maxDuration", 3600L);
+
+    // ticks are called by each test, callbacks run on the calling thread
+    ReflectionTestUtils.setField(tracker, "scheduler", Executors.newSingleThreadScheduledExecutor());
+    ReflectionTestUtils.setField(tracker, "callbackExecutor", MoreExecutors.sameThreadExecutor());
+  }
+
+  @After
+  public void tearDown() {
+    tracker.destroy();
+  }
+
+  private void engineTasks(List running, List complete) {
+    when(engineRepository.getRunningTasks()).thenReturn(Optional.of(running));
+    when(engineRepository.getCompleteTasks()).thenReturn(Optional.of(complete));
+  }
+
+  private Map<String, Object> task(String taskId, String status) {
+    return TestUtils.makeMap("id", taskId, "statusCode", status, "duration", 10);
+  }
+
+  @Test
+  public void completeTaskInCompleteList() throws Exception {
+    engineTasks(Lists.newArrayList(), Lists.newArrayList(task("task-1", "SUCCESS"), task("task-2", "FAILED")));
+
+    CompletableFuture<IngestionStatusResponse> success = tracker.track("task-1");
+    CompletableFuture<IngestionStatusResponse> failed = tracker.track("task-2");
+    tracker.tick();
+
+    Assert.assertEquals(IngestionHistory.IngestionStatus.SUCCESS, success.get().getStatus());
+    Assert.assertEquals(IngestionHistory.IngestionStatus.FAILED, failed.get().getStatus());
+
+    // completed tasks are not tracked, tasks of engine are not polled anymore
+    tracker.tick();
+    verify(engineRepository, times(1)).getRunningTasks();
+  }
+
+  @Test
+  public void notifyRunningTaskOnce() {
+    engineTasks(Lists.newArrayList(task("task-1", "RUNNING")), Lists.newArrayList());
+
+    AtomicInteger notified = new AtomicInteger();
+    CompletableFuture<IngestionStatusResponse> future = tracker.track("task-1", response -> notified.incrementAndGet());
+    tracker.tick();
+    tracker.tick();
+
+    Assert.assertEquals(1, notified.get());
+    Assert.assertFalse(future.isDone());
+  }
+
+  @Test
+  public void checkStatusOfMissingTask() throws Exception {
+    engineTasks(Lists.newArrayList(), Lists.newArrayList());
+    when(ingestionService.doCheckResult("task-1"))
+        .thenReturn(new IngestionStatusResponse("task-1", IngestionHistory.IngestionStatus.FAILED, 10L, "error"));
+
+    CompletableFuture<IngestionStatusResponse> future = tracker.track("task-1");
+    for (int i = 0; i < 5; i++) {
+      tracker.tick();
+    }
+    verify(ingestionService, never()).doCheckResult("task-1");
+    Assert.assertFalse(future.isDone());
+
+    tracker.tick();
+    verify(ingestionService, times(1)).doCheckResult("task-1");
+    Assert.assertEquals("error", future.get().getCause());
+  }
+
+  @Test
+  public void expireTaskOverMaxDuration() throws Exception {
+    ReflectionTestUtils.setField(tracker, "maxDuration", 0L);
+    when(engineRepository.getRunningTasks()).thenThrow(new RuntimeException("engine is not available"));
+
+    CompletableFuture<IngestionStatusResponse> future = tracker.track("task-1");
+    Thread.sleep(10L);
+    tracker.tick();
+
+    Assert.assertTrue(future.isCompletedExceptionally());
+    try {
+      future.get();
+      Assert.fail();
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof DataSourceIngestionException);
+    }
+  }
+
+  @Test
+  public void cancelTask() {
+    CompletableFuture<IngestionStatusResponse> future = tracker.track("task-1");
+    tracker.cancel("task-1");
+
+    verify(engineMetaRepository).shutDownIngestionTask("task-1");
+    Assert.assertTrue(future.isCancelled());
+
+    tracker.tick();
+    verify(engineRepository, never()).getRunningTasks();
+  }
+
+  @Test
+  public void awaitUntilResultIsReady() throws Exception {
+    AtomicInteger checked = new AtomicInteger();
+    CompletableFuture<String> future = tracker.await("registration", () -> checked.incrementAndGet() < 2 ? null : "ready");
+
+    Assert.assertEquals("ready", future.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(2, checked.get());
+  }
+
+  @Test
+  public void awaitExceedsMaxDuration() throws Exception {
+    ReflectionTestUtils.setField(tracker, "maxDuration", 0L);
+
+    CompletableFuture<String> future = tracker.await("registration", () -> {
+      throw new IllegalStateException("not registered");
+    });
+
+    try {
+      future.get(10, TimeUnit.SECONDS);
+      Assert.fail();
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof DataSourceIngestionException);
+    }
+  }
+}
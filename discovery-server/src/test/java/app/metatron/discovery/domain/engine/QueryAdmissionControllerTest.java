@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.engine;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static app.metatron.discovery.domain.engine.QueryAdmissionController.Priority.EXPORT;
+import static app.metatron.discovery.domain.engine.QueryAdmissionController.Priority.INTERACTIVE;
+
+public class QueryAdmissionControllerTest {
+
+  private QueryAdmissionController controller;
+
+  @Before
+  public void setUp() {
+    EngineProperties.AdmissionInfo admissionInfo = new EngineProperties.AdmissionInfo();
+    admissionInfo.setMaxConcurrency(2);
+    admissionInfo.setMaxConcurrencyPerUser(1);
+    admissionInfo.setMaxExportConcurrency(1);
+    admissionInfo.setQueueTimeout(100L);
+
+    EngineProperties.QueryInfo queryInfo = new EngineProperties.QueryInfo();
+    queryInfo.setAdmission(admissionInfo);
+
+    EngineProperties engineProperties = new EngineProperties();
+    engineProperties.setQuery(queryInfo);
+
+    controller = new QueryAdmissionController();
+    controller.engineProperties = engineProperties;
+    controller.init();
+  }
+
+  @Test(expected = QueryRejectedException.class)
+  public void rejectOverUserConcurrency() throws Exception {
+    controller.admit("polaris", null, "sales", INTERACTIVE);
+    controller.admit("polaris", null, "sales", INTERACTIVE);
+  }
+
+  @Test(expected = QueryRejectedException.class)
+  public void rejectOverExportConcurrency() throws Exception {
+    controller.admit("polaris", null, "sales", EXPORT);
+    controller.admit("admin", null, "sales", EXPORT);
+  }
+
+  @Test
+  public void admitAfterRelease() throws Exception {
+    QueryAdmissionController.Ticket ticket = controller.admit("polaris", null, "sales", INTERACTIVE);
+
+    CompletableFuture<QueryAdmissionController.Ticket> waiting = CompletableFuture.supplyAsync(() -> {
+      try {
+        return controller.admit("polaris", null, "sales", INTERACTIVE);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    controller.release(ticket);
+
+    Assert.assertNotNull(waiting.get(1, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.mdm;
+
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MetadataPopularityTest {
+
+  private static final long HALF_LIFE = TimeUnit.DAYS.toMillis(30);
+
+  @Test
+  public void decayScoreByHalfLife() {
+    DateTime now = DateTime.now();
+
+    MetadataPopularity popularity = new MetadataPopularity();
+    popularity.addScore(4.0, now.minusDays(30), HALF_LIFE);
+
+    Assert.assertEquals(2.0, popularity.getDecayedScore(now, HALF_LIFE), 0.0001);
+
+    popularity.addScore(1.0, now, HALF_LIFE);
+    Assert.assertEquals(3.0, popularity.getDecayedScore(now, HALF_LIFE), 0.0001);
+    Assert.assertEquals(1.5, popularity.getDecayedScore(now.plusDays(30), HALF_LIFE), 0.0001);
+    Assert.assertEquals(5L, popularity.getScore().longValue());
+  }
+
+  @Test
+  public void useRawScoreBeforeDecayed() {
+    MetadataPopularity popularity = new MetadataPopularity();
+    popularity.setScore(7L);
+
+    Assert.assertEquals(7.0, popularity.getDecayedScore(DateTime.now(), HALF_LIFE), 0.0001);
+
+    popularity.calculatePopularity(7.0, 14.0);
+    Assert.assertEquals(50.0, popularity.getPopularity(), 0.0001);
+  }
+}
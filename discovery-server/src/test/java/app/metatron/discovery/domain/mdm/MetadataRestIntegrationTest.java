@@ -49,6 +49,9 @@ public class MetadataRestIntegrationTest extends AbstractRestIntegrationTest {
   @Autowired
   DefaultFormattingConversionService defaultConversionService;
 
+  @Autowired
+  MetadataSearchIndexer metadataSearchIndexer;
+
   @Before
   public void setUp() {
     RestAssured.port = serverPort;
@@ -784,4 +787,98 @@ public class MetadataRestIntegrationTest extends AbstractRestIntegrationTest {
       .log().all();
     // @formatter:on
   }
+
+  @Test
+  @OAuthRequest(username = "polaris", value = {"ROLE_SYSTEM_USER"})
+  @Sql({"/sql/test_mdm.sql", "/sql/test_mdm_search.sql"})
+  public void searchByKeywordOnIndex() {
+
+    // metadata inserted by sql are not indexed
+    metadataSearchIndexer.reindex(Lists.newArrayList("test_meta1", "test_meta2", "test_meta3"));
+
+    TestUtils.printTestTitle("1. Tag 연결 (검색 인덱스 갱신)");
+
+    attachTags("test_meta1", "attach", Lists.newArrayList("search_sales"));
+    attachTags("test_meta3", "attach", Lists.newArrayList("search_sales", "search_hr"));
+
+    TestUtils.printTestTitle("2. Keyword 검색, 인기도 순 정렬");
+
+    Assert.assertEquals(Lists.newArrayList("test_meta2", "test_meta1", "test_meta3"),
+                        searchIds(TestUtils.makeMap("keyword", "metadata", "catalogId", "catalog1_1")));
+
+    TestUtils.printTestTitle("3. Keyword 검색, 조건 지정");
+
+    Assert.assertEquals(Lists.newArrayList("test_meta3"),
+                        searchIds(TestUtils.makeMap("keyword", "metadata", "catalogId", "catalog1_1",
+                                                    "sourceType", "JDBC")));
+    Assert.assertEquals(Lists.newArrayList("test_meta1", "test_meta3"),
+                        searchIds(TestUtils.makeMap("keyword", "metadata", "catalogId", "catalog1_1",
+                                                    "tag", "search_sales")));
+    Assert.assertEquals(Lists.newArrayList("test_meta2", "test_meta1"),
+                        searchIds(TestUtils.makeMap("keyword", "metadata", "catalogId", "catalog1_1",
+                                                    "sourceType", "ENGINE")));
+
+    TestUtils.printTestTitle("4. Keyword 검색 Facet");
+
+    // @formatter:off
+    Response facetResp =
+      given()
+        .auth().oauth2(oauth_token)
+        .contentType(ContentType.JSON)
+        .param("keyword", "metadata")
+        .param("catalogId", "catalog1_1")
+      .when()
+        .get("/api/metadatas/facets")
+      .then()
+        .statusCode(HttpStatus.SC_OK)
+        .log().all()
+        .extract().response();
+    // @formatter:on
+
+    Assert.assertEquals(2, from(facetResp.asString()).getInt("sourceType.ENGINE"));
+    Assert.assertEquals(1, from(facetResp.asString()).getInt("sourceType.JDBC"));
+    Assert.assertEquals(2, from(facetResp.asString()).getInt("tag.search_sales"));
+    Assert.assertEquals(1, from(facetResp.asString()).getInt("tag.search_hr"));
+
+    TestUtils.printTestTitle("5. Tag 해제 후 검색");
+
+    attachTags("test_meta1", "detach", Lists.newArrayList("search_sales"));
+
+    Assert.assertEquals(Lists.newArrayList("test_meta3"),
+                        searchIds(TestUtils.makeMap("keyword", "metadata", "catalogId", "catalog1_1",
+                                                    "tag", "search_sales")));
+  }
+
+  private void attachTags(String metadataId, String action, List<String> tags) {
+    // @formatter:off
+    given()
+      .auth().oauth2(oauth_token)
+      .body(tags)
+      .contentType(ContentType.JSON)
+      .log().all()
+    .when()
+      .post("/api/metadatas/{id}/tags/{action}", metadataId, action)
+    .then()
+      .statusCode(HttpStatus.SC_NO_CONTENT);
+    // @formatter:on
+  }
+
+  private List<String> searchIds(Map<String, Object> params) {
+    // @formatter:off
+    Response listResp =
+      given()
+        .auth().oauth2(oauth_token)
+        .contentType(ContentType.JSON)
+        .params(params)
+        .param("projection", "forListView")
+      .when()
+        .get("/api/metadatas")
+      .then()
+        .statusCode(HttpStatus.SC_OK)
+        .log().all()
+        .extract().response();
+    // @formatter:on
+
+    return from(listResp.asString()).getList("_embedded.metadatas.id");
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.mdm.lineage;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class LineageEdgeIndexTest {
+
+  private LineageEdgeIndex index;
+
+  private LineageEdgeRepository edgeRepository;
+
+  @Before
+  public void setUp() {
+    edgeRepository = mock(LineageEdgeRepository.class);
+
+    index = new LineageEdgeIndex();
+    index.edgeRepository = edgeRepository;
+  }
+
+  private LineageEdge edge(String edgeId, String frMetaId, String toMetaId) {
+    LineageEdge edge = new LineageEdge();
+    edge.setEdgeId(edgeId);
+    edge.setFrMetaId(frMetaId);
+    edge.setToMetaId(toMetaId);
+    return edge;
+  }
+
+  private void edgesInDatabase(DateTime lastModifiedTime, LineageEdge... edges) {
+    List<Object[]> version = Lists.newArrayList();
+    version.add(new Object[]{(long) edges.length, lastModifiedTime});
+    when(edgeRepository.findCountAndLastModifiedTime()).thenReturn(version);
+    when(edgeRepository.findAll()).thenReturn(Lists.newArrayList(edges));
+  }
+
+  private void expireCheck() {
+    ReflectionTestUtils.setField(index, "checkedTime", System.currentTimeMillis() - LineageEdgeIndex.CHECK_INTERVAL - 1);
+  }
+
+  @Test
+  public void reloadEdgesChangedByOtherNode() {
+    DateTime baseTime = DateTime.now();
+    edgesInDatabase(baseTime, edge("e1", "m1", "m2"));
+    index.load();
+
+    Assert.assertEquals(1, index.getDownstreamEdgesOf("m1").size());
+
+    // an edge is saved by other node
+    edgesInDatabase(baseTime.plusSeconds(1), edge("e1", "m1", "m2"), edge("e2", "m1", "m3"));
+
+    // not checked again until the interval passes
+    Assert.assertEquals(1, index.getDownstreamEdgesOf("m1").size());
+
+    expireCheck();
+    Assert.assertEquals(2, index.getDownstreamEdgesOf("m1").size());
+    Assert.assertEquals(1, index.getUpstreamEdgesOf("m3").size());
+  }
+
+  @Test
+  public void keepIndexWhenEdgesAreNotChanged() {
+    DateTime baseTime = DateTime.now();
+    edgesInDatabase(baseTime, edge("e1", "m1", "m2"));
+    index.load();
+
+    expireCheck();
+    Assert.assertEquals(1, index.getUpstreamEdgesOf("m2").size());
+
+    verify(edgeRepository, times(1)).findAll();
+    verify(edgeRepository, times(2)).findCountAndLastModifiedTime();
+  }
+}
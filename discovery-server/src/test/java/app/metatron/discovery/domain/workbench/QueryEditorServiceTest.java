@@ -569,6 +569,22 @@ public class QueryEditorServiceTest {
     return conn;
   }
 
+  @Test
+  public void isReadOnlyQuery() {
+    Assert.assertTrue(QueryEditorService.isReadOnlyQuery("select * from sales;"));
+    Assert.assertTrue(QueryEditorService.isReadOnlyQuery("-- monthly\n/* sales */ SELECT city FROM sales"));
+    Assert.assertTrue(QueryEditorService.isReadOnlyQuery("with s as (select * from sales) select * from s"));
+    Assert.assertTrue(QueryEditorService.isReadOnlyQuery("select * from sales where memo = 'update; it''s done'"));
+
+    Assert.assertFalse(QueryEditorService.isReadOnlyQuery("with s as (select * from sales) insert into t select * from s"));
+    Assert.assertFalse(QueryEditorService.isReadOnlyQuery("/* select */ insert into t values (1)"));
+    Assert.assertFalse(QueryEditorService.isReadOnlyQuery("select * into t from sales"));
+    Assert.assertFalse(QueryEditorService.isReadOnlyQuery("select * from sales for update"));
+    Assert.assertFalse(QueryEditorService.isReadOnlyQuery("set hive.execution.engine=tez"));
+    Assert.assertFalse(QueryEditorService.isReadOnlyQuery("use sales_db"));
+    Assert.assertFalse(QueryEditorService.isReadOnlyQuery("-- only comment"));
+  }
+
   private DataConnection createPrestoConnection(String hostName, String userName, String password, int port, String id, String catalog){
     DataConnection prestoConn = new DataConnection("PRESTO");
     prestoConn.setHostname(hostName);
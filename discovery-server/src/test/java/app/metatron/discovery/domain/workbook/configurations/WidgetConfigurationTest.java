@@ -171,4 +171,27 @@ public class WidgetConfigurationTest {
 
     System.out.println(desrializeConf);
   }
+
+  @Test
+  public void adjustPrecisionByZoom() {
+    LayerView.HashLayerView geohash = new LayerView.HashLayerView("geohash", 4);
+    geohash.adjustPrecision(0);
+    Assert.assertEquals(1, geohash.getPrecision().intValue());
+    geohash.adjustPrecision(10);
+    Assert.assertEquals(5, geohash.getPrecision().intValue());
+    geohash.adjustPrecision(18);
+    Assert.assertEquals(8, geohash.getPrecision().intValue());
+
+    LayerView.HashLayerView h3 = new LayerView.HashLayerView("h3", 4);
+    h3.adjustPrecision(10);
+    Assert.assertEquals(6, h3.getPrecision().intValue());
+    h3.adjustPrecision(18);
+    Assert.assertEquals(12, h3.getPrecision().intValue());
+
+    LayerView.HashLayerView geohex = new LayerView.HashLayerView("geohex", 4);
+    geohex.adjustPrecision(10);
+    Assert.assertEquals(5, geohex.getPrecision().intValue());
+    geohex.adjustPrecision(18);
+    Assert.assertEquals(10, geohex.getPrecision().intValue());
+  }
 }
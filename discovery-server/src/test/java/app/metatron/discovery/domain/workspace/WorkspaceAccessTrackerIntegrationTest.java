@@ -0,0 +1,59 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.workspace;
+
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import app.metatron.discovery.AbstractIntegrationTest;
+
+public class WorkspaceAccessTrackerIntegrationTest extends AbstractIntegrationTest {
+
+  @Autowired
+  WorkspaceRepository workspaceRepository;
+
+  @PersistenceContext
+  EntityManager entityManager;
+
+  @Test
+  public void updateLastAccessedTimeOnlyForward() {
+    Workspace workspace = new Workspace();
+    workspace.setName("access-workspace");
+    workspace.setOwnerId("polaris");
+    workspace.setPublicType(Workspace.PublicType.SHARED);
+    String workspaceId = workspaceRepository.saveAndFlush(workspace).getId();
+
+    DateTime accessedTime = DateTime.now();
+    workspaceRepository.updateLastAccessedTime(workspaceId, accessedTime);
+    Assert.assertEquals(accessedTime.getMillis(), findLastAccessedTime(workspaceId).getMillis());
+
+    // flushed late by other node
+    workspaceRepository.updateLastAccessedTime(workspaceId, accessedTime.minusMinutes(1));
+    Assert.assertEquals(accessedTime.getMillis(), findLastAccessedTime(workspaceId).getMillis());
+
+    workspaceRepository.updateLastAccessedTime(workspaceId, accessedTime.plusMinutes(1));
+    Assert.assertEquals(accessedTime.plusMinutes(1).getMillis(), findLastAccessedTime(workspaceId).getMillis());
+  }
+
+  private DateTime findLastAccessedTime(String workspaceId) {
+    entityManager.clear();
+    return workspaceRepository.findOne(workspaceId).getLastAccessedTime();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.metatron.discovery.domain.workspace;
+
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class WorkspaceAccessTrackerTest {
+
+  private WorkspaceAccessTracker tracker;
+
+  private WorkspaceRepository workspaceRepository;
+
+  @Before
+  public void setUp() {
+    workspaceRepository = mock(WorkspaceRepository.class);
+
+    tracker = new WorkspaceAccessTracker();
+    tracker.workspaceRepository = workspaceRepository;
+    // not flushed by the scheduler while testing
+    ReflectionTestUtils.setField(tracker, "flushInterval", 3600L);
+    tracker.init();
+  }
+
+  @After
+  public void tearDown() {
+    tracker.destroy();
+  }
+
+  @Test
+  public void updateOncePerInterval() throws Exception {
+    tracker.access("ws1");
+    tracker.access("ws2");
+    Thread.sleep(10L);
+    DateTime lastAccessed = DateTime.now();
+    tracker.access("ws1");
+    tracker.access("");
+
+    tracker.flush();
+
+    ArgumentCaptor<DateTime> accessedTime = ArgumentCaptor.forClass(DateTime.class);
+    verify(workspaceRepository, times(1)).updateLastAccessedTime(eq("ws1"), accessedTime.capture());
+    verify(workspaceRepository, times(1)).updateLastAccessedTime(eq("ws2"), any(DateTime.class));
+
+    // the latest access of the interval is written
+    Assert.assertFalse(accessedTime.getValue().isBefore(lastAccessed));
+
+    // nothing is accessed in next interval
+    tracker.flush();
+    verifyNoMoreInteractions(workspaceRepository);
+  }
+
+  @Test
+  public void continueFlushOnFailure() {
+    doThrow(new RuntimeException("lock timeout"))
+        .when(workspaceRepository).updateLastAccessedTime(eq("ws1"), any(DateTime.class));
+
+    tracker.access("ws1");
+    tracker.access("ws2");
+    tracker.flush();
+
+    verify(workspaceRepository).updateLastAccessedTime(eq("ws2"), any(DateTime.class));
+  }
+
+  @Test
+  public void flushOnShutdown() {
+    tracker.access("ws1");
+
+    tracker.destroy();
+
+    verify(workspaceRepository).updateLastAccessedTime(eq("ws1"), any(DateTime.class));
+  }
+}
@@ -102,6 +102,34 @@ public class AbstractQueryBuilderTest {
     Assert.assertEquals(1, builder.getVirtualColumns().size());
   }
 
+  @Test
+  public void narrowIntervals() {
+    TestQueryBuiler builder = new TestQueryBuiler(new DefaultDataSource());
+
+    List<String> intervals = Lists.newArrayList();
+    builder.narrowIntervals(intervals, Lists.newArrayList("2018-01-01T00:00:00.000Z/2019-01-01T00:00:00.000Z"));
+    Assert.assertEquals(Lists.newArrayList("2018-01-01T00:00:00.000Z/2019-01-01T00:00:00.000Z"), intervals);
+
+    builder.narrowIntervals(intervals, Lists.newArrayList("2018-03-01T00:00:00.000Z/2018-04-01T00:00:00.000Z",
+                                                          "2018-04-01T00:00:00.000Z/2018-05-01T00:00:00.000Z",
+                                                          "2018-12-01T00:00:00.000Z/2019-02-01T00:00:00.000Z"));
+    Assert.assertEquals(Lists.newArrayList("2018-03-01T00:00:00.000Z/2018-05-01T00:00:00.000Z",
+                                           "2018-12-01T00:00:00.000Z/2019-01-01T00:00:00.000Z"), intervals);
+
+    builder.narrowIntervals(intervals, Lists.newArrayList("2020-01-01T00:00:00.000Z/2021-01-01T00:00:00.000Z"));
+    Assert.assertEquals(Lists.newArrayList("2018-03-01T00:00:00.000Z/2018-03-01T00:00:00.000Z"), intervals);
+  }
+
+  @Test
+  public void resolveIntervals() {
+    TestQueryBuiler builder = new TestQueryBuiler(new DefaultDataSource());
+
+    Assert.assertEquals(AbstractQueryBuilder.DEFAULT_INTERVALS, builder.resolveIntervals(Lists.newArrayList()));
+
+    List<String> intervals = Lists.newArrayList("2018-01-01T00:00:00.000Z/2019-01-01T00:00:00.000Z");
+    Assert.assertEquals(intervals, builder.resolveIntervals(intervals));
+  }
+
   public class TestQueryBuiler extends AbstractQueryBuilder {
 
     protected TestQueryBuiler(DataSource dataSource) {
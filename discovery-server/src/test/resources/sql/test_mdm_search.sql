@@ -0,0 +1,8 @@
+UPDATE mdm_metadata SET meta_source_type = 'JDBC' WHERE id = 'test_meta3';
+
+INSERT INTO catalog_metadata(catalog_id, meta_id) VALUES
+('catalog1_1', 'test_meta3');
+
+INSERT INTO mdm_metadata_popularity(id, popularity_type, popularity_source_id, popularity_metadata_id, popularity_score, popularity_value) values
+(900001, 'METADATA', 'source_id_1', 'test_meta1', 10, 10.0),
+(900002, 'METADATA', 'source_id_2', 'test_meta2', 90, 90.0);